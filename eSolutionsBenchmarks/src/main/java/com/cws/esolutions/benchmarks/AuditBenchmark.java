@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.benchmarks;
+/*
+ * Project: eSolutionsBenchmarks
+ * Package: com.cws.esolutions.benchmarks
+ * File: AuditBenchmark.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditWriter;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditProcessorImpl;
+import com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditProcessor;
+import com.cws.esolutions.utility.securityutils.processors.exception.AuditServiceException;
+/**
+ * The audit insert made by every processor call when auditing is enabled. With the asynchronous
+ * writer enabled this measures the hand-off to the queue; the queue is drained at the end of each
+ * trial so that no writes spill into the next one.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditBenchmark
+{
+    private IAuditProcessor auditor = null;
+
+    @Setup(Level.Trial)
+    public void setUp(final BenchmarkEnvironment environment)
+    {
+        this.auditor = (IAuditProcessor) new AuditProcessorImpl();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        AuditWriter.shutdown();
+    }
+
+    @Benchmark
+    public void auditRequest(final UserState user) throws AuditServiceException
+    {
+        this.auditor.auditRequest(user.getAuditRequest());
+    }
+
+    @Benchmark
+    public boolean auditContext(final UserState user)
+    {
+        return user.getAuditContext().audit(AuditType.LOGON, true);
+    }
+}
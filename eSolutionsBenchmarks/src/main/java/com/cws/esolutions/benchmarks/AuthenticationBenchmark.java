@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.benchmarks;
+/*
+ * Project: eSolutionsBenchmarks
+ * Package: com.cws.esolutions.benchmarks
+ * File: AuthenticationBenchmark.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.cws.esolutions.security.SecurityServicesBean;
+import com.cws.esolutions.security.dao.userauth.interfaces.Authenticator;
+import com.cws.esolutions.security.processors.dto.AuthenticationResponse;
+import com.cws.esolutions.security.dao.userauth.factory.AuthenticatorFactory;
+import com.cws.esolutions.security.processors.impl.AuthenticationProcessorImpl;
+import com.cws.esolutions.security.processors.exception.AuthenticationException;
+import com.cws.esolutions.security.dao.userauth.exception.AuthenticatorException;
+import com.cws.esolutions.security.processors.interfaces.IAuthenticationProcessor;
+/**
+ * Logon and token validation. A logon runs two key derivations, four security datasource calls, the
+ * group lookup and an audit insert; token validation is a single lookup and is the call made on every
+ * authenticated request.
+ * <p>
+ * {@link com.cws.esolutions.security.config.xml.SecurityConfig} will not accept fewer than 600000
+ * iterations, so logon throughput is bounded by key derivation and changes to its datasource calls
+ * show up far more clearly in {@link #validateAuthToken(UserState)}.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark
+{
+    private Authenticator authenticator = null;
+    private IAuthenticationProcessor processor = null;
+
+    @Setup(Level.Trial)
+    public void setUp(final BenchmarkEnvironment environment)
+    {
+        this.processor = (IAuthenticationProcessor) new AuthenticationProcessorImpl();
+        this.authenticator = AuthenticatorFactory.getAuthenticator(
+            SecurityServicesBean.getInstance().getConfigData().getSecurityConfig().getAuthManager());
+    }
+
+    @Benchmark
+    public AuthenticationResponse processAgentLogon(final UserState user) throws AuthenticationException
+    {
+        return this.processor.processAgentLogon(user.getAuthenticationRequest());
+    }
+
+    @Benchmark
+    public boolean validateAuthToken(final UserState user) throws AuthenticatorException
+    {
+        return this.authenticator.validateAuthToken(user.getCommonName(), user.getUserId(), user.getAuthToken());
+    }
+}
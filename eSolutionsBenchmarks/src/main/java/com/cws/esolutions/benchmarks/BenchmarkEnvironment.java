@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.benchmarks;
+/*
+ * Project: eSolutionsBenchmarks
+ * Package: com.cws.esolutions.benchmarks
+ * File: BenchmarkEnvironment.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.List;
+import java.util.ArrayList;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cws.esolutions.utility.UtilityBean;
+import com.cws.esolutions.utility.embedded.EmbeddedDatabase;
+import com.cws.esolutions.core.CoreServicesBean;
+import com.cws.esolutions.utility.services.impl.ServiceIndex;
+import com.cws.esolutions.core.init.CoreServicesInitializer;
+import com.cws.esolutions.security.SecurityServicesBean;
+import com.cws.esolutions.utility.exception.UtilityException;
+import com.cws.esolutions.core.exception.CoreServicesException;
+import com.cws.esolutions.security.init.SecurityServiceInitializer;
+import com.cws.esolutions.security.exception.SecurityServiceException;
+/**
+ * Shared benchmark state. Starts the embedded database, initializes the utility, security and core
+ * services against it and seeds it with <code>users</code> accounts plus the dataset
+ * {@link EmbeddedDatabase#populate(int)} derives from that count.
+ * <p>
+ * The services keep their datasources in static fields resolved on first use, so the environment is
+ * set up once per JVM and every value of <code>users</code> has to run in its own fork.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class BenchmarkEnvironment
+{
+    @Param({ "1000" })
+    public int users;
+
+    private static int populated = 0;
+
+    private final AtomicInteger nextUser = new AtomicInteger(0);
+
+    public static final String PASSWORD = "Benchmark-Passw0rd";
+    public static final String APPLICATION_NAME = "eSolutionsBenchmarks";
+    public static final String APPLICATION_ID = "2d7b4b1a-0d57-4cc5-9c0e-3a6e1f5f7a44";
+    public static final String CORE_CONFIG = "eSolutionsBenchmarks/config/CoreServiceConfig.xml";
+    public static final String SECURITY_CONFIG = "eSolutionsBenchmarks/config/SecurityServiceConfig.xml";
+
+    @Setup(Level.Trial)
+    public void setUp() throws UtilityException, SecurityServiceException, CoreServicesException
+    {
+        BenchmarkEnvironment.initialize(this.users);
+    }
+
+    /**
+     * Hands out the seeded accounts round-robin, so each benchmark thread works as a different user
+     * for as long as there are more users than threads.
+     *
+     * @return The common name of the next seeded user
+     */
+    public String nextCommonName()
+    {
+        return "user-" + (this.nextUser.getAndIncrement() % this.users);
+    }
+
+    public DataSource getDataSource()
+    {
+        return (DataSource) UtilityBean.getInstance().getAuthDataSource();
+    }
+
+    private static synchronized void initialize(final int users) throws UtilityException, SecurityServiceException, CoreServicesException
+    {
+        if (BenchmarkEnvironment.populated == users)
+        {
+            return;
+        }
+
+        if (BenchmarkEnvironment.populated != 0)
+        {
+            throw new IllegalStateException("The embedded database already holds " + BenchmarkEnvironment.populated
+                + " users. Run each value of users in its own fork.");
+        }
+
+        EmbeddedDatabase.initializeUtility();
+        BenchmarkEnvironment.initializeSecurity();
+        BenchmarkEnvironment.initializeCore();
+        EmbeddedDatabase.populate(users);
+
+        // the groups only exist once populated
+        ServiceIndex.refresh();
+
+        BenchmarkEnvironment.populated = users;
+    }
+
+    /**
+     * Initializes the security service without JNDI and maps every configured datasource, or
+     * <code>SecurityDataSource</code> and <code>ContactDataSource</code> if none are configured,
+     * to the embedded database.
+     */
+    private static void initializeSecurity() throws UtilityException, SecurityServiceException
+    {
+        SecurityServiceInitializer.initializeService(BenchmarkEnvironment.SECURITY_CONFIG, null, false);
+
+        final SecurityServicesBean bean = SecurityServicesBean.getInstance();
+        final List<String> dsNames = new ArrayList<String>();
+
+        if (bean.getConfigData().getResourceConfig() != null)
+        {
+            for (com.cws.esolutions.security.config.xml.DataSourceManager mgr : bean.getConfigData().getResourceConfig().getDsManager())
+            {
+                dsNames.add(mgr.getDsName());
+            }
+        }
+
+        if (dsNames.size() == 0)
+        {
+            dsNames.add("SecurityDataSource");
+            dsNames.add("ContactDataSource");
+        }
+
+        bean.setDataSources(EmbeddedDatabase.bind(bean.getDataSources(), dsNames));
+    }
+
+    /**
+     * Initializes the core services without JNDI and maps every configured datasource, or
+     * <code>ApplicationDataSource</code> if none are configured, to the embedded database.
+     */
+    private static void initializeCore() throws UtilityException, CoreServicesException
+    {
+        CoreServicesInitializer.initializeService(BenchmarkEnvironment.CORE_CONFIG, null, false, false);
+
+        final CoreServicesBean bean = CoreServicesBean.getInstance();
+        final List<String> dsNames = new ArrayList<String>();
+
+        if (bean.getConfigData().getResourceConfig() != null)
+        {
+            for (com.cws.esolutions.core.config.xml.DataSourceManager mgr : bean.getConfigData().getResourceConfig().getDsManager())
+            {
+                dsNames.add(mgr.getDsName());
+            }
+        }
+
+        if (dsNames.size() == 0)
+        {
+            dsNames.add("ApplicationDataSource");
+        }
+
+        bean.setDataSources(EmbeddedDatabase.bind(bean.getDataSources(), dsNames));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.benchmarks;
+/*
+ * Project: eSolutionsBenchmarks
+ * Package: com.cws.esolutions.benchmarks
+ * File: KnowledgeManagementBenchmark.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.cws.esolutions.core.processors.dto.KnowledgeManagementResponse;
+import com.cws.esolutions.core.processors.impl.KnowledgeManagementProcessorImpl;
+import com.cws.esolutions.core.processors.exception.KnowledgeManagementException;
+import com.cws.esolutions.core.processors.interfaces.IKnowledgeManagementProcessor;
+/**
+ * The first page of the article listing. The processor loads the author account of every article on
+ * the page, so one call makes a page worth of user lookups on top of the listing itself.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KnowledgeManagementBenchmark
+{
+    private IKnowledgeManagementProcessor processor = null;
+
+    @Setup(Level.Trial)
+    public void setUp(final BenchmarkEnvironment environment)
+    {
+        this.processor = (IKnowledgeManagementProcessor) new KnowledgeManagementProcessorImpl();
+    }
+
+    @Benchmark
+    public KnowledgeManagementResponse listArticles(final UserState user) throws KnowledgeManagementException
+    {
+        return this.processor.listArticles(user.getArticleRequest());
+    }
+}
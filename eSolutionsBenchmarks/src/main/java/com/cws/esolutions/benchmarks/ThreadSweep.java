@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.benchmarks;
+/*
+ * Project: eSolutionsBenchmarks
+ * Package: com.cws.esolutions.benchmarks
+ * File: ThreadSweep.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.results.RunResult;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+/**
+ * Runs the benchmarks at increasing thread counts and reports how throughput scales, to find the
+ * point where adding request threads stops adding throughput. Each benchmark is reported with its
+ * throughput, the speedup over a single thread and the parallel efficiency (speedup / threads); the
+ * first thread count that adds less than {@link #KNEE_GAIN} over the previous one is marked as the knee.
+ * <p>
+ * The embedded pool is capped at 20 connections, so a knee at or below that count points at
+ * contention in the code under test rather than at the pool.
+ * <p>
+ * Usage: <code>java -cp benchmarks.jar com.cws.esolutions.benchmarks.ThreadSweep [benchmark regex ...]</code>
+ * <ul>
+ *   <li><code>-Dthreads=1,2,4,8</code> - the thread counts to run, default 1,2,4,8,16,32,64</li>
+ *   <li><code>-Dusers=1000</code> - the number of seeded users, default 1000</li>
+ * </ul>
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class ThreadSweep
+{
+    public static final double KNEE_GAIN = 0.10;
+    public static final String DEFAULT_THREADS = "1,2,4,8,16,32,64";
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        final String[] threadCounts = StringUtils.split(System.getProperty("threads", ThreadSweep.DEFAULT_THREADS), ",");
+        final String[] includes = (args.length == 0) ? new String[] { ThreadSweep.class.getPackage().getName() + ".*Benchmark" } : args;
+        final Map<String, Map<Integer, Double>> results = new TreeMap<String, Map<Integer, Double>>();
+
+        for (String threadCount : threadCounts)
+        {
+            final int threads = Integer.parseInt(threadCount.trim());
+
+            ChainedOptionsBuilder options = new OptionsBuilder().threads(threads);
+
+            for (String include : includes)
+            {
+                options = options.include(include);
+            }
+
+            if (!(StringUtils.isBlank(System.getProperty("users"))))
+            {
+                options = options.param("users", System.getProperty("users"));
+            }
+
+            final Collection<RunResult> runResults = new Runner(options.build()).run();
+
+            for (RunResult result : runResults)
+            {
+                results.computeIfAbsent(result.getParams().getBenchmark(), key -> new TreeMap<Integer, Double>())
+                    .put(threads, result.getPrimaryResult().getScore());
+            }
+        }
+
+        System.out.println();
+        System.out.println(String.format("%-72s %8s %14s %9s %11s", "Benchmark", "Threads", "ops/s", "Speedup", "Efficiency"));
+
+        for (String benchmark : results.keySet())
+        {
+            final List<Integer> threads = new ArrayList<Integer>(results.get(benchmark).keySet());
+            final double baseline = results.get(benchmark).get(threads.get(0)) / threads.get(0);
+
+            boolean kneeFound = false;
+
+            for (int x = 0; x < threads.size(); x++)
+            {
+                final double score = results.get(benchmark).get(threads.get(x));
+                final double speedup = score / baseline;
+                final double efficiency = speedup / threads.get(x);
+
+                String marker = StringUtils.EMPTY;
+
+                if ((!(kneeFound)) && (x != 0) && (score < results.get(benchmark).get(threads.get(x - 1)) * (1 + ThreadSweep.KNEE_GAIN)))
+                {
+                    kneeFound = true;
+                    marker = "  <- knee";
+                }
+
+                System.out.println(String.format("%-72s %8d %14.2f %9.2f %10.0f%%%s", benchmark, threads.get(x), score, speedup, efficiency * 100, marker));
+            }
+        }
+    }
+}
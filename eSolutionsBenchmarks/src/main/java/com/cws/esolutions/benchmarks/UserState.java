@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.benchmarks;
+/*
+ * Project: eSolutionsBenchmarks
+ * Package: com.cws.esolutions.benchmarks
+ * File: UserState.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.List;
+import java.util.Arrays;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.sql.PreparedStatement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cws.esolutions.security.dto.UserAccount;
+import com.cws.esolutions.security.SecurityServicesBean;
+import com.cws.esolutions.utility.securityutils.PasswordUtils;
+import com.cws.esolutions.utility.services.impl.ServiceIndex;
+import com.cws.esolutions.security.enums.SecurityUserRole;
+import com.cws.esolutions.security.config.xml.SystemConfig;
+import com.cws.esolutions.security.config.xml.SecurityConfig;
+import com.cws.esolutions.security.processors.dto.RequestHostInfo;
+import com.cws.esolutions.security.processors.dto.AuthenticationData;
+import com.cws.esolutions.utility.services.dto.AccessControlServiceRequest;
+import com.cws.esolutions.security.processors.dto.AuthenticationRequest;
+import com.cws.esolutions.core.processors.dto.ServerManagementRequest;
+import com.cws.esolutions.core.processors.dto.KnowledgeManagementRequest;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditContext;
+import com.cws.esolutions.security.processors.factory.AuditContextFactory;
+/**
+ * Per-thread benchmark state. Claims one seeded user from the {@link BenchmarkEnvironment}, gives it a
+ * known password and authentication token and builds the requests the benchmarks replay, so threads
+ * neither share an account nor contend on the same rows.
+ * <p>
+ * The service identifier of every request is the user's first group, so authorization succeeds and
+ * each call runs the full processor path rather than the unauthorized short cut.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+@State(Scope.Thread)
+public class UserState
+{
+    private String userId = null;
+    private String authToken = null;
+    private String serviceId = null;
+    private String commonName = null;
+    private UserAccount userAccount = null;
+    private RequestHostInfo hostInfo = null;
+
+    @Setup(Level.Trial)
+    public void setUp(final BenchmarkEnvironment environment) throws SQLException
+    {
+        final SecurityServicesBean secBean = SecurityServicesBean.getInstance();
+        final SystemConfig sysConfig = secBean.getConfigData().getSystemConfig();
+        final SecurityConfig secConfig = secBean.getConfigData().getSecurityConfig();
+
+        this.commonName = environment.nextCommonName();
+        this.authToken = "token-" + this.commonName;
+
+        try (Connection sqlConn = environment.getDataSource().getConnection())
+        {
+            String userRole = null;
+            String userSalt = null;
+            String memberOf = null;
+
+            try (PreparedStatement stmt = sqlConn.prepareStatement("SELECT UID, CWSROLE, MEMBEROF FROM USERS WHERE CN = ?"))
+            {
+                stmt.setString(1, this.commonName);
+
+                try (ResultSet resultSet = stmt.executeQuery())
+                {
+                    if (!(resultSet.next()))
+                    {
+                        throw new SQLException("No seeded user was found for " + this.commonName);
+                    }
+
+                    this.userId = resultSet.getString(1);
+                    userRole = resultSet.getString(2);
+                    memberOf = resultSet.getString(3);
+                    this.serviceId = memberOf.split(",")[0];
+                }
+            }
+
+            try (PreparedStatement stmt = sqlConn.prepareStatement("SELECT SALT_VALUE FROM USER_SECURITY WHERE CN = ? AND SALT_TYPE = 'LOGON'"))
+            {
+                stmt.setString(1, this.commonName);
+
+                try (ResultSet resultSet = stmt.executeQuery())
+                {
+                    if (!(resultSet.next()))
+                    {
+                        throw new SQLException("No logon salt was found for " + this.commonName);
+                    }
+
+                    userSalt = resultSet.getString(1);
+                }
+            }
+
+            // the same derivation the authentication processor applies to the supplied password
+            final String password = PasswordUtils.encryptText(BenchmarkEnvironment.PASSWORD.toCharArray(), userSalt,
+                secConfig.getSecretKeyAlgorithm(), secConfig.getIterations(), secConfig.getKeyLength(), sysConfig.getEncoding());
+
+            try (PreparedStatement stmt = sqlConn.prepareStatement("UPDATE USERS SET USERPASSWORD = ?, CWSAUTHTOKEN = ?, CWSFAILEDPWDCOUNT = 0, " +
+                "CWSISSUSPENDED = FALSE, CWSEXPIRYDATE = ? WHERE CN = ?"))
+            {
+                stmt.setString(1, password);
+                stmt.setString(2, this.authToken);
+                stmt.setTimestamp(3, new Timestamp(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(90)));
+                stmt.setString(4, this.commonName);
+                stmt.executeUpdate();
+            }
+
+            this.userAccount = new UserAccount();
+            this.userAccount.setGuid(this.commonName);
+            this.userAccount.setUsername(this.userId);
+            this.userAccount.setUserRole(SecurityUserRole.valueOf(userRole));
+            this.userAccount.setSessionId("session-" + this.commonName);
+
+            // as the authentication processor does at logon
+            this.userAccount.setAuthorizations(ServiceIndex.toMembership(Arrays.asList(memberOf.split(","))));
+        }
+
+        this.hostInfo = new RequestHostInfo();
+        this.hostInfo.setHostName("localhost");
+        this.hostInfo.setHostAddress("127.0.0.1");
+    }
+
+    public String getCommonName()
+    {
+        return this.commonName;
+    }
+
+    public String getUserId()
+    {
+        return this.userId;
+    }
+
+    public String getAuthToken()
+    {
+        return this.authToken;
+    }
+
+    /**
+     * The password is rebuilt on every call as the processor is free to clear the array it is given.
+     *
+     * @return A logon request for this thread's user
+     */
+    public AuthenticationRequest getAuthenticationRequest()
+    {
+        UserAccount authUser = new UserAccount();
+        authUser.setUsername(this.userId);
+
+        AuthenticationData authSec = new AuthenticationData();
+        authSec.setPassword(BenchmarkEnvironment.PASSWORD.toCharArray());
+        authSec.setSessionId(this.userAccount.getSessionId());
+
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setHostInfo(this.hostInfo);
+        request.setUserAccount(authUser);
+        request.setUserSecurity(authSec);
+        request.setApplicationId(BenchmarkEnvironment.APPLICATION_ID);
+        request.setApplicationName(BenchmarkEnvironment.APPLICATION_NAME);
+
+        return request;
+    }
+
+    public AccessControlServiceRequest getAccessRequest()
+    {
+        AccessControlServiceRequest request = new AccessControlServiceRequest();
+        request.setServiceGuid(this.serviceId);
+        request.setUserAccount(new ArrayList<Object>(
+            Arrays.asList(
+                this.userAccount.getGuid(),
+                this.userAccount.getUserRole().toString(),
+                this.userAccount.getUserGroups(),
+                this.userAccount.getAuthorizations())));
+
+        return request;
+    }
+
+    public AuditRequest getAuditRequest()
+    {
+        AuditEntry auditEntry = new AuditEntry();
+        auditEntry.setAuditType(AuditType.LOGON);
+        auditEntry.setSessionId(this.userAccount.getSessionId());
+        auditEntry.setUserGuid(this.userAccount.getGuid());
+        auditEntry.setUserName(this.userAccount.getUsername());
+        auditEntry.setUserRole(this.userAccount.getUserRole().toString());
+        auditEntry.setAuthorized(Boolean.TRUE);
+        auditEntry.setApplicationId(BenchmarkEnvironment.APPLICATION_ID);
+        auditEntry.setApplicationName(BenchmarkEnvironment.APPLICATION_NAME);
+
+        List<String> auditHostInfo = new ArrayList<String>(
+            Arrays.asList(
+                this.hostInfo.getHostAddress(),
+                this.hostInfo.getHostName()));
+
+        AuditRequest request = new AuditRequest();
+        request.setAuditEntry(auditEntry);
+        request.setHostInfo(auditHostInfo);
+
+        return request;
+    }
+
+    /**
+     * @return A newly bound audit context for this thread's user, as a processor binds one per request
+     */
+    public AuditContext getAuditContext()
+    {
+        return AuditContextFactory.getAuditContext(true, this.userAccount, this.hostInfo,
+            BenchmarkEnvironment.APPLICATION_ID, BenchmarkEnvironment.APPLICATION_NAME);
+    }
+
+    public ServerManagementRequest getServerRequest()
+    {
+        ServerManagementRequest request = new ServerManagementRequest();
+        request.setRequestInfo(this.hostInfo);
+        request.setUserAccount(this.userAccount);
+        request.setServiceId(this.serviceId);
+        request.setStartPage(0);
+        request.setApplicationId(BenchmarkEnvironment.APPLICATION_ID);
+        request.setApplicationName(BenchmarkEnvironment.APPLICATION_NAME);
+
+        return request;
+    }
+
+    public KnowledgeManagementRequest getArticleRequest()
+    {
+        KnowledgeManagementRequest request = new KnowledgeManagementRequest();
+        request.setRequestInfo(this.hostInfo);
+        request.setUserAccount(this.userAccount);
+        request.setServiceId(this.serviceId);
+        request.setStartPage(0);
+        request.setApplicationId(BenchmarkEnvironment.APPLICATION_ID);
+        request.setApplicationName(BenchmarkEnvironment.APPLICATION_NAME);
+
+        return request;
+    }
+}
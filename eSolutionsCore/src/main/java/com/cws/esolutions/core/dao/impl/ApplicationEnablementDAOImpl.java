@@ -32,13 +32,15 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.PreparedStatement;
 
+import com.cws.esolutions.utility.coreutils.StatementCache;
+import com.cws.esolutions.utility.coreutils.ReplicaRoutingDataSource;
 import com.cws.esolutions.core.dao.interfaces.IApplicationEnablementDAO;
 /**
  * @see com.cws.esolutions.core.dao.interfaces.IServiceDataDAO
  */
 public class ApplicationEnablementDAOImpl implements IApplicationEnablementDAO
 {
-	public synchronized boolean isServiceEnabled(final String requestURI) throws SQLException
+	public boolean isServiceEnabled(final String requestURI) throws SQLException
 	{
 	    final String methodName = IApplicationEnablementDAO.CNAME + "#isServiceEnabled(final String requestURI) throws SQLException";
 
@@ -59,7 +61,7 @@ public class ApplicationEnablementDAOImpl implements IApplicationEnablementDAO
 
 	    try
 	    {
-	        sqlConn = dataSource.getConnection();
+	        sqlConn = ReplicaRoutingDataSource.getReadConnection(dataSource);
 
 	        if ((Objects.isNull(sqlConn)) || (sqlConn.isClosed()))
 	        {
@@ -67,7 +69,7 @@ public class ApplicationEnablementDAOImpl implements IApplicationEnablementDAO
 	        }
 
 	        sqlConn.setAutoCommit(true);
-	        stmt = sqlConn.prepareStatement("{ CALL isServiceEnabled(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+	        stmt = StatementCache.prepareStatement(sqlConn, "{ CALL isServiceEnabled(?) }");
 	        stmt.setString(1, requestURI);
 
 	        if (DEBUG)
@@ -118,7 +120,7 @@ public class ApplicationEnablementDAOImpl implements IApplicationEnablementDAO
 	/**
 	 * @see com.cws.esolutions.security.dao.reference.interfaces.ISecurityReferenceDAO#obtainAvailableServices()
 	 */
-	public synchronized HashMap<String, String> obtainAvailableServices() throws SQLException
+	public HashMap<String, String> obtainAvailableServices() throws SQLException
 	{
 	    final String methodName = IApplicationEnablementDAO.CNAME + "#obtainAvailableServices() throws SQLException";
 
@@ -147,7 +149,7 @@ public class ApplicationEnablementDAOImpl implements IApplicationEnablementDAO
 	        }
 
 	        sqlConn.setAutoCommit(true);
-	        stmt = sqlConn.prepareStatement("{ CALL retrAvailableServices() }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+	        stmt = StatementCache.prepareStatement(sqlConn, "{ CALL retrAvailableServices() }");
 
 	        if (DEBUG)
 	        {
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.core.dao.impl;
+/*
+ * Project: eSolutionsCore
+ * Package: com.cws.esolutions.core.dao.impl
+ * File: ArticleSummaryRowMapper.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.cws.esolutions.security.dto.UserAccount;
+import com.cws.esolutions.utility.coreutils.RowMapper;
+import com.cws.esolutions.core.processors.dto.Article;
+/**
+ * Maps a row of the article listings (<code>listArticles</code>) to an {@link Article}. The author
+ * is returned as a {@link UserAccount} carrying only its GUID.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+final class ArticleSummaryRowMapper implements RowMapper<Article>
+{
+    static final ArticleSummaryRowMapper INSTANCE = new ArticleSummaryRowMapper();
+
+    private static final int ARTICLEID = 1;
+    private static final int TITLE = 2;
+    private static final int AUTHOR = 3;
+
+    private ArticleSummaryRowMapper()
+    {
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.coreutils.RowMapper#mapRow(java.sql.ResultSet)
+     */
+    public Article mapRow(final ResultSet resultSet) throws SQLException
+    {
+        UserAccount author = new UserAccount();
+        author.setGuid(resultSet.getString(ArticleSummaryRowMapper.AUTHOR));
+
+        Article article = new Article();
+        article.setArticleId(resultSet.getString(ArticleSummaryRowMapper.ARTICLEID));
+        article.setTitle(resultSet.getString(ArticleSummaryRowMapper.TITLE));
+        article.setAuthor(author);
+
+        return article;
+    }
+}
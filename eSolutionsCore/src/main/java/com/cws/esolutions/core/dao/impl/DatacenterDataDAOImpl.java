@@ -36,6 +36,7 @@ import java.sql.SQLException;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 
+import com.cws.esolutions.utility.coreutils.StatementCache;
 import com.cws.esolutions.core.dao.interfaces.IDatacenterDataDAO;
 /**
  * @see com.cws.esolutions.core.dao.interfaces.IDatacenterDataDAO
@@ -45,7 +46,7 @@ public class DatacenterDataDAOImpl implements IDatacenterDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IDatacenterDataDAO#addDatacenter(java.util.List)
      */
-    public synchronized boolean addDatacenter(final List<String> data) throws SQLException
+    public boolean addDatacenter(final List<String> data) throws SQLException
     {
         final String methodName = IDatacenterDataDAO.CNAME + "#addDatacenter(final List<String> data) throws SQLException";
         
@@ -79,7 +80,7 @@ public class DatacenterDataDAOImpl implements IDatacenterDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL addNewDatacenter(?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL addNewDatacenter(?, ?, ?, ?) }");
             stmt.setString(1, data.get(0)); // guid
             stmt.setString(2, data.get(1)); // datacenterName
             stmt.setString(3, data.get(2)); // datacenterStatus
@@ -120,7 +121,7 @@ public class DatacenterDataDAOImpl implements IDatacenterDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IDatacenterDataDAO#updateDatacenter(java.util.List)
      */
-    public synchronized boolean updateDatacenter(final List<String> data) throws SQLException
+    public boolean updateDatacenter(final List<String> data) throws SQLException
     {
         final String methodName = IDatacenterDataDAO.CNAME + "#updateDatacenter(final List<String> data) throws SQLException";
         
@@ -153,7 +154,7 @@ public class DatacenterDataDAOImpl implements IDatacenterDataDAO
                 throw new SQLException("Unable to obtain application datasource connection");
             }
 
-            stmt = sqlConn.prepareCall("{ CALL updateDatacenter(?, ?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL updateDatacenter(?, ?, ?, ?, ?) }");
             stmt.setString(1, data.get(0)); // guid
             stmt.setString(2, data.get(1)); // datacenterName
             stmt.setString(3, data.get(2)); // datacenterStatus
@@ -193,7 +194,7 @@ public class DatacenterDataDAOImpl implements IDatacenterDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IDatacenterDataDAO#removeDatacenter(java.lang.String)
      */
-    public synchronized boolean removeDatacenter(final String datacenter) throws SQLException
+    public boolean removeDatacenter(final String datacenter) throws SQLException
     {
         final String methodName = IDatacenterDataDAO.CNAME + "#removeDatacenter(final String datacenter) throws SQLException";
 
@@ -223,7 +224,7 @@ public class DatacenterDataDAOImpl implements IDatacenterDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL removeDatacenter(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL removeDatacenter(?) }");
             stmt.setString(1, datacenter);
 
             if (DEBUG)
@@ -261,7 +262,7 @@ public class DatacenterDataDAOImpl implements IDatacenterDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IDatacenterDataDAO#listDatacenters(int)
      */
-    public synchronized List<String[]> listDatacenters(final int startRow) throws SQLException
+    public List<String[]> listDatacenters(final int startRow) throws SQLException
     {
         final String methodName = IDatacenterDataDAO.CNAME + "#listDatacenters(final int startRow) throws SQLException";
 
@@ -292,7 +293,7 @@ public class DatacenterDataDAOImpl implements IDatacenterDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL listDatacenters(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL listDatacenters(?) }");
             stmt.setInt(1, startRow);
 
             if (DEBUG)
@@ -363,7 +364,7 @@ public class DatacenterDataDAOImpl implements IDatacenterDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IDatacenterDataDAO#getDatacentersByAttribute(java.lang.String, int)
      */
-    public synchronized List<Object[]> getDatacentersByAttribute(final String attribute, final int startRow) throws SQLException
+    public List<Object[]> getDatacentersByAttribute(final String attribute, final int startRow) throws SQLException
     {
         final String methodName = IDatacenterDataDAO.CNAME + "#getDatacentersByAttribute(final String attribute, final int startRow) throws SQLException";
 
@@ -394,7 +395,7 @@ public class DatacenterDataDAOImpl implements IDatacenterDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL getDatacenterByAttribute(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getDatacenterByAttribute(?, ?) }");
             stmt.setString(1, attribute);
             stmt.setInt(2, startRow);
 
@@ -468,7 +469,7 @@ public class DatacenterDataDAOImpl implements IDatacenterDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IDatacenterDataDAO#getDatacenter(java.lang.String)
      */
-    public synchronized List<String> getDatacenter(final String attribute) throws SQLException
+    public List<String> getDatacenter(final String attribute) throws SQLException
     {
         final String methodName = IDatacenterDataDAO.CNAME + "#getDatacenter(final String attribute) throws SQLException";
 
@@ -501,7 +502,7 @@ public class DatacenterDataDAOImpl implements IDatacenterDataDAO
 
             // we dont know what we have here - it could be a guid or it could be a hostname
             // most commonly it'll be a guid, but we're going to search anyway
-            stmt = sqlConn.prepareStatement("{ CALL getDatacenterData(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getDatacenterData(?) }");
             stmt.setString(1, attribute);
 
             if (DEBUG)
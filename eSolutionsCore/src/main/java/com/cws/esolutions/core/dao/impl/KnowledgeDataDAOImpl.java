@@ -26,16 +26,23 @@ package com.cws.esolutions.core.dao.impl;
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
 import java.sql.Types;
+import java.util.Map;
 import java.util.List;
 import java.util.Arrays;
 import java.util.Objects;
 import java.sql.ResultSet;
+import java.util.HashMap;
 import java.util.ArrayList;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.CallableStatement;
 
+import com.cws.esolutions.utility.coreutils.SQLUtils;
+import com.cws.esolutions.utility.coreutils.StatementCache;
+import com.cws.esolutions.core.processors.dto.Article;
 import com.cws.esolutions.core.dao.interfaces.IKnowledgeDataDAO;
+import com.cws.esolutions.utility.exception.UtilityException;
+import com.cws.esolutions.utility.coreutils.ReplicaRoutingDataSource;
 /**
  * Interface for the Application Data DAO layer. Allows access
  * into the asset management database to obtain, modify and remove
@@ -46,7 +53,7 @@ import com.cws.esolutions.core.dao.interfaces.IKnowledgeDataDAO;
  */
 public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
 {
-	public final synchronized boolean addArticle(final List<String> value) throws SQLException
+	public final boolean addArticle(final List<String> value) throws SQLException
 	{
         final String methodName = IKnowledgeDataDAO.CNAME + "#addArticle(final List<String> value) throws SQLException";
         
@@ -76,7 +83,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL addNewArticle(?, ?, ?, ?, ?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL addNewArticle(?, ?, ?, ?, ?, ?, ?, ?) }");
             stmt.setString(1, value.get(0)); // articleid
             stmt.setString(2, value.get(1)); // author
             stmt.setString(3, value.get(2)); // keywords
@@ -124,7 +131,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
         return isComplete;
 	}
 
-	public final synchronized boolean updateArticle(final List<String> value) throws SQLException
+	public final boolean updateArticle(final List<String> value) throws SQLException
 	{
         final String methodName = IKnowledgeDataDAO.CNAME + "#updateArticle(final List<String> value) throws SQLException";
         
@@ -154,7 +161,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL updateArticle(?, ?, ?, ?, ?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL updateArticle(?, ?, ?, ?, ?, ?, ?, ?) }");
             stmt.setString(1, value.get(0)); // articleid
             stmt.setString(2, value.get(1)); // keywords
             stmt.setString(3, value.get(2)); // title
@@ -202,7 +209,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
         return isComplete;
 	}
 
-	public final synchronized boolean updateArticleStatus(final String articleId, final String modifiedBy, final String status) throws SQLException
+	public final boolean updateArticleStatus(final String articleId, final String modifiedBy, final String status) throws SQLException
 	{
         final String methodName = IKnowledgeDataDAO.CNAME + "#updateArticleStatus(final String articleId, final String modifiedBy, final String status) throws SQLException";
         
@@ -234,7 +241,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL updateArticleStatus(?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL updateArticleStatus(?, ?, ?, ?) }");
             stmt.setString(1, articleId); // articleid
             stmt.setString(2, modifiedBy); // modifiedby
             stmt.setString(3, status); // article status
@@ -278,7 +285,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
         return isComplete;
 	}
 
-	public final synchronized boolean removeArticle(final String articleId, final String userId) throws SQLException
+	public final boolean removeArticle(final String articleId, final String userId) throws SQLException
 	{
         final String methodName = IKnowledgeDataDAO.CNAME + "#updateArticleStatus(final String articleId, final String userId) throws SQLException";
         
@@ -309,7 +316,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL removeArticle(?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL removeArticle(?, ?, ?) }");
             stmt.setString(1, articleId); // articleid
             stmt.setString(2, userId); // modifiedBy
             stmt.registerOutParameter(3, Types.INTEGER);
@@ -352,7 +359,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
         return isComplete;
 	}
 
-	public final synchronized List<String[]> listArticles(int startRow) throws SQLException
+	public final List<String[]> listArticles(int startRow) throws SQLException
 	{
         final String methodName = IKnowledgeDataDAO.CNAME + "#listArticles(final int startRow) throws SQLException";
         
@@ -374,7 +381,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
 
         try
         {
-            sqlConn = dataSource.getConnection();
+            sqlConn = ReplicaRoutingDataSource.getReadConnection(dataSource);
 
             if ((Objects.isNull(sqlConn)) || (sqlConn.isClosed()))
             {
@@ -383,7 +390,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL listArticles(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL listArticles(?) }");
             stmt.setInt(1, startRow); // startrow
             
             if (DEBUG)
@@ -452,7 +459,35 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
         return resultList;
 	}
 
-	public final synchronized List<String[]> getArticlesByAttribute(final String attribute, final int startRow) throws SQLException
+	public final List<Article> getArticleList(final int startRow) throws SQLException
+	{
+        final String methodName = IKnowledgeDataDAO.CNAME + "#getArticleList(final int startRow) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", startRow);
+        }
+
+        if (Objects.isNull(dataSource))
+        {
+        	throw new SQLException("A datasource connection could not be obtained.");
+        }
+
+        Map<Integer, Object> params = new HashMap<Integer, Object>();
+        params.put(1, startRow);
+
+        try
+        {
+            return SQLUtils.queryForList(dataSource, "{ CALL listArticles(?) }", params, true, ArticleSummaryRowMapper.INSTANCE);
+        }
+        catch (final UtilityException ux)
+        {
+            throw new SQLException(ux.getMessage(), ux);
+        }
+	}
+
+	public final List<String[]> getArticlesByAttribute(final String attribute, final int startRow) throws SQLException
 	{
         final String methodName = IKnowledgeDataDAO.CNAME + "#listArticles(final String attribute, final int startRow) throws SQLException";
         
@@ -484,7 +519,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL getArticlesByAttribute(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL getArticlesByAttribute(?, ?) }");
             stmt.setString(1, attribute);
             stmt.setInt(2, startRow); // startrow
             
@@ -554,7 +589,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
         return resultList;
 	}
 
-	public final synchronized List<Object> getArticle(final String value) throws SQLException
+	public final List<Object> getArticle(final String value) throws SQLException
 	{
         final String methodName = IKnowledgeDataDAO.CNAME + "#getArticle(final String value) throws SQLException";
         
@@ -585,7 +620,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL getArticleData(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL getArticleData(?) }");
             stmt.setString(1, value);
             
             if (DEBUG)
@@ -651,7 +686,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
         return resultList;
 	}
 
-	public final synchronized List<Object> getArticleForApproval(final String value) throws SQLException
+	public final List<Object> getArticleForApproval(final String value) throws SQLException
 	{
         final String methodName = IKnowledgeDataDAO.CNAME + "#getArticleForApproval(final String value) throws SQLException";
         
@@ -682,7 +717,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL getArticleForApproval(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL getArticleForApproval(?) }");
             stmt.setString(1, value);
             
             if (DEBUG)
@@ -746,7 +781,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
         return resultList;
 	}
 
-	public final synchronized List<String[]> getArticlesForApproval(final int startRow) throws SQLException
+	public final List<String[]> getArticlesForApproval(final int startRow) throws SQLException
 	{
         final String methodName = IKnowledgeDataDAO.CNAME + "#getArticlesForApproval(final int startRow) throws SQLException";
         
@@ -777,7 +812,7 @@ public class KnowledgeDataDAOImpl implements IKnowledgeDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL getArticlesForApproval(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL getArticlesForApproval(?) }");
             stmt.setInt(1, startRow); // startrow
             
             if (DEBUG)
@@ -25,18 +25,25 @@ package com.cws.esolutions.core.dao.impl;
  * ----------------------------------------------------------------------------
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
+import java.util.Map;
 import java.sql.Types;
 import java.util.List;
 import java.util.Arrays;
 import java.util.Objects;
 import java.sql.ResultSet;
+import java.util.HashMap;
 import java.util.ArrayList;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.PreparedStatement;
 import java.sql.CallableStatement;
 
+import com.cws.esolutions.utility.coreutils.SQLUtils;
+import com.cws.esolutions.utility.coreutils.StatementCache;
+import com.cws.esolutions.core.processors.dto.Server;
 import com.cws.esolutions.core.dao.interfaces.IServerDataDAO;
+import com.cws.esolutions.utility.exception.UtilityException;
+import com.cws.esolutions.utility.coreutils.ReplicaRoutingDataSource;
 /**
  * @see com.cws.esolutions.core.dao.interfaces.IServerDataDAO
  */
@@ -45,7 +52,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IServerDataDAO#addServer(java.util.List)
      */
-    public synchronized boolean addServer(final List<Object> serverData) throws SQLException
+    public boolean addServer(final List<Object> serverData) throws SQLException
     {
         final String methodName = IServerDataDAO.CNAME + "#addServer(final List<Object> serverData) throws SQLException";
         
@@ -75,7 +82,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL addNewServer(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL addNewServer(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) }");
             stmt.setString(1, (String) serverData.get(0)); // IN systemGuid VARCHAR(128),
             stmt.setString(2, (String) serverData.get(1)); // IN systemOs VARCHAR(45),
             stmt.setString(3, (String) serverData.get(2)); // IN systemStatus VARCHAR(45),
@@ -142,10 +149,58 @@ public class ServerDataDAOImpl implements IServerDataDAO
         return isComplete;
     }
 
+    /**
+     * @see com.cws.esolutions.core.dao.interfaces.IServerDataDAO#addServers(java.util.List)
+     */
+    public int[] addServers(final List<List<Object>> serverData) throws SQLException
+    {
+        final String methodName = IServerDataDAO.CNAME + "#addServers(final List<List<Object>> serverData) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("serverData: {}", serverData);
+        }
+
+        if (Objects.isNull(dataSource))
+        {
+        	throw new SQLException("A datasource connection could not be obtained.");
+        }
+
+        List<Map<Integer, Object>> batchParams = new ArrayList<Map<Integer, Object>>();
+
+        for (List<Object> server : serverData)
+        {
+            // same column mapping as addServer - the status OUT parameter
+            // is bound to a session variable as batches cannot return it
+            Map<Integer, Object> params = new HashMap<Integer, Object>();
+            params.put(1, server.get(0)); // IN systemGuid VARCHAR(128),
+            params.put(2, server.get(1)); // IN systemOs VARCHAR(45),
+            params.put(3, server.get(2)); // IN systemStatus VARCHAR(45),
+            params.put(4, server.get(3)); // IN systemRegion VARCHAR(45),
+
+            for (int x = 5; x <= 26; x++)
+            {
+                params.put(x, server.get(x)); // networkPartition .. rackPosition
+            }
+
+            batchParams.add(params);
+        }
+
+        try
+        {
+            return SQLUtils.addOrDeleteDataBatch(dataSource, "{ CALL addNewServer(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, @updateCount) }", batchParams);
+        }
+        catch (final UtilityException ux)
+        {
+            throw new SQLException(ux.getMessage(), ux);
+        }
+    }
+
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IServerDataDAO#updateServer(java.lang.String, java.util.List)
      */
-    public synchronized boolean updateServer(final String serverGuid, final List<Object> serverData) throws SQLException
+    public boolean updateServer(final String serverGuid, final List<Object> serverData) throws SQLException
     {
         final String methodName = IServerDataDAO.CNAME + "#updateServer(final String serverGuid, final List<Object> serverData) throws SQLException";
         
@@ -180,7 +235,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
  
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL updateaServerData(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL updateaServerData(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) }");
             stmt.setString(1, (String) serverData.get(0)); // IN systemGuid VARCHAR(128),
             stmt.setString(2, (String) serverData.get(1)); // IN systemOs VARCHAR(45),
             stmt.setString(3, (String) serverData.get(2)); // IN systemStatus VARCHAR(45),
@@ -250,7 +305,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IServerDataDAO#removeServer(java.lang.String)
      */
-    public synchronized boolean removeServer(final String serverGuid) throws SQLException
+    public boolean removeServer(final String serverGuid) throws SQLException
     {
         final String methodName = IServerDataDAO.CNAME + "#removeServer(final String serverGuid) throws SQLException";
 
@@ -280,7 +335,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL removeServerFromAssets(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL removeServerFromAssets(?) }");
             stmt.setString(1, serverGuid);
 
             if (DEBUG)
@@ -318,7 +373,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IServerDataDAO#listServers(int)
      */
-    public synchronized List<String[]> listServers(final int startRow) throws SQLException
+    public List<String[]> listServers(final int startRow) throws SQLException
     {
         final String methodName = IServerDataDAO.CNAME + "#listServers(final int startRow) throws SQLException";
 
@@ -340,7 +395,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
 
         try
         {
-            sqlConn = dataSource.getConnection();
+            sqlConn = ReplicaRoutingDataSource.getReadConnection(dataSource);
 
             if ((Objects.isNull(sqlConn)) || (sqlConn.isClosed()))
             {
@@ -349,7 +404,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL retrServerList(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL retrServerList(?) }");
             stmt.setInt(1, startRow);
 
             if (DEBUG)
@@ -431,7 +486,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IServerDataDAO#getServersByAttribute(java.lang.String, int)
      */
-    public synchronized List<String[]> getServersByAttribute(final String value, final int startRow) throws SQLException
+    public List<String[]> getServersByAttribute(final String value, final int startRow) throws SQLException
     {
         final String methodName = IServerDataDAO.CNAME + "#getServersByAttribute(final String value, final int startRow) throws SQLException";
 
@@ -454,7 +509,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
 
         try
         {
-            sqlConn = dataSource.getConnection();
+            sqlConn = ReplicaRoutingDataSource.getReadConnection(dataSource);
 
             if ((Objects.isNull(sqlConn)) || (sqlConn.isClosed()))
             {
@@ -463,7 +518,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL getServerByAttribute(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getServerByAttribute(?, ?) }");
             stmt.setString(1, value);
             stmt.setInt(2, startRow);
 
@@ -537,7 +592,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IServerDataDAO#getServer(java.lang.String)
      */
-    public synchronized List<Object> getServer(final String serverGuid) throws SQLException
+    public List<Object> getServer(final String serverGuid) throws SQLException
     {
         final String methodName = IServerDataDAO.CNAME + "#getServer(final String serverGuid) throws SQLException";
 
@@ -570,7 +625,7 @@ public class ServerDataDAOImpl implements IServerDataDAO
 
             // we dont know what we have here - it could be a guid or it could be a hostname
             // most commonly it'll be a guid, but we're going to search anyway
-            stmt = sqlConn.prepareStatement("{ CALL getServerData(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getServerData(?) }");
             stmt.setString(1, serverGuid);
 
             if (DEBUG)
@@ -654,4 +709,35 @@ public class ServerDataDAOImpl implements IServerDataDAO
 
         return responseData;
     }
+
+    /**
+     * @see com.cws.esolutions.core.dao.interfaces.IServerDataDAO#loadServer(java.lang.String)
+     */
+    public Server loadServer(final String serverGuid) throws SQLException
+    {
+        final String methodName = IServerDataDAO.CNAME + "#loadServer(final String serverGuid) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("serverGuid: {}", serverGuid);
+        }
+
+        if (Objects.isNull(dataSource))
+        {
+        	throw new SQLException("A datasource connection could not be obtained.");
+        }
+
+        Map<Integer, Object> params = new HashMap<Integer, Object>();
+        params.put(1, serverGuid);
+
+        try
+        {
+            return SQLUtils.queryForObject(dataSource, "{ CALL getServerData(?) }", params, ServerRowMapper.INSTANCE);
+        }
+        catch (final UtilityException ux)
+        {
+            throw new SQLException(ux.getMessage(), ux);
+        }
+    }
 }
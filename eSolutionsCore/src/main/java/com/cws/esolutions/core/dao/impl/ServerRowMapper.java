@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.core.dao.impl;
+/*
+ * Project: eSolutionsCore
+ * Package: com.cws.esolutions.core.dao.impl
+ * File: ServerRowMapper.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Date;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.SQLException;
+
+import com.cws.esolutions.security.dto.UserAccount;
+import com.cws.esolutions.utility.coreutils.RowMapper;
+import com.cws.esolutions.core.processors.dto.Server;
+import com.cws.esolutions.core.processors.dto.Datacenter;
+import com.cws.esolutions.core.processors.enums.ServerType;
+import com.cws.esolutions.core.processors.enums.ServerStatus;
+import com.cws.esolutions.core.processors.enums.ServiceRegion;
+import com.cws.esolutions.core.processors.enums.NetworkPartition;
+/**
+ * Maps a row of <code>getServerData</code> to a {@link Server}. The assigned engineer is
+ * returned as a {@link UserAccount} carrying only its GUID.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+final class ServerRowMapper implements RowMapper<Server>
+{
+    static final ServerRowMapper INSTANCE = new ServerRowMapper();
+
+    private static final int GUID = 1;
+    private static final int SYSTEM_OSTYPE = 2;
+    private static final int SYSSTATUS = 3;
+    private static final int REGION = 4;
+    private static final int NETWORK_PARTITION = 5;
+    private static final int SYSTEM_TYPE = 6;
+    private static final int DOMAIN_NAME = 7;
+    private static final int CPU_TYPE = 8;
+    private static final int CPU_COUNT = 9;
+    private static final int SERVER_RACK = 10;
+    private static final int RACK_POSITION = 11;
+    private static final int SERVER_MODEL = 12;
+    private static final int SERIAL_NUMBER = 13;
+    private static final int INSTALLED_MEMORY = 14;
+    private static final int OPER_IP = 15;
+    private static final int OPER_HOSTNAME = 16;
+    private static final int MGMT_IP = 17;
+    private static final int MGMT_HOSTNAME = 18;
+    private static final int BKUP_IP = 19;
+    private static final int BKUP_HOSTNAME = 20;
+    private static final int NAS_IP = 21;
+    private static final int NAS_HOSTNAME = 22;
+    private static final int NAT_ADDR = 23;
+    private static final int COMMENTS = 24;
+    private static final int ASSIGNED_ENGINEER = 25;
+    private static final int ADD_DATE = 26;
+    private static final int DELETE_DATE = 27;
+    private static final int DATACENTER_GUID = 28;
+    private static final int DATACENTER_NAME = 29;
+
+    private ServerRowMapper()
+    {
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.coreutils.RowMapper#mapRow(java.sql.ResultSet)
+     */
+    public Server mapRow(final ResultSet resultSet) throws SQLException
+    {
+        final Timestamp addDate = resultSet.getTimestamp(ServerRowMapper.ADD_DATE);
+        final Timestamp deleteDate = resultSet.getTimestamp(ServerRowMapper.DELETE_DATE);
+        final String engineerGuid = resultSet.getString(ServerRowMapper.ASSIGNED_ENGINEER);
+        final String datacenterGuid = resultSet.getString(ServerRowMapper.DATACENTER_GUID);
+
+        Server server = new Server();
+        server.setServerGuid(resultSet.getString(ServerRowMapper.GUID));
+        server.setOsName(resultSet.getString(ServerRowMapper.SYSTEM_OSTYPE));
+        server.setServerStatus(ServerStatus.valueOf(resultSet.getString(ServerRowMapper.SYSSTATUS)));
+        server.setServerRegion(ServiceRegion.valueOf(resultSet.getString(ServerRowMapper.REGION)));
+        server.setNetworkPartition(NetworkPartition.valueOf(resultSet.getString(ServerRowMapper.NETWORK_PARTITION)));
+        server.setServerType(ServerType.valueOf(resultSet.getString(ServerRowMapper.SYSTEM_TYPE)));
+        server.setDomainName(resultSet.getString(ServerRowMapper.DOMAIN_NAME));
+        server.setCpuType(resultSet.getString(ServerRowMapper.CPU_TYPE));
+        server.setCpuCount(resultSet.getInt(ServerRowMapper.CPU_COUNT));
+        server.setServerRack(resultSet.getString(ServerRowMapper.SERVER_RACK));
+        server.setRackPosition(resultSet.getString(ServerRowMapper.RACK_POSITION));
+        server.setServerModel(resultSet.getString(ServerRowMapper.SERVER_MODEL));
+        server.setSerialNumber(resultSet.getString(ServerRowMapper.SERIAL_NUMBER));
+        server.setInstalledMemory(resultSet.getInt(ServerRowMapper.INSTALLED_MEMORY));
+        server.setOperIpAddress(resultSet.getString(ServerRowMapper.OPER_IP));
+        server.setOperHostName(resultSet.getString(ServerRowMapper.OPER_HOSTNAME));
+        server.setMgmtIpAddress(resultSet.getString(ServerRowMapper.MGMT_IP));
+        server.setMgmtHostName(resultSet.getString(ServerRowMapper.MGMT_HOSTNAME));
+        server.setBkIpAddress(resultSet.getString(ServerRowMapper.BKUP_IP));
+        server.setBkHostName(resultSet.getString(ServerRowMapper.BKUP_HOSTNAME));
+        server.setNasIpAddress(resultSet.getString(ServerRowMapper.NAS_IP));
+        server.setNasHostName(resultSet.getString(ServerRowMapper.NAS_HOSTNAME));
+        server.setNatAddress(resultSet.getString(ServerRowMapper.NAT_ADDR));
+        server.setServerComments(resultSet.getString(ServerRowMapper.COMMENTS));
+        server.setOnlineDate((addDate == null) ? null : new Date(addDate.getTime()));
+        server.setOfflineDate((deleteDate == null) ? null : new Date(deleteDate.getTime()));
+
+        if (engineerGuid != null)
+        {
+            UserAccount assignedEngineer = new UserAccount();
+            assignedEngineer.setGuid(engineerGuid);
+
+            server.setAssignedEngineer(assignedEngineer);
+        }
+
+        if (datacenterGuid != null)
+        {
+            Datacenter datacenter = new Datacenter();
+            datacenter.setGuid(datacenterGuid);
+            datacenter.setName(resultSet.getString(ServerRowMapper.DATACENTER_NAME));
+
+            server.setDatacenter(datacenter);
+        }
+
+        return server;
+    }
+}
@@ -35,6 +35,7 @@ import java.sql.SQLException;
 import java.sql.PreparedStatement;
 import org.apache.commons.lang3.StringUtils;
 
+import com.cws.esolutions.utility.coreutils.StatementCache;
 import com.cws.esolutions.core.dao.interfaces.IServiceDataDAO;
 /**
  * @see com.cws.esolutions.core.dao.interfaces.IServiceDataDAO
@@ -44,7 +45,7 @@ public class ServiceDataDAOImpl implements IServiceDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IServiceDataDAO#addService(java.util.List)
      */
-    public synchronized boolean addService(final List<String> data) throws SQLException
+    public boolean addService(final List<String> data) throws SQLException
     {
         final String methodName = IServiceDataDAO.CNAME + "#addService(final List<String> data) throws SQLException";
         
@@ -78,7 +79,7 @@ public class ServiceDataDAOImpl implements IServiceDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL addNewService(?, ?, ?, ?, ?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL addNewService(?, ?, ?, ?, ?, ?, ?, ?) }");
             stmt.setString(1, data.get(0)); // guid
             stmt.setString(2, data.get(1)); // serviceType
             stmt.setString(3, data.get(2)); // name
@@ -123,7 +124,7 @@ public class ServiceDataDAOImpl implements IServiceDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IServiceDataDAO#updateService(java.util.List)
      */
-    public synchronized boolean updateService(final List<String> data) throws SQLException
+    public boolean updateService(final List<String> data) throws SQLException
     {
         final String methodName = IServiceDataDAO.CNAME + "#updateService(final List<String> data) throws SQLException";
         
@@ -157,7 +158,7 @@ public class ServiceDataDAOImpl implements IServiceDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL updateServiceData(?, ?, ?, ?, ?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL updateServiceData(?, ?, ?, ?, ?, ?, ?, ?) }");
             stmt.setString(1, data.get(0)); // guid
             stmt.setString(2, data.get(1)); // serviceType
             stmt.setString(3, data.get(2)); // name
@@ -202,7 +203,7 @@ public class ServiceDataDAOImpl implements IServiceDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IServiceDataDAO#removeService(java.lang.String)
      */
-    public synchronized boolean removeService(final String datacenter) throws SQLException
+    public boolean removeService(final String datacenter) throws SQLException
     {
         final String methodName = IServiceDataDAO.CNAME + "#removeService(final String datacenter) throws SQLException";
 
@@ -232,7 +233,7 @@ public class ServiceDataDAOImpl implements IServiceDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL removeServiceData(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL removeServiceData(?) }");
             stmt.setString(1, datacenter);
 
             if (DEBUG)
@@ -270,7 +271,7 @@ public class ServiceDataDAOImpl implements IServiceDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IServiceDataDAO#listServices(int)
      */
-    public synchronized List<String[]> listServices(final int startRow) throws SQLException
+    public List<String[]> listServices(final int startRow) throws SQLException
     {
         final String methodName = IServiceDataDAO.CNAME + "#listServices(final int startRow) throws SQLException";
 
@@ -301,7 +302,7 @@ public class ServiceDataDAOImpl implements IServiceDataDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL listServices(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL listServices(?) }");
             stmt.setInt(1, startRow);
 
             if (DEBUG)
@@ -372,7 +373,7 @@ public class ServiceDataDAOImpl implements IServiceDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IServiceDataDAO#getServicesByAttribute(java.lang.String, int)
      */
-    public synchronized List<Object[]> getServicesByAttribute(final String attribute, final int startRow) throws SQLException
+    public List<Object[]> getServicesByAttribute(final String attribute, final int startRow) throws SQLException
     {
         final String methodName = IServiceDataDAO.CNAME + "#getServicesByAttribute(final String attribute, final int startRow) throws SQLException";
 
@@ -427,7 +428,7 @@ public class ServiceDataDAOImpl implements IServiceDataDAO
                 sBuilder.append("+" + attribute);
             }
 
-            stmt = sqlConn.prepareStatement("{ CALL getServiceByAttribute(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getServiceByAttribute(?, ?) }");
             stmt.setString(1, sBuilder.toString().trim());
             stmt.setInt(2, startRow);
 
@@ -502,7 +503,7 @@ public class ServiceDataDAOImpl implements IServiceDataDAO
     /**
      * @see com.cws.esolutions.core.dao.interfaces.IServiceDataDAO#getService(java.lang.String)
      */
-    public synchronized List<String> getService(final String attribute) throws SQLException
+    public List<String> getService(final String attribute) throws SQLException
     {
         final String methodName = IServiceDataDAO.CNAME + "#getService(final String attribute) throws SQLException";
 
@@ -535,7 +536,7 @@ public class ServiceDataDAOImpl implements IServiceDataDAO
 
             // we dont know what we have here - it could be a guid or it could be a hostname
             // most commonly it'll be a guid, but we're going to search anyway
-            stmt = sqlConn.prepareStatement("{ CALL getServiceData(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getServiceData(?) }");
             stmt.setString(1, attribute);
 
             if (DEBUG)
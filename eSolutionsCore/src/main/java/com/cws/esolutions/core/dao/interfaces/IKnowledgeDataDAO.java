@@ -33,6 +33,7 @@ import org.apache.logging.log4j.LogManager;
 
 import com.cws.esolutions.core.CoreServicesBean;
 import com.cws.esolutions.core.CoreServicesConstants;
+import com.cws.esolutions.core.processors.dto.Article;
 /**
  * Interface for the Application Data DAO layer. Allows access
  * into the asset management database to obtain, modify and remove
@@ -95,6 +96,14 @@ public interface IKnowledgeDataDAO
      */
     List<String[]> listArticles(final int startRow) throws SQLException;
 
+    /**
+     * 
+     * @param startRow
+     * @return
+     * @throws SQLException
+     */
+    List<Article> getArticleList(final int startRow) throws SQLException;
+
     /**
      * 
      * @param attribute
@@ -33,6 +33,7 @@ import org.apache.logging.log4j.LogManager;
 
 import com.cws.esolutions.core.CoreServicesBean;
 import com.cws.esolutions.core.CoreServicesConstants;
+import com.cws.esolutions.core.processors.dto.Server;
 /**
  * Interface for the Application Data DAO layer. Allows access
  * into the asset management database to obtain, modify and remove
@@ -54,6 +55,8 @@ public interface IServerDataDAO
 
     boolean addServer(final List<Object> serverData) throws SQLException;
 
+    int[] addServers(final List<List<Object>> serverData) throws SQLException;
+
     boolean updateServer(final String serverGuid, final List<Object> serverData) throws SQLException;
 
     boolean removeServer(final String serverGuid) throws SQLException;
@@ -63,4 +66,6 @@ public interface IServerDataDAO
     List<String[]> getServersByAttribute(final String serverType, final int startRow) throws SQLException;
 
     List<Object> getServer(final String serverGuid) throws SQLException;
+
+    Server loadServer(final String serverGuid) throws SQLException;
 }
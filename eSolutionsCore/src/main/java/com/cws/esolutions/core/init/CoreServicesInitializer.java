@@ -27,9 +27,12 @@ package com.cws.esolutions.core.init;
  */
 import java.net.URL;
 import java.util.Map;
+import java.util.List;
 import java.util.Objects;
 import java.util.HashMap;
+import java.util.ArrayList;
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.sql.SQLException;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.Unmarshaller;
@@ -42,9 +45,12 @@ import org.apache.commons.dbcp2.BasicDataSource;
 import com.cws.esolutions.core.CoreServicesBean;
 import com.cws.esolutions.security.SecurityServicesBean;
 import com.cws.esolutions.core.config.xml.DataSourceManager;
+import com.cws.esolutions.utility.coreutils.DataSourceRegistry;
+import com.cws.esolutions.utility.coreutils.ReplicaRoutingDataSource;
 import com.cws.esolutions.utility.securityutils.PasswordUtils;
 import com.cws.esolutions.core.exception.CoreServicesException;
 import com.cws.esolutions.core.config.xml.CoreConfigurationData;
+import com.cws.esolutions.utility.exception.UtilityException;
 /**
  * @author cws-khuntly
  * @version 1.0
@@ -103,25 +109,30 @@ public class CoreServicesInitializer
                 {
                     if (!(dsMap.containsKey(mgr.getDsName())))
                     {
-                        StringBuilder sBuilder = new StringBuilder()
-                            .append("connectTimeout=" + mgr.getConnectTimeout() + ";")
-                            .append("socketTimeout=" + mgr.getConnectTimeout() + ";")
-                            .append("autoReconnect=" + mgr.getAutoReconnect() + ";");
-
-                        BasicDataSource dataSource = new BasicDataSource();
-                            dataSource.setDriverClassName(mgr.getDriver());
-                            dataSource.setUrl(mgr.getDataSource());
-                            dataSource.setUsername(mgr.getDsUser());
-                            dataSource.setConnectionProperties(sBuilder.toString());
-                            dataSource.setPassword(PasswordUtils.decryptText(mgr.getDsPass(), mgr.getDsSalt(),
-                            		secBean.getConfigData().getSecurityConfig().getSecretKeyAlgorithm(),
-                            		secBean.getConfigData().getSecurityConfig().getIterations(),
-                            		secBean.getConfigData().getSecurityConfig().getKeyLength(),
-                            		secBean.getConfigData().getSecurityConfig().getEncryptionAlgorithm(),
-                            		secBean.getConfigData().getSecurityConfig().getEncryptionInstance(),
-                            		appBean.getConfigData().getSystemConfig().getEncoding()));
-
-                        dsMap.put(mgr.getDsName(), dataSource);
+                        DataSource handle = DataSourceRegistry.register(mgr.getDsName(), CoreServicesInitializer.createDataSource(mgr, mgr.getDataSource()));
+
+                        CoreServicesInitializer.prewarm(mgr.getDsName(), handle);
+
+                        if ((mgr.getReplicas() != null) && (mgr.getReplicas().size() != 0))
+                        {
+                            List<DataSource> replicas = new ArrayList<DataSource>();
+
+                            for (int x = 0; x < mgr.getReplicas().size(); x++)
+                            {
+                                BasicDataSource replica = CoreServicesInitializer.createDataSource(mgr, mgr.getReplicas().get(x));
+                                replica.setDefaultReadOnly(Boolean.TRUE);
+
+                                DataSource replicaHandle = DataSourceRegistry.register(ReplicaRoutingDataSource.getReplicaName(mgr.getDsName(), x), replica);
+
+                                CoreServicesInitializer.prewarm(ReplicaRoutingDataSource.getReplicaName(mgr.getDsName(), x), replicaHandle);
+
+                                replicas.add(replicaHandle);
+                            }
+
+                            handle = new ReplicaRoutingDataSource(handle, replicas, mgr.getReplicaSelection());
+                        }
+
+                        dsMap.put(mgr.getDsName(), handle);
                     }
                 }
 
@@ -138,6 +149,11 @@ public class CoreServicesInitializer
             mux.printStackTrace();
             throw new CoreServicesException(mux.getMessage(), mux);
         }
+        catch (final UtilityException ux)
+        {
+            ux.printStackTrace();
+            throw new CoreServicesException(ux.getMessage(), ux);
+        }
     }
 
     /**
@@ -147,24 +163,100 @@ public class CoreServicesInitializer
     {
         final Map<String, DataSource> datasources = CoreServicesInitializer.appBean.getDataSources();
 
-        try
+        if (datasources != null)
         {
-            if ((datasources != null) && (datasources.size() != 0))
+            // the registry closes a pool once every module sharing it has released it
+            for (String key : datasources.keySet())
             {
-                for (String key : datasources.keySet())
+                if (datasources.get(key) instanceof ReplicaRoutingDataSource)
                 {
-                    BasicDataSource dataSource = (BasicDataSource) datasources.get(key);
-
-                    if ((dataSource != null ) && (!(dataSource.isClosed())))
+                    for (int x = 0; x < ((ReplicaRoutingDataSource) datasources.get(key)).getReplicaCount(); x++)
                     {
-                        dataSource.close();
+                        DataSourceRegistry.release(ReplicaRoutingDataSource.getReplicaName(key, x));
                     }
                 }
+
+                DataSourceRegistry.release(key);
             }
         }
+    }
+
+    /**
+     * Builds an unstarted pool for the provided URL using the pool settings of the given manager.
+     *
+     * @param mgr - The {@link DataSourceManager} holding the pool settings
+     * @param url - The JDBC URL to connect to
+     * @return A configured {@link org.apache.commons.dbcp2.BasicDataSource}
+     */
+    private static BasicDataSource createDataSource(final DataSourceManager mgr, final String url)
+    {
+        StringBuilder sBuilder = new StringBuilder()
+            .append("connectTimeout=" + mgr.getConnectTimeout() + ";")
+            .append("socketTimeout=" + mgr.getConnectTimeout() + ";")
+            .append("autoReconnect=" + mgr.getAutoReconnect() + ";");
+
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName(mgr.getDriver());
+        dataSource.setUrl(url);
+        dataSource.setUsername(mgr.getDsUser());
+        dataSource.setConnectionProperties(sBuilder.toString());
+        dataSource.setPoolPreparedStatements(mgr.getPoolPreparedStatements());
+        dataSource.setMaxOpenPreparedStatements(mgr.getMaxOpenPreparedStatements());
+        dataSource.setMaxTotal(mgr.getMaxTotal());
+        dataSource.setMaxIdle(mgr.getMaxIdle());
+        dataSource.setMinIdle(mgr.getMinIdle());
+        dataSource.setInitialSize(mgr.getMinIdle());
+        dataSource.setMaxWaitMillis(mgr.getMaxWaitMillis());
+        dataSource.setValidationQuery(mgr.getValidationQuery());
+        dataSource.setValidationQueryTimeout(mgr.getValidationQueryTimeout());
+        dataSource.setTestOnBorrow(mgr.getTestOnBorrow());
+        dataSource.setTestWhileIdle(mgr.getTestWhileIdle());
+        dataSource.setTimeBetweenEvictionRunsMillis(mgr.getTimeBetweenEvictionRunsMillis());
+        dataSource.setMinEvictableIdleTimeMillis(mgr.getMinEvictableIdleTimeMillis());
+        dataSource.setPassword(PasswordUtils.decryptText(mgr.getDsPass(), mgr.getDsSalt(),
+            secBean.getConfigData().getSecurityConfig().getSecretKeyAlgorithm(),
+            secBean.getConfigData().getSecurityConfig().getIterations(),
+            secBean.getConfigData().getSecurityConfig().getKeyLength(),
+            secBean.getConfigData().getSecurityConfig().getEncryptionAlgorithm(),
+            secBean.getConfigData().getSecurityConfig().getEncryptionInstance(),
+            appBean.getConfigData().getSystemConfig().getEncoding()));
+
+        return dataSource;
+    }
+
+    /**
+     * Opens the pool so that <code>minIdle</code> connections are established before the first
+     * request arrives. A failure here is not fatal - the pool will connect on first use instead.
+     *
+     * @param dsName - The configured name of the datasource
+     * @param dataSource - The {@link javax.sql.DataSource} to warm
+     */
+    private static void prewarm(final String dsName, final DataSource dataSource)
+    {
+        Connection sqlConn = null;
+
+        try
+        {
+            // the first borrow creates initialSize connections, which is set to minIdle
+            sqlConn = dataSource.getConnection();
+        }
         catch (final SQLException sqx)
         {
-        	System.err.println("CoreServicesInitializer#shutdown(): Exception occurred while shutting down: " + sqx.getMessage());
+            System.err.println("CoreServicesInitializer#prewarm(): Unable to pre-warm datasource " + dsName + ": " + sqx.getMessage());
+        }
+        finally
+        {
+            try
+            {
+                if (sqlConn != null)
+                {
+                    sqlConn.close();
+                }
+            }
+            catch (final SQLException sqx)
+            {
+                System.err.println("CoreServicesInitializer#prewarm(): Unable to return connection for " + dsName + ": " + sqx.getMessage());
+            }
         }
     }
 }
@@ -43,6 +43,8 @@ import jakarta.servlet.annotation.WebListener;
 import com.cws.esolutions.core.CoreServicesBean;
 import com.cws.esolutions.core.CoreServicesConstants;
 import com.cws.esolutions.core.config.xml.DataSourceManager;
+import com.cws.esolutions.utility.coreutils.DataSourceRegistry;
+import com.cws.esolutions.utility.exception.UtilityException;
 import com.cws.esolutions.core.exception.CoreServicesException;
 import com.cws.esolutions.core.config.xml.CoreConfigurationData;
 /**
@@ -96,7 +98,8 @@ public class CoreServicesListener implements ServletContextListener
 
                     for (DataSourceManager mgr : configData.getResourceConfig().getDsManager())
                     {
-                        dsMap.put(mgr.getDsName(), (DataSource) initContext.lookup(CoreServicesConstants.DS_CONTEXT + "/" + mgr.getDataSource()));
+                        dsMap.put(mgr.getDsName(), DataSourceRegistry.registerExternal(mgr.getDsName(),
+                            (DataSource) initContext.lookup(CoreServicesConstants.DS_CONTEXT + "/" + mgr.getDataSource())));
                     }
 
                     appBean.setDataSources(dsMap);
@@ -123,6 +126,10 @@ public class CoreServicesListener implements ServletContextListener
         {
         	System.err.println(csx.getMessage());
         }
+        catch (final UtilityException ux)
+        {
+        	System.err.println(ux.getMessage());
+        }
     }
 
     public void contextDestroyed(final ServletContextEvent contextEvent)
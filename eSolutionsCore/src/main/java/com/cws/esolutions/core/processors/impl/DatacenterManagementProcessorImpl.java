@@ -28,7 +28,6 @@ package com.cws.esolutions.core.processors.impl;
 import java.util.UUID;
 import java.util.List;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.Objects;
 import java.util.ArrayList;
 import java.sql.SQLException;
@@ -38,17 +37,16 @@ import com.cws.esolutions.security.processors.dto.RequestHostInfo;
 import com.cws.esolutions.core.enums.CoreServicesStatus;
 import com.cws.esolutions.core.processors.dto.Datacenter;
 import com.cws.esolutions.core.processors.enums.ServiceStatus;
-import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
 import com.cws.esolutions.core.processors.dto.DatacenterManagementRequest;
 import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.security.processors.factory.AuditContextFactory;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditContext;
 import com.cws.esolutions.utility.services.dto.AccessControlServiceRequest;
 import com.cws.esolutions.core.processors.dto.DatacenterManagementResponse;
 import com.cws.esolutions.utility.services.dto.AccessControlServiceResponse;
-import com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest;
 import com.cws.esolutions.core.processors.exception.DatacenterManagementException;
 import com.cws.esolutions.utility.services.exception.AccessControlServiceException;
 import com.cws.esolutions.core.processors.interfaces.IDatacenterManagementProcessor;
-import com.cws.esolutions.utility.securityutils.processors.exception.AuditServiceException;
 /**
  * @see com.cws.esolutions.core.processors.interfaces.IDatacenterManagementProcessor
  */
@@ -80,6 +78,9 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -90,7 +91,8 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -110,54 +112,7 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.ADDDATACENTER);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.ADDDATACENTER, false);
 
                 return response;
             }
@@ -241,54 +196,7 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.ADDDATACENTER);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.ADDDATACENTER, true);
         }
 
         return response;
@@ -320,6 +228,9 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -330,7 +241,8 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -350,54 +262,7 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.UPDATEDATACENTER);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.UPDATEDATACENTER, false);
 
                 return response;
             }
@@ -474,54 +339,7 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.UPDATEDATACENTER);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.UPDATEDATACENTER, true);
         }
 
         return response;
@@ -553,6 +371,9 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -563,7 +384,8 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -582,54 +404,7 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
                 // unauthorized
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.DELETEDATACENTER);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.DELETEDATACENTER, false);
 
                 return response;
             }
@@ -665,54 +440,7 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.DELETEDATACENTER);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.DELETEDATACENTER, true);
         }
 
         return response;
@@ -742,6 +470,9 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -752,7 +483,8 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -772,54 +504,7 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.LISTDATACENTERS);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.LISTDATACENTERS, false);
 
                 return response;
             }
@@ -878,54 +563,7 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.LISTDATACENTERS);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.LISTDATACENTERS, true);
         }
 
         return response;
@@ -957,6 +595,9 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -967,7 +608,8 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -987,54 +629,7 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.LISTDATACENTERS);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.LISTDATACENTERS, false);
 
                 return response;
             }
@@ -1092,54 +687,7 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.LISTDATACENTERS);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.LISTDATACENTERS, true);
         }
 
         return response;
@@ -1171,6 +719,9 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -1181,7 +732,8 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -1201,54 +753,7 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.LOADDATACENTER);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.LOADDATACENTER, false);
 
                 return response;
             }
@@ -1296,54 +801,7 @@ public class DatacenterManagementProcessorImpl implements IDatacenterManagementP
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.LOADDATACENTER);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.LOADDATACENTER, true);
         }
 
         return response;
@@ -40,16 +40,15 @@ import com.cws.esolutions.core.enums.CoreServicesStatus;
 import com.cws.esolutions.security.processors.dto.RequestHostInfo;
 import com.cws.esolutions.core.processors.dto.KnowledgeManagementRequest;
 import com.cws.esolutions.core.processors.dto.KnowledgeManagementResponse;
-import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
 import com.cws.esolutions.utility.services.dto.AccessControlServiceRequest;
 import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
-import com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest;
+import com.cws.esolutions.security.processors.factory.AuditContextFactory;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditContext;
 import com.cws.esolutions.utility.services.dto.AccessControlServiceResponse;
 import com.cws.esolutions.core.processors.exception.KnowledgeManagementException;
 import com.cws.esolutions.security.dao.usermgmt.exception.UserManagementException;
 import com.cws.esolutions.core.processors.interfaces.IKnowledgeManagementProcessor;
 import com.cws.esolutions.utility.services.exception.AccessControlServiceException;
-import com.cws.esolutions.utility.securityutils.processors.exception.AuditServiceException;
 /**
  * @author cws-khuntly
  * @version 1.0
@@ -81,6 +80,9 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -91,7 +93,8 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -111,54 +114,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.ADDARTICLE);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.ADDARTICLE, false);
 
                 return response;
             }
@@ -221,54 +177,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.ADDARTICLE);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.ADDARTICLE, true);
         }
 
         return response;
@@ -298,6 +207,9 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -308,7 +220,8 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -328,54 +241,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.UPDATEARTICLE);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.UPDATEARTICLE, false);
 
                 return response;
             }
@@ -431,54 +297,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.UPDATEARTICLE);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.UPDATEARTICLE, true);
         }
 
         return response;
@@ -507,6 +326,9 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -517,7 +339,8 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -537,54 +360,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.UPDATEARTICLESTATUS);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.UPDATEARTICLESTATUS, false);
 
                 return response;
             }
@@ -625,54 +401,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.UPDATEARTICLESTATUS);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.UPDATEARTICLESTATUS, true);
         }
 
         return response;
@@ -702,6 +431,9 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -712,7 +444,8 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -732,54 +465,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.DELETEARTICLE);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.DELETEARTICLE, false);
 
                 return response;
             }
@@ -820,54 +506,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.DELETEARTICLE);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.DELETEARTICLE, true);
         }
 
         return response;
@@ -897,6 +536,9 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -907,7 +549,8 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -927,63 +570,16 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.LISTARTICLES);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.LISTARTICLES, false);
 
                 return response;
             }
 
-            List<String[]> articleData = dao.listArticles(request.getStartPage());
+            List<Article> articleData = dao.getArticleList(request.getStartPage());
 
             if (DEBUG)
             {
-            	DEBUGGER.debug("List<String>: {}", articleData);
+            	DEBUGGER.debug("List<Article>: {}", articleData);
             }
 
             if ((Objects.isNull(articleData)) || (articleData.size() == 0))
@@ -995,34 +591,17 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             {
             	List<Article> responseArticles = new ArrayList<Article>();
 
-            	for (int x = 0; x < articleData.size(); x++)
+            	for (Article resArticle : articleData)
             	{
             		try
             		{
-            			UserAccount authorAccount = null;
-            			List<Object> authorData = userManager.loadUserAccount(articleData.get(x)[2]);
-
-                		if (DEBUG)
-                		{
-                			DEBUGGER.debug("List<Object>: authorData: {}", authorData);
-                		}
-
-                		if (!(Objects.isNull(authorData)))
-                		{
-                			authorAccount = new UserAccount();
-                			authorAccount.setGuid((String) authorData.get(1));
-                			authorAccount.setUsername((String) authorData.get(0));
-                			authorAccount.setDisplayName((String) authorData.get(11));
-                		}
+            			UserAccount authorAccount = userManager.getUserAccount(resArticle.getAuthor().getGuid());
 
                     	if (DEBUG)
                     	{
                     		DEBUGGER.debug("UserAccount: authorAccount: {}", authorAccount);
                     	}
 
-                		Article resArticle = new Article();
-                		resArticle.setArticleId(articleData.get(x)[0]);
-                		resArticle.setTitle(articleData.get(x)[1]);
                 		resArticle.setAuthor(authorAccount);
 
                 		if (DEBUG)
@@ -1064,54 +643,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.LISTARTICLES);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.LISTARTICLES, true);
         }
 
         return response;
@@ -1140,6 +672,9 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -1150,7 +685,8 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -1170,54 +706,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.SEARCHARTICLES);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.SEARCHARTICLES, false);
 
                 return response;
             }
@@ -1312,54 +801,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.SEARCHARTICLES);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.SEARCHARTICLES, true);
         }
 
         return response;
@@ -1388,6 +830,9 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -1398,7 +843,8 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -1418,54 +864,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.LISTPENDING);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.LISTPENDING, false);
 
                 return response;
             }
@@ -1524,54 +923,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.LISTPENDING);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.LISTPENDING, true);
         }
 
         return response;
@@ -1600,6 +952,9 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -1610,7 +965,8 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -1630,54 +986,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.VIEWARTICLE);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.VIEWARTICLE, false);
 
                 return response;
             }
@@ -1829,54 +1138,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.VIEWARTICLE);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.VIEWARTICLE, true);
         }
 
         return response;
@@ -1905,6 +1167,9 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -1915,7 +1180,8 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -1935,54 +1201,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.VIEWARTICLE);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.VIEWARTICLE, false);
 
                 return response;
             }
@@ -2105,54 +1324,7 @@ public class KnowledgeManagementProcessorImpl implements IKnowledgeManagementPro
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.VIEWARTICLE);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.VIEWARTICLE, true);
         }
 
         return response;
@@ -27,7 +27,6 @@ package com.cws.esolutions.core.processors.impl;
  */
 import java.util.UUID;
 import java.util.List;
-import java.util.Date;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.ArrayList;
@@ -39,27 +38,23 @@ import com.cws.esolutions.core.processors.dto.Server;
 import com.cws.esolutions.core.CoreServicesConstants;
 import com.cws.esolutions.core.enums.CoreServicesStatus;
 import com.cws.esolutions.core.processors.enums.ServerType;
-import com.cws.esolutions.core.processors.enums.ServerStatus;
-import com.cws.esolutions.core.processors.enums.ServiceRegion;
 import com.cws.esolutions.security.enums.SecurityRequestStatus;
-import com.cws.esolutions.core.processors.enums.NetworkPartition;
 import com.cws.esolutions.security.processors.dto.RequestHostInfo;
 import com.cws.esolutions.core.processors.dto.ServerManagementRequest;
 import com.cws.esolutions.core.processors.dto.ServerManagementResponse;
 import com.cws.esolutions.security.processors.dto.AccountControlRequest;
 import com.cws.esolutions.security.processors.dto.AccountControlResponse;
-import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
 import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.security.processors.factory.AuditContextFactory;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditContext;
 import com.cws.esolutions.utility.services.dto.AccessControlServiceRequest;
 import com.cws.esolutions.utility.services.dto.AccessControlServiceResponse;
-import com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest;
 import com.cws.esolutions.core.processors.exception.ServerManagementException;
 import com.cws.esolutions.security.processors.impl.AccountControlProcessorImpl;
 import com.cws.esolutions.core.processors.interfaces.IServerManagementProcessor;
 import com.cws.esolutions.security.processors.exception.AccountControlException;
 import com.cws.esolutions.security.processors.interfaces.IAccountControlProcessor;
 import com.cws.esolutions.utility.services.exception.AccessControlServiceException;
-import com.cws.esolutions.utility.securityutils.processors.exception.AuditServiceException;
 /**
  * @see com.cws.esolutions.core.processors.interfaces.IServerManagementProcessor
  */
@@ -91,6 +86,9 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -101,7 +99,8 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -121,54 +120,7 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.ADDSERVER);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.ADDSERVER, false);
 
                 return response;
             }
@@ -263,54 +215,7 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.ADDSERVER);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.ADDSERVER, true);
         }
 
         return response;
@@ -342,6 +247,9 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -352,7 +260,8 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -372,54 +281,7 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.UPDATESERVER);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.UPDATESERVER, false);
 
                 return response;
             }
@@ -505,54 +367,7 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.UPDATESERVER);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.UPDATESERVER, true);
         }
 
         return response;
@@ -584,6 +399,9 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -594,7 +412,8 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -614,54 +433,7 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.DELETESERVER);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.DELETESERVER, false);
             }
 
             boolean isComplete = serverDAO.removeServer(requestServer.getServerGuid());
@@ -695,54 +467,7 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.DELETESERVER);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.DELETESERVER, true);
         }
 
         return response;
@@ -772,6 +497,9 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -782,7 +510,8 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -802,54 +531,7 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.LISTSERVERS);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.LISTSERVERS, false);
 
                 return response;
             }
@@ -909,54 +591,7 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.LISTSERVERS);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.LISTSERVERS, true);
         }
 
         return response;
@@ -986,6 +621,9 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -996,7 +634,8 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -1016,54 +655,7 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.LISTSERVERS);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.LISTSERVERS, false);
 
                 return response;
             }
@@ -1122,54 +714,7 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.LISTSERVERS);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.LISTSERVERS, true);
         }
 
         return response;
@@ -1188,7 +733,6 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             DEBUGGER.debug("ServerManagementRequest: {}", request);
         }
 
-        UserAccount searchAccount = null;
         AccountControlRequest searchRequest = null;
         AccountControlResponse searchResponse = null;
         ServerManagementResponse response = new ServerManagementResponse();
@@ -1205,6 +749,9 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -1215,7 +762,8 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -1235,172 +783,54 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.GETSERVER);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.GETSERVER, false);
 
                 return response;
             }
 
             if (requestServer != null)
             {
-                List<Object> serverData = serverDAO.getServer(requestServer.getServerGuid());
+                Server server = serverDAO.loadServer(requestServer.getServerGuid());
 
                 if (DEBUG)
                 {
-                    DEBUGGER.debug("serverData: {}", serverData);
+                    DEBUGGER.debug("Server: {}", server);
                 }
 
-                if ((serverData != null) && (serverData.size() != 0))
+                if (server != null)
                 {
-                    Server server = new Server();
-                    server.setServerGuid((String) serverData.get(0)); // SYSTEM_GUID
-                    server.setOsName((String) serverData.get(1)); // SYSTEM_OSTYPE
-                    server.setServerStatus(ServerStatus.valueOf((String) serverData.get(2))); // SYSTEM_STATUS
-                    server.setServerRegion(ServiceRegion.valueOf((String) serverData.get(3))); // SYSTEM_REGION
-                    server.setNetworkPartition(NetworkPartition.valueOf((String) serverData.get(4))); // NETWORK_PARTITION
-                    server.setServerType(ServerType.valueOf((String) serverData.get(5))); // SYSTEM_TYPE
-                    server.setDomainName((String) serverData.get(6)); // DOMAIN_NAME
-                    server.setCpuType((String) serverData.get(7)); // CPU_TYPE
-                    server.setCpuCount((Integer) serverData.get(8)); // CPU_COUNT
-                    server.setServerRack((String) serverData.get(9)); // SERVER_RACK
-                    server.setRackPosition((String) serverData.get(10)); // RACK_POSITION
-                    server.setServerModel((String) serverData.get(11)); // SERVER_MODEL
-                    server.setSerialNumber((String) serverData.get(12)); // SERIAL_NUMBER
-                    server.setInstalledMemory((Integer) serverData.get(13)); // INSTALLED_MEMORY
-                    server.setOperIpAddress((String) serverData.get(14)); // OPER_IP
-                    server.setOperHostName((String) serverData.get(15)); // OPER_HOSTNAME
-                    server.setMgmtIpAddress((String) serverData.get(16)); // MGMT_IP
-                    server.setMgmtHostName((String) serverData.get(17)); // MGMT_HOSTNAME
-                    server.setBkIpAddress((String) serverData.get(18)); // BKUP_IP
-                    server.setBkHostName((String) serverData.get(19)); // BKUP_HOSTNAME
-                    server.setNasIpAddress((String) serverData.get(20)); // NAS_IP
-                    server.setNasHostName((String) serverData.get(21)); // NAS_HOSTNAME
-                    server.setNatAddress((String) serverData.get(22)); // NAT_ADDR
-                    server.setServerComments((String) serverData.get(23)); // COMMENTS
-
-                    searchAccount = new UserAccount();
-                    searchAccount.setGuid((String) serverData.get(24));
-
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("UserAccount: {}", searchAccount);
-                    }
-
-                    searchRequest = new AccountControlRequest();
-                    searchRequest.setHostInfo(request.getRequestInfo());
-                    searchRequest.setUserAccount(searchAccount);
-                    searchRequest.setApplicationName(request.getApplicationName());
-                    searchRequest.setApplicationId(request.getApplicationId());
-                    searchRequest.setRequestor(userAccount);
-
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AccountControlRequest: {}", searchRequest);
-                    }
-
-                    try
+                    if (server.getAssignedEngineer() != null)
                     {
-                        searchResponse = acctControl.loadUserAccount(searchRequest);
+                        searchRequest = new AccountControlRequest();
+                        searchRequest.setHostInfo(request.getRequestInfo());
+                        searchRequest.setUserAccount(server.getAssignedEngineer());
+                        searchRequest.setApplicationName(request.getApplicationName());
+                        searchRequest.setApplicationId(request.getApplicationId());
+                        searchRequest.setRequestor(userAccount);
 
                         if (DEBUG)
                         {
-                            DEBUGGER.debug("AccountControlResponse: {}", searchResponse);
+                            DEBUGGER.debug("AccountControlRequest: {}", searchRequest);
                         }
 
-                        if (searchResponse.getRequestStatus() == SecurityRequestStatus.SUCCESS)
+                        try
                         {
-                            server.setAssignedEngineer(searchResponse.getUserAccount()); // ASSIGNED_ENGINEER
-                        }
-                    }
-                    catch (final AccountControlException acx)
-                    {
-                        ERROR_RECORDER.error(acx.getMessage(), acx);
-                    }
-
-                    switch (server.getServerType())
-                    {
-                        case APPSERVER:
-                            // set owning dmgr
-                            List<Object> dmgrData = serverDAO.getServer((String) serverData.get(28));
+                            searchResponse = acctControl.loadUserAccount(searchRequest);
 
                             if (DEBUG)
                             {
-                                DEBUGGER.debug("dmgrData: {}", dmgrData);
+                                DEBUGGER.debug("AccountControlResponse: {}", searchResponse);
                             }
 
-                            if ((dmgrData != null) && (dmgrData.size() != 0))
+                            if (searchResponse.getRequestStatus() == SecurityRequestStatus.SUCCESS)
                             {
-                                Server dmgrServer = new Server();
-                                dmgrServer.setServerGuid((String) dmgrData.get(0)); // SYSTEM_GUID
-                                dmgrServer.setOsName((String) dmgrData.get(1)); // SYSTEM_OSTYPE
-
-                                if (DEBUG)
-                                {
-                                    DEBUGGER.debug("Server: {}", dmgrServer);
-                                }
-
-                                server.setOwningDmgr(dmgrServer); // OWNING_DMGR
+                                server.setAssignedEngineer(searchResponse.getUserAccount()); // ASSIGNED_ENGINEER
                             }
-
-                            break;
-                        case DMGRSERVER:
-                            server.setDmgrPort((Integer) serverData.get(27)); // DMGR_PORT
-                            server.setMgrUrl((String) serverData.get(29)); // MGR_ENTRY
-
-                            break;
-                        case VIRTUALHOST:
-                            server.setDmgrPort((Integer) serverData.get(27)); // DMGR_PORT
-                            server.setMgrUrl((String) serverData.get(29)); // MGR_ENTRY
-
-                            break;
-                        default:
-                            break;
+                        }
+                        catch (final AccountControlException acx)
+                        {
+                            ERROR_RECORDER.error(acx.getMessage(), acx);
+                        }
                     }
 
                     if (DEBUG)
@@ -1436,54 +866,7 @@ public class ServerManagementProcessorImpl implements IServerManagementProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.GETSERVER);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.FALSE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.GETSERVER, false);
         }
 
         return response;
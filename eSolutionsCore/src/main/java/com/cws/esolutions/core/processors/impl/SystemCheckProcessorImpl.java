@@ -26,8 +26,6 @@ import java.util.Arrays;
  * ----------------------------------------------------------------------------
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
-import java.util.Date;
-import java.util.List;
 import java.util.ArrayList;
 import org.apache.commons.lang3.StringUtils;
 
@@ -41,14 +39,13 @@ import com.cws.esolutions.core.processors.enums.SystemCheckType;
 import com.cws.esolutions.core.processors.dto.SystemCheckRequest;
 import com.cws.esolutions.core.processors.dto.SystemCheckResponse;
 import com.cws.esolutions.core.processors.exception.SystemCheckException;
-import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
 import com.cws.esolutions.core.processors.interfaces.ISystemCheckProcessor;
 import com.cws.esolutions.utility.services.dto.AccessControlServiceRequest;
 import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
-import com.cws.esolutions.utility.securityutils.processors.exception.AuditServiceException;
+import com.cws.esolutions.security.processors.factory.AuditContextFactory;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditContext;
 import com.cws.esolutions.utility.services.dto.AccessControlServiceResponse;
 import com.cws.esolutions.utility.services.exception.AccessControlServiceException;
-import com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest;
 /**
  * @see com.cws.esolutions.core.processors.interfaces.ISystemCheckProcessor
  */
@@ -81,6 +78,9 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
             DEBUGGER.debug("UserAccount: {}", userAccount);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -91,7 +91,8 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -111,54 +112,7 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.NETSTAT);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.NETSTAT, false);
 
                 return response;
             }
@@ -231,54 +185,7 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.NETSTAT);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.NETSTAT, true);
         }
 
         return response;
@@ -311,6 +218,9 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
             DEBUGGER.debug("UserAccount: {}", userAccount);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -321,7 +231,8 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -341,54 +252,7 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.TELNET);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.TELNET, false);
 
                 return response;
             }
@@ -462,54 +326,7 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.TELNET);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.TELNET, true);
         }
 
         return response;
@@ -542,6 +359,9 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
             DEBUGGER.debug("UserAccount: {}", userAccount);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -552,7 +372,8 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -572,54 +393,7 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.REMOTEDATE);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.REMOTEDATE, false);
 
                 return response;
             }
@@ -691,54 +465,7 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.REMOTEDATE);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.REMOTEDATE, true);
         }
 
         return response;
@@ -771,6 +498,9 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
             DEBUGGER.debug("UserAccount: {}", userAccount);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), userAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -781,7 +511,8 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
             				Arrays.asList(
             						userAccount.getGuid(),
             						userAccount.getUserRole().toString(),
-            						userAccount.getUserGroups())));
+            						userAccount.getUserGroups(),
+            						userAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -801,54 +532,7 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
                 response.setRequestStatus(CoreServicesStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.PROCESSLIST);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(userAccount.getSessionId());
-                        auditEntry.setUserGuid(userAccount.getGuid());
-                        auditEntry.setUserName(userAccount.getUsername());
-                        auditEntry.setUserRole(userAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.PROCESSLIST, false);
 
                 return response;
             }
@@ -920,54 +604,7 @@ public class SystemCheckProcessorImpl implements ISystemCheckProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.PROCESSLIST);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.PROCESSLIST, true);
         }
 
         return response;
@@ -26,6 +26,7 @@ package com.cws.esolutions.core.dao.impl;
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
 import java.util.List;
+import java.util.UUID;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.sql.SQLException;
@@ -106,6 +107,57 @@ public class ServerDataDAOImplTest
         }
     }
 
+    @Test public void addNewServers()
+    {
+        List<List<Object>> servers = new ArrayList<List<Object>>();
+
+        for (int x = 0; x < 3; x++)
+        {
+            servers.add(new ArrayList<Object>
+            (
+                Arrays.asList
+                (
+                    UUID.randomUUID().toString(),
+                    "CentOS",
+                    ServiceStatus.ACTIVE.name(),
+                    ServiceRegion.DEV.name(),
+                    ServerType.APPSERVER.name(),
+                    "caspersbox.com",
+                    "AMD Athlon 1.0 GHz",
+                    1,
+                    "VPS",
+                    RandomStringUtils.randomAlphanumeric(8).toUpperCase(),
+                    512,
+                    "127.0.0.1",
+                    RandomStringUtils.randomAlphanumeric(8).toLowerCase(),
+                    "127.0.0.1",
+                    RandomStringUtils.randomAlphanumeric(8).toLowerCase(),
+                    "127.0.0.1",
+                    RandomStringUtils.randomAlphanumeric(8).toLowerCase(),
+                    "127.0.0.1",
+                    RandomStringUtils.randomAlphanumeric(8).toLowerCase(),
+                    "Unconfigured",
+                    "JUnit test",
+                    "khuntly",
+                    "Unconfigured",
+                    0,
+                    "Unconfigured",
+                    "Unconfigured",
+                    "Unconfigured"
+                )
+            ));
+        }
+
+        try
+        {
+            Assertions.assertThat(dao.addServers(servers)).hasSize(servers.size());
+        }
+        catch (final SQLException sqx)
+        {
+            Assertions.fail(sqx.getMessage());
+        }
+    }
+
     @Test public void modifyServerData()
     {
         List<Object> data = new ArrayList<Object>
@@ -25,6 +25,7 @@ package com.cws.esolutions.security.config.xml;
  * ----------------------------------------------------------------------------
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
+import java.util.List;
 import java.lang.reflect.Field;
 import org.apache.logging.log4j.Logger;
 import jakarta.xml.bind.annotation.XmlType;
@@ -32,6 +33,7 @@ import org.apache.logging.log4j.LogManager;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElementWrapper;
 
 import com.cws.esolutions.security.SecurityServicesConstants;
 /**
@@ -52,6 +54,20 @@ public final class DataSourceManager
     private int socketTimeout = 10000;
     private int connectTimeout = 10000;
     private boolean autoReconnect = true;
+    private boolean poolPreparedStatements = true;
+    private int maxOpenPreparedStatements = 64; // one per stored procedure in use
+    private int maxTotal = 20;
+    private int maxIdle = 10;
+    private int minIdle = 2; // pre-warmed at startup
+    private long maxWaitMillis = 10000L; // default to 10 seconds
+    private String validationQuery = null; // null uses Connection#isValid
+    private int validationQueryTimeout = 5; // seconds
+    private boolean testOnBorrow = true;
+    private boolean testWhileIdle = true;
+    private long timeBetweenEvictionRunsMillis = 30000L; // default to 30 seconds
+    private long minEvictableIdleTimeMillis = 1800000L; // default to 30 minutes
+    private List<String> replicas = null; // read-only replica urls
+    private String replicaSelection = "ROUND_ROBIN"; // ROUND_ROBIN or LEAST_LOADED
 
     private static final String CNAME = DataSourceManager.class.getName();
 
@@ -175,6 +191,188 @@ public final class DataSourceManager
         this.autoReconnect = value;
     }
 
+    public final void setPoolPreparedStatements(final boolean value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setPoolPreparedStatements(final boolean value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.poolPreparedStatements = value;
+    }
+
+    public final void setMaxOpenPreparedStatements(final int value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setMaxOpenPreparedStatements(final int value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.maxOpenPreparedStatements = value;
+    }
+
+    public final void setMaxTotal(final int value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setMaxTotal(final int value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.maxTotal = value;
+    }
+
+    public final void setMaxIdle(final int value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setMaxIdle(final int value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.maxIdle = value;
+    }
+
+    public final void setMinIdle(final int value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setMinIdle(final int value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.minIdle = value;
+    }
+
+    public final void setMaxWaitMillis(final long value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setMaxWaitMillis(final long value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.maxWaitMillis = value;
+    }
+
+    public final void setValidationQuery(final String value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setValidationQuery(final String value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.validationQuery = value;
+    }
+
+    public final void setValidationQueryTimeout(final int value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setValidationQueryTimeout(final int value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.validationQueryTimeout = value;
+    }
+
+    public final void setTestOnBorrow(final boolean value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setTestOnBorrow(final boolean value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.testOnBorrow = value;
+    }
+
+    public final void setTestWhileIdle(final boolean value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setTestWhileIdle(final boolean value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.testWhileIdle = value;
+    }
+
+    public final void setTimeBetweenEvictionRunsMillis(final long value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setTimeBetweenEvictionRunsMillis(final long value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.timeBetweenEvictionRunsMillis = value;
+    }
+
+    public final void setMinEvictableIdleTimeMillis(final long value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setMinEvictableIdleTimeMillis(final long value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.minEvictableIdleTimeMillis = value;
+    }
+
+    public final void setReplicas(final List<String> value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setReplicas(final List<String> value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.replicas = value;
+    }
+
+    public final void setReplicaSelection(final String value)
+    {
+        final String methodName = DataSourceManager.CNAME + "#setReplicaSelection(final String value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.replicaSelection = value;
+    }
+
     @XmlElement(name = "dsName")
     public final String getDsName()
     {
@@ -301,6 +499,203 @@ public final class DataSourceManager
         return this.autoReconnect;
     }
 
+    @XmlElement(name = "poolPreparedStatements")
+    public final boolean getPoolPreparedStatements()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getPoolPreparedStatements()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.poolPreparedStatements);
+        }
+
+        return this.poolPreparedStatements;
+    }
+
+    @XmlElement(name = "maxOpenPreparedStatements")
+    public final int getMaxOpenPreparedStatements()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getMaxOpenPreparedStatements()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.maxOpenPreparedStatements);
+        }
+
+        return this.maxOpenPreparedStatements;
+    }
+
+    @XmlElement(name = "maxTotal")
+    public final int getMaxTotal()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getMaxTotal()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.maxTotal);
+        }
+
+        return this.maxTotal;
+    }
+
+    @XmlElement(name = "maxIdle")
+    public final int getMaxIdle()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getMaxIdle()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.maxIdle);
+        }
+
+        return this.maxIdle;
+    }
+
+    @XmlElement(name = "minIdle")
+    public final int getMinIdle()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getMinIdle()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.minIdle);
+        }
+
+        return this.minIdle;
+    }
+
+    @XmlElement(name = "maxWaitMillis")
+    public final long getMaxWaitMillis()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getMaxWaitMillis()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.maxWaitMillis);
+        }
+
+        return this.maxWaitMillis;
+    }
+
+    @XmlElement(name = "validationQuery")
+    public final String getValidationQuery()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getValidationQuery()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.validationQuery);
+        }
+
+        return this.validationQuery;
+    }
+
+    @XmlElement(name = "validationQueryTimeout")
+    public final int getValidationQueryTimeout()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getValidationQueryTimeout()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.validationQueryTimeout);
+        }
+
+        return this.validationQueryTimeout;
+    }
+
+    @XmlElement(name = "testOnBorrow")
+    public final boolean getTestOnBorrow()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getTestOnBorrow()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.testOnBorrow);
+        }
+
+        return this.testOnBorrow;
+    }
+
+    @XmlElement(name = "testWhileIdle")
+    public final boolean getTestWhileIdle()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getTestWhileIdle()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.testWhileIdle);
+        }
+
+        return this.testWhileIdle;
+    }
+
+    @XmlElement(name = "timeBetweenEvictionRunsMillis")
+    public final long getTimeBetweenEvictionRunsMillis()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getTimeBetweenEvictionRunsMillis()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.timeBetweenEvictionRunsMillis);
+        }
+
+        return this.timeBetweenEvictionRunsMillis;
+    }
+
+    @XmlElement(name = "minEvictableIdleTimeMillis")
+    public final long getMinEvictableIdleTimeMillis()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getMinEvictableIdleTimeMillis()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.minEvictableIdleTimeMillis);
+        }
+
+        return this.minEvictableIdleTimeMillis;
+    }
+
+    @XmlElement(name = "replica")
+    @XmlElementWrapper(name = "replicas")
+    public final List<String> getReplicas()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getReplicas()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.replicas);
+        }
+
+        return this.replicas;
+    }
+
+    @XmlElement(name = "replicaSelection")
+    public final String getReplicaSelection()
+    {
+        final String methodName = DataSourceManager.CNAME + "#getReplicaSelection()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.replicaSelection);
+        }
+
+        return this.replicaSelection;
+    }
+
     @Override
     public final String toString()
     {
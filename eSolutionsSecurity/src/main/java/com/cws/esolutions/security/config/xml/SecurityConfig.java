@@ -25,6 +25,7 @@ package com.cws.esolutions.security.config.xml;
  * ----------------------------------------------------------------------------
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
+import java.util.List;
 import java.lang.reflect.Field;
 import org.apache.logging.log4j.Logger;
 import jakarta.xml.bind.annotation.XmlType;
@@ -32,8 +33,12 @@ import org.apache.logging.log4j.LogManager;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElementWrapper;
 
 import com.cws.esolutions.security.SecurityServicesConstants;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditTier;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditOverflowPolicy;
 /**
  * @author cws-khuntly
  * @version 1.0
@@ -60,11 +65,31 @@ public final class SecurityConfig
     private String messageDigest = null;
     private String applicationId = null;
     private boolean performAudit = true;
+    private boolean auditAsync = true;
+    private int auditQueueSize = 8192;
+    private int auditFlushSize = 256;
+    private long auditFlushInterval = 250;
+    private AuditOverflowPolicy auditOverflowPolicy = AuditOverflowPolicy.SYNCHRONOUS;
+    private String auditSpoolFile = null;
+    private long auditSpoolSize = 67108864;
     private String randomGenerator = null;
     private String applicationName = null;
     private String encryptionAlgorithm = "AES";
     private String secretKeyAlgorithm = "PBKDF2WithHmacSHA512";
     private String encryptionInstance = "AES/CBC/PKCS5Padding";
+    private String auditRollupFile = null;
+    private long auditRollupInterval = 60000;
+    private AuditTier auditDefaultTier = AuditTier.ALWAYS;
+    private double auditSampleRate = 0.1;
+    private List<AuditType> auditSampledTypes = null;
+    private List<AuditType> auditAggregatedTypes = null;
+    private List<AuditType> auditDisabledTypes = null;
+    private boolean auditMetrics = true;
+    private long authorizationCacheTtl = 300000;
+    private int authorizationCacheSize = 10000;
+    private long serviceRefreshInterval = 300000;
+    private boolean authorizationMetrics = true;
+    private long authorizationTraceThreshold = 0;
 
     private static final String CNAME = SecurityConfig.class.getName();
 
@@ -281,6 +306,97 @@ public final class SecurityConfig
         this.performAudit = value;
     }
 
+    public final void setAuditAsync(final boolean value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditAsync(final boolean value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditAsync = value;
+    }
+
+    public final void setAuditQueueSize(final int value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditQueueSize(final int value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditQueueSize = value;
+    }
+
+    public final void setAuditFlushSize(final int value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditFlushSize(final int value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditFlushSize = value;
+    }
+
+    public final void setAuditFlushInterval(final long value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditFlushInterval(final long value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditFlushInterval = value;
+    }
+
+    public final void setAuditOverflowPolicy(final AuditOverflowPolicy value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditOverflowPolicy(final AuditOverflowPolicy value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditOverflowPolicy = value;
+    }
+
+    public final void setAuditSpoolFile(final String value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditSpoolFile(final String value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditSpoolFile = value;
+    }
+
+    public final void setAuditSpoolSize(final long value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditSpoolSize(final long value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditSpoolSize = value;
+    }
+
     public final void setResetIdLength(final int value)
     {
         final String methodName = SecurityConfig.CNAME + "#setResetIdLength(final int value)";
@@ -375,6 +491,175 @@ public final class SecurityConfig
         this.randomGenerator = value;
     }
 
+    public final void setAuditRollupFile(final String value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditRollupFile(final String value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditRollupFile = value;
+    }
+
+    public final void setAuditRollupInterval(final long value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditRollupInterval(final long value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditRollupInterval = value;
+    }
+
+    public final void setAuditDefaultTier(final AuditTier value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditDefaultTier(final AuditTier value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditDefaultTier = value;
+    }
+
+    public final void setAuditSampleRate(final double value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditSampleRate(final double value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditSampleRate = value;
+    }
+
+    public final void setAuditSampledTypes(final List<AuditType> value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditSampledTypes(final List<AuditType> value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditSampledTypes = value;
+    }
+
+    public final void setAuditAggregatedTypes(final List<AuditType> value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditAggregatedTypes(final List<AuditType> value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditAggregatedTypes = value;
+    }
+
+    public final void setAuditDisabledTypes(final List<AuditType> value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditDisabledTypes(final List<AuditType> value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditDisabledTypes = value;
+    }
+
+    public final void setAuditMetrics(final boolean value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuditMetrics(final boolean value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditMetrics = value;
+    }
+
+    public final void setAuthorizationCacheTtl(final long value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuthorizationCacheTtl(final long value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.authorizationCacheTtl = value;
+    }
+
+    public final void setAuthorizationCacheSize(final int value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuthorizationCacheSize(final int value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.authorizationCacheSize = value;
+    }
+
+    public final void setServiceRefreshInterval(final long value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setServiceRefreshInterval(final long value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.serviceRefreshInterval = value;
+    }
+
+    public final void setAuthorizationMetrics(final boolean value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuthorizationMetrics(final boolean value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.authorizationMetrics = value;
+    }
+
+    public final void setAuthorizationTraceThreshold(final long value)
+    {
+        final String methodName = SecurityConfig.CNAME + "#setAuthorizationTraceThreshold(final long value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.authorizationTraceThreshold = value;
+    }
+
     @XmlElement(name = "applicationId")
     public final String getApplicationId()
     {
@@ -585,6 +870,104 @@ public final class SecurityConfig
         return this.performAudit;
     }
 
+    @XmlElement(name = "auditAsync")
+    public final boolean getAuditAsync()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditAsync()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditAsync);
+        }
+
+        return this.auditAsync;
+    }
+
+    @XmlElement(name = "auditQueueSize")
+    public final int getAuditQueueSize()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditQueueSize()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditQueueSize);
+        }
+
+        return this.auditQueueSize;
+    }
+
+    @XmlElement(name = "auditFlushSize")
+    public final int getAuditFlushSize()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditFlushSize()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditFlushSize);
+        }
+
+        return this.auditFlushSize;
+    }
+
+    @XmlElement(name = "auditFlushInterval")
+    public final long getAuditFlushInterval()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditFlushInterval()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditFlushInterval);
+        }
+
+        return this.auditFlushInterval;
+    }
+
+    @XmlElement(name = "auditOverflowPolicy")
+    public final AuditOverflowPolicy getAuditOverflowPolicy()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditOverflowPolicy()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditOverflowPolicy);
+        }
+
+        return this.auditOverflowPolicy;
+    }
+
+    @XmlElement(name = "auditSpoolFile")
+    public final String getAuditSpoolFile()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditSpoolFile()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditSpoolFile);
+        }
+
+        return this.auditSpoolFile;
+    }
+
+    @XmlElement(name = "auditSpoolSize")
+    public final long getAuditSpoolSize()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditSpoolSize()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditSpoolSize);
+        }
+
+        return this.auditSpoolSize;
+    }
+
     @XmlElement(name = "resetIdLength")
     public final int getResetIdLength()
     {
@@ -683,6 +1066,191 @@ public final class SecurityConfig
         return this.randomGenerator;
     }
 
+    @XmlElement(name = "auditRollupFile")
+    public final String getAuditRollupFile()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditRollupFile()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditRollupFile);
+        }
+
+        return this.auditRollupFile;
+    }
+
+    @XmlElement(name = "auditRollupInterval")
+    public final long getAuditRollupInterval()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditRollupInterval()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditRollupInterval);
+        }
+
+        return this.auditRollupInterval;
+    }
+
+    @XmlElement(name = "auditDefaultTier")
+    public final AuditTier getAuditDefaultTier()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditDefaultTier()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditDefaultTier);
+        }
+
+        return this.auditDefaultTier;
+    }
+
+    @XmlElement(name = "auditSampleRate")
+    public final double getAuditSampleRate()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditSampleRate()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditSampleRate);
+        }
+
+        return this.auditSampleRate;
+    }
+
+    @XmlElement(name = "auditType")
+    @XmlElementWrapper(name = "auditSampledTypes")
+    public final List<AuditType> getAuditSampledTypes()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditSampledTypes()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditSampledTypes);
+        }
+
+        return this.auditSampledTypes;
+    }
+
+    @XmlElement(name = "auditType")
+    @XmlElementWrapper(name = "auditAggregatedTypes")
+    public final List<AuditType> getAuditAggregatedTypes()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditAggregatedTypes()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditAggregatedTypes);
+        }
+
+        return this.auditAggregatedTypes;
+    }
+
+    @XmlElement(name = "auditType")
+    @XmlElementWrapper(name = "auditDisabledTypes")
+    public final List<AuditType> getAuditDisabledTypes()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditDisabledTypes()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditDisabledTypes);
+        }
+
+        return this.auditDisabledTypes;
+    }
+
+    @XmlElement(name = "auditMetrics")
+    public final boolean getAuditMetrics()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuditMetrics()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditMetrics);
+        }
+
+        return this.auditMetrics;
+    }
+
+    @XmlElement(name = "authorizationCacheTtl")
+    public final long getAuthorizationCacheTtl()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuthorizationCacheTtl()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.authorizationCacheTtl);
+        }
+
+        return this.authorizationCacheTtl;
+    }
+
+    @XmlElement(name = "authorizationCacheSize")
+    public final int getAuthorizationCacheSize()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuthorizationCacheSize()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.authorizationCacheSize);
+        }
+
+        return this.authorizationCacheSize;
+    }
+
+    @XmlElement(name = "serviceRefreshInterval")
+    public final long getServiceRefreshInterval()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getServiceRefreshInterval()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.serviceRefreshInterval);
+        }
+
+        return this.serviceRefreshInterval;
+    }
+
+    @XmlElement(name = "authorizationMetrics")
+    public final boolean getAuthorizationMetrics()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuthorizationMetrics()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.authorizationMetrics);
+        }
+
+        return this.authorizationMetrics;
+    }
+
+    @XmlElement(name = "authorizationTraceThreshold")
+    public final long getAuthorizationTraceThreshold()
+    {
+        final String methodName = SecurityConfig.CNAME + "#getAuthorizationTraceThreshold()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.authorizationTraceThreshold);
+        }
+
+        return this.authorizationTraceThreshold;
+    }
+
     @Override
     public final String toString()
     {
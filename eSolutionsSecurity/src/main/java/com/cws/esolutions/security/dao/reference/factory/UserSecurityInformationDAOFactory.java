@@ -43,7 +43,7 @@ import com.cws.esolutions.security.dao.reference.interfaces.IUserSecurityInforma
  */
 public class UserSecurityInformationDAOFactory
 {
-    private static IUserSecurityInformationDAO userSecDAO = null;
+    private static volatile IUserSecurityInformationDAO userSecDAO = null;
 
     private static final String CNAME = UserSecurityInformationDAOFactory.class.getName();
 
@@ -36,6 +36,7 @@ import java.sql.SQLException;
 import java.sql.PreparedStatement;
 import java.sql.CallableStatement;
 
+import com.cws.esolutions.utility.coreutils.StatementCache;
 import com.cws.esolutions.security.dao.reference.interfaces.IUserSecurityInformationDAO;
 /**
  * @see com.cws.esolutions.security.dao.reference.interfaces.ISecurityReferenceDAO
@@ -47,7 +48,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
     /**
      * @see com.cws.esolutions.security.dao.reference.interfaces.IUserSecurityInformationDAO#addUserSalt(java.lang.String, java.lang.String, java.lang.String)
      */
-    public synchronized boolean addOrUpdateUserSalt(final String commonName, final String saltValue, final String saltType) throws SQLException
+    public boolean addOrUpdateUserSalt(final String commonName, final String saltValue, final String saltType) throws SQLException
     {
         final String methodName = SQLUserSecurityInformationDAOImpl.CNAME + "#addOrUpdateUserSalt(final String commonName, final String saltValue, final String saltType) throws SQLException";
 
@@ -79,7 +80,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL addOrUpdateUserSalt(?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL addOrUpdateUserSalt(?, ?, ?, ?) }");
             stmt.setString(1, commonName);
             stmt.setString(2, saltValue);
             stmt.setString(3, saltType);
@@ -122,7 +123,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
     /**
      * @see com.cws.esolutions.security.dao.reference.interfaces.IUserSecurityInformationDAO#getUserSalt(java.lang.String, java.lang.String)
      */
-    public synchronized List<String> getAccessGroups() throws SQLException
+    public List<String> getAccessGroups() throws SQLException
     {
         final String methodName = SQLUserSecurityInformationDAOImpl.CNAME + "#getAccessGroups() throws SQLException";
 
@@ -156,7 +157,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement("{ CALL getAvailableGroups(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getAvailableGroups(?, ?) }");
 
             if (DEBUG)
             {
@@ -209,7 +210,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
     /**
      * @see com.cws.esolutions.security.dao.reference.interfaces.IUserSecurityInformationDAO#getUserSalt(java.lang.String, java.lang.String)
      */
-    public synchronized String getUserSalt(final String commonName, final String saltType) throws SQLException
+    public String getUserSalt(final String commonName, final String saltType) throws SQLException
     {
         final String methodName = SQLUserSecurityInformationDAOImpl.CNAME + "#getUserSalt(final String commonName, final String saltType) throws SQLException";
 
@@ -244,7 +245,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement("{ CALL getUserSalt(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getUserSalt(?, ?) }");
             stmt.setString(1, commonName);
             stmt.setString(2, saltType);
 
@@ -292,7 +293,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
     /**
      * @see com.cws.esolutions.security.dao.reference.interfaces.IUserSecurityInformationDAO#getUserSalt(java.lang.String, java.lang.String)
      */
-    public synchronized String getUserPassword(final String commonName, final String userId) throws SQLException
+    public String getUserPassword(final String commonName, final String userId) throws SQLException
     {
         final String methodName = SQLUserSecurityInformationDAOImpl.CNAME + "#getUserPassword(final String commonName, final String userId) throws SQLException";
 
@@ -328,7 +329,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement("{ CALL getUserPassword(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getUserPassword(?, ?) }");
             stmt.setString(1, commonName);
             stmt.setString(2, userId);
 
@@ -376,7 +377,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
     /**
      * @see com.cws.esolutions.security.dao.reference.interfaces.IUserSecurityInformationDAO#insertResetData(java.lang.String, java.lang.String, java.lang.String)
      */
-    public synchronized boolean insertResetData(final String commonName, final String resetId) throws SQLException
+    public boolean insertResetData(final String commonName, final String resetId) throws SQLException
     {
         final String methodName = SQLUserSecurityInformationDAOImpl.CNAME + "#insertResetData(final String commonName, final String resetId) throws SQLException";
 
@@ -406,7 +407,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareCall("{ CALL insertResetData(?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL insertResetData(?, ?, ?) }");
             stmt.setString(1, commonName);
             stmt.setString(2, resetId);
             stmt.registerOutParameter(3, Types.INTEGER);
@@ -447,7 +448,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
     /**
      * @see com.cws.esolutions.security.dao.reference.interfaces.IUserSecurityInformationDAO#getResetData(java.lang.String)
      */
-    public synchronized List<Object> getResetData(final String resetId) throws SQLException
+    public List<Object> getResetData(final String resetId) throws SQLException
     {
         final String methodName = SQLUserSecurityInformationDAOImpl.CNAME + "#getResetData(final String resetId) throws SQLException";
 
@@ -481,7 +482,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement("{ CALL getResetData(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getResetData(?) }");
             stmt.setString(1, resetId);
 
             if (stmt.execute())
@@ -527,7 +528,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
     /**
      * @see com.cws.esolutions.security.dao.reference.interfaces.IUserSecurityInformationDAO#obtainSecurityQuestionList()
      */
-    public synchronized List<String> obtainSecurityQuestionList() throws SQLException
+    public List<String> obtainSecurityQuestionList() throws SQLException
     {
         final String methodName = SQLUserSecurityInformationDAOImpl.CNAME + "#obtainSecurityQuestionList() throws SQLException";
 
@@ -556,7 +557,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement("{ CALL getSecurityQuestions() }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getSecurityQuestions() }");
 
             if (DEBUG)
             {
@@ -633,7 +634,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#modifyUserPassword(java.lang.String, java.lang.String)
      */
-    public synchronized boolean modifyUserPassword(final String userGuid, final String userId, final String newPass, final boolean isReset) throws SQLException
+    public boolean modifyUserPassword(final String userGuid, final String userId, final String newPass, final boolean isReset) throws SQLException
     {
         final String methodName = SQLUserSecurityInformationDAOImpl.CNAME + "#modifyUserPassword(final String userGuid, final String userId, final String newPass, final boolean isReset) throws SQLException";
 
@@ -672,7 +673,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
 
             // first make sure the existing password is proper
             // then make sure the new password doesnt match the existing password
-            stmt = sqlConn.prepareCall("{ CALL modifyUserPassword(?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL modifyUserPassword(?, ?, ?, ?) }");
             stmt.setString(1, userGuid);
             stmt.setString(2, newPass);
             stmt.setBoolean(3, isReset);
@@ -719,7 +720,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#modifyUserSecurity(java.lang.String, java.util.List)
      */
-    public synchronized boolean modifyUserSecurity(final String userGuid, final List<String> values) throws SQLException
+    public boolean modifyUserSecurity(final String userGuid, final List<String> values) throws SQLException
     {
         final String methodName = SQLUserSecurityInformationDAOImpl.CNAME + "#modifyUserSecurity(final String userGuid, final List<String> values) throws SQLException";
 
@@ -755,7 +756,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL addOrUpdateSecurityQuestions(?, ?, ?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL addOrUpdateSecurityQuestions(?, ?, ?, ?, ?, ?) }");
             stmt.setString(1, userGuid);
             stmt.setString(2, values.get(0));
             stmt.setString(3, values.get(1));
@@ -804,7 +805,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
     /**
      * @see com.cws.esolutions.security.dao.reference.interfaces.IUserSecurityInformationDAO#obtainSecurityQuestionList()
      */
-    public synchronized List<String> getUserGroups(final String commonName, final String userId) throws SQLException
+    public List<String> getUserGroups(final String commonName, final String userId) throws SQLException
     {
         final String methodName = SQLUserSecurityInformationDAOImpl.CNAME + "#getUserGroups(final String commonName, final String userId) throws SQLException";
 
@@ -833,7 +834,7 @@ public class SQLUserSecurityInformationDAOImpl implements IUserSecurityInformati
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement("{ CALL getUserGroups(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getUserGroups(?, ?) }");
             stmt.setString(1, commonName);
             stmt.setString(2, userId);
 
@@ -43,7 +43,7 @@ import com.cws.esolutions.security.dao.userauth.interfaces.Authenticator;
  */
 public class AuthenticatorFactory
 {
-    private static Authenticator authenticator = null;
+    private static volatile Authenticator authenticator = null;
 
     private static final String CNAME = AuthenticatorFactory.class.getName();
 
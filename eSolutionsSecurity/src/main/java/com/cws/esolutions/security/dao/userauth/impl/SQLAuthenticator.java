@@ -38,6 +38,7 @@ import java.sql.PreparedStatement;
 import java.sql.CallableStatement;
 import org.apache.commons.lang3.StringUtils;
 
+import com.cws.esolutions.utility.coreutils.StatementCache;
 import com.cws.esolutions.security.dao.userauth.interfaces.Authenticator;
 import com.cws.esolutions.security.dao.userauth.exception.AuthenticatorException;
 /**
@@ -50,7 +51,7 @@ public class SQLAuthenticator implements Authenticator
     /**
      * 
      */
-    public synchronized boolean performLogon(final String userGuid, final String userName, final String password) throws AuthenticatorException
+    public boolean performLogon(final String userGuid, final String userName, final String password) throws AuthenticatorException
     {
         final String methodName = SQLAuthenticator.CNAME + "#performLogon(final String userGuid, final String userName, final String password) throws AuthenticatorException";
         
@@ -88,7 +89,7 @@ public class SQLAuthenticator implements Authenticator
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL getUserPassword(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getUserPassword(?, ?) }");
             stmt.setString(1, userGuid);
             stmt.setString(2, userName);
 
@@ -161,7 +162,7 @@ public class SQLAuthenticator implements Authenticator
     /**
      * 
      */
-    public synchronized boolean verifySecurityData(final String userGuid, final String userName, final HashMap<String, String> questionMap) throws AuthenticatorException
+    public boolean verifySecurityData(final String userGuid, final String userName, final HashMap<String, String> questionMap) throws AuthenticatorException
     {
         final String methodName = SQLAuthenticator.CNAME + "#verifySecurityData(final String userGuid, final String userName, final HashMap<String, String> questionMap) throws AuthenticatorException";
         
@@ -199,7 +200,7 @@ public class SQLAuthenticator implements Authenticator
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL getSecurityData(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getSecurityData(?, ?) }");
             stmt.setString(1, userGuid);
             stmt.setString(2, userName);
 
@@ -290,7 +291,7 @@ public class SQLAuthenticator implements Authenticator
     /**
      * 
      */
-    public synchronized void performLogoff(final String userGuid, final String userName, final String tokenSalt, final String authToken) throws AuthenticatorException
+    public void performLogoff(final String userGuid, final String userName, final String tokenSalt, final String authToken) throws AuthenticatorException
     {
         final String methodName = SQLAuthenticator.CNAME + "#performLogoff(final String userGuid, final String userName, final String tokenSalt, final String authToken) throws AuthenticatorException";
         
@@ -328,7 +329,7 @@ public class SQLAuthenticator implements Authenticator
             sqlConn.setAutoCommit(true);
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement("{ CALL removeSessionData(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL removeSessionData(?, ?) }");
             stmt.setString(1, userGuid);
             stmt.setString(2, tokenSalt);
 
@@ -367,7 +368,7 @@ public class SQLAuthenticator implements Authenticator
     /**
      * 
      */
-    public synchronized boolean validateAuthToken(final String userGuid, final String userId, final String authToken) throws AuthenticatorException
+    public boolean validateAuthToken(final String userGuid, final String userId, final String authToken) throws AuthenticatorException
     {
         final String methodName = SQLAuthenticator.CNAME + "#validateAuthToken(final String userGuid, final String userId, final String authToken) throws AuthenticatorException";
         
@@ -405,7 +406,7 @@ public class SQLAuthenticator implements Authenticator
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL getAuthToken(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getAuthToken(?, ?) }");
             stmt.setString(1, userGuid); // guid
             stmt.setString(2, userId);
 
@@ -517,7 +518,7 @@ public class SQLAuthenticator implements Authenticator
 
             // first make sure the existing password is proper
             // then make sure the new password doesnt match the existing password
-            stmt = sqlConn.prepareCall("{ CALL performSuccessfulLogin(?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL performSuccessfulLogin(?, ?, ?, ?) }");
             stmt.setString(1, userId);
             stmt.setString(2, guid);
             stmt.setString(3, authToken);
@@ -605,7 +606,7 @@ public class SQLAuthenticator implements Authenticator
 
             // first make sure the existing password is proper
             // then make sure the new password doesnt match the existing password
-            stmt = sqlConn.prepareStatement("{ CALL getOlrStatus(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getOlrStatus(?, ?) }");
             stmt.setString(1, guid);
             stmt.setString(2, userId);
 
@@ -43,7 +43,7 @@ import com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager;
  */
 public class UserManagerFactory
 {
-    private static UserManager userManager = null;
+    private static volatile UserManager userManager = null;
 
     private static final String CNAME = UserManagerFactory.class.getName();
 
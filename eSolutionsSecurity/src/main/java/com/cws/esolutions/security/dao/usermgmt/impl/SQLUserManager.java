@@ -25,12 +25,14 @@ package com.cws.esolutions.security.dao.usermgmt.impl;
  * ----------------------------------------------------------------------------
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
+import java.util.Map;
 import java.util.List;
 import java.util.Arrays;
 import java.util.Objects;
 import java.sql.ResultSet;
 import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.util.HashMap;
 import java.util.ArrayList;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -38,6 +40,12 @@ import java.sql.ResultSetMetaData;
 import java.sql.PreparedStatement;
 import org.apache.commons.lang3.StringUtils;
 
+import com.cws.esolutions.security.dto.UserAccount;
+import com.cws.esolutions.utility.coreutils.SQLUtils;
+import com.cws.esolutions.utility.coreutils.RowHandler;
+import com.cws.esolutions.utility.coreutils.StatementCache;
+import com.cws.esolutions.utility.exception.UtilityException;
+import com.cws.esolutions.utility.coreutils.ReplicaRoutingDataSource;
 import com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager;
 import com.cws.esolutions.security.dao.usermgmt.exception.UserManagementException;
 /**
@@ -50,7 +58,7 @@ public class SQLUserManager implements UserManager
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#validateUserAccount(String, String)
      */
-    public synchronized boolean validateUserAccount(final String userId, final String userGuid) throws UserManagementException
+    public boolean validateUserAccount(final String userId, final String userGuid) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#validateUserAccount(final String userId, final String userGuid) throws UserManagementException";
 
@@ -87,7 +95,7 @@ public class SQLUserManager implements UserManager
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL getUserByAttribute(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getUserByAttribute(?) }");
             stmt.setString(1, userGuid);
 
             if (DEBUG)
@@ -155,7 +163,7 @@ public class SQLUserManager implements UserManager
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#addUserAccount(java.util.List)
      */
-    public synchronized boolean addUserAccount(final List<String> userAccount) throws UserManagementException
+    public boolean addUserAccount(final List<String> userAccount) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#addUserAccount(final List<String> userAccount) throws UserManagementException";
 
@@ -190,7 +198,7 @@ public class SQLUserManager implements UserManager
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL addUserAccount(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL addUserAccount(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) }");
             stmt.setString(1, userAccount.get(0)); // commonName NVARCHAR(128),
             stmt.setString(2, userAccount.get(1)); // uid NVARCHAR(45),
             stmt.setString(3, userAccount.get(2)); // userpassword NVARCHAR(255)
@@ -246,10 +254,57 @@ public class SQLUserManager implements UserManager
         return isComplete;
     }
 
+    /**
+     * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#addUserAccounts(java.util.List)
+     */
+    public int[] addUserAccounts(final List<List<String>> userAccounts) throws UserManagementException
+    {
+        final String methodName = SQLUserManager.CNAME + "#addUserAccounts(final List<List<String>> userAccounts) throws UserManagementException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", userAccounts);
+        }
+
+        if (Objects.isNull(authDataSource))
+        {
+        	throw new UserManagementException("A datasource connection could not be obtained.");
+        }
+
+        List<Map<Integer, Object>> batchParams = new ArrayList<Map<Integer, Object>>();
+
+        for (List<String> userAccount : userAccounts)
+        {
+            Map<Integer, Object> params = new HashMap<Integer, Object>();
+
+            for (int x = 0; x < 11; x++)
+            {
+                params.put(x + 1, userAccount.get(x)); // commonName .. pager, as in addUserAccount
+            }
+
+            batchParams.add(params);
+        }
+
+        try
+        {
+            return SQLUtils.addOrDeleteDataBatch(authDataSource, "{ CALL addUserAccount(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) }", batchParams);
+        }
+        catch (final UtilityException ux)
+        {
+            if ((ux.getCause() instanceof SQLException) && (((SQLException) ux.getCause()).getErrorCode() == 1061))
+            {
+                throw new UserManagementException("An account already exists with that username.");
+            }
+
+            throw new UserManagementException(ux.getMessage(), ux);
+        }
+    }
+
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#removeUserAccount(java.lang.String)
      */
-    public synchronized boolean removeUserAccount(final String userId) throws UserManagementException
+    public boolean removeUserAccount(final String userId) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#removeUserAccount(final String userId) throws UserManagementException";
 
@@ -284,7 +339,7 @@ public class SQLUserManager implements UserManager
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL removeUserAccount(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL removeUserAccount(?) }");
             stmt.setString(1, userId);
 
             if (DEBUG)
@@ -327,7 +382,7 @@ public class SQLUserManager implements UserManager
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#searchUsers(java.lang.String)
      */
-    public synchronized List<String[]> findUsers(final String searchData) throws UserManagementException
+    public List<String[]> findUsers(final String searchData) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#findUsers(final String searchData) throws UserManagementException";
 
@@ -351,7 +406,7 @@ public class SQLUserManager implements UserManager
                     throw new UserManagementException("A datasource connection could not be obtained.");
                 }
 
-                sqlConn = contactDataSource.getConnection();
+                sqlConn = ReplicaRoutingDataSource.getReadConnection(contactDataSource);
 
                 if (DEBUG)
                 {
@@ -365,7 +420,7 @@ public class SQLUserManager implements UserManager
 
                 sqlConn.setAutoCommit(true);
 
-                stmt = sqlConn.prepareStatement("{ CALL getUserByEmail(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+                stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getUserByEmail(?) }");
                 stmt.setString(1, searchData);
         	}
         	else
@@ -375,7 +430,7 @@ public class SQLUserManager implements UserManager
                     throw new UserManagementException("A datasource connection could not be obtained.");
                 }
 
-                sqlConn = authDataSource.getConnection();
+                sqlConn = ReplicaRoutingDataSource.getReadConnection(authDataSource);
 
                 if (DEBUG)
                 {
@@ -389,7 +444,7 @@ public class SQLUserManager implements UserManager
 
                 sqlConn.setAutoCommit(true);
 
-                stmt = sqlConn.prepareStatement("{ CALL getUserByAttribute(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+                stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getUserByAttribute(?) }");
                 stmt.setString(1, searchData);
         	}
 
@@ -466,7 +521,7 @@ public class SQLUserManager implements UserManager
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#loadUserAccount(java.lang.String)
      */
-    public synchronized List<Object> loadUserAccount(final String userGuid) throws UserManagementException
+    public List<Object> loadUserAccount(final String userGuid) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#loadUserAccount(final String guid) throws UserManagementException";
         
@@ -507,7 +562,7 @@ public class SQLUserManager implements UserManager
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL showUserAccount(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL showUserAccount(?) }");
             stmt.setString(1, userGuid); // common name
 
             if (DEBUG)
@@ -603,10 +658,41 @@ public class SQLUserManager implements UserManager
         return userAccount;
     }
 
+    /**
+     * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#getUserAccount(java.lang.String)
+     */
+    public UserAccount getUserAccount(final String userGuid) throws UserManagementException
+    {
+        final String methodName = SQLUserManager.CNAME + "#getUserAccount(final String userGuid) throws UserManagementException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", userGuid);
+        }
+
+        if (Objects.isNull(authDataSource))
+        {
+        	throw new UserManagementException("A datasource connection could not be obtained.");
+        }
+
+        Map<Integer, Object> params = new HashMap<Integer, Object>();
+        params.put(1, userGuid); // common name
+
+        try
+        {
+            return SQLUtils.queryForObject(authDataSource, "{ CALL showUserAccount(?) }", params, UserAccountRowMapper.INSTANCE);
+        }
+        catch (final UtilityException ux)
+        {
+            throw new UserManagementException(ux.getMessage(), ux);
+        }
+    }
+
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#listUserAccounts()
      */
-    public synchronized String loadUserGroups(final String guid) throws UserManagementException
+    public String loadUserGroups(final String guid) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#loadUserGroups(final String guid) throws UserManagementException";
 
@@ -642,7 +728,7 @@ public class SQLUserManager implements UserManager
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL getUserGroups(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getUserGroups(?) }");
             stmt.setString(1, guid);
 
             if (DEBUG)
@@ -696,7 +782,7 @@ public class SQLUserManager implements UserManager
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#getUserByEmailAddress(java.lang.String)
      */
-    public synchronized List<String> getUserByUsername(final String searchData) throws UserManagementException
+    public List<String> getUserByUsername(final String searchData) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#getUserByUsername(final String searchData) throws UserManagementException";
         
@@ -733,7 +819,7 @@ public class SQLUserManager implements UserManager
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL getUserByAttribute(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getUserByAttribute(?) }");
             stmt.setString(1, searchData); // common name
 
             if (DEBUG)
@@ -818,7 +904,7 @@ public class SQLUserManager implements UserManager
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#listUserAccounts()
      */
-    public synchronized List<Object[]> listUserAccounts() throws UserManagementException
+    public List<Object[]> listUserAccounts() throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#listUserAccounts() throws UserManagementException";
 
@@ -853,7 +939,7 @@ public class SQLUserManager implements UserManager
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL listUserAccounts() }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL listUserAccounts() }");
 
             if (DEBUG)
             {
@@ -923,10 +1009,37 @@ public class SQLUserManager implements UserManager
         return results;
     }
 
+    /**
+     * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#listUserAccounts(com.cws.esolutions.utility.coreutils.RowHandler)
+     */
+    public int listUserAccounts(final RowHandler handler) throws UserManagementException
+    {
+        final String methodName = SQLUserManager.CNAME + "#listUserAccounts(final RowHandler handler) throws UserManagementException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        if (Objects.isNull(authDataSource))
+        {
+        	throw new UserManagementException("A datasource connection could not be obtained.");
+        }
+
+        try
+        {
+            return SQLUtils.streamQuery(authDataSource, "{ CALL listUserAccounts() }", null, handler);
+        }
+        catch (final UtilityException ux)
+        {
+            throw new UserManagementException(ux.getMessage(), ux);
+        }
+    }
+
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#modifyUserEmail(java.lang.String, java.lang.String)
      */
-    public synchronized boolean modifyUserEmail(final String userId, final String value) throws UserManagementException
+    public boolean modifyUserEmail(final String userId, final String value) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#modifyUserEmail(final String userId, final String value) throws UserManagementException";
 
@@ -965,7 +1078,7 @@ public class SQLUserManager implements UserManager
 
             // first make sure the existing password is proper
             // then make sure the new password doesnt match the existing password
-            stmt = sqlConn.prepareCall("{ CALL updateUserEmail(?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL updateUserEmail(?, ?, ?) }");
             stmt.setString(1, userId);
             stmt.setString(2, value);
             stmt.registerOutParameter(3, Types.INTEGER);
@@ -1022,7 +1135,7 @@ public class SQLUserManager implements UserManager
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#modifyUserContact(java.lang.String, java.util.List)
      */
-    public synchronized boolean modifyUserContact(final String userId, final List<String> values) throws UserManagementException
+    public boolean modifyUserContact(final String userId, final List<String> values) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#modifyUserContact(final String userId, final List<String> values) throws UserManagementException";
 
@@ -1058,7 +1171,7 @@ public class SQLUserManager implements UserManager
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL updateUserContact(?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL updateUserContact(?, ?, ?, ?) }");
             stmt.setString(1, userId);
             stmt.setString(2, values.get(0));
             stmt.setString(3, values.get(1));
@@ -1112,7 +1225,7 @@ public class SQLUserManager implements UserManager
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#modifyUserSuspension(java.lang.String, boolean)
      */
-    public synchronized boolean modifyUserSuspension(final String userId, final boolean isSuspended) throws UserManagementException
+    public boolean modifyUserSuspension(final String userId, final boolean isSuspended) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#modifyUserSuspension(final String userId, final boolean isSuspended) throws UserManagementException";
 
@@ -1148,7 +1261,7 @@ public class SQLUserManager implements UserManager
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL modifyUserSuspension(?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL modifyUserSuspension(?, ?, ?) }");
             stmt.setString(1, userId);
             stmt.setBoolean(2, isSuspended);
             stmt.registerOutParameter(3, Types.INTEGER);
@@ -1198,7 +1311,7 @@ public class SQLUserManager implements UserManager
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#modifyUserRole(java.lang.String, java.lang.Object[])
      */
-    public synchronized boolean modifyUserRole(final String userId, final String role) throws UserManagementException
+    public boolean modifyUserRole(final String userId, final String role) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#modifyUserRole(final String userId, final String role) throws UserManagementException";
 
@@ -1236,7 +1349,7 @@ public class SQLUserManager implements UserManager
 
             // first make sure the existing password is proper
             // then make sure the new password doesnt match the existing password
-            stmt = sqlConn.prepareStatement("{ CALL updateUserRole(?, ?,}", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL updateUserRole(?, ?,}");
             stmt.setString(1, userId);
             stmt.setString(2, role);
 
@@ -1280,7 +1393,7 @@ public class SQLUserManager implements UserManager
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#modifyOlrLock(java.lang.String, boolean)
      */
-    public synchronized boolean modifyOlrLock(final String userId, final boolean isLocked) throws UserManagementException
+    public boolean modifyOlrLock(final String userId, final boolean isLocked) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#modifyOlrLock(final String userId, final boolean value) throws UserManagementException";
 
@@ -1318,7 +1431,7 @@ public class SQLUserManager implements UserManager
 
             // first make sure the existing password is proper
             // then make sure the new password doesnt match the existing password
-            stmt = sqlConn.prepareCall("{ CALL modifyOlrLock(?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL modifyOlrLock(?, ?, ?) }");
             stmt.setString(1, userId);
             stmt.setBoolean(2, isLocked);
             stmt.registerOutParameter(3, Types.INTEGER);
@@ -1371,7 +1484,7 @@ public class SQLUserManager implements UserManager
     /**
      * @see com.cws.esolutions.security.dao.usermgmt.interfaces.UserManager#modifyUserLock(java.lang.String, boolean, int)
      */
-    public synchronized boolean modifyUserLock(final String userId, final boolean isLocked, final int increment) throws UserManagementException
+    public boolean modifyUserLock(final String userId, final boolean isLocked, final int increment) throws UserManagementException
     {
         final String methodName = SQLUserManager.CNAME + "#modifyUserLock(final String userId, final boolean int, final boolean increment) throws UserManagementException";
 
@@ -1408,7 +1521,7 @@ public class SQLUserManager implements UserManager
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareCall("{ CALL modifyUserLock(?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, "{ CALL modifyUserLock(?, ?, ?, ?) }");
             stmt.setString(1, userId);
             stmt.setBoolean(2, isLocked);
             stmt.setInt(3, increment);
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.security.dao.usermgmt.impl;
+/*
+ * Project: eSolutionsSecurity
+ * Package: com.cws.esolutions.security.dao.usermgmt.impl
+ * File: UserAccountRowMapper.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Date;
+import java.util.List;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.sql.SQLException;
+import org.apache.commons.lang3.StringUtils;
+
+import com.cws.esolutions.security.dto.UserGroup;
+import com.cws.esolutions.security.dto.UserAccount;
+import com.cws.esolutions.utility.coreutils.RowMapper;
+import com.cws.esolutions.security.enums.SecurityUserRole;
+/**
+ * Maps a row of <code>showUserAccount</code> to a {@link UserAccount}. The group membership is
+ * part of the row, so the account's groups are populated without a separate lookup.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+final class UserAccountRowMapper implements RowMapper<UserAccount>
+{
+    static final UserAccountRowMapper INSTANCE = new UserAccountRowMapper();
+
+    private static final int UID = 1;
+    private static final int CN = 2;
+    private static final int CWSROLE = 3;
+    private static final int CWSFAILEDPWDCOUNT = 4;
+    private static final int CWSLASTLOGIN = 5;
+    private static final int SN = 6;
+    private static final int GIVENNAME = 7;
+    private static final int CWSEXPIRYDATE = 8;
+    private static final int CWSISSUSPENDED = 9;
+    private static final int DISPLAYNAME = 12;
+    private static final int CWSISTCACCEPTED = 13;
+    private static final int MEMBEROF = 14;
+    private static final int EMAIL = 15;
+    private static final int TELEPHONENUMBER = 16;
+    private static final int PAGER = 17;
+
+    private UserAccountRowMapper()
+    {
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.coreutils.RowMapper#mapRow(java.sql.ResultSet)
+     */
+    public UserAccount mapRow(final ResultSet resultSet) throws SQLException
+    {
+        final String memberOf = resultSet.getString(UserAccountRowMapper.MEMBEROF);
+        final Timestamp lastLogin = resultSet.getTimestamp(UserAccountRowMapper.CWSLASTLOGIN);
+        final Timestamp expiryDate = resultSet.getTimestamp(UserAccountRowMapper.CWSEXPIRYDATE);
+
+        UserAccount userAccount = new UserAccount();
+        userAccount.setUsername(resultSet.getString(UserAccountRowMapper.UID));
+        userAccount.setGuid(resultSet.getString(UserAccountRowMapper.CN));
+        userAccount.setUserRole(SecurityUserRole.valueOf(resultSet.getString(UserAccountRowMapper.CWSROLE)));
+        userAccount.setFailedCount(resultSet.getInt(UserAccountRowMapper.CWSFAILEDPWDCOUNT));
+        userAccount.setLastLogin((lastLogin == null) ? null : new Date(lastLogin.getTime()));
+        userAccount.setSurname(resultSet.getString(UserAccountRowMapper.SN));
+        userAccount.setGivenName(resultSet.getString(UserAccountRowMapper.GIVENNAME));
+        userAccount.setExpiryDate((expiryDate == null) ? null : new Date(expiryDate.getTime()));
+        userAccount.setSuspended(resultSet.getBoolean(UserAccountRowMapper.CWSISSUSPENDED));
+        userAccount.setDisplayName(resultSet.getString(UserAccountRowMapper.DISPLAYNAME));
+        userAccount.setAcceptedTerms(resultSet.getBoolean(UserAccountRowMapper.CWSISTCACCEPTED));
+        userAccount.setEmailAddr(resultSet.getString(UserAccountRowMapper.EMAIL));
+        userAccount.setTelephoneNumber(resultSet.getString(UserAccountRowMapper.TELEPHONENUMBER));
+        userAccount.setPagerNumber(resultSet.getString(UserAccountRowMapper.PAGER));
+
+        if (memberOf != null)
+        {
+            List<UserGroup> userGroups = new ArrayList<UserGroup>();
+
+            for (String group : StringUtils.split(memberOf, ","))
+            {
+                UserGroup userGroup = new UserGroup();
+                userGroup.setGuid(group.trim());
+
+                userGroups.add(userGroup);
+            }
+
+            userAccount.setUserGroups(userGroups);
+        }
+
+        return userAccount;
+    }
+}
@@ -30,6 +30,8 @@ import javax.sql.DataSource;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
+import com.cws.esolutions.security.dto.UserAccount;
+import com.cws.esolutions.utility.coreutils.RowHandler;
 import com.cws.esolutions.security.SecurityServicesBean;
 import com.cws.esolutions.security.SecurityServicesConstants;
 import com.cws.esolutions.security.config.xml.SecurityConfig;
@@ -77,6 +79,17 @@ public interface UserManager
      */
     boolean addUserAccount(final List<String> userAccount) throws UserManagementException;
 
+    /**
+     * Adds a set of new users to the authentication system in a single transaction. Each entry
+     * carries the same information, in the same order, as {@link #addUserAccount(List)}. If any
+     * account fails to insert, none of the accounts are added.
+     *
+     * @param userAccounts - A <code>List</code> of user account information to insert
+     * @return The per-account update counts as reported by the datastore
+     * @throws UserManagementException if an exception occurs during processing
+     */
+    int[] addUserAccounts(final List<List<String>> userAccounts) throws UserManagementException;
+
     /**
      * Removes a provided user account from the authentication datastore. This
      * method fully deletes - the account will become unrecoverable, and if
@@ -146,6 +159,17 @@ public interface UserManager
      */
     List<Object> loadUserAccount(final String userId) throws UserManagementException;
 
+    /**
+     * Loads the user account for the provided GUID, mapped directly to a
+     * {@link com.cws.esolutions.security.dto.UserAccount} with its group membership populated.
+     *
+     * @param userGuid - The Globally Unique IDentifier of the desired user
+     * @return The associated user account, or <code>null</code> if no account was found
+     * @throws UserManagementException if an exception occurs during processing or if more than one
+     * account is found
+     */
+    UserAccount getUserAccount(final String userGuid) throws UserManagementException;
+
     /**
      * 
      * @param guid
@@ -165,6 +189,18 @@ public interface UserManager
      */
     List<Object[]> listUserAccounts() throws UserManagementException;
 
+    /**
+     * Streams ALL user accounts stored in the authentication datastore to the provided handler,
+     * one row at a time, without materializing the full listing in memory. Each row carries the
+     * same columns as {@link #listUserAccounts()}. As with that method, this is ONLY to be used
+     * with the reapers.
+     *
+     * @param handler - The {@link com.cws.esolutions.utility.coreutils.RowHandler} invoked for each account
+     * @return The number of accounts processed
+     * @throws UserManagementException if an exception occurs during processing
+     */
+    int listUserAccounts(final RowHandler handler) throws UserManagementException;
+
     /**
      * Allows an authenticated user or administrator to modify the email address of a provided
      * account by updating the data within the configured authorization datastore.
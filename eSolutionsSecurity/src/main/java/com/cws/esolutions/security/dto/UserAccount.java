@@ -33,6 +33,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
 import com.cws.esolutions.security.enums.SecurityUserRole;
+import com.cws.esolutions.utility.services.dto.ServiceMembership;
 import com.cws.esolutions.security.SecurityServicesConstants;
 import com.cws.esolutions.security.processors.enums.LoginStatus;
 /**
@@ -60,6 +61,7 @@ public class UserAccount implements Serializable
     private String telephoneNumber = null;
     private SecurityUserRole userRole = null;
     private List<UserGroup> userGroups = null;
+    private transient ServiceMembership authorizations = null;
 
     private static final String CNAME = UserAccount.class.getName();
     private static final long serialVersionUID = -4373126337438707230L;
@@ -339,6 +341,23 @@ public class UserAccount implements Serializable
         this.userGroups = value;
     }
 
+    /**
+     * @param value - The service ids the user is a member of, interned by the service index. Not
+     * serialized - the ids are only meaningful on the node that built them
+     */
+    public final void setAuthorizations(final ServiceMembership value)
+    {
+        final String methodName = UserAccount.CNAME + "#setAuthorizations(final ServiceMembership value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.authorizations = value;
+    }
+
     /**
      * 
      * @param value
@@ -662,6 +681,22 @@ public class UserAccount implements Serializable
         return this.userGroups;
     }
 
+    /**
+     * @return The service ids the user is a member of
+     */
+    public final ServiceMembership getAuthorizations()
+    {
+        final String methodName = UserAccount.CNAME + "#getAuthorizations()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.authorizations);
+        }
+
+        return this.authorizations;
+    }
+
     /**
      * @see java.lang.Object#toString()
      */
@@ -27,9 +27,12 @@ package com.cws.esolutions.security.init;
  */
 import java.net.URL;
 import java.util.Map;
+import java.util.List;
 import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.Objects;
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.sql.SQLException;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.Unmarshaller;
@@ -42,8 +45,20 @@ import org.apache.commons.dbcp2.BasicDataSource;
 import com.cws.esolutions.security.SecurityServicesBean;
 import com.cws.esolutions.utility.securityutils.PasswordUtils;
 import com.cws.esolutions.security.config.xml.DataSourceManager;
+import com.cws.esolutions.utility.coreutils.DataSourceRegistry;
+import com.cws.esolutions.utility.coreutils.ReplicaRoutingDataSource;
 import com.cws.esolutions.security.exception.SecurityServiceException;
 import com.cws.esolutions.security.config.xml.SecurityConfigurationData;
+import com.cws.esolutions.utility.exception.UtilityException;
+import com.cws.esolutions.security.config.xml.SecurityConfig;
+import com.cws.esolutions.utility.services.impl.ServiceIndex;
+import com.cws.esolutions.utility.services.impl.AuthorizationCache;
+import com.cws.esolutions.utility.services.impl.AuthorizationMetrics;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditSpool;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditPolicy;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditAggregator;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditMetrics;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditWriter;
 /**
  * @author cws-khuntly
  * @version 1.0
@@ -88,6 +103,8 @@ public class SecurityServiceInitializer
 
             svcBean.setConfigData(configData);
 
+            SecurityServiceInitializer.configureServices(configData.getSecurityConfig());
+
             if (startConnections)
             {
                 Map<String, DataSource> dsMap = svcBean.getDataSources();
@@ -103,21 +120,30 @@ public class SecurityServiceInitializer
                     {
                         if (!(dsMap.containsKey(mgr.getDsName())))
                         {
-                            StringBuilder sBuilder = new StringBuilder()
-                                .append("connectTimeout=" + mgr.getConnectTimeout() + ";")
-                                .append("socketTimeout=" + mgr.getConnectTimeout() + ";")
-                                .append("autoReconnect=" + mgr.getAutoReconnect() + ";");
-
-                            BasicDataSource dataSource = new BasicDataSource();
-                            dataSource.setDriverClassName(mgr.getDriver());
-                            dataSource.setUrl(mgr.getDataSource());
-                            dataSource.setUsername(mgr.getDsUser());
-                            dataSource.setConnectionProperties(sBuilder.toString());
-                            dataSource.setPassword(PasswordUtils.decryptText(mgr.getDsPass(), mgr.getDsSalt(), svcBean.getConfigData().getSecurityConfig().getSecretKeyAlgorithm(), svcBean.getConfigData().getSecurityConfig().getIterations(),
-                        			svcBean.getConfigData().getSecurityConfig().getKeyLength(), svcBean.getConfigData().getSecurityConfig().getEncryptionAlgorithm(), svcBean.getConfigData().getSecurityConfig().getEncryptionInstance(),
-                        			svcBean.getConfigData().getSystemConfig().getEncoding()));
-
-                            dsMap.put(mgr.getDsName(), dataSource);
+                            DataSource handle = DataSourceRegistry.register(mgr.getDsName(), SecurityServiceInitializer.createDataSource(mgr, mgr.getDataSource()));
+
+                            SecurityServiceInitializer.prewarm(mgr.getDsName(), handle);
+
+                            if ((mgr.getReplicas() != null) && (mgr.getReplicas().size() != 0))
+                            {
+                                List<DataSource> replicas = new ArrayList<DataSource>();
+
+                                for (int x = 0; x < mgr.getReplicas().size(); x++)
+                                {
+                                    BasicDataSource replica = SecurityServiceInitializer.createDataSource(mgr, mgr.getReplicas().get(x));
+                                    replica.setDefaultReadOnly(Boolean.TRUE);
+
+                                    DataSource replicaHandle = DataSourceRegistry.register(ReplicaRoutingDataSource.getReplicaName(mgr.getDsName(), x), replica);
+
+                                    SecurityServiceInitializer.prewarm(ReplicaRoutingDataSource.getReplicaName(mgr.getDsName(), x), replicaHandle);
+
+                                    replicas.add(replicaHandle);
+                                }
+
+                                handle = new ReplicaRoutingDataSource(handle, replicas, mgr.getReplicaSelection());
+                            }
+
+                            dsMap.put(mgr.getDsName(), handle);
                         }
                     }
 
@@ -135,6 +161,11 @@ public class SecurityServiceInitializer
             mux.printStackTrace();
             throw new SecurityServiceException(mux.getMessage(), mux);
         }
+        catch (final UtilityException ux)
+        {
+            ux.printStackTrace();
+            throw new SecurityServiceException(ux.getMessage(), ux);
+        }
         catch (final SecurityException sx)
         {
             sx.printStackTrace();
@@ -142,31 +173,151 @@ public class SecurityServiceInitializer
         }
     }
 
+    /**
+     * Applies the audit and authorization settings of the provided configuration - the audit writer,
+     * policy, spool, aggregator and metrics, the authorization cache, the service index refresh and
+     * the authorization metrics. Shared by the standalone initializer and the servlet listener so both
+     * start the same services.
+     *
+     * @param secConfig - The {@link SecurityConfig} to apply, or <code>null</code> to keep the defaults
+     * @throws UtilityException {@link com.cws.esolutions.utility.exception.UtilityException} if the audit
+     * spool or rollup file cannot be opened
+     */
+    static void configureServices(final SecurityConfig secConfig) throws UtilityException
+    {
+        if (secConfig == null)
+        {
+            return;
+        }
+
+        AuditWriter.configure(secConfig.getAuditAsync(), secConfig.getAuditQueueSize(), secConfig.getAuditFlushSize(),
+            secConfig.getAuditFlushInterval(), secConfig.getAuditOverflowPolicy());
+
+        AuditPolicy.configure(secConfig.getAuditDefaultTier(), secConfig.getAuditSampleRate(), secConfig.getAuditSampledTypes(),
+            secConfig.getAuditAggregatedTypes(), secConfig.getAuditDisabledTypes());
+
+        if (StringUtils.isNotBlank(secConfig.getAuditSpoolFile()))
+        {
+            AuditSpool.open(secConfig.getAuditSpoolFile(), secConfig.getAuditSpoolSize());
+        }
+
+        if (StringUtils.isNotBlank(secConfig.getAuditRollupFile()))
+        {
+            AuditAggregator.open(secConfig.getAuditRollupFile(), secConfig.getAuditRollupInterval());
+        }
+
+        if (secConfig.getAuditMetrics())
+        {
+            AuditMetrics.register(secConfig.getApplicationName());
+        }
+
+        AuthorizationCache.configure(secConfig.getAuthorizationCacheTtl(), secConfig.getAuthorizationCacheSize());
+        ServiceIndex.setRefreshInterval(secConfig.getServiceRefreshInterval());
+        AuthorizationMetrics.setTraceThreshold(secConfig.getAuthorizationTraceThreshold());
+
+        if (secConfig.getAuthorizationMetrics())
+        {
+            AuthorizationMetrics.register(secConfig.getApplicationName());
+        }
+    }
+
     /**
      * Shuts down the running security service process.
      */
     public static void shutdown()
     {
-        Map<String, DataSource> dsMap = SecurityServiceInitializer.svcBean.getDataSources();
+        final Map<String, DataSource> dsMap = SecurityServiceInitializer.svcBean.getDataSources();
 
-        try
+        if (dsMap != null)
         {
-            if (dsMap != null)
+            // the registry closes a pool once every module sharing it has released it
+            for (String key : dsMap.keySet())
             {
-                for (String key : dsMap.keySet())
+                if (dsMap.get(key) instanceof ReplicaRoutingDataSource)
                 {
-                    BasicDataSource dataSource = (BasicDataSource) dsMap.get(key);
-
-                    if ((dataSource != null) && (!(dataSource.isClosed())))
+                    for (int x = 0; x < ((ReplicaRoutingDataSource) dsMap.get(key)).getReplicaCount(); x++)
                     {
-                        dataSource.close();
+                        DataSourceRegistry.release(ReplicaRoutingDataSource.getReplicaName(key, x));
                     }
                 }
+
+                DataSourceRegistry.release(key);
             }
         }
+    }
+
+    /**
+     * Builds an unstarted pool for the provided URL using the pool settings of the given manager.
+     *
+     * @param mgr - The {@link DataSourceManager} holding the pool settings
+     * @param url - The JDBC URL to connect to
+     * @return A configured {@link org.apache.commons.dbcp2.BasicDataSource}
+     */
+    private static BasicDataSource createDataSource(final DataSourceManager mgr, final String url)
+    {
+        StringBuilder sBuilder = new StringBuilder()
+            .append("connectTimeout=" + mgr.getConnectTimeout() + ";")
+            .append("socketTimeout=" + mgr.getConnectTimeout() + ";")
+            .append("autoReconnect=" + mgr.getAutoReconnect() + ";");
+
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName(mgr.getDriver());
+        dataSource.setUrl(url);
+        dataSource.setUsername(mgr.getDsUser());
+        dataSource.setConnectionProperties(sBuilder.toString());
+        dataSource.setPoolPreparedStatements(mgr.getPoolPreparedStatements());
+        dataSource.setMaxOpenPreparedStatements(mgr.getMaxOpenPreparedStatements());
+        dataSource.setMaxTotal(mgr.getMaxTotal());
+        dataSource.setMaxIdle(mgr.getMaxIdle());
+        dataSource.setMinIdle(mgr.getMinIdle());
+        dataSource.setInitialSize(mgr.getMinIdle());
+        dataSource.setMaxWaitMillis(mgr.getMaxWaitMillis());
+        dataSource.setValidationQuery(mgr.getValidationQuery());
+        dataSource.setValidationQueryTimeout(mgr.getValidationQueryTimeout());
+        dataSource.setTestOnBorrow(mgr.getTestOnBorrow());
+        dataSource.setTestWhileIdle(mgr.getTestWhileIdle());
+        dataSource.setTimeBetweenEvictionRunsMillis(mgr.getTimeBetweenEvictionRunsMillis());
+        dataSource.setMinEvictableIdleTimeMillis(mgr.getMinEvictableIdleTimeMillis());
+        dataSource.setPassword(PasswordUtils.decryptText(mgr.getDsPass(), mgr.getDsSalt(), svcBean.getConfigData().getSecurityConfig().getSecretKeyAlgorithm(), svcBean.getConfigData().getSecurityConfig().getIterations(),
+            svcBean.getConfigData().getSecurityConfig().getKeyLength(), svcBean.getConfigData().getSecurityConfig().getEncryptionAlgorithm(), svcBean.getConfigData().getSecurityConfig().getEncryptionInstance(),
+            svcBean.getConfigData().getSystemConfig().getEncoding()));
+
+        return dataSource;
+    }
+
+    /**
+     * Opens the pool so that <code>minIdle</code> connections are established before the first
+     * request arrives. A failure here is not fatal - the pool will connect on first use instead.
+     *
+     * @param dsName - The configured name of the datasource
+     * @param dataSource - The {@link javax.sql.DataSource} to warm
+     */
+    private static void prewarm(final String dsName, final DataSource dataSource)
+    {
+        Connection sqlConn = null;
+
+        try
+        {
+            // the first borrow creates initialSize connections, which is set to minIdle
+            sqlConn = dataSource.getConnection();
+        }
         catch (final SQLException sqx)
         {
-        	System.err.println("SecurityServiceInitializer#shutdown(): Exception occurred while shutting down: " + sqx.getMessage());
+            System.err.println("SecurityServiceInitializer#prewarm(): Unable to pre-warm datasource " + dsName + ": " + sqx.getMessage());
+        }
+        finally
+        {
+            try
+            {
+                if (sqlConn != null)
+                {
+                    sqlConn.close();
+                }
+            }
+            catch (final SQLException sqx)
+            {
+                System.err.println("SecurityServiceInitializer#prewarm(): Unable to return connection for " + dsName + ": " + sqx.getMessage());
+            }
         }
     }
 }
@@ -44,6 +44,8 @@ import jakarta.servlet.annotation.WebListener;
 import com.cws.esolutions.security.SecurityServicesBean;
 import com.cws.esolutions.security.SecurityServicesConstants;
 import com.cws.esolutions.security.config.xml.DataSourceManager;
+import com.cws.esolutions.utility.coreutils.DataSourceRegistry;
+import com.cws.esolutions.utility.exception.UtilityException;
 import com.cws.esolutions.security.exception.SecurityServiceException;
 import com.cws.esolutions.security.config.xml.SecurityConfigurationData;
 /**
@@ -90,13 +92,15 @@ public class SecurityServiceListener implements ServletContextListener
                     configData = (SecurityConfigurationData) marshaller.unmarshal(xmlURL);
                     svcBean.setConfigData(configData);
 
+                    SecurityServiceInitializer.configureServices(configData.getSecurityConfig());
+
                     Context initContext = new InitialContext();
                     Context envContext = (Context) initContext.lookup(SecurityServicesConstants.DS_CONTEXT);
                     Map<String, DataSource> dsMap = new HashMap<String, DataSource>();
 
                     for (DataSourceManager mgr : configData.getResourceConfig().getDsManager())
                     {
-                    	dsMap.put(mgr.getDsName(), (DataSource) envContext.lookup(mgr.getDataSource()));
+                    	dsMap.put(mgr.getDsName(), DataSourceRegistry.registerExternal(mgr.getDsName(), (DataSource) envContext.lookup(mgr.getDataSource())));
                     }
 
                     svcBean.setDataSources(dsMap);
@@ -123,6 +127,10 @@ public class SecurityServiceListener implements ServletContextListener
         {
         	System.err.println(jx.getMessage());
         }
+        catch (final UtilityException ux)
+        {
+        	System.err.println(ux.getMessage());
+        }
     }
 
     /**
@@ -33,6 +33,7 @@ import org.apache.logging.log4j.LogManager;
 
 import com.cws.esolutions.security.dto.UserAccount;
 import com.cws.esolutions.security.SecurityServicesConstants;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditCursor;
 /**
  * @author cws-khuntly
  * @version 1.0
@@ -51,6 +52,7 @@ public class AccountControlRequest implements Serializable
     private RequestHostInfo hostInfo = null;
     private List<String> servicesList = null;
     private AuthenticationData userSecurity = null;
+    private AuditCursor auditCursor = null;
 
     private static final long serialVersionUID = 5302970590794596568L;
     private static final String CNAME = AccountControlRequest.class.getName();
@@ -201,6 +203,19 @@ public class AccountControlRequest implements Serializable
         this.searchTerms = value;
     }
 
+    public final void setAuditCursor(final AuditCursor value)
+    {
+        final String methodName = AccountControlRequest.CNAME + "#setAuditCursor(final AuditCursor value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditCursor = value;
+    }
+
     public final RequestHostInfo getHostInfo()
     {
         final String methodName = AccountControlRequest.CNAME + "#getHostInfo()";
@@ -344,6 +359,19 @@ public class AccountControlRequest implements Serializable
         return this.searchTerms;
     }
 
+    public final AuditCursor getAuditCursor()
+    {
+        final String methodName = AccountControlRequest.CNAME + "#getAuditCursor()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditCursor);
+        }
+
+        return this.auditCursor;
+    }
+
     @Override
     public final String toString()
     {
@@ -35,6 +35,7 @@ import com.cws.esolutions.security.dto.UserAccount;
 import com.cws.esolutions.security.SecurityServicesConstants;
 import com.cws.esolutions.security.enums.SecurityRequestStatus;
 import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditCursor;
 /**
  * @author cws-khuntly
  * @version 1.0
@@ -48,6 +49,7 @@ public class AccountControlResponse implements Serializable
     private List<UserAccount> userList = null;
     private List<AuditEntry> auditList = null;
     private SecurityRequestStatus requestStatus = null;
+    private AuditCursor auditCursor = null;
 
     private static final long serialVersionUID = 2909205394410802509L;
     private static final String CNAME = AccountControlResponse.class.getName();
@@ -133,6 +135,19 @@ public class AccountControlResponse implements Serializable
         this.auditList = value;
     }
 
+    public final void setAuditCursor(final AuditCursor value)
+    {
+        final String methodName = AccountControlResponse.CNAME + "#setAuditCursor(final AuditCursor value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditCursor = value;
+    }
+
     public final SecurityRequestStatus getRequestStatus()
     {
         final String methodName = AccountControlResponse.CNAME + "#getMgmtType()";
@@ -211,6 +226,19 @@ public class AccountControlResponse implements Serializable
         return this.auditList;
     }
 
+    public final AuditCursor getAuditCursor()
+    {
+        final String methodName = AccountControlResponse.CNAME + "#getAuditCursor()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditCursor);
+        }
+
+        return this.auditCursor;
+    }
+
     @Override
     public final String toString()
     {
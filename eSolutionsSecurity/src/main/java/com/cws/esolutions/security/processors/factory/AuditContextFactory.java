@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.security.processors.factory;
+/*
+ * Project: eSolutionsSecurity
+ * Package: com.cws.esolutions.security.processors.factory
+ * File: AuditContextFactory.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Objects;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+
+import com.cws.esolutions.security.dto.UserAccount;
+import com.cws.esolutions.security.SecurityServicesConstants;
+import com.cws.esolutions.security.processors.dto.RequestHostInfo;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditContext;
+/**
+ * Binds an {@link com.cws.esolutions.utility.securityutils.processors.impl.AuditContext} to a
+ * service request from the requesting {@link com.cws.esolutions.security.dto.UserAccount} and
+ * {@link com.cws.esolutions.security.processors.dto.RequestHostInfo}.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class AuditContextFactory
+{
+    private static final String CNAME = AuditContextFactory.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(SecurityServicesConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+
+    private AuditContextFactory()
+    {
+    }
+
+    /**
+     * Binds the audit context for a single request. Missing request information is left empty
+     * and filled with the audit defaults when the event is recorded.
+     *
+     * @param enabled - The <code>performAudit</code> setting of the security configuration
+     * @param userAccount - The {@link com.cws.esolutions.security.dto.UserAccount} making the request
+     * @param hostInfo - The {@link com.cws.esolutions.security.processors.dto.RequestHostInfo} the request came from
+     * @param applicationId - The calling application's id
+     * @param applicationName - The calling application's name
+     * @return The bound {@link com.cws.esolutions.utility.securityutils.processors.impl.AuditContext}
+     */
+    public static final AuditContext getAuditContext(final boolean enabled, final UserAccount userAccount, final RequestHostInfo hostInfo,
+        final String applicationId, final String applicationName)
+    {
+        final String methodName = AuditContextFactory.CNAME + "#getAuditContext(final boolean enabled, final UserAccount userAccount, final RequestHostInfo hostInfo, final String applicationId, final String applicationName)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", enabled);
+            DEBUGGER.debug("UserAccount: {}", userAccount);
+            DEBUGGER.debug("RequestHostInfo: {}", hostInfo);
+            DEBUGGER.debug("Value: {}", applicationId);
+            DEBUGGER.debug("Value: {}", applicationName);
+        }
+
+        if (Objects.isNull(userAccount))
+        {
+            return new AuditContext(enabled, null, null, null, null, applicationId, applicationName,
+                (Objects.isNull(hostInfo)) ? null : hostInfo.getHostAddress(), (Objects.isNull(hostInfo)) ? null : hostInfo.getHostName());
+        }
+
+        return new AuditContext(enabled, userAccount.getSessionId(), userAccount.getUsername(), userAccount.getGuid(),
+            (Objects.isNull(userAccount.getUserRole())) ? null : userAccount.getUserRole().toString(), applicationId, applicationName,
+            (Objects.isNull(hostInfo)) ? null : hostInfo.getHostAddress(), (Objects.isNull(hostInfo)) ? null : hostInfo.getHostName());
+    }
+}
@@ -25,8 +25,6 @@ package com.cws.esolutions.security.processors.impl;
  * ----------------------------------------------------------------------------
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
-import java.util.Date;
-import java.util.List;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.ArrayList;
@@ -43,13 +41,12 @@ import com.cws.esolutions.security.processors.dto.AccountChangeData;
 import com.cws.esolutions.security.processors.dto.AuthenticationData;
 import com.cws.esolutions.security.processors.dto.AccountChangeRequest;
 import com.cws.esolutions.security.processors.dto.AccountChangeResponse;
-import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
 import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
-import com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest;
+import com.cws.esolutions.security.processors.factory.AuditContextFactory;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditContext;
 import com.cws.esolutions.security.processors.exception.AccountChangeException;
 import com.cws.esolutions.security.processors.interfaces.IAccountChangeProcessor;
 import com.cws.esolutions.security.dao.usermgmt.exception.UserManagementException;
-import com.cws.esolutions.utility.securityutils.processors.exception.AuditServiceException;
 /**
  * @see com.cws.esolutions.security.processors.interfaces.IAccountChangeProcessor
  */
@@ -83,6 +80,9 @@ public class AccountChangeProcessorImpl implements IAccountChangeProcessor
             DEBUGGER.debug("UserAccount: {}", userAccount);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), requestor, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         // ok, first things first. if this is an administrative reset, make sure the requesting user
         // is authorized to perform the action.
         if (!(StringUtils.equals(userAccount.getGuid(), requestor.getGuid())))
@@ -126,54 +126,7 @@ public class AccountChangeProcessorImpl implements IAccountChangeProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.CHANGEEMAIL);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(requestor.getSessionId());
-                    auditEntry.setUserGuid(requestor.getGuid());
-                    auditEntry.setUserName(requestor.getUsername());
-                    auditEntry.setUserRole(requestor.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.CHANGEEMAIL, true);
         }
 
         return response;
@@ -205,6 +158,9 @@ public class AccountChangeProcessorImpl implements IAccountChangeProcessor
             DEBUGGER.debug("UserAccount: {}", userAccount);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), requestor, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         // ok, first things first. if this is an administrative reset, make sure the requesting user
         // is authorized to perform the action.
         if (!(StringUtils.equals(userAccount.getGuid(), requestor.getGuid())))
@@ -253,54 +209,7 @@ public class AccountChangeProcessorImpl implements IAccountChangeProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.CHANGECONTACT);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(requestor.getSessionId());
-                    auditEntry.setUserGuid(requestor.getGuid());
-                    auditEntry.setUserName(requestor.getUsername());
-                    auditEntry.setUserRole(requestor.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.CHANGECONTACT, true);
         }
 
         return response;
@@ -328,6 +237,9 @@ public class AccountChangeProcessorImpl implements IAccountChangeProcessor
         final AuthenticationData reqSecurity = request.getUserSecurity();
         final boolean isReset = request.getChangeData().getIsReset();
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), requestor, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         calendar.add(Calendar.DATE, secConfig.getPasswordExpiration());
 
         if (DEBUG)
@@ -443,54 +355,7 @@ public class AccountChangeProcessorImpl implements IAccountChangeProcessor
         	if (!(isReset))
         	{
 	            // audit
-	            if (secConfig.getPerformAudit())
-	            {
-	                // audit if a valid account. if not valid we cant audit much,
-	                // but we should try anyway. not sure how thats going to work
-	                try
-	                {
-	                    AuditEntry auditEntry = new AuditEntry();
-	                    auditEntry.setAuditType(AuditType.CHANGEPASS);
-	                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-	                    auditEntry.setSessionId(requestor.getSessionId());
-	                    auditEntry.setUserGuid(requestor.getGuid());
-	                    auditEntry.setUserName(requestor.getUsername());
-	                    auditEntry.setUserRole(requestor.getUserRole().toString());
-	                    auditEntry.setAuthorized(Boolean.TRUE);
-	                    auditEntry.setApplicationId(request.getApplicationId());
-	                    auditEntry.setApplicationName(request.getApplicationName());
-    
-	                    if (DEBUG)
-	                    {
-	                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-	                    }
-    
-	                    List<String> auditHostInfo = new ArrayList<String>(
-	                    		Arrays.asList(
-	                    				reqInfo.getHostAddress(),
-	                    				reqInfo.getHostName()));
-
-	                    if (DEBUG)
-	                    {
-	                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-	                    }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-    
-	                    if (DEBUG)
-	                    {
-	                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-	                    }
-
-	                    auditor.auditRequest(auditRequest);
-	                }
-	                catch (final AuditServiceException asx)
-	                {
-	                	ERROR_RECORDER.error(asx.getMessage(), asx);
-	                }
-	            }
+                auditContext.audit(AuditType.CHANGEPASS, true);
         	}
         }
 
@@ -529,6 +394,9 @@ public class AccountChangeProcessorImpl implements IAccountChangeProcessor
 			DEBUGGER.debug("AccountChangeData: {}", changeData);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), requestor, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         // ok, first things first. if this is an administrative reset, make sure the requesting user
         // is authorized to perform the action.
         if (!(StringUtils.equals(userAccount.getGuid(), requestor.getGuid())))
@@ -620,54 +488,7 @@ public class AccountChangeProcessorImpl implements IAccountChangeProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.CHANGESECURITY);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(requestor.getSessionId());
-                    auditEntry.setUserGuid(requestor.getGuid());
-                    auditEntry.setUserName(requestor.getUsername());
-                    auditEntry.setUserRole(requestor.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.CHANGESECURITY, true);
         }
 
         return response;
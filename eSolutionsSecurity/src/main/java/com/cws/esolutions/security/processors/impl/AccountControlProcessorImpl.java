@@ -48,8 +48,11 @@ import com.cws.esolutions.security.processors.dto.AuthenticationData;
 import com.cws.esolutions.security.processors.dto.AccountControlRequest;
 import com.cws.esolutions.security.processors.dto.AccountControlResponse;
 import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
+import com.cws.esolutions.utility.services.impl.AuthorizationCache;
 import com.cws.esolutions.utility.services.dto.AccessControlServiceRequest;
 import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.security.processors.factory.AuditContextFactory;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditContext;
 import com.cws.esolutions.utility.services.dto.AccessControlServiceResponse;
 import com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest;
 import com.cws.esolutions.utility.securityutils.processors.dto.AuditResponse;
@@ -93,6 +96,9 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             DEBUGGER.debug("AuthenticationData: {}", userSecurity);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), reqAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -103,7 +109,8 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             				Arrays.asList(
             						reqAccount.getGuid(),
             						reqAccount.getUserRole().toString(),
-            						reqAccount.getUserGroups())));
+            						reqAccount.getUserGroups(),
+            						reqAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -123,54 +130,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
                 response.setRequestStatus(SecurityRequestStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.CREATEUSER);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(reqAccount.getSessionId());
-                        auditEntry.setUserGuid(reqAccount.getGuid());
-                        auditEntry.setUserName(reqAccount.getUsername());
-                        auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.CREATEUSER, false);
 
                 return response;
             }
@@ -310,54 +270,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.CREATEUSER);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(reqAccount.getSessionId());
-                    auditEntry.setUserGuid(reqAccount.getGuid());
-                    auditEntry.setUserName(reqAccount.getUsername());
-                    auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.CREATEUSER, true);
         }
 
         return response;
@@ -389,6 +302,9 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), reqAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -399,7 +315,8 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             				Arrays.asList(
             						reqAccount.getGuid(),
             						reqAccount.getUserRole().toString(),
-            						reqAccount.getUserGroups())));
+            						reqAccount.getUserGroups(),
+            						reqAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -419,54 +336,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
                 response.setRequestStatus(SecurityRequestStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.DELETEUSER);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(reqAccount.getSessionId());
-                        auditEntry.setUserGuid(reqAccount.getGuid());
-                        auditEntry.setUserName(reqAccount.getUsername());
-                        auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.DELETEUSER, false);
 
                 return response;
             }
@@ -481,6 +351,8 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
 
             if (isComplete)
             {
+                AuthorizationCache.invalidateUser(userAccount.getGuid());
+
                 response.setRequestStatus(SecurityRequestStatus.SUCCESS);
             }
             else
@@ -503,54 +375,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.DELETEUSER);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(reqAccount.getSessionId());
-                    auditEntry.setUserGuid(reqAccount.getGuid());
-                    auditEntry.setUserName(reqAccount.getUsername());
-                    auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.DELETEUSER, true);
         }
 
         return response;
@@ -582,6 +407,9 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), reqAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -592,7 +420,8 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             				Arrays.asList(
             						reqAccount.getGuid(),
             						reqAccount.getUserRole().toString(),
-            						reqAccount.getUserGroups())));
+            						reqAccount.getUserGroups(),
+            						reqAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -612,54 +441,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
                 response.setRequestStatus(SecurityRequestStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.SUSPENDUSER);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(reqAccount.getSessionId());
-                        auditEntry.setUserGuid(reqAccount.getGuid());
-                        auditEntry.setUserName(reqAccount.getUsername());
-                        auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.SUSPENDUSER, false);
 
                 return response;
             }
@@ -713,54 +495,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.SUSPENDUSER);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(reqAccount.getSessionId());
-                    auditEntry.setUserGuid(reqAccount.getGuid());
-                    auditEntry.setUserName(reqAccount.getUsername());
-                    auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.SUSPENDUSER, true);
         }
 
         return response;
@@ -792,6 +527,9 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), reqAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -802,7 +540,8 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             				Arrays.asList(
             						reqAccount.getGuid(),
             						reqAccount.getUserRole().toString(),
-            						reqAccount.getUserGroups())));
+            						reqAccount.getUserGroups(),
+            						reqAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -822,54 +561,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
                 response.setRequestStatus(SecurityRequestStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.CHANGEROLE);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(reqAccount.getSessionId());
-                        auditEntry.setUserGuid(reqAccount.getGuid());
-                        auditEntry.setUserName(reqAccount.getUsername());
-                        auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.CHANGEROLE, false);
 
                 return response;
             }
@@ -893,6 +585,9 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
 
                 if (isComplete)
                 {
+                    // decisions made under the old role are no longer valid
+                    AuthorizationCache.invalidateUser(userAccount.getGuid());
+
                     List<Object> resData = userManager.loadUserAccount((String) userData.get(0));
 
                     if (DEBUG)
@@ -991,54 +686,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.CHANGEROLE);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(reqAccount.getSessionId());
-                    auditEntry.setUserGuid(reqAccount.getGuid());
-                    auditEntry.setUserName(reqAccount.getUsername());
-                    auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.CHANGEROLE, true);
         }
 
         return response;
@@ -1064,6 +712,9 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
         final UserAccount reqAccount = request.getRequestor();
         final UserAccount userAccount = request.getUserAccount();
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), reqAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         calendar.add(Calendar.DATE, secConfig.getPasswordExpiration());
 
         if (DEBUG)
@@ -1084,7 +735,8 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             				Arrays.asList(
             						reqAccount.getGuid(),
             						reqAccount.getUserRole().toString(),
-            						reqAccount.getUserGroups())));
+            						reqAccount.getUserGroups(),
+            						reqAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -1104,54 +756,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
                 response.setRequestStatus(SecurityRequestStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.CHANGEPASS);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(reqAccount.getSessionId());
-                        auditEntry.setUserGuid(reqAccount.getGuid());
-                        auditEntry.setUserName(reqAccount.getUsername());
-                        auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.CHANGEPASS, false);
 
                 return response;
             }
@@ -1241,54 +846,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.RESETPASS);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(reqAccount.getSessionId());
-                    auditEntry.setUserGuid(reqAccount.getGuid());
-                    auditEntry.setUserName(reqAccount.getUsername());
-                    auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.RESETPASS, true);
         }
 
         return response;
@@ -1320,6 +878,9 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             DEBUGGER.debug("RequestHostInfo: {}", reqInfo);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), reqAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -1330,7 +891,8 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             				Arrays.asList(
             						reqAccount.getGuid(),
             						reqAccount.getUserRole().toString(),
-            						reqAccount.getUserGroups())));
+            						reqAccount.getUserGroups(),
+            						reqAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -1350,54 +912,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
                 response.setRequestStatus(SecurityRequestStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.MODIFYLOCKOUT);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(reqAccount.getSessionId());
-                        auditEntry.setUserGuid(reqAccount.getGuid());
-                        auditEntry.setUserName(reqAccount.getUsername());
-                        auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.MODIFYLOCKOUT, false);
 
                 return response;
             }
@@ -1450,54 +965,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.MODIFYLOCKOUT);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(reqAccount.getSessionId());
-                    auditEntry.setUserGuid(reqAccount.getGuid());
-                    auditEntry.setUserName(reqAccount.getUsername());
-                    auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.MODIFYLOCKOUT, true);
         }
 
 
@@ -1530,6 +998,9 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             DEBUGGER.debug("UserAccount: {}", userAccount);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), reqAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -1540,7 +1011,8 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             				Arrays.asList(
             						reqAccount.getGuid(),
             						reqAccount.getUserRole().toString(),
-            						reqAccount.getUserGroups())));
+            						reqAccount.getUserGroups(),
+            						reqAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -1560,54 +1032,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
                 response.setRequestStatus(SecurityRequestStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.LOADACCOUNT);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(reqAccount.getSessionId());
-                        auditEntry.setUserGuid(reqAccount.getGuid());
-                        auditEntry.setUserName(reqAccount.getUsername());
-                        auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.TRUE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
-
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
-
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
-
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
-                    {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
-                    }
-                }
+                auditContext.audit(AuditType.LOADACCOUNT, true);
 
                 return response;
             }
@@ -1668,54 +1093,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.LOADACCOUNT);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(reqAccount.getSessionId());
-                    auditEntry.setUserGuid(reqAccount.getGuid());
-                    auditEntry.setUserName(reqAccount.getUsername());
-                    auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.LOADACCOUNT, true);
         }
 
         return response;
@@ -1747,6 +1125,9 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             DEBUGGER.debug("UserAccount: {}", userAccount);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), reqAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
             // this will require admin and service authorization
@@ -1757,7 +1138,8 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             				Arrays.asList(
             						reqAccount.getGuid(),
             						reqAccount.getUserRole().toString(),
-            						reqAccount.getUserGroups())));
+            						reqAccount.getUserGroups(),
+            						reqAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -1777,106 +1159,46 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
                 response.setRequestStatus(SecurityRequestStatus.UNAUTHORIZED);
 
                 // audit
-                if (secConfig.getPerformAudit())
-                {
-                    // audit if a valid account. if not valid we cant audit much,
-                    // but we should try anyway. not sure how thats going to work
-                    try
-                    {
-                        AuditEntry auditEntry = new AuditEntry();
-                        auditEntry.setAuditType(AuditType.LISTUSERS);
-                        auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                        auditEntry.setSessionId(reqAccount.getSessionId());
-                        auditEntry.setUserGuid(reqAccount.getGuid());
-                        auditEntry.setUserName(reqAccount.getUsername());
-                        auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                        auditEntry.setAuthorized(Boolean.FALSE);
-                        auditEntry.setApplicationId(request.getApplicationId());
-                        auditEntry.setApplicationName(request.getApplicationName());
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                        }
-        
-                        List<String> auditHostInfo = new ArrayList<String>(
-                        		Arrays.asList(
-                        				reqInfo.getHostAddress(),
-                        				reqInfo.getHostName()));
+                auditContext.audit(AuditType.LISTUSERS, false);
 
-                        if (DEBUG)
-                        {
-                        	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                        }
+                return response;
+            }
 
-                        AuditRequest auditRequest = new AuditRequest();
-                        auditRequest.setAuditEntry(auditEntry);
-                        auditRequest.setHostInfo(auditHostInfo);
-        
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                        }
+            final List<UserAccount> userAccounts = new ArrayList<UserAccount>();
 
-                        auditor.auditRequest(auditRequest);
-                    }
-                    catch (final AuditServiceException asx)
+            // built straight off the cursor, the full listing is never held twice
+            final int rowCount = userManager.listUserAccounts(resultSet -> {
+                if (!(StringUtils.equals(reqAccount.getGuid(), resultSet.getString(1))))
+                {
+                    UserAccount userInfo = new UserAccount();
+                    userInfo.setGuid(resultSet.getString(1));
+                    userInfo.setUsername(resultSet.getString(2));
+                    userInfo.setUserRole(SecurityUserRole.valueOf(resultSet.getString(3)));
+                    userInfo.setLastLogin(new Date(resultSet.getTimestamp(4).getTime()));
+
+                    if (DEBUG)
                     {
-                        ERROR_RECORDER.error(asx.getMessage(), asx);
+                        DEBUGGER.debug("UserAccount: {}", userInfo);
                     }
-                }
-
-                return response;
-            }
 
-            List<Object[]> userList = userManager.listUserAccounts();
+                    userAccounts.add(userInfo);
+                }
+            });
 
             if (DEBUG)
             {
-                DEBUGGER.debug("userList: {}", userList);
+                DEBUGGER.debug("rowCount: {}", rowCount);
+                DEBUGGER.debug("userAccounts: {}", userAccounts);
             }
 
-            if ((userList != null) && (userList.size() != 0))
+            if (userAccounts.size() == 0)
             {
-                List<UserAccount> userAccounts = new ArrayList<UserAccount>();
-
-                for (Object[] userData : userList)
-                {
-                    if (!(StringUtils.equals(reqAccount.getGuid(), (String) userData[0])))
-                    {
-                        UserAccount userInfo = new UserAccount();
-                        userInfo.setGuid((String) userData[0]);
-                        userInfo.setUsername((String) userData[1]);
-                        userInfo.setUserRole(SecurityUserRole.valueOf((String) userData[2]));
-                        userInfo.setLastLogin(new Date(((Timestamp) userData[3]).getTime()));
-
-                        if (DEBUG)
-                        {
-                            DEBUGGER.debug("UserAccount: {}", userInfo);
-                        }
-
-                        userAccounts.add(userInfo);
-                    }
-                }
-
-                if (DEBUG)
-                {
-                    DEBUGGER.debug("userAccounts: {}", userAccounts);
-                }
-
-                if (userAccounts.size() == 0)
-                {
-                    response.setRequestStatus(SecurityRequestStatus.FAILURE);
-                }
-                else
-                {
-                    response.setRequestStatus(SecurityRequestStatus.SUCCESS);
-                    response.setUserList(userAccounts);
-                }
+                response.setRequestStatus(SecurityRequestStatus.FAILURE);
             }
             else
             {
-                response.setRequestStatus(SecurityRequestStatus.FAILURE);
+                response.setRequestStatus(SecurityRequestStatus.SUCCESS);
+                response.setUserList(userAccounts);
             }
         }
         catch (final UserManagementException umx)
@@ -1894,54 +1216,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
         finally
         {
             // audit
-            if (secConfig.getPerformAudit())
-            {
-                // audit if a valid account. if not valid we cant audit much,
-                // but we should try anyway. not sure how thats going to work
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.LISTUSERS);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(reqAccount.getSessionId());
-                    auditEntry.setUserGuid(reqAccount.getGuid());
-                    auditEntry.setUserName(reqAccount.getUsername());
-                    auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
-            }
+            auditContext.audit(AuditType.LISTUSERS, true);
         }
 
         return response;
@@ -1973,6 +1248,9 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             DEBUGGER.debug("UserAccount: {}", userAccount);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), reqAccount, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         if (!(secConfig.getPerformAudit()))
         {
         	throw new AccountControlException("Audit services are not enabled");
@@ -1988,7 +1266,8 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
             				Arrays.asList(
             						reqAccount.getGuid(),
             						reqAccount.getUserRole().toString(),
-            						reqAccount.getUserGroups())));
+            						reqAccount.getUserGroups(),
+            						reqAccount.getAuthorizations())));
 
             if (DEBUG)
             {
@@ -2008,49 +1287,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
                 response.setRequestStatus(SecurityRequestStatus.UNAUTHORIZED);
 
                 // audit
-                try
-                {
-                    AuditEntry auditEntry = new AuditEntry();
-                    auditEntry.setAuditType(AuditType.GETAUDITENTRIES);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(userAccount.getSessionId());
-                    auditEntry.setUserGuid(userAccount.getGuid());
-                    auditEntry.setUserName(userAccount.getUsername());
-                    auditEntry.setUserRole(userAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.FALSE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditRequest: {}", auditRequest);
-                    }
-
-                    auditor.auditRequest(auditRequest);
-                }
-                catch (final AuditServiceException asx)
-                {
-                    ERROR_RECORDER.error(asx.getMessage(), asx);
-                }
+                auditContext.audit(AuditType.GETAUDITENTRIES, false);
 
                 return response;
             }
@@ -2065,10 +1302,12 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
 
             AuditRequest auditRequest = new AuditRequest();
             auditRequest.setAuditEntry(auditEntry);
+            auditRequest.setCursor(request.getAuditCursor());
+            auditRequest.setStartRow(request.getStartPage());
 
             if (DEBUG)
             {
-            	DEBUGGER.debug("AuditEntry: {}", auditEntry);
+            	DEBUGGER.debug("AuditRequest: {}", auditRequest);
             }
 
             AuditResponse auditResponse = auditor.getAuditEntries(auditRequest);
@@ -2087,6 +1326,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
 				case SUCCESS:
 					response.setEntryCount(auditResponse.getEntryCount());
 					response.setAuditList(auditResponse.getAuditList());
+					response.setAuditCursor(auditResponse.getNextCursor());
 					response.setRequestStatus(SecurityRequestStatus.SUCCESS);
 
 					break;
@@ -2114,53 +1354,7 @@ public class AccountControlProcessorImpl implements IAccountControlProcessor
 		}
         finally
         {
-        	if (secConfig.getPerformAudit())
-        	{
-	            // audit
-	            try
-	            {
-	                AuditEntry auditEntry = new AuditEntry();
-	                auditEntry.setAuditType(AuditType.SHOWAUDIT);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(reqAccount.getSessionId());
-                    auditEntry.setUserGuid(reqAccount.getGuid());
-                    auditEntry.setUserName(reqAccount.getUsername());
-                    auditEntry.setUserRole(reqAccount.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.TRUE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-    
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("AuditEntry: {}", auditEntry);
-                    }
-    
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-	
-	                if (DEBUG)
-	                {
-	                    DEBUGGER.debug("AuditRequest: {}", auditRequest);
-	                }
-	
-	                auditor.auditRequest(auditRequest);
-	            }
-	            catch (final AuditServiceException asx)
-	            {
-	                ERROR_RECORDER.error(asx.getMessage(), asx);
-	            }
-        	}
+            auditContext.audit(AuditType.SHOWAUDIT, true);
         }
 
         return response;
@@ -27,11 +27,9 @@ package com.cws.esolutions.security.processors.impl;
  */
 import java.util.Date;
 import java.util.List;
-import java.util.Arrays;
 import java.util.Objects;
 import java.util.ArrayList;
 import java.sql.SQLException;
-import java.sql.Timestamp;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -40,6 +38,7 @@ import com.cws.esolutions.security.dto.UserAccount;
 import com.cws.esolutions.security.enums.SecurityUserRole;
 import com.cws.esolutions.security.processors.enums.SaltType;
 import com.cws.esolutions.utility.securityutils.PasswordUtils;
+import com.cws.esolutions.utility.services.impl.ServiceIndex;
 import com.cws.esolutions.security.enums.SecurityRequestStatus;
 import com.cws.esolutions.security.processors.enums.LoginStatus;
 import com.cws.esolutions.security.processors.dto.RequestHostInfo;
@@ -47,12 +46,11 @@ import com.cws.esolutions.security.processors.dto.AuthenticationData;
 import com.cws.esolutions.security.exception.SecurityServiceException;
 import com.cws.esolutions.security.processors.dto.AuthenticationRequest;
 import com.cws.esolutions.security.processors.dto.AuthenticationResponse;
-import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
 import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
-import com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest;
+import com.cws.esolutions.security.processors.factory.AuditContextFactory;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditContext;
 import com.cws.esolutions.security.processors.exception.AuthenticationException;
 import com.cws.esolutions.security.processors.interfaces.IAuthenticationProcessor;
-import com.cws.esolutions.utility.securityutils.processors.exception.AuditServiceException;
 /**
  * @see com.cws.esolutions.security.processors.interfaces.IAuthenticationProcessor
  */
@@ -88,6 +86,9 @@ public class AuthenticationProcessorImpl implements IAuthenticationProcessor
             DEBUGGER.debug("UserAccount: {}", authUser);
         }
 
+        final AuditContext auditContext = new AuditContext(secConfig.getPerformAudit(), authSec.getSessionId(), authUser.getUsername(), null,
+            SecurityUserRole.NONE.name(), request.getApplicationId(), request.getApplicationName(), reqInfo.getHostAddress(), reqInfo.getHostName());
+
         try
         {
         	List<String> userInfo = userManager.getUserByUsername(authUser.getUsername());
@@ -148,14 +149,14 @@ public class AuthenticationProcessorImpl implements IAuthenticationProcessor
             }
 
             // load the user account here
-            List<Object> userObject = userManager.loadUserAccount(userGuid);
+            UserAccount loadedAccount = userManager.getUserAccount(userGuid);
 
             if (DEBUG)
             {
-            	DEBUGGER.debug("authObject: {}", userObject);
+            	DEBUGGER.debug("UserAccount: loadedAccount: {}", loadedAccount);
             }
 
-            if (Objects.isNull(userObject))
+            if (Objects.isNull(loadedAccount))
             {
             	response.setRequestStatus(SecurityRequestStatus.FAILURE);
 
@@ -163,10 +164,9 @@ public class AuthenticationProcessorImpl implements IAuthenticationProcessor
             }
             else
             {
-            	userAccount = new UserAccount();
-
-            	if ((Integer) userObject.get(3) >= secConfig.getMaxAttempts())
+            	if (loadedAccount.getFailedCount() >= secConfig.getMaxAttempts())
             	{
+            		userAccount = new UserAccount();
             		userAccount.setStatus(LoginStatus.LOCKOUT);
 
             		if (DEBUG)
@@ -177,8 +177,9 @@ public class AuthenticationProcessorImpl implements IAuthenticationProcessor
             		response.setUserAccount(userAccount);
             		response.setRequestStatus(SecurityRequestStatus.FAILURE);
 	            }
-	            else if ((Boolean) userObject.get(8))
+	            else if (loadedAccount.isSuspended())
 	            {
+            		userAccount = new UserAccount();
             		userAccount.setStatus(LoginStatus.SUSPENDED);
 
             		if (DEBUG)
@@ -192,7 +193,7 @@ public class AuthenticationProcessorImpl implements IAuthenticationProcessor
 	            else
 	            {
 	            	// generate auth token
-	            	String tokenValue = (String) userObject.get(1);
+	            	String tokenValue = loadedAccount.getGuid();
 	            	String tokenSalt = PasswordUtils.returnGeneratedSalt(secConfig.getRandomGenerator(), secConfig.getSaltLength()); // salt value for auth token
 	            	String authToken = PasswordUtils.encryptText(tokenValue.toCharArray(), tokenSalt,
 	                        secConfig.getSecretKeyAlgorithm(), secConfig.getIterations(), secConfig.getKeyLength(),
@@ -206,7 +207,7 @@ public class AuthenticationProcessorImpl implements IAuthenticationProcessor
 	            	}
 
 	            	boolean isLoggedIn = authenticator.performSuccessfulLogin(userId, userGuid, authToken);
-	            	boolean isAuthTokenInserted = userSec.addOrUpdateUserSalt((String) userObject.get(1), authToken, SaltType.AUTHTOKEN.toString());
+	            	boolean isAuthTokenInserted = userSec.addOrUpdateUserSalt(loadedAccount.getGuid(), authToken, SaltType.AUTHTOKEN.toString());
 
 	            	if (DEBUG)
 	            	{
@@ -219,57 +220,27 @@ public class AuthenticationProcessorImpl implements IAuthenticationProcessor
 	            		throw new AuthenticationException("The authentication process failed. Please review logs.");
 	            	}
 
-	            	List<UserGroup> userGroups = null;
+	            	// the group membership is loaded with the account
+	            	userAccount = loadedAccount;
+                    userAccount.setAuthToken(authToken);
 
-	            	if (!(Objects.isNull(userObject.get(13))))
-	            	{
-		            	String[] groupList = userManager.loadUserGroups((String) userObject.get(1)).split(",");
-
-		            	if (DEBUG)
-		            	{
-		            		DEBUGGER.debug("List<String[]: groupList: {}", (Object) groupList);
-		            	}
-
-		            	userGroups = new ArrayList<UserGroup>();
-
-		            	if (!(Objects.isNull(userGroups)));
-		            	{
-			            	for (String str : groupList)
-			            	{
-			            		if (DEBUG)
-			            		{
-			            			DEBUGGER.debug("String[]: str: {}", (Object) str);
-			            		}
-
-			            		UserGroup userGroup = new UserGroup();
-			            		userGroup.setGuid(str);
-
-			            		if (DEBUG)
-			            		{
-			            			DEBUGGER.debug("UserGroup: userGroup: {}", userGroup);
-			            		}
-
-			            		userGroups.add(userGroup);
-			            	}
-		            	}
-	            	}
+                    if (Objects.nonNull(userAccount.getUserGroups()))
+                    {
+                    	List<String> groupGuids = new ArrayList<String>();
 
-	            	userAccount.setUsername((String) userObject.get(0));
-                    userAccount.setGuid((String) userObject.get(1));
-                    userAccount.setUserRole(SecurityUserRole.valueOf((String) userObject.get(2)));
-                    userAccount.setFailedCount(((Objects.isNull(userObject.get(9))) ? 0 : (Integer) userObject.get(3)));
-                    userAccount.setLastLogin(((Objects.isNull(userObject.get(4))) ? new Date(System.currentTimeMillis()) : new Date(((Timestamp) userObject.get(4)).getTime()))); // fix
-                    userAccount.setSurname((String) userObject.get(5));
-                    userAccount.setGivenName((String) userObject.get(6));
-                    userAccount.setExpiryDate(((Objects.isNull(userObject.get(7))) ? new Date(System.currentTimeMillis()) : new Date(((Timestamp) userObject.get(7)).getTime()))); // fix
-                    userAccount.setSuspended(((Objects.isNull(userObject.get(8))) ? Boolean.FALSE : (Boolean) userObject.get(8)));
-                    userAccount.setDisplayName((String) userObject.get(11));
-                    userAccount.setAcceptedTerms((Boolean) userObject.get(12));
-                    userAccount.setEmailAddr((String) userObject.get(14));
-                    userAccount.setTelephoneNumber((String) userObject.get(15));
-                    userAccount.setPagerNumber((String) userObject.get(16));
-                    userAccount.setUserGroups(userGroups);
-                    userAccount.setAuthToken(authToken);
+                    	for (UserGroup group : userAccount.getUserGroups())
+                    	{
+                    		groupGuids.add(group.getGuid());
+                    	}
+
+                    	// authorization checks for the session become a bit test
+                    	userAccount.setAuthorizations(ServiceIndex.toMembership(groupGuids));
+                    }
+
+                    if (Objects.isNull(userAccount.getExpiryDate()))
+                    {
+                    	userAccount.setExpiryDate(new Date(System.currentTimeMillis()));
+                    }
 
 		            if (DEBUG)
 		            {
@@ -315,54 +286,9 @@ public class AuthenticationProcessorImpl implements IAuthenticationProcessor
         }
         finally
         {
-        	if (secConfig.getPerformAudit())
-        	{
-	            // audit if a valid account. if not valid we cant audit much,
-        		// but we should try anyway. not sure how thats going to work
-	            try
-	            {
-	                AuditEntry auditEntry = new AuditEntry();
-	                auditEntry.setAuditType(AuditType.LOGON);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(authSec.getSessionId());
-                    auditEntry.setUserGuid(userGuid);
-                    auditEntry.setUserName(userId);
-                    auditEntry.setUserRole(SecurityUserRole.NONE.name());
-                    auditEntry.setAuthorized(Boolean.FALSE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-	
-	                if (DEBUG)
-	                {
-	                    DEBUGGER.debug("AuditEntry: {}", auditEntry);
-	                }
-	
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-	
-	                if (DEBUG)
-	                {
-	                    DEBUGGER.debug("AuditRequest: {}", auditRequest);
-	                }
-
-	                auditor.auditRequest(auditRequest);
-	            }
-	            catch (final AuditServiceException asx)
-	            {
-	                ERROR_RECORDER.error(asx.getMessage(), asx);
-	            }
-        	}
+            // the account is only known once it has been looked up
+            auditContext.identify(userGuid, userId, SecurityUserRole.NONE.name());
+            auditContext.audit(AuditType.LOGON, false);
         }
 
         return response;
@@ -392,6 +318,9 @@ public class AuthenticationProcessorImpl implements IAuthenticationProcessor
             DEBUGGER.debug("UserAccount: {}", authUser);
         }
 
+        final AuditContext auditContext = AuditContextFactory.getAuditContext(secConfig.getPerformAudit(), authUser, reqInfo,
+            request.getApplicationId(), request.getApplicationName());
+
         try
         {
         	String tokenSalt = userSec.getUserSalt(authUser.getGuid(), SaltType.AUTHTOKEN.name());
@@ -424,54 +353,7 @@ public class AuthenticationProcessorImpl implements IAuthenticationProcessor
 		}
         finally
         {
-        	if (secConfig.getPerformAudit())
-        	{
-	            // audit if a valid account. if not valid we cant audit much,
-        		// but we should try anyway. not sure how thats going to work
-	            try
-	            {
-	                AuditEntry auditEntry = new AuditEntry();
-	                auditEntry.setAuditType(AuditType.LOGOFF);
-                    auditEntry.setAuditDate(new Date(System.currentTimeMillis()));
-                    auditEntry.setSessionId(authUser.getSessionId());
-                    auditEntry.setUserGuid(authUser.getGuid());
-                    auditEntry.setUserName(authUser.getUsername());
-                    auditEntry.setUserRole(authUser.getUserRole().toString());
-                    auditEntry.setAuthorized(Boolean.FALSE);
-                    auditEntry.setApplicationId(request.getApplicationId());
-                    auditEntry.setApplicationName(request.getApplicationName());
-	
-	                if (DEBUG)
-	                {
-	                    DEBUGGER.debug("AuditEntry: {}", auditEntry);
-	                }
-	
-                    List<String> auditHostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				reqInfo.getHostAddress(),
-                    				reqInfo.getHostName()));
-
-                    if (DEBUG)
-                    {
-                    	DEBUGGER.debug("List<String>: {}", auditHostInfo);
-                    }
-
-                    AuditRequest auditRequest = new AuditRequest();
-                    auditRequest.setAuditEntry(auditEntry);
-                    auditRequest.setHostInfo(auditHostInfo);
-	
-	                if (DEBUG)
-	                {
-	                    DEBUGGER.debug("AuditRequest: {}", auditRequest);
-	                }
-
-	                auditor.auditRequest(auditRequest);
-	            }
-	            catch (final AuditServiceException asx)
-	            {
-	                ERROR_RECORDER.error(asx.getMessage(), asx);
-	            }
-        	}
+            auditContext.audit(AuditType.LOGOFF, false);
         }
 
         return response;
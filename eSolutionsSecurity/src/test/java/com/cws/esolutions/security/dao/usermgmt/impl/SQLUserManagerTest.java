@@ -25,6 +25,8 @@ package com.cws.esolutions.security.dao.usermgmt.impl;
  * ----------------------------------------------------------------------------
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
+import java.util.List;
+import java.util.UUID;
 import java.util.Arrays;
 import java.util.ArrayList;
 import org.junit.jupiter.api.Test;
@@ -95,6 +97,35 @@ public class SQLUserManagerTest
         }
     }
 
+    @Test public void addUserAccounts()
+    {
+        List<List<String>> userAccounts = new ArrayList<List<String>>();
+
+        for (int x = 0; x < 3; x++)
+        {
+            userAccounts.add(new ArrayList<String>(
+                Arrays.asList(
+                    UUID.randomUUID().toString(),
+                    "junit-batch-" + RandomStringUtils.randomAlphanumeric(8).toLowerCase(),
+                    RandomStringUtils.randomAlphanumeric(32),
+                    SecurityUserRole.NONE.toString(),
+                    "junit",
+                    "batch",
+                    "junit-batch@test.com",
+                    "1234567890",
+                    "1987654321")));
+        }
+
+        try
+        {
+            Assertions.assertThat(manager.addUserAccounts(userAccounts)).hasSize(userAccounts.size());
+        }
+        catch (final UserManagementException umx)
+        {
+            Assertions.fail(umx.getMessage());
+        }
+    }
+
     @Test public void validateUserAccount()
     {
         try
@@ -119,6 +150,21 @@ public class SQLUserManagerTest
         }
     }
 
+    @Test public void streamUserAccounts()
+    {
+        try
+        {
+            final List<String> guids = new ArrayList<String>();
+
+            Assertions.assertThat(manager.listUserAccounts(resultSet -> guids.add(resultSet.getString(1)))).isEqualTo(guids.size()).isPositive();
+            Assertions.assertThat(guids).hasSameSizeAs(manager.listUserAccounts());
+        }
+        catch (final UserManagementException umx)
+        {
+            Assertions.fail(umx.getMessage());
+        }
+    }
+
     @Test public void loadUserAccount()
     {
         try
@@ -39,9 +39,9 @@ import org.apache.logging.log4j.LogManager;
  */
 public class UtilityBean implements Serializable
 {
-    private Object authDataSource = null;
-    private Object auditDataSource = null;
-    private Map<String, DataSource> dataSources = null;
+    private volatile Object authDataSource = null;
+    private volatile Object auditDataSource = null;
+    private volatile Map<String, DataSource> dataSources = null;
 
     private static UtilityBean instance = null;
 
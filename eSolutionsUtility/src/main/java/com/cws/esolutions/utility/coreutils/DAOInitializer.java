@@ -26,6 +26,7 @@ package com.cws.esolutions.utility.coreutils;
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
 import javax.naming.Context;
+import javax.sql.DataSource;
 import javax.naming.InitialContext;
 import javax.naming.NamingException;
 import org.apache.logging.log4j.Logger;
@@ -68,7 +69,7 @@ public final class DAOInitializer
         	Context initContext = new InitialContext();
             Context envContext = (Context) initContext.lookup(UtilityConstants.DS_CONTEXT);
 
-            bean.setAuthDataSource(envContext.lookup("jdbc/cwssec"));
+            bean.setAuthDataSource(DataSourceRegistry.registerExternal("jdbc/cwssec", (DataSource) envContext.lookup("jdbc/cwssec")));
         }
         catch (final NamingException nx)
         {
@@ -100,7 +101,7 @@ public final class DAOInitializer
 
         	Context initContext = new InitialContext();
 
-            bean.setAuditDataSource(initContext.lookup(UtilityConstants.DS_CONTEXT + "/jdbc/audit"));
+            bean.setAuditDataSource(DataSourceRegistry.registerExternal("jdbc/audit", (DataSource) initContext.lookup(UtilityConstants.DS_CONTEXT + "/jdbc/audit")));
         }
         catch (final NamingException nx)
         {
@@ -0,0 +1,479 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: DataSourceRegistry.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import java.util.Set;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.dbcp2.BasicDataSource;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.exception.UtilityException;
+/**
+ * Process-wide registry of the connection pools used by the Core, Security and Utility modules.
+ * Pools are keyed by URL and user, so two modules configured against the same database share a
+ * single pool instead of each opening their own. Callers receive a named {@link Handle} that
+ * delegates to the shared pool and records borrow statistics for it.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class DataSourceRegistry
+{
+    private static final Map<String, Handle> handles = new ConcurrentHashMap<String, Handle>();
+    private static final Map<String, Pool> pools = new ConcurrentHashMap<String, Pool>();
+
+    private static final String CNAME = DataSourceRegistry.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+    private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER + CNAME);
+
+    private DataSourceRegistry()
+    {
+    }
+
+    /**
+     * Registers a pool built by the caller. If a pool for the same URL and user is already
+     * registered the provided instance is closed and the handle is bound to the existing pool.
+     * Registry-owned pools are closed once the last handle against them is released. A name that
+     * is already registered is only shared when it points at the same URL and user.
+     *
+     * @param name - The logical name of the datasource, e.g. <code>ApplicationDataSource</code>
+     * @param dataSource - The {@link org.apache.commons.dbcp2.BasicDataSource} to register
+     * @return The {@link Handle} to use for the provided name
+     * @throws UtilityException {@link com.cws.esolutions.utility.exception.UtilityException} if the name
+     * is already registered against a different URL or user
+     */
+    public static final synchronized Handle register(final String name, final BasicDataSource dataSource) throws UtilityException
+    {
+        final String methodName = DataSourceRegistry.CNAME + "#register(final String name, final BasicDataSource dataSource)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", name);
+            DEBUGGER.debug("Value: {}", dataSource.getUrl());
+        }
+
+        return DataSourceRegistry.bind(name, dataSource.getUrl() + "|" + dataSource.getUsername(), dataSource, true);
+    }
+
+    /**
+     * Registers a container-managed datasource, such as one obtained from JNDI. Lookups that
+     * return the same instance share a pool entry; the registry never closes these. A name that is
+     * already registered is only shared when it points at the same instance.
+     *
+     * @param name - The logical name of the datasource, e.g. <code>jdbc/audit</code>
+     * @param dataSource - The {@link javax.sql.DataSource} to register
+     * @return The {@link Handle} to use for the provided name
+     * @throws UtilityException {@link com.cws.esolutions.utility.exception.UtilityException} if the name
+     * is already registered against a different datasource
+     */
+    public static final synchronized Handle registerExternal(final String name, final DataSource dataSource) throws UtilityException
+    {
+        final String methodName = DataSourceRegistry.CNAME + "#registerExternal(final String name, final DataSource dataSource)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", name);
+            DEBUGGER.debug("Value: {}", dataSource);
+        }
+
+        final String poolKey = (dataSource instanceof Handle) ? ((Handle) dataSource).pool.key :
+            dataSource.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(dataSource));
+
+        return DataSourceRegistry.bind(name, poolKey, dataSource, false);
+    }
+
+    /**
+     * @param name - The logical name of the datasource
+     * @return The registered {@link Handle}, or <code>null</code> if none is registered
+     */
+    public static final Handle getDataSource(final String name)
+    {
+        return DataSourceRegistry.handles.get(name);
+    }
+
+    /**
+     * @return The logical names currently registered
+     */
+    public static final Set<String> getNames()
+    {
+        return Collections.unmodifiableSet(DataSourceRegistry.handles.keySet());
+    }
+
+    /**
+     * @return The number of distinct pools backing the registered names
+     */
+    public static final int getPoolCount()
+    {
+        return DataSourceRegistry.pools.size();
+    }
+
+    /**
+     * Releases one registration of the provided name. When the last registration of the last
+     * name bound to a registry-owned pool is released, the pool is closed.
+     *
+     * @param name - The logical name of the datasource
+     */
+    public static final synchronized void release(final String name)
+    {
+        final String methodName = DataSourceRegistry.CNAME + "#release(final String name)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", name);
+        }
+
+        final Handle handle = DataSourceRegistry.handles.get(name);
+
+        if ((handle == null) || (handle.references.decrementAndGet() > 0))
+        {
+            return;
+        }
+
+        DataSourceRegistry.handles.remove(name);
+
+        final Pool pool = handle.pool;
+
+        if (pool.references.decrementAndGet() == 0)
+        {
+            DataSourceRegistry.pools.remove(pool.key);
+
+            if (pool.owned)
+            {
+                DataSourceRegistry.close(pool.dataSource);
+            }
+        }
+    }
+
+    /**
+     * Releases every registration and closes all registry-owned pools.
+     */
+    public static final synchronized void releaseAll()
+    {
+        for (String name : DataSourceRegistry.handles.keySet())
+        {
+            final Handle handle = DataSourceRegistry.handles.get(name);
+
+            handle.references.set(1);
+
+            DataSourceRegistry.release(name);
+        }
+    }
+
+    /**
+     * @return The number of connections currently borrowed across all pools
+     */
+    public static final int getNumActive()
+    {
+        int count = 0;
+
+        for (Pool pool : DataSourceRegistry.pools.values())
+        {
+            if (pool.dataSource instanceof BasicDataSource)
+            {
+                count += ((BasicDataSource) pool.dataSource).getNumActive();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * @return The number of idle connections held across all pools
+     */
+    public static final int getNumIdle()
+    {
+        int count = 0;
+
+        for (Pool pool : DataSourceRegistry.pools.values())
+        {
+            if (pool.dataSource instanceof BasicDataSource)
+            {
+                count += ((BasicDataSource) pool.dataSource).getNumIdle();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * @return The number of callers currently waiting on a connection across all pools
+     */
+    public static final int getNumWaiters()
+    {
+        int count = 0;
+
+        for (Pool pool : DataSourceRegistry.pools.values())
+        {
+            count += pool.waiters.get();
+        }
+
+        return count;
+    }
+
+    /**
+     * @return The total number of connections handed out across all pools
+     */
+    public static final long getBorrowCount()
+    {
+        long count = 0;
+
+        for (Pool pool : DataSourceRegistry.pools.values())
+        {
+            count += pool.borrows.sum();
+        }
+
+        return count;
+    }
+
+    /**
+     * @return The mean time, in milliseconds, spent obtaining a connection across all pools
+     */
+    public static final double getAverageBorrowMillis()
+    {
+        long count = 0;
+        long nanos = 0;
+
+        for (Pool pool : DataSourceRegistry.pools.values())
+        {
+            count += pool.borrows.sum();
+            nanos += pool.borrowNanos.sum();
+        }
+
+        return (count == 0) ? 0 : (double) nanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static Handle bind(final String name, final String poolKey, final DataSource dataSource, final boolean owned) throws UtilityException
+    {
+        final Handle existing = DataSourceRegistry.handles.get(name);
+
+        if (existing != null)
+        {
+            if (!(existing.pool.key.equals(poolKey)))
+            {
+                // handing back the existing pool would point the caller at a database it did not configure
+                if (owned)
+                {
+                    DataSourceRegistry.close(dataSource);
+                }
+
+                throw new UtilityException("Datasource " + name + " is already registered against " + existing.pool.key + ", cannot register it against " + poolKey);
+            }
+
+            if ((owned) && (existing.pool.dataSource != dataSource))
+            {
+                DataSourceRegistry.close(dataSource);
+            }
+
+            existing.references.incrementAndGet();
+
+            return existing;
+        }
+
+        Pool pool = DataSourceRegistry.pools.get(poolKey);
+
+        if (pool == null)
+        {
+            pool = new Pool(poolKey, dataSource, owned);
+
+            DataSourceRegistry.pools.put(poolKey, pool);
+        }
+        else if ((owned) && (pool.dataSource != dataSource))
+        {
+            // same database and user as a pool another module already opened
+            DataSourceRegistry.close(dataSource);
+        }
+
+        pool.references.incrementAndGet();
+
+        final Handle handle = new Handle(name, pool);
+
+        DataSourceRegistry.handles.put(name, handle);
+
+        return handle;
+    }
+
+    private static void close(final DataSource dataSource)
+    {
+        try
+        {
+            if ((dataSource instanceof BasicDataSource) && (!(((BasicDataSource) dataSource).isClosed())))
+            {
+                ((BasicDataSource) dataSource).close();
+            }
+        }
+        catch (final SQLException sqx)
+        {
+            ERROR_RECORDER.error(sqx.getMessage(), sqx);
+        }
+    }
+
+    private static final class Pool
+    {
+        private final String key;
+        private final boolean owned;
+        private final DataSource dataSource;
+        private final LongAdder borrows = new LongAdder();
+        private final LongAdder borrowNanos = new LongAdder();
+        private final AtomicInteger waiters = new AtomicInteger();
+        private final AtomicInteger references = new AtomicInteger();
+
+        private Pool(final String key, final DataSource dataSource, final boolean owned)
+        {
+            this.key = key;
+            this.owned = owned;
+            this.dataSource = dataSource;
+        }
+    }
+
+    /**
+     * Named view of a shared pool. Connections are obtained from the underlying pool; the time
+     * spent waiting for each one is recorded against the pool.
+     */
+    public static final class Handle implements DataSource
+    {
+        private final String name;
+        private final Pool pool;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private Handle(final String name, final Pool pool)
+        {
+            this.name = name;
+            this.pool = pool;
+        }
+
+        /**
+         * @return The logical name this handle was registered under
+         */
+        public final String getName()
+        {
+            return this.name;
+        }
+
+        /**
+         * @return The underlying {@link javax.sql.DataSource} shared by every handle for this pool
+         */
+        public final DataSource getTarget()
+        {
+            return this.pool.dataSource;
+        }
+
+        /**
+         * @see javax.sql.DataSource#getConnection()
+         */
+        @Override
+        public final Connection getConnection() throws SQLException
+        {
+            final long start = System.nanoTime();
+
+            this.pool.waiters.incrementAndGet();
+
+            try
+            {
+                return this.pool.dataSource.getConnection();
+            }
+            finally
+            {
+                this.pool.waiters.decrementAndGet();
+                this.pool.borrows.increment();
+                this.pool.borrowNanos.add(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * @see javax.sql.DataSource#getConnection(java.lang.String, java.lang.String)
+         */
+        @Override
+        public final Connection getConnection(final String username, final String password) throws SQLException
+        {
+            return this.pool.dataSource.getConnection(username, password);
+        }
+
+        @Override
+        public final PrintWriter getLogWriter() throws SQLException
+        {
+            return this.pool.dataSource.getLogWriter();
+        }
+
+        @Override
+        public final void setLogWriter(final PrintWriter out) throws SQLException
+        {
+            this.pool.dataSource.setLogWriter(out);
+        }
+
+        @Override
+        public final void setLoginTimeout(final int seconds) throws SQLException
+        {
+            this.pool.dataSource.setLoginTimeout(seconds);
+        }
+
+        @Override
+        public final int getLoginTimeout() throws SQLException
+        {
+            return this.pool.dataSource.getLoginTimeout();
+        }
+
+        @Override
+        public final java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException
+        {
+            return this.pool.dataSource.getParentLogger();
+        }
+
+        @Override
+        public final <T> T unwrap(final Class<T> iface) throws SQLException
+        {
+            return (iface.isInstance(this.pool.dataSource)) ? iface.cast(this.pool.dataSource) : this.pool.dataSource.unwrap(iface);
+        }
+
+        @Override
+        public final boolean isWrapperFor(final Class<?> iface) throws SQLException
+        {
+            return (iface.isInstance(this.pool.dataSource)) || (this.pool.dataSource.isWrapperFor(iface));
+        }
+
+        @Override
+        public final String toString()
+        {
+            return this.name + " -> " + this.pool.key;
+        }
+    }
+}
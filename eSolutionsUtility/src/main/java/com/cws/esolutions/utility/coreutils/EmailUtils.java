@@ -101,7 +101,19 @@ public final class EmailUtils
             	mailSession.setDebug(DEBUG);	
             }
 
-            MimeMessage mailMessage = new MimeMessage(mailSession);
+            // the message id defaults to one built from the cached node identity, which spares the
+            // local host lookup the mail api would otherwise make for every message
+            final String messageId = ((message.size() > 5) && (StringUtils.isNotBlank((String) message.get(5)))) ? (String) message.get(5)
+                : "<" + NodeIdentity.nextId() + "@" + NodeIdentity.getHostName() + ">";
+
+            MimeMessage mailMessage = new MimeMessage(mailSession)
+            {
+                @Override
+                protected void updateMessageID() throws MessagingException
+                {
+                    this.setHeader("Message-ID", messageId);
+                }
+            };
 
             // Our emailList parameter should contain the following
             // items (in this order):
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: Histogram.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicLong;
+/**
+ * A lock-free histogram over power-of-two buckets, used by the metrics MBeans. Bucket 0 holds 0 and
+ * bucket n holds values in (2^(n-1), 2^n]; the last bucket also holds everything above it.
+ * Recording is a couple of {@link LongAdder} increments with no allocation, and percentiles are
+ * reported as the upper bound of the bucket they fall in.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class Histogram
+{
+    private static final double[] PERCENTILES = { 0.5, 0.9, 0.99, 0.999 };
+    private static final String[] PERCENTILE_NAMES = { "p50", "p90", "p99", "p999" };
+
+    private final LongAdder[] buckets;
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param size - The number of buckets
+     */
+    public Histogram(final int size)
+    {
+        this.buckets = new LongAdder[size];
+
+        for (int x = 0; x < size; x++)
+        {
+            this.buckets[x] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param value - The value to record. Negative values are recorded as 0
+     */
+    public void record(final long value)
+    {
+        final long recorded = Math.max(value, 0L);
+
+        this.buckets[Histogram.bucket(recorded, this.buckets.length)].increment();
+        this.total.add(recorded);
+        this.max.accumulateAndGet(recorded, Math::max);
+    }
+
+    /**
+     * @return The number of values recorded
+     */
+    public long getCount()
+    {
+        long count = 0L;
+
+        for (LongAdder bucket : this.buckets)
+        {
+            count += bucket.sum();
+        }
+
+        return count;
+    }
+
+    /**
+     * @return The mean of the recorded values, or <code>0</code> if none were recorded
+     */
+    public double getMean()
+    {
+        final long count = this.getCount();
+
+        return (count == 0L) ? 0.0 : (double) this.total.sum() / count;
+    }
+
+    /**
+     * @return The largest value recorded
+     */
+    public long getMax()
+    {
+        return this.max.get();
+    }
+
+    /**
+     * @return The p50, p90, p99 and p999 bucket bounds, empty if nothing was recorded
+     */
+    public Map<String, Long> getPercentiles()
+    {
+        final long[] counts = this.snapshot();
+        long count = 0L;
+
+        for (long bucketCount : counts)
+        {
+            count += bucketCount;
+        }
+
+        final Map<String, Long> percentiles = new LinkedHashMap<String, Long>();
+
+        if (count == 0L)
+        {
+            return percentiles;
+        }
+
+        for (int y = 0; y < Histogram.PERCENTILES.length; y++)
+        {
+            final long rank = (long) Math.ceil(Histogram.PERCENTILES[y] * count);
+            long seen = 0L;
+
+            for (int x = 0; x < counts.length; x++)
+            {
+                seen += counts[x];
+
+                if (seen >= rank)
+                {
+                    percentiles.put(Histogram.PERCENTILE_NAMES[y], Histogram.upperBound(x));
+
+                    break;
+                }
+            }
+        }
+
+        return percentiles;
+    }
+
+    /**
+     * @return The count of each bucket that has been hit, keyed by its inclusive upper bound, e.g.
+     * <code>le_1024</code>
+     */
+    public Map<String, Long> toMap()
+    {
+        final long[] counts = this.snapshot();
+        final Map<String, Long> histogram = new LinkedHashMap<String, Long>();
+
+        for (int x = 0; x < counts.length; x++)
+        {
+            if (counts[x] != 0L)
+            {
+                histogram.put((x == counts.length - 1) ? "le_inf" : "le_" + Histogram.upperBound(x), counts[x]);
+            }
+        }
+
+        return histogram;
+    }
+
+    private long[] snapshot()
+    {
+        final long[] counts = new long[this.buckets.length];
+
+        for (int x = 0; x < this.buckets.length; x++)
+        {
+            counts[x] = this.buckets[x].sum();
+        }
+
+        return counts;
+    }
+
+    private static int bucket(final long value, final int size)
+    {
+        final int bucket = (value <= 0L) ? 0 : 64 - Long.numberOfLeadingZeros(value - 1);
+
+        return Math.min(bucket, size - 1);
+    }
+
+    private static long upperBound(final int bucket)
+    {
+        return (bucket == 0) ? 0L : 1L << bucket;
+    }
+}
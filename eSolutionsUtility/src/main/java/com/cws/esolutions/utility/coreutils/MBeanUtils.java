@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: MBeanUtils.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import javax.management.ObjectName;
+import javax.management.JMException;
+import org.apache.commons.lang3.StringUtils;
+import java.lang.management.ManagementFactory;
+/**
+ * Registers the metrics MBeans with the platform MBean server. The server is shared by every
+ * deployment in the JVM while each deployment has its own copy of the metrics, so every name carries
+ * a <code>name</code> key identifying the deployment that registered it.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class MBeanUtils
+{
+    private MBeanUtils()
+    {
+    }
+
+    /**
+     * Registers an MBean under <code>type</code> qualified by <code>name</code>. A name already taken,
+     * including by another deployment, is reported as a failure rather than shared.
+     *
+     * @param mbean - The MBean to register
+     * @param type - The domain and type keys, e.g. <code>com.cws.esolutions.utility:type=AuditMetrics</code>
+     * @param name - The deployment name, or blank to use one unique to the calling class loader
+     * @return The name the MBean was registered under
+     * @throws JMException {@link javax.management.JMException} if the MBean could not be registered
+     */
+    public static ObjectName register(final Object mbean, final String type, final String name) throws JMException
+    {
+        final String deployment = (StringUtils.isBlank(name)) ? Integer.toHexString(System.identityHashCode(mbean.getClass().getClassLoader())) : name;
+        final ObjectName objectName = new ObjectName(type + ",name=" + ObjectName.quote(deployment));
+
+        ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, objectName);
+
+        return objectName;
+    }
+
+    /**
+     * @param objectName - The name returned by {@link #register(Object, String, String)}
+     * @throws JMException {@link javax.management.JMException} if the MBean could not be removed
+     */
+    public static void unregister(final ObjectName objectName) throws JMException
+    {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    }
+}
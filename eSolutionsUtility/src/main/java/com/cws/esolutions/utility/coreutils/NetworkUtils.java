@@ -104,12 +104,15 @@ public final class NetworkUtils
         {
             synchronized(new Object())
             {
-                if (InetAddress.getByName(hostName) == null)
+                // resolved once here - this node's own name is served from the cached identity
+                final InetAddress address = (NodeIdentity.isLocal(hostName)) ? NodeIdentity.getAddress() : InetAddress.getByName(hostName);
+
+                if (address == null)
                 {
                     throw new UnknownHostException("No host was found in DNS for the given name: " + hostName);
                 }
 
-                InetSocketAddress socketAddress = new InetSocketAddress(hostName, portNumber);
+                InetSocketAddress socketAddress = new InetSocketAddress(address, portNumber);
 
                 socket = new Socket();
                 socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(timeout));
@@ -201,12 +204,15 @@ public final class NetworkUtils
         {
             synchronized(new Object())
             {
-                if (StringUtils.isEmpty(InetAddress.getByName(hostName).toString()))
+                // resolved once here - this node's own name is served from the cached identity
+                final InetAddress address = (NodeIdentity.isLocal(hostName)) ? NodeIdentity.getAddress() : InetAddress.getByName(hostName);
+
+                if (address == null)
                 {
                     throw new UnknownHostException("No host was found in DNS for the given name: " + hostName);
                 }
 
-                InetSocketAddress socketAddress = new InetSocketAddress(hostName, portNumber);
+                InetSocketAddress socketAddress = new InetSocketAddress(address, portNumber);
 
                 socket = new Socket();
                 socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(timeout));
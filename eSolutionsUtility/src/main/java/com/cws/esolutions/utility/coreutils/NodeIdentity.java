@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: NodeIdentity.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.cws.esolutions.utility.UtilityConstants;
+/**
+ * Identity of the node this process runs on. The local host is resolved once - at startup, or on
+ * first use if {@link #start(long)} was never called - and re-resolved in the background, so
+ * callers on the request path never wait on name resolution. If the local host cannot be resolved
+ * the loopback address is served until a refresh succeeds.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class NodeIdentity
+{
+    private static final long DEFAULT_REFRESH = 300000L;
+
+    private static volatile Identity identity = null;
+    private static volatile Thread refresher = null;
+    private static volatile boolean running = false;
+
+    private static final long startTime = System.currentTimeMillis();
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private static final String CNAME = NodeIdentity.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+    private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER + CNAME);
+
+    private NodeIdentity()
+    {
+    }
+
+    /**
+     * Resolves the local host and starts refreshing it every <code>refreshInterval</code>
+     * milliseconds. Calling this while the refresher is running has no effect.
+     *
+     * @param refreshInterval - The time, in milliseconds, between refreshes. Values that are not
+     * positive use the default of five minutes
+     */
+    public static synchronized void start(final long refreshInterval)
+    {
+        final String methodName = NodeIdentity.CNAME + "#start(final long refreshInterval)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", refreshInterval);
+        }
+
+        if (NodeIdentity.running)
+        {
+            return;
+        }
+
+        NodeIdentity.refresh();
+
+        final long interval = (refreshInterval > 0) ? refreshInterval : NodeIdentity.DEFAULT_REFRESH;
+
+        NodeIdentity.running = true;
+
+        Thread thread = new Thread(() -> NodeIdentity.run(interval), "NodeIdentity");
+        thread.setDaemon(true);
+        thread.start();
+
+        NodeIdentity.refresher = thread;
+    }
+
+    /**
+     * Stops the background refresh. The last resolved identity continues to be served.
+     */
+    public static synchronized void stop()
+    {
+        final String methodName = NodeIdentity.CNAME + "#stop()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        final Thread current = NodeIdentity.refresher;
+
+        NodeIdentity.running = false;
+
+        ThreadUtils.stop(current, 5000L);
+
+        NodeIdentity.refresher = null;
+    }
+
+    /**
+     * @return The local host address
+     */
+    public static InetAddress getAddress()
+    {
+        return NodeIdentity.current().address;
+    }
+
+    /**
+     * @return The textual IP address of the local host
+     */
+    public static String getHostAddress()
+    {
+        return NodeIdentity.current().hostAddress;
+    }
+
+    /**
+     * @return The name of the local host
+     */
+    public static String getHostName()
+    {
+        return NodeIdentity.current().hostName;
+    }
+
+    /**
+     * @param hostName - The host name or address to check
+     * @return <code>true</code> if the value is this node's resolved name or address
+     */
+    public static boolean isLocal(final String hostName)
+    {
+        final Identity local = NodeIdentity.current();
+
+        return (hostName != null) && ((hostName.equalsIgnoreCase(local.hostName)) || (hostName.equals(local.hostAddress)));
+    }
+
+    /**
+     * Returns an identifier unique to this node and process - a hash of the host name, the process
+     * start time and a sequence number. Identifiers are cheap to generate but predictable, and must
+     * not be used where an unguessable value is required.
+     *
+     * @return The identifier
+     */
+    public static String nextId()
+    {
+        return new StringBuilder(32)
+            .append(Integer.toHexString(NodeIdentity.current().hostName.hashCode())).append('-')
+            .append(Long.toString(NodeIdentity.startTime, Character.MAX_RADIX)).append('-')
+            .append(Long.toString(NodeIdentity.sequence.incrementAndGet(), Character.MAX_RADIX))
+            .toString();
+    }
+
+    private static Identity current()
+    {
+        Identity local = NodeIdentity.identity;
+
+        if (local == null)
+        {
+            synchronized (NodeIdentity.class)
+            {
+                if (NodeIdentity.identity == null)
+                {
+                    NodeIdentity.refresh();
+                }
+
+                local = NodeIdentity.identity;
+            }
+        }
+
+        return local;
+    }
+
+    private static void refresh()
+    {
+        try
+        {
+            final InetAddress address = InetAddress.getLocalHost();
+
+            NodeIdentity.identity = new Identity(address, address.getHostAddress(), address.getHostName());
+
+            if (DEBUG)
+            {
+                DEBUGGER.debug("Resolved node identity {}/{}", NodeIdentity.identity.hostName, NodeIdentity.identity.hostAddress);
+            }
+        }
+        catch (final UnknownHostException uhx)
+        {
+            ERROR_RECORDER.error(uhx.getMessage(), uhx);
+
+            if (NodeIdentity.identity == null)
+            {
+                final InetAddress loopback = InetAddress.getLoopbackAddress();
+
+                NodeIdentity.identity = new Identity(loopback, loopback.getHostAddress(), loopback.getHostName());
+            }
+        }
+    }
+
+    private static void run(final long interval)
+    {
+        while (ThreadUtils.pause(interval, () -> NodeIdentity.running))
+        {
+            NodeIdentity.refresh();
+        }
+    }
+
+    private static final class Identity
+    {
+        private final InetAddress address;
+        private final String hostAddress;
+        private final String hostName;
+
+        private Identity(final InetAddress address, final String hostAddress, final String hostName)
+        {
+            this.address = address;
+            this.hostAddress = hostAddress;
+            this.hostName = hostName;
+        }
+    }
+}
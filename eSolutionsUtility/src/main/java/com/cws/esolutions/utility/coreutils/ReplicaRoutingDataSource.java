@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: ReplicaRoutingDataSource.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.List;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.util.ArrayList;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.commons.lang3.StringUtils;
+import java.sql.SQLFeatureNotSupportedException;
+import org.apache.commons.dbcp2.BasicDataSource;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.cws.esolutions.utility.UtilityConstants;
+/**
+ * Routes connections for a logical datasource between its primary and a set of read-only
+ * replicas. Ordinary {@link #getConnection()} calls always go to the primary; read-only DAO
+ * methods obtain their connection through {@link #getReadConnection(DataSource)}, which picks a
+ * replica and falls back to the primary when no replica can hand out a connection. A replica
+ * that fails is skipped for {@link #RETRY_INTERVAL} milliseconds before it is tried again.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class ReplicaRoutingDataSource implements DataSource
+{
+    private final DataSource primary;
+    private final Selection selection;
+    private final List<DataSource> replicas;
+    private final AtomicLongArray downUntil;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public static final long RETRY_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
+    private static final String CNAME = ReplicaRoutingDataSource.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+    private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER + CNAME);
+
+    /**
+     * How a replica is chosen for each read.
+     */
+    public enum Selection
+    {
+        ROUND_ROBIN,
+        LEAST_LOADED;
+    }
+
+    /**
+     * @param primary - The {@link javax.sql.DataSource} that receives writes and fallback reads
+     * @param replicas - The read-only replicas to route reads to
+     * @param selection - <code>ROUND_ROBIN</code> or <code>LEAST_LOADED</code>; anything else is treated as round robin
+     */
+    public ReplicaRoutingDataSource(final DataSource primary, final List<DataSource> replicas, final String selection)
+    {
+        final String methodName = ReplicaRoutingDataSource.CNAME + "#ReplicaRoutingDataSource(final DataSource primary, final List<DataSource> replicas, final String selection)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", primary);
+            DEBUGGER.debug("Value: {}", replicas);
+            DEBUGGER.debug("Value: {}", selection);
+        }
+
+        this.primary = primary;
+        this.replicas = new ArrayList<DataSource>(replicas);
+        this.downUntil = new AtomicLongArray(replicas.size());
+        this.selection = (StringUtils.equalsIgnoreCase(selection, Selection.LEAST_LOADED.name())) ? Selection.LEAST_LOADED : Selection.ROUND_ROBIN;
+    }
+
+    /**
+     * Obtains a connection suitable for a read-only call. If the provided datasource routes to
+     * replicas one is chosen, otherwise this is the same as <code>dataSource.getConnection()</code>.
+     *
+     * @param dataSource - The datasource the DAO was configured with
+     * @return A {@link java.sql.Connection} for a read-only call
+     * @throws SQLException {@link java.sql.SQLException} if no connection can be obtained
+     */
+    public static final Connection getReadConnection(final DataSource dataSource) throws SQLException
+    {
+        if (dataSource instanceof ReplicaRoutingDataSource)
+        {
+            return ((ReplicaRoutingDataSource) dataSource).getReadConnection();
+        }
+
+        return dataSource.getConnection();
+    }
+
+    /**
+     * @param dsName - The logical name of the primary datasource
+     * @param index - The position of the replica in the configuration
+     * @return The name the replica pool is registered under
+     */
+    public static final String getReplicaName(final String dsName, final int index)
+    {
+        return dsName + "#replica" + index;
+    }
+
+    /**
+     * @return The number of replicas this datasource routes to
+     */
+    public final int getReplicaCount()
+    {
+        return this.replicas.size();
+    }
+
+    /**
+     * @return The primary {@link javax.sql.DataSource}
+     */
+    public final DataSource getPrimary()
+    {
+        return this.primary;
+    }
+
+    /**
+     * Obtains a connection from a replica, falling back to the primary if none is available.
+     *
+     * @return A {@link java.sql.Connection} for a read-only call
+     * @throws SQLException {@link java.sql.SQLException} if the primary cannot provide a connection either
+     */
+    public final Connection getReadConnection() throws SQLException
+    {
+        final String methodName = ReplicaRoutingDataSource.CNAME + "#getReadConnection() throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        final int count = this.replicas.size();
+
+        if (count != 0)
+        {
+            final int start = this.selectReplica();
+
+            for (int x = 0; x < count; x++)
+            {
+                final int index = (start + x) % count;
+                final long now = System.currentTimeMillis();
+
+                if (this.downUntil.get(index) > now)
+                {
+                    continue;
+                }
+
+                try
+                {
+                    return this.replicas.get(index).getConnection();
+                }
+                catch (final SQLException sqx)
+                {
+                    ERROR_RECORDER.warn("Replica {} unavailable, skipping for {} ms: {}", this.replicas.get(index), RETRY_INTERVAL, sqx.getMessage());
+
+                    this.downUntil.set(index, now + RETRY_INTERVAL);
+                }
+            }
+        }
+
+        return this.primary.getConnection();
+    }
+
+    private int selectReplica()
+    {
+        final int count = this.replicas.size();
+
+        if (this.selection == Selection.ROUND_ROBIN)
+        {
+            return Math.floorMod(this.counter.getAndIncrement(), count);
+        }
+
+        int selected = 0;
+        int lowest = Integer.MAX_VALUE;
+        final long now = System.currentTimeMillis();
+
+        for (int x = 0; x < count; x++)
+        {
+            if (this.downUntil.get(x) > now)
+            {
+                continue;
+            }
+
+            final int active = ReplicaRoutingDataSource.getNumActive(this.replicas.get(x));
+
+            if (active < lowest)
+            {
+                lowest = active;
+                selected = x;
+            }
+        }
+
+        return selected;
+    }
+
+    private static int getNumActive(final DataSource dataSource)
+    {
+        try
+        {
+            if (dataSource.isWrapperFor(BasicDataSource.class))
+            {
+                return dataSource.unwrap(BasicDataSource.class).getNumActive();
+            }
+        }
+        catch (final SQLException sqx)
+        {
+            ERROR_RECORDER.error(sqx.getMessage(), sqx);
+        }
+
+        return 0;
+    }
+
+    /**
+     * @see javax.sql.DataSource#getConnection()
+     */
+    @Override
+    public final Connection getConnection() throws SQLException
+    {
+        return this.primary.getConnection();
+    }
+
+    /**
+     * @see javax.sql.DataSource#getConnection(java.lang.String, java.lang.String)
+     */
+    @Override
+    public final Connection getConnection(final String username, final String password) throws SQLException
+    {
+        return this.primary.getConnection(username, password);
+    }
+
+    @Override
+    public final PrintWriter getLogWriter() throws SQLException
+    {
+        return this.primary.getLogWriter();
+    }
+
+    @Override
+    public final void setLogWriter(final PrintWriter out) throws SQLException
+    {
+        this.primary.setLogWriter(out);
+    }
+
+    @Override
+    public final void setLoginTimeout(final int seconds) throws SQLException
+    {
+        this.primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public final int getLoginTimeout() throws SQLException
+    {
+        return this.primary.getLoginTimeout();
+    }
+
+    @Override
+    public final java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException
+    {
+        return this.primary.getParentLogger();
+    }
+
+    @Override
+    public final <T> T unwrap(final Class<T> iface) throws SQLException
+    {
+        return (iface.isInstance(this)) ? iface.cast(this) : this.primary.unwrap(iface);
+    }
+
+    @Override
+    public final boolean isWrapperFor(final Class<?> iface) throws SQLException
+    {
+        return (iface.isInstance(this)) || (this.primary.isWrapperFor(iface));
+    }
+}
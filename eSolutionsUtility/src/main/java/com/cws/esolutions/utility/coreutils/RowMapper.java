@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: RowMapper.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.sql.ResultSet;
+import java.sql.SQLException;
+/**
+ * Maps a single result set row directly to a typed result, used by
+ * {@link com.cws.esolutions.utility.coreutils.SQLUtils#queryForList(javax.sql.DataSource, String, java.util.Map, boolean, RowMapper)}
+ * and {@link com.cws.esolutions.utility.coreutils.SQLUtils#queryForObject(javax.sql.DataSource, String, java.util.Map, boolean, RowMapper)}
+ * so DAOs can hand back DTOs without first copying each row into a <code>List</code> or array.
+ * <p>
+ * The stored procedures define their results by column position, so implementations declare the
+ * position of each column they read once, as constants, and read by index rather than by label.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface RowMapper<T>
+{
+    /**
+     * Maps the current row of the provided result set. Implementations must only read the
+     * current row - the cursor is forward-only and is advanced by the caller.
+     *
+     * @param resultSet - The {@link java.sql.ResultSet} positioned on the row to map
+     * @return The mapped result for the row
+     * @throws SQLException {@link java.sql.SQLException} if an exception occurs reading the row
+     */
+    T mapRow(final ResultSet resultSet) throws SQLException;
+}
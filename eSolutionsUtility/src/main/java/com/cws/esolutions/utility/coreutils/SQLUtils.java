@@ -26,13 +26,18 @@ package com.cws.esolutions.utility.coreutils;
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
 import java.util.Map;
+import java.util.List;
 import java.util.Objects;
+import java.util.ArrayList;
 import java.sql.ResultSet;
 import java.sql.Connection;
 import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
+import java.sql.SQLTransientException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLNonTransientConnectionException;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
@@ -50,6 +55,9 @@ public class SQLUtils
     private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
     private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER);
 
+    public static final int DEFAULT_FETCH_SIZE = 100;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
     /**
      * Run a provided query against the configured datasource and return the resultset for
      * processing by the requestor.
@@ -58,7 +66,10 @@ public class SQLUtils
      * @return A {@link java.sql.ResultSet} containing the returned data
      * @throws UtilityException {@link com.cws.esolutions.core.utils.exception.UtilityException} if an exception occurs
      * during processing
+     * @deprecated The returned {@link java.sql.ResultSet} has already been closed by the time it is returned. Use
+     * {@link #streamQuery(DataSource, String, Map, RowHandler)} instead.
      */
+    @Deprecated
     public static final ResultSet runQuery(final DataSource dataSource, final String query) throws UtilityException
     {
         final String methodName = SQLUtils.CNAME + "#runQuery(final DataSource dataSource, final String query) throws UtilityException";
@@ -95,7 +106,7 @@ public class SQLUtils
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, query);
 
             if (DEBUG)
             {
@@ -160,7 +171,10 @@ public class SQLUtils
      * @return A {@link java.sql.ResultSet} containing the returned data
      * @throws UtilityException {@link com.cws.esolutions.core.utils.exception.UtilityException} if an exception occurs
      * during processing
+     * @deprecated The returned {@link java.sql.ResultSet} has already been closed by the time it is returned. Use
+     * {@link #streamQuery(DataSource, String, Map, RowHandler)} instead.
      */
+    @Deprecated
     public static final ResultSet runQuery(final DataSource dataSource, final String query, final Map<Integer, Object> params) throws UtilityException
     {
         final String methodName = SQLUtils.CNAME + "#runQuery(final DataSource dataSource, final String query, final Map<Integer, Object> params) throws UtilityException";
@@ -198,7 +212,7 @@ public class SQLUtils
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareCall(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareCall(sqlConn, query);
 
             if (!(params.isEmpty()))
             {
@@ -267,6 +281,288 @@ public class SQLUtils
         return resultSet;
     }
 
+    /**
+     * Runs the provided query against the configured datasource using the default fetch size and
+     * hands each returned row to the provided handler.
+     *
+     * @param dataSource - The datasource to execute the query against
+     * @param query - The query to execute against the database.
+     * @param params - The query parameters for the statement call
+     * @param handler - The {@link com.cws.esolutions.utility.coreutils.RowHandler} invoked for each row
+     * @return The number of rows handed to the handler
+     * @throws UtilityException {@link com.cws.esolutions.core.utils.exception.UtilityException} if an exception occurs
+     * during processing
+     */
+    public static final int streamQuery(final DataSource dataSource, final String query, final Map<Integer, Object> params, final RowHandler handler) throws UtilityException
+    {
+        return SQLUtils.streamQuery(dataSource, query, params, SQLUtils.DEFAULT_FETCH_SIZE, handler);
+    }
+
+    /**
+     * Runs the provided query against the configured datasource and hands each returned row to the
+     * provided handler as it is read. The statement is opened with a forward-only, read-only cursor
+     * so the driver is free to fetch rows in batches of <code>fetchSize</code> rather than buffering
+     * the entire result client-side. The connection is held only for the life of the iteration and
+     * is returned to the pool before this method returns.
+     *
+     * Note that some drivers (e.g. MySQL Connector/J) only honour the fetch size when cursor fetching
+     * is enabled on the connection (<code>useCursorFetch=true</code>).
+     *
+     * @param dataSource - The datasource to execute the query against
+     * @param query - The query to execute against the database.
+     * @param params - The query parameters for the statement call, may be <code>null</code>
+     * @param fetchSize - The number of rows the driver should fetch per round trip
+     * @param handler - The {@link com.cws.esolutions.utility.coreutils.RowHandler} invoked for each row
+     * @return The number of rows handed to the handler
+     * @throws UtilityException {@link com.cws.esolutions.core.utils.exception.UtilityException} if an exception occurs
+     * during processing
+     */
+    public static final int streamQuery(final DataSource dataSource, final String query, final Map<Integer, Object> params, final int fetchSize, final RowHandler handler) throws UtilityException
+    {
+        return SQLUtils.streamQuery(dataSource, query, params, fetchSize, false, handler);
+    }
+
+    /**
+     * Streams the rows of the provided query to the handler as
+     * {@link #streamQuery(DataSource, String, Map, int, RowHandler)} does, optionally on a connection
+     * obtained for a read-only call so that long scans can be served by a replica.
+     *
+     * @param dataSource - The datasource to execute the query against
+     * @param query - The query to execute against the database.
+     * @param params - The query parameters for the statement call, may be <code>null</code>
+     * @param fetchSize - The number of rows the driver should fetch per round trip
+     * @param readOnly - <code>true</code> to run on the read-only route
+     * @param handler - The {@link com.cws.esolutions.utility.coreutils.RowHandler} invoked for each row
+     * @return The number of rows handed to the handler
+     * @throws UtilityException {@link com.cws.esolutions.core.utils.exception.UtilityException} if an exception occurs
+     * during processing
+     */
+    public static final int streamQuery(final DataSource dataSource, final String query, final Map<Integer, Object> params, final int fetchSize, final boolean readOnly,
+            final RowHandler handler) throws UtilityException
+    {
+        final String methodName = SQLUtils.CNAME + "#streamQuery(final DataSource dataSource, final String query, final Map<Integer, Object> params, final int fetchSize, final boolean readOnly, final RowHandler handler) throws UtilityException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", dataSource);
+            DEBUGGER.debug("Value: {}", query);
+            DEBUGGER.debug("Value: {}", params);
+            DEBUGGER.debug("Value: {}", fetchSize);
+            DEBUGGER.debug("Value: {}", readOnly);
+        }
+
+        int rowCount = 0;
+        ResultSet rs = null;
+        Connection sqlConn = null;
+        CallableStatement stmt = null;
+
+        if (Objects.isNull(dataSource))
+        {
+        	throw new UtilityException("Unable to obtain datasource connection.");
+        }
+
+        if (Objects.isNull(handler))
+        {
+        	throw new UtilityException("No row handler was provided.");
+        }
+
+        try
+        {
+            sqlConn = (readOnly) ? ReplicaRoutingDataSource.getReadConnection(dataSource) : dataSource.getConnection();
+
+            if (DEBUG)
+            {
+                DEBUGGER.debug("Connection: {}", sqlConn);
+            }
+
+            if (sqlConn.isClosed())
+            {
+                throw new SQLException("Unable to obtain connection to datasource. Cannot continue.");
+            }
+
+            sqlConn.setAutoCommit(true);
+            stmt = StatementCache.prepareCall(sqlConn, query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchDirection(ResultSet.FETCH_FORWARD);
+            stmt.setFetchSize(fetchSize);
+
+            if ((params != null) && (!(params.isEmpty())))
+            {
+                for (Integer key : params.keySet())
+                {
+                    if (DEBUG)
+                    {
+                        DEBUGGER.debug("Key: {}, Value: {}", key, params.get(key));
+                    }
+
+                    stmt.setObject(key, params.get(key));
+                }
+            }
+
+            if (DEBUG)
+            {
+                DEBUGGER.debug("stmt: {}", stmt);
+            }
+
+            if (stmt.execute())
+            {
+                rs = stmt.getResultSet();
+
+                if (DEBUG)
+                {
+                    DEBUGGER.debug("ResultSet: {}", rs);
+                }
+
+                while (rs.next())
+                {
+                    handler.processRow(rs);
+
+                    rowCount++;
+                }
+            }
+
+            if (DEBUG)
+            {
+                DEBUGGER.debug("rowCount: {}", rowCount);
+            }
+        }
+        catch (final SQLException sqx)
+        {
+            throw new UtilityException(sqx.getMessage(), sqx);
+        }
+        finally
+        {
+            try
+            {
+                if (rs != null)
+                {
+                    rs.close();
+                }
+
+                if (stmt != null)
+                {
+                    stmt.close();
+                }
+
+                if ((sqlConn != null) && (!(sqlConn.isClosed())))
+                {
+                    sqlConn.close();
+                }
+            }
+            catch (final SQLException sqx)
+            {
+                ERROR_RECORDER.error(sqx.getMessage(), sqx);
+            }
+        }
+
+        return rowCount;
+    }
+
+    /**
+     * Runs the provided query against the primary datasource and maps every returned row with the
+     * provided mapper.
+     *
+     * @param dataSource - The datasource to execute the query against
+     * @param query - The query to execute against the database.
+     * @param params - The query parameters for the statement call, may be <code>null</code>
+     * @param mapper - The {@link com.cws.esolutions.utility.coreutils.RowMapper} applied to each row
+     * @return A <code>List</code> of the mapped rows, empty if no rows were returned
+     * @throws UtilityException {@link com.cws.esolutions.core.utils.exception.UtilityException} if an exception occurs
+     * during processing
+     */
+    public static final <T> List<T> queryForList(final DataSource dataSource, final String query, final Map<Integer, Object> params, final RowMapper<T> mapper) throws UtilityException
+    {
+        return SQLUtils.queryForList(dataSource, query, params, false, mapper);
+    }
+
+    /**
+     * Runs the provided query and maps every returned row with the provided mapper. Each row is
+     * mapped straight from the open cursor, so no intermediate copy of the result is built.
+     *
+     * @param dataSource - The datasource to execute the query against
+     * @param query - The query to execute against the database.
+     * @param params - The query parameters for the statement call, may be <code>null</code>
+     * @param readOnly - <code>true</code> to run the query against a read replica when one is configured
+     * @param mapper - The {@link com.cws.esolutions.utility.coreutils.RowMapper} applied to each row
+     * @return A <code>List</code> of the mapped rows, empty if no rows were returned
+     * @throws UtilityException {@link com.cws.esolutions.core.utils.exception.UtilityException} if an exception occurs
+     * during processing
+     */
+    public static final <T> List<T> queryForList(final DataSource dataSource, final String query, final Map<Integer, Object> params, final boolean readOnly, final RowMapper<T> mapper) throws UtilityException
+    {
+        final String methodName = SQLUtils.CNAME + "#queryForList(final DataSource dataSource, final String query, final Map<Integer, Object> params, final boolean readOnly, final RowMapper<T> mapper) throws UtilityException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", dataSource);
+            DEBUGGER.debug("Value: {}", query);
+            DEBUGGER.debug("Value: {}", params);
+            DEBUGGER.debug("Value: {}", readOnly);
+        }
+
+        final List<T> results = new ArrayList<T>();
+
+        SQLUtils.mapQuery(dataSource, query, params, readOnly, 0, mapper, results);
+
+        return results;
+    }
+
+    /**
+     * Runs the provided query against the primary datasource and maps the single returned row with
+     * the provided mapper.
+     *
+     * @param dataSource - The datasource to execute the query against
+     * @param query - The query to execute against the database.
+     * @param params - The query parameters for the statement call, may be <code>null</code>
+     * @param mapper - The {@link com.cws.esolutions.utility.coreutils.RowMapper} applied to the row
+     * @return The mapped row, or <code>null</code> if no row was returned
+     * @throws UtilityException {@link com.cws.esolutions.core.utils.exception.UtilityException} if an exception occurs
+     * during processing or if more than one row is returned
+     */
+    public static final <T> T queryForObject(final DataSource dataSource, final String query, final Map<Integer, Object> params, final RowMapper<T> mapper) throws UtilityException
+    {
+        return SQLUtils.queryForObject(dataSource, query, params, false, mapper);
+    }
+
+    /**
+     * Runs the provided query and maps the single returned row with the provided mapper.
+     *
+     * @param dataSource - The datasource to execute the query against
+     * @param query - The query to execute against the database.
+     * @param params - The query parameters for the statement call, may be <code>null</code>
+     * @param readOnly - <code>true</code> to run the query against a read replica when one is configured
+     * @param mapper - The {@link com.cws.esolutions.utility.coreutils.RowMapper} applied to the row
+     * @return The mapped row, or <code>null</code> if no row was returned
+     * @throws UtilityException {@link com.cws.esolutions.core.utils.exception.UtilityException} if an exception occurs
+     * during processing or if more than one row is returned
+     */
+    public static final <T> T queryForObject(final DataSource dataSource, final String query, final Map<Integer, Object> params, final boolean readOnly, final RowMapper<T> mapper) throws UtilityException
+    {
+        final String methodName = SQLUtils.CNAME + "#queryForObject(final DataSource dataSource, final String query, final Map<Integer, Object> params, final boolean readOnly, final RowMapper<T> mapper) throws UtilityException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", dataSource);
+            DEBUGGER.debug("Value: {}", query);
+            DEBUGGER.debug("Value: {}", params);
+            DEBUGGER.debug("Value: {}", readOnly);
+        }
+
+        final List<T> results = new ArrayList<T>(2);
+
+        // one row past the first is enough to tell a single result from many
+        SQLUtils.mapQuery(dataSource, query, params, readOnly, 2, mapper, results);
+
+        if (results.size() > 1)
+        {
+            throw new UtilityException("Multiple records were found for the provided query.");
+        }
+
+        return (results.size() == 0) ? null : results.get(0);
+    }
+
     /**
      * Performs an insert, update or delete against the configured datasource. This method does not
      * return any data as no data is returned for successful inserts/updates/deletes (though deletes
@@ -310,7 +606,7 @@ public class SQLUtils
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement(query);
+            stmt = StatementCache.prepareStatement(sqlConn, query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
 
             if (DEBUG)
             {
@@ -392,7 +688,7 @@ public class SQLUtils
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareCall(query);
+            stmt = StatementCache.prepareCall(sqlConn, query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
 
             if (!(params.isEmpty()))
             {
@@ -442,4 +738,316 @@ public class SQLUtils
             }
         }
     }
+
+    /**
+     * Decides whether a failure is worth retrying later. Connection failures (SQL state class
+     * <code>08</code>), rollbacks such as deadlocks (class <code>40</code>) and the JDBC transient and
+     * recoverable exception types are transient, as is a failure that carries no SQL state at all -
+     * the statement never reached the datastore. Anything the datastore rejected with a state of its
+     * own, such as a constraint violation or data that does not fit a column, will fail the same way
+     * every time it is retried.
+     *
+     * @param failure - The failure, including any wrapping exceptions
+     * @return <code>true</code> if the same statement may succeed when retried
+     */
+    public static final boolean isTransient(final Throwable failure)
+    {
+        boolean rejected = false;
+
+        for (Throwable cause = failure; cause != null; cause = (cause.getCause() == cause) ? null : cause.getCause())
+        {
+            if ((cause instanceof SQLTransientException) || (cause instanceof SQLRecoverableException)
+                    || (cause instanceof SQLNonTransientConnectionException))
+            {
+                return true;
+            }
+
+            if ((cause instanceof SQLException) && (((SQLException) cause).getSQLState() != null))
+            {
+                final String sqlState = ((SQLException) cause).getSQLState();
+
+                if ((sqlState.startsWith("08")) || (sqlState.startsWith("40")))
+                {
+                    return true;
+                }
+
+                rejected = true;
+            }
+        }
+
+        return !(rejected);
+    }
+
+    /**
+     * Performs a batch of inserts, updates or deletes against the configured datasource using the
+     * default batch size.
+     *
+     * @param dataSource - The datasource to execute the statements against
+     * @param query - The statement to execute against the database.
+     * @param params - A list of parameter sets, one per row, to be applied to the statement call
+     * @return The per-row update counts as reported by the driver
+     * @throws UtilityException {@link com.cws.esolutions.core.utils.exception.UtilityException} if an exception occurs
+     * during processing
+     */
+    public static final int[] addOrDeleteDataBatch(final DataSource dataSource, final String query, final List<Map<Integer, Object>> params) throws UtilityException
+    {
+        return SQLUtils.addOrDeleteDataBatch(dataSource, query, params, SQLUtils.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Performs a batch of inserts, updates or deletes against the configured datasource. Every
+     * parameter set is added to a single prepared statement and sent to the database in chunks of
+     * <code>batchSize</code> rows. All chunks run inside a single transaction - if any row fails the
+     * whole batch is rolled back and nothing is applied.
+     *
+     * Statements executed in batch cannot register OUT parameters; stored procedures that return
+     * a status through an OUT parameter must be called with a session variable in its place.
+     *
+     * @param dataSource - The datasource to execute the statements against
+     * @param query - The statement to execute against the database.
+     * @param params - A list of parameter sets, one per row, to be applied to the statement call
+     * @param batchSize - The number of rows to send per round trip
+     * @return The per-row update counts as reported by the driver, in the order provided
+     * @throws UtilityException {@link com.cws.esolutions.core.utils.exception.UtilityException} if an exception occurs
+     * during processing
+     */
+    public static final int[] addOrDeleteDataBatch(final DataSource dataSource, final String query, final List<Map<Integer, Object>> params, final int batchSize) throws UtilityException
+    {
+        final String methodName = SQLUtils.CNAME + "#addOrDeleteDataBatch(final DataSource dataSource, final String query, final List<Map<Integer, Object>> params, final int batchSize) throws UtilityException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", dataSource);
+            DEBUGGER.debug("Value: {}", query);
+            DEBUGGER.debug("Value: {}", batchSize);
+        }
+
+        Connection sqlConn = null;
+        CallableStatement stmt = null;
+
+        if (Objects.isNull(dataSource))
+        {
+        	throw new UtilityException("Unable to obtain datasource connection.");
+        }
+
+        if ((Objects.isNull(params)) || (params.isEmpty()))
+        {
+        	return new int[0];
+        }
+
+        if (batchSize <= 0)
+        {
+        	throw new UtilityException("The batch size must be greater than zero.");
+        }
+
+        final int[] updateCounts = new int[params.size()];
+
+        try
+        {
+            sqlConn = dataSource.getConnection();
+
+            if (DEBUG)
+            {
+                DEBUGGER.debug("Connection: {}", sqlConn);
+            }
+
+            if (sqlConn.isClosed())
+            {
+                throw new SQLException("Unable to obtain connection to datasource. Cannot continue.");
+            }
+
+            sqlConn.setAutoCommit(false);
+            stmt = StatementCache.prepareCall(sqlConn, query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+
+            int pending = 0;
+            int completed = 0;
+
+            for (Map<Integer, Object> row : params)
+            {
+                // a row that leaves an index out must fail, not pick up the previous row's value
+                stmt.clearParameters();
+
+                for (Integer key : row.keySet())
+                {
+                    stmt.setObject(key, row.get(key));
+                }
+
+                stmt.addBatch();
+                pending++;
+
+                if (pending == batchSize)
+                {
+                    int[] results = stmt.executeBatch();
+                    System.arraycopy(results, 0, updateCounts, completed, results.length);
+
+                    completed += pending;
+                    pending = 0;
+
+                    if (DEBUG)
+                    {
+                        DEBUGGER.debug("Executed batch, completed: {}", completed);
+                    }
+                }
+            }
+
+            if (pending != 0)
+            {
+                int[] results = stmt.executeBatch();
+                System.arraycopy(results, 0, updateCounts, completed, results.length);
+            }
+
+            sqlConn.commit();
+        }
+        catch (final SQLException sqx)
+        {
+            try
+            {
+                if ((sqlConn != null) && (!(sqlConn.isClosed())))
+                {
+                    sqlConn.rollback();
+                }
+            }
+            catch (final SQLException rsqx)
+            {
+                ERROR_RECORDER.error(rsqx.getMessage(), rsqx);
+            }
+
+            throw new UtilityException(sqx.getMessage(), sqx);
+        }
+        finally
+        {
+            try
+            {
+                if (stmt != null)
+                {
+                    stmt.close();
+                }
+
+                if ((sqlConn != null) && (!(sqlConn.isClosed())))
+                {
+                    sqlConn.setAutoCommit(true);
+                    sqlConn.close();
+                }
+            }
+            catch (final SQLException sqx)
+            {
+                throw new UtilityException(sqx.getMessage(), sqx);
+            }
+        }
+
+        return updateCounts;
+    }
+
+    private static final <T> void mapQuery(final DataSource dataSource, final String query, final Map<Integer, Object> params, final boolean readOnly,
+        final int maxRows, final RowMapper<T> mapper, final List<T> results) throws UtilityException
+    {
+        final String methodName = SQLUtils.CNAME + "#mapQuery(final DataSource dataSource, final String query, final Map<Integer, Object> params, final boolean readOnly, final int maxRows, final RowMapper<T> mapper, final List<T> results) throws UtilityException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", maxRows);
+        }
+
+        ResultSet rs = null;
+        Connection sqlConn = null;
+        CallableStatement stmt = null;
+
+        if (Objects.isNull(dataSource))
+        {
+        	throw new UtilityException("Unable to obtain datasource connection.");
+        }
+
+        if (Objects.isNull(mapper))
+        {
+        	throw new UtilityException("No row mapper was provided.");
+        }
+
+        try
+        {
+            sqlConn = (readOnly) ? ReplicaRoutingDataSource.getReadConnection(dataSource) : dataSource.getConnection();
+
+            if (DEBUG)
+            {
+                DEBUGGER.debug("Connection: {}", sqlConn);
+            }
+
+            if (sqlConn.isClosed())
+            {
+                throw new SQLException("Unable to obtain connection to datasource. Cannot continue.");
+            }
+
+            sqlConn.setAutoCommit(true);
+            stmt = StatementCache.prepareCall(sqlConn, query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchDirection(ResultSet.FETCH_FORWARD);
+            stmt.setFetchSize((maxRows == 0) ? SQLUtils.DEFAULT_FETCH_SIZE : maxRows);
+
+            if ((params != null) && (!(params.isEmpty())))
+            {
+                for (Integer key : params.keySet())
+                {
+                    if (DEBUG)
+                    {
+                        DEBUGGER.debug("Key: {}, Value: {}", key, params.get(key));
+                    }
+
+                    stmt.setObject(key, params.get(key));
+                }
+            }
+
+            if (DEBUG)
+            {
+                DEBUGGER.debug("stmt: {}", stmt);
+            }
+
+            if (stmt.execute())
+            {
+                rs = stmt.getResultSet();
+
+                if (DEBUG)
+                {
+                    DEBUGGER.debug("ResultSet: {}", rs);
+                }
+
+                while (((maxRows == 0) || (results.size() < maxRows)) && (rs.next()))
+                {
+                    results.add(mapper.mapRow(rs));
+                }
+            }
+
+            if (DEBUG)
+            {
+                DEBUGGER.debug("results: {}", results);
+            }
+        }
+        catch (final SQLException sqx)
+        {
+            throw new UtilityException(sqx.getMessage(), sqx);
+        }
+        finally
+        {
+            try
+            {
+                if (rs != null)
+                {
+                    rs.close();
+                }
+
+                if (stmt != null)
+                {
+                    stmt.close();
+                }
+
+                if ((sqlConn != null) && (!(sqlConn.isClosed())))
+                {
+                    sqlConn.close();
+                }
+            }
+            catch (final SQLException sqx)
+            {
+                ERROR_RECORDER.error(sqx.getMessage(), sqx);
+            }
+        }
+    }
 }
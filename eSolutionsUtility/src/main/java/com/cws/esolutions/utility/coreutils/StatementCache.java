@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: StatementCache.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import java.sql.Statement;
+import java.sql.ResultSet;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.dbcp2.PoolingConnection;
+import org.apache.commons.pool2.KeyedObjectPool;
+import org.apache.commons.dbcp2.DelegatingStatement;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
+
+import com.cws.esolutions.utility.UtilityConstants;
+/**
+ * Shared entry point for preparing DAO statements. When the underlying datasource is a DBCP
+ * <code>BasicDataSource</code> with <code>poolPreparedStatements</code> enabled, the pooled
+ * connection hands back a previously prepared handle for the same SQL instead of asking the
+ * database to parse it again. This class records whether each request was served by such a
+ * reused handle (a hit) or required a fresh prepare (a miss) so the pool can be sized.
+ *
+ * The figures come from the statement pool DBCP keeps on each physical connection: a prepare
+ * that did not move the pool's created count was served from it. A connection is only ever used
+ * by one thread at a time, so the last count seen per pool is all the state kept, and nothing is
+ * shared between connections.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class StatementCache
+{
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final Map<GenericKeyedObjectPool<?, ?>, Long> created = new ConcurrentHashMap<GenericKeyedObjectPool<?, ?>, Long>();
+
+    private static final String CNAME = StatementCache.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+
+    private StatementCache()
+    {
+    }
+
+    /**
+     * Prepares the provided statement with a scroll-insensitive, read-only cursor.
+     *
+     * @param sqlConn - The connection to prepare the statement against
+     * @param sql - The SQL to prepare
+     * @return A {@link java.sql.PreparedStatement} for the provided SQL
+     * @throws SQLException {@link java.sql.SQLException} if an exception occurs during processing
+     */
+    public static final PreparedStatement prepareStatement(final Connection sqlConn, final String sql) throws SQLException
+    {
+        return StatementCache.prepareStatement(sqlConn, sql, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    /**
+     * Prepares the provided statement with the requested cursor type and concurrency.
+     *
+     * @param sqlConn - The connection to prepare the statement against
+     * @param sql - The SQL to prepare
+     * @param resultSetType - The {@link java.sql.ResultSet} type
+     * @param resultSetConcurrency - The {@link java.sql.ResultSet} concurrency
+     * @return A {@link java.sql.PreparedStatement} for the provided SQL
+     * @throws SQLException {@link java.sql.SQLException} if an exception occurs during processing
+     */
+    public static final PreparedStatement prepareStatement(final Connection sqlConn, final String sql, final int resultSetType, final int resultSetConcurrency) throws SQLException
+    {
+        final String methodName = StatementCache.CNAME + "#prepareStatement(final Connection sqlConn, final String sql, final int resultSetType, final int resultSetConcurrency) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", sql);
+        }
+
+        PreparedStatement stmt = sqlConn.prepareStatement(sql, resultSetType, resultSetConcurrency);
+
+        StatementCache.record(stmt);
+
+        return stmt;
+    }
+
+    /**
+     * Prepares the provided stored procedure call with a scroll-insensitive, read-only cursor.
+     *
+     * @param sqlConn - The connection to prepare the statement against
+     * @param sql - The call to prepare
+     * @return A {@link java.sql.CallableStatement} for the provided call
+     * @throws SQLException {@link java.sql.SQLException} if an exception occurs during processing
+     */
+    public static final CallableStatement prepareCall(final Connection sqlConn, final String sql) throws SQLException
+    {
+        return StatementCache.prepareCall(sqlConn, sql, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    /**
+     * Prepares the provided stored procedure call with the requested cursor type and concurrency.
+     *
+     * @param sqlConn - The connection to prepare the statement against
+     * @param sql - The call to prepare
+     * @param resultSetType - The {@link java.sql.ResultSet} type
+     * @param resultSetConcurrency - The {@link java.sql.ResultSet} concurrency
+     * @return A {@link java.sql.CallableStatement} for the provided call
+     * @throws SQLException {@link java.sql.SQLException} if an exception occurs during processing
+     */
+    public static final CallableStatement prepareCall(final Connection sqlConn, final String sql, final int resultSetType, final int resultSetConcurrency) throws SQLException
+    {
+        final String methodName = StatementCache.CNAME + "#prepareCall(final Connection sqlConn, final String sql, final int resultSetType, final int resultSetConcurrency) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", sql);
+        }
+
+        CallableStatement stmt = sqlConn.prepareCall(sql, resultSetType, resultSetConcurrency);
+
+        StatementCache.record(stmt);
+
+        return stmt;
+    }
+
+    /**
+     * @return The number of statement requests served by an already-prepared handle
+     */
+    public static final long getHitCount()
+    {
+        return StatementCache.hits.sum();
+    }
+
+    /**
+     * @return The number of statement requests that required a new prepare
+     */
+    public static final long getMissCount()
+    {
+        return StatementCache.misses.sum();
+    }
+
+    /**
+     * @return The ratio of hits to total requests, or <code>0</code> if nothing has been prepared
+     */
+    public static final double getHitRatio()
+    {
+        final long hitCount = StatementCache.hits.sum();
+        final long total = hitCount + StatementCache.misses.sum();
+
+        return (total == 0) ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Resets the hit and miss counters.
+     */
+    public static final void reset()
+    {
+        StatementCache.hits.reset();
+        StatementCache.misses.reset();
+    }
+
+    private static void record(final Statement stmt) throws SQLException
+    {
+        // statements that did not come from a statement pool are never reused
+        final GenericKeyedObjectPool<?, ?> statementPool = StatementCache.getStatementPool(stmt);
+
+        if (statementPool == null)
+        {
+            StatementCache.misses.increment();
+
+            return;
+        }
+
+        final long createdCount = statementPool.getCreatedCount();
+        final Long previous = StatementCache.created.put(statementPool, createdCount);
+
+        if (previous == null)
+        {
+            // first prepare on a new physical connection, drop the pools of the ones that were closed
+            StatementCache.created.keySet().removeIf(GenericKeyedObjectPool::isClosed);
+            StatementCache.misses.increment();
+        }
+        else if (createdCount > previous.longValue())
+        {
+            StatementCache.misses.increment();
+        }
+        else
+        {
+            StatementCache.hits.increment();
+        }
+    }
+
+    private static GenericKeyedObjectPool<?, ?> getStatementPool(final Statement stmt) throws SQLException
+    {
+        // the pooled statement is the wrapper whose connection is the pooling connection that made it
+        Statement current = stmt;
+
+        while (current instanceof DelegatingStatement)
+        {
+            final Connection sqlConn = ((DelegatingStatement) current).getConnection();
+
+            if (sqlConn instanceof PoolingConnection)
+            {
+                final KeyedObjectPool<?, ?> statementPool = ((PoolingConnection) sqlConn).getStatementPool();
+
+                return (statementPool instanceof GenericKeyedObjectPool) ? (GenericKeyedObjectPool<?, ?>) statementPool : null;
+            }
+
+            current = ((DelegatingStatement) current).getDelegate();
+        }
+
+        return null;
+    }
+}
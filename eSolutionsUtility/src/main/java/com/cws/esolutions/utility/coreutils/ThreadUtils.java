@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: ThreadUtils.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.locks.LockSupport;
+/**
+ * Waiting and stopping for the background threads (service index and node identity refresh, audit
+ * spool replay, audit rollup persistence). A thread waits in {@link #pause(long, BooleanSupplier)}
+ * between rounds of work. To stop it, the owner clears its running flag and calls
+ * {@link #stop(Thread, long)}, which wakes the thread at once instead of letting it sleep out the wait.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class ThreadUtils
+{
+    private ThreadUtils()
+    {
+    }
+
+    /**
+     * Parks the calling thread for up to <code>millis</code>, returning early once
+     * <code>running</code> reports <code>false</code> or the thread is interrupted.
+     *
+     * @param millis - The time to wait, in milliseconds
+     * @param running - The owner's running flag
+     * @return <code>true</code> if the caller should carry on, <code>false</code> if it was stopped or
+     * interrupted
+     */
+    public static boolean pause(final long millis, final BooleanSupplier running)
+    {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+
+        for (long remaining = TimeUnit.MILLISECONDS.toNanos(millis); remaining > 0L; remaining = deadline - System.nanoTime())
+        {
+            if ((!(running.getAsBoolean())) || (Thread.currentThread().isInterrupted()))
+            {
+                break;
+            }
+
+            // returns early on unpark, interrupt or spuriously; the flags are checked again either way
+            LockSupport.parkNanos(remaining);
+        }
+
+        return (running.getAsBoolean()) && (!(Thread.currentThread().isInterrupted()));
+    }
+
+    /**
+     * Wakes a thread waiting in {@link #pause(long, BooleanSupplier)} and waits for it to finish. The
+     * caller clears the thread's running flag first.
+     *
+     * @param thread - The thread to stop, may be <code>null</code>
+     * @param millis - The longest time to wait for it, in milliseconds
+     */
+    public static void stop(final Thread thread, final long millis)
+    {
+        if (thread == null)
+        {
+            return;
+        }
+
+        LockSupport.unpark(thread);
+
+        try
+        {
+            thread.join(millis);
+        }
+        catch (final InterruptedException ix)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -26,8 +26,15 @@ package com.cws.esolutions.utility.init;
  * cws-khuntly           11/23/2008 22:39:20             Created.
  */
 import com.cws.esolutions.utility.UtilityBean;
+import com.cws.esolutions.utility.coreutils.NodeIdentity;
 import com.cws.esolutions.utility.coreutils.DAOInitializer;
+import com.cws.esolutions.utility.services.impl.ServiceIndex;
+import com.cws.esolutions.utility.services.impl.AuthorizationMetrics;
 import com.cws.esolutions.utility.exception.UtilityException;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditSpool;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditAggregator;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditMetrics;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditWriter;
 /**
  * @author cws-khuntly
  * @version 1.0
@@ -48,12 +55,17 @@ public class UtilityInitializer
      */
     public static void initializeService(final boolean startConnections) throws UtilityException
     {
+        NodeIdentity.start(0L);
+
         try
         {
             if (startConnections)
             {
                 DAOInitializer.configureAndCreateAuthConnection(bean);
                 DAOInitializer.configureAndCreateAuditConnection(bean);
+
+                // snapshot the enabled services before the first logon builds a bitset
+                ServiceIndex.start(0L);
             }
         }
         catch (final SecurityException sx)
@@ -68,5 +80,12 @@ public class UtilityInitializer
      */
     public static void shutdown()
     {
+        AuditWriter.shutdown();
+        AuditSpool.close();
+        AuditAggregator.close();
+        AuditMetrics.unregister();
+        AuthorizationMetrics.unregister();
+        ServiceIndex.stop();
+        NodeIdentity.stop();
     }
 }
\ No newline at end of file
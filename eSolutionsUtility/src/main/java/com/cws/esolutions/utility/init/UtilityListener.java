@@ -30,8 +30,15 @@ import jakarta.servlet.ServletContextListener;
 import jakarta.servlet.annotation.WebListener;
 
 import com.cws.esolutions.utility.UtilityBean;
+import com.cws.esolutions.utility.coreutils.NodeIdentity;
 import com.cws.esolutions.utility.coreutils.DAOInitializer;
+import com.cws.esolutions.utility.services.impl.ServiceIndex;
+import com.cws.esolutions.utility.services.impl.AuthorizationMetrics;
 import com.cws.esolutions.utility.exception.UtilityException;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditSpool;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditAggregator;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditMetrics;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditWriter;
 /**
  * @see jakarta.servlet.ServletContextListener
  */
@@ -45,10 +52,16 @@ public class UtilityListener implements ServletContextListener
      */
     public void contextInitialized(final ServletContextEvent sContextEvent)
     {
+        // resolve the node identity now rather than on the first audited request
+        NodeIdentity.start(0L);
+
         try
         {
             DAOInitializer.configureAndCreateAuthConnection(bean);
             DAOInitializer.configureAndCreateAuditConnection(bean);
+
+            // snapshot the enabled services before the first logon builds a bitset
+            ServiceIndex.start(0L);
         }
         catch (final UtilityException ux)
         {
@@ -61,5 +74,13 @@ public class UtilityListener implements ServletContextListener
      */
     public void contextDestroyed(final ServletContextEvent sContextEvent)
     {
+        // write out anything still queued while the audit datasource is available
+        AuditWriter.shutdown();
+        AuditSpool.close();
+        AuditAggregator.close();
+        AuditMetrics.unregister();
+        AuthorizationMetrics.unregister();
+        ServiceIndex.stop();
+        NodeIdentity.stop();
     }
 }
\ No newline at end of file
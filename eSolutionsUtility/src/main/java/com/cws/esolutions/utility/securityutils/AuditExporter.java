@@ -0,0 +1,512 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils
+ * File: AuditExporter.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.io.File;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.Instant;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.io.BufferedWriter;
+import java.nio.channels.Channels;
+import java.io.OutputStreamWriter;
+import java.util.zip.GZIPOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+
+import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.coreutils.RowHandler;
+import com.cws.esolutions.utility.exception.UtilityException;
+import com.cws.esolutions.utility.securityutils.dao.audit.impl.AuditDAOImpl;
+import com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO;
+/**
+ * Exports audit history for a time range to rolling, gzip-compressed files for offline analysis,
+ * so that compliance queries do not run against the live audit datastore. Rows are read oldest
+ * first in keyset pages from a forward-only cursor on the read-only route and written straight to
+ * the current file, so memory use does not depend on the size of the export and no page holds its
+ * statement open for longer than it takes to read <code>pageSize</code> rows.
+ *
+ * Files are named <code>prefix-000000.ndjson.gz</code> (or <code>.csv.gz</code>) and roll every
+ * <code>rowsPerFile</code> rows. Each time a file is completed a checkpoint,
+ * <code>prefix.checkpoint</code>, is written next to it. Running the same range again resumes
+ * after the last completed file, overwriting any partial file left by an interrupted run. Running
+ * a different range starts over.
+ *
+ * An exporter runs one export at a time.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class AuditExporter implements RowHandler
+{
+    private static final int BUFFER_SIZE = 65536;
+    private static final String[] COLUMNS = { "id", "timestamp", "sessionId", "userName", "userGuid", "userRole", "action", "authorized",
+        "applicationId", "applicationName", "sourceAddress", "sourceHost" };
+
+    private static final String START_TIME = "startTime";
+    private static final String END_TIME = "endTime";
+    private static final String AFTER_TIMESTAMP = "afterTimestamp";
+    private static final String AFTER_ID = "afterId";
+    private static final String NEXT_FILE = "nextFile";
+    private static final String EXPORTED = "exported";
+    private static final String COMPLETE = "complete";
+
+    private final File directory;
+    private final String prefix;
+    private final Format format;
+    private final long rowsPerFile;
+    private final int pageSize;
+    private final StringBuilder line = new StringBuilder(512);
+    private final IAuditDAO auditDAO = new AuditDAOImpl();
+
+    // range being exported
+    private Timestamp startTime = null;
+    private Timestamp endTime = null;
+
+    // read position
+    private Timestamp lastTimestamp = null;
+    private long lastId = 0L;
+
+    // current file
+    private Writer output = null;
+    private GZIPOutputStream compressor = null;
+    private FileChannel channel = null;
+    private long fileRows = 0L;
+
+    // last completed file
+    private int fileIndex = 0;
+    private long exported = 0L;
+    private Timestamp committedTimestamp = null;
+    private long committedId = 0L;
+
+    private static final String CNAME = AuditExporter.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+    private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER + CNAME);
+
+    /**
+     * The layout of the exported files.
+     */
+    public enum Format
+    {
+        NDJSON,
+        CSV;
+    }
+
+    /**
+     * @param directory - The directory the files and the checkpoint are written to
+     * @param prefix - The file name prefix
+     * @param format - The {@link Format} to write
+     * @param rowsPerFile - The number of rows written to each file before it rolls
+     * @param pageSize - The number of rows read per keyset page
+     */
+    public AuditExporter(final String directory, final String prefix, final Format format, final long rowsPerFile, final int pageSize)
+    {
+        this.directory = new File(directory);
+        this.prefix = prefix;
+        this.format = (format == null) ? Format.NDJSON : format;
+        this.rowsPerFile = Math.max(rowsPerFile, 1L);
+        this.pageSize = Math.max(pageSize, 1);
+    }
+
+    /**
+     * Exports the audit rows recorded in <code>[startTime, endTime)</code>, resuming a previous
+     * run of the same range if its checkpoint is present.
+     *
+     * @param startTime - The start of the range, inclusive
+     * @param endTime - The end of the range, exclusive
+     * @return The number of rows written by this call
+     * @throws UtilityException {@link com.cws.esolutions.utility.exception.UtilityException} if the
+     * range is invalid or the export fails. Completed files and the checkpoint are kept, so the
+     * export can be resumed
+     */
+    public synchronized long export(final Timestamp startTime, final Timestamp endTime) throws UtilityException
+    {
+        final String methodName = AuditExporter.CNAME + "#export(final Timestamp startTime, final Timestamp endTime) throws UtilityException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", startTime);
+            DEBUGGER.debug("Value: {}", endTime);
+        }
+
+        if ((Objects.isNull(startTime)) || (Objects.isNull(endTime)) || (!(startTime.before(endTime))))
+        {
+            throw new UtilityException("The export range must have a start time before its end time.");
+        }
+
+        try
+        {
+            if ((!(this.directory.exists())) && (!(this.directory.mkdirs())))
+            {
+                throw new IOException("Unable to create export directory " + this.directory);
+            }
+
+            this.startTime = startTime;
+            this.endTime = endTime;
+
+            if (this.resume())
+            {
+                if (DEBUG)
+                {
+                    DEBUGGER.debug("Export of {} - {} already complete", startTime, endTime);
+                }
+
+                return 0L;
+            }
+
+            final long resumed = this.exported;
+
+            this.lastTimestamp = this.committedTimestamp;
+            this.lastId = this.committedId;
+
+            int rows = 0;
+
+            do
+            {
+                rows = this.auditDAO.streamAuditRange(startTime, endTime, this.lastTimestamp, this.lastId, this.pageSize, this);
+            } while (rows == this.pageSize);
+
+            if (this.output != null)
+            {
+                this.complete();
+            }
+
+            this.checkpoint(true);
+
+            if (DEBUG)
+            {
+                DEBUGGER.debug("Exported {} rows of {} - {} into {} files", this.exported - resumed, startTime, endTime, this.fileIndex);
+            }
+
+            return this.exported - resumed;
+        }
+        catch (final SQLException sqx)
+        {
+            final Throwable cause = (sqx.getCause() instanceof IOException) ? sqx.getCause() : sqx;
+
+            throw new UtilityException(cause.getMessage(), cause);
+        }
+        catch (final IOException iox)
+        {
+            throw new UtilityException(iox.getMessage(), iox);
+        }
+        finally
+        {
+            this.abandon();
+        }
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.coreutils.RowHandler#processRow(java.sql.ResultSet)
+     */
+    public void processRow(final ResultSet resultSet) throws SQLException
+    {
+        final long id = resultSet.getLong(1);
+        final Timestamp timestamp = resultSet.getTimestamp(2);
+
+        this.line.setLength(0);
+
+        switch (this.format)
+        {
+            case CSV:
+                this.line.append(id).append(',').append(timestamp.toInstant());
+
+                for (int x = 3; x <= AuditExporter.COLUMNS.length; x++)
+                {
+                    this.line.append(',');
+
+                    AuditExporter.appendCsv(this.line, resultSet.getString(x));
+                }
+
+                break;
+            default:
+                this.line.append("{\"").append(AuditExporter.COLUMNS[0]).append("\":").append(id)
+                    .append(",\"").append(AuditExporter.COLUMNS[1]).append("\":\"").append(timestamp.toInstant()).append('"');
+
+                for (int x = 3; x <= AuditExporter.COLUMNS.length; x++)
+                {
+                    this.line.append(",\"").append(AuditExporter.COLUMNS[x - 1]).append("\":");
+
+                    if (x == 8)
+                    {
+                        final boolean authorized = resultSet.getBoolean(x);
+
+                        this.line.append((resultSet.wasNull()) ? "null" : String.valueOf(authorized));
+                    }
+                    else
+                    {
+                        AuditExporter.appendJson(this.line, resultSet.getString(x));
+                    }
+                }
+
+                this.line.append('}');
+
+                break;
+        }
+
+        this.line.append('\n');
+
+        try
+        {
+            if (this.output == null)
+            {
+                this.open();
+            }
+
+            this.output.append(this.line);
+        }
+        catch (final IOException iox)
+        {
+            throw new SQLException(iox.getMessage(), iox);
+        }
+
+        this.lastTimestamp = timestamp;
+        this.lastId = id;
+        this.fileRows++;
+
+        if (this.fileRows == this.rowsPerFile)
+        {
+            try
+            {
+                this.complete();
+            }
+            catch (final IOException iox)
+            {
+                throw new SQLException(iox.getMessage(), iox);
+            }
+        }
+    }
+
+    private boolean resume() throws IOException
+    {
+        final File file = new File(this.directory, this.prefix + ".checkpoint");
+
+        this.fileIndex = 0;
+        this.exported = 0L;
+        this.committedTimestamp = null;
+        this.committedId = 0L;
+
+        if (!(file.exists()))
+        {
+            return false;
+        }
+
+        final Properties checkpoint = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))
+        {
+            checkpoint.load(reader);
+        }
+
+        if ((!(this.startTime.toInstant().toString().equals(checkpoint.getProperty(AuditExporter.START_TIME))))
+            || (!(this.endTime.toInstant().toString().equals(checkpoint.getProperty(AuditExporter.END_TIME)))))
+        {
+            // a different range - start over
+            return false;
+        }
+
+        this.fileIndex = Integer.parseInt(checkpoint.getProperty(AuditExporter.NEXT_FILE, "0"));
+        this.exported = Long.parseLong(checkpoint.getProperty(AuditExporter.EXPORTED, "0"));
+        this.committedId = Long.parseLong(checkpoint.getProperty(AuditExporter.AFTER_ID, "0"));
+
+        final String after = checkpoint.getProperty(AuditExporter.AFTER_TIMESTAMP);
+
+        this.committedTimestamp = ((after == null) || (after.isEmpty())) ? null : Timestamp.from(Instant.parse(after));
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug("Resuming export at file {} after row {}", this.fileIndex, this.committedId);
+        }
+
+        return Boolean.parseBoolean(checkpoint.getProperty(AuditExporter.COMPLETE));
+    }
+
+    private void open() throws IOException
+    {
+        final Path path = new File(this.directory, String.format("%s-%06d.%s.gz", this.prefix, this.fileIndex,
+            (this.format == Format.CSV) ? "csv" : "ndjson")).toPath();
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.compressor = new GZIPOutputStream(Channels.newOutputStream(this.channel), AuditExporter.BUFFER_SIZE);
+        this.output = new BufferedWriter(new OutputStreamWriter(this.compressor, StandardCharsets.UTF_8), AuditExporter.BUFFER_SIZE);
+        this.fileRows = 0L;
+
+        if (this.format == Format.CSV)
+        {
+            this.output.append(String.join(",", AuditExporter.COLUMNS)).append('\n');
+        }
+    }
+
+    private void complete() throws IOException
+    {
+        this.output.flush();
+        this.compressor.finish();
+        this.channel.force(true);
+        this.output.close();
+        this.output = null;
+
+        this.fileIndex++;
+        this.exported += this.fileRows;
+        this.committedTimestamp = this.lastTimestamp;
+        this.committedId = this.lastId;
+
+        this.checkpoint(false);
+    }
+
+    private void checkpoint(final boolean isComplete) throws IOException
+    {
+        final Properties checkpoint = new Properties();
+        checkpoint.setProperty(AuditExporter.START_TIME, this.startTime.toInstant().toString());
+        checkpoint.setProperty(AuditExporter.END_TIME, this.endTime.toInstant().toString());
+        checkpoint.setProperty(AuditExporter.AFTER_TIMESTAMP, (this.committedTimestamp == null) ? "" : this.committedTimestamp.toInstant().toString());
+        checkpoint.setProperty(AuditExporter.AFTER_ID, String.valueOf(this.committedId));
+        checkpoint.setProperty(AuditExporter.NEXT_FILE, String.valueOf(this.fileIndex));
+        checkpoint.setProperty(AuditExporter.EXPORTED, String.valueOf(this.exported));
+        checkpoint.setProperty(AuditExporter.COMPLETE, String.valueOf(isComplete));
+
+        final File file = new File(this.directory, this.prefix + ".checkpoint");
+        final File temp = new File(this.directory, this.prefix + ".checkpoint.tmp");
+
+        try (Writer writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8))
+        {
+            checkpoint.store(writer, "audit export " + this.prefix);
+        }
+
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void abandon()
+    {
+        if (this.output != null)
+        {
+            // an interrupted file is rewritten from its first row on resume
+            try
+            {
+                this.output.close();
+            }
+            catch (final IOException iox)
+            {
+                ERROR_RECORDER.error(iox.getMessage(), iox);
+            }
+
+            this.output = null;
+        }
+    }
+
+    private static void appendCsv(final StringBuilder builder, final String value)
+    {
+        if (value == null)
+        {
+            return;
+        }
+
+        if ((value.indexOf(',') == -1) && (value.indexOf('"') == -1) && (value.indexOf('\n') == -1) && (value.indexOf('\r') == -1))
+        {
+            builder.append(value);
+
+            return;
+        }
+
+        builder.append('"');
+
+        for (int x = 0; x < value.length(); x++)
+        {
+            final char c = value.charAt(x);
+
+            if (c == '"')
+            {
+                builder.append('"');
+            }
+
+            builder.append(c);
+        }
+
+        builder.append('"');
+    }
+
+    private static void appendJson(final StringBuilder builder, final String value)
+    {
+        if (value == null)
+        {
+            builder.append("null");
+
+            return;
+        }
+
+        builder.append('"');
+
+        for (int x = 0; x < value.length(); x++)
+        {
+            final char c = value.charAt(x);
+
+            switch (c)
+            {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20)
+                    {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    }
+                    else
+                    {
+                        builder.append(c);
+                    }
+
+                    break;
+            }
+        }
+
+        builder.append('"');
+    }
+}
@@ -26,7 +26,6 @@ package com.cws.esolutions.utility.securityutils.dao.accesscontrol.dao.impl;
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
 import java.util.List;
-import java.util.Arrays;
 import java.util.Objects;
 import java.sql.ResultSet;
 import java.util.ArrayList;
@@ -36,6 +35,7 @@ import java.sql.SQLException;
 import java.sql.PreparedStatement;
 import javax.naming.NamingException;
 
+import com.cws.esolutions.utility.coreutils.StatementCache;
 import com.cws.esolutions.utility.securityutils.dao.accesscontrol.dao.interfaces.IAccessControlServiceDAO;
 /**
  * @see com.cws.esolutions.security.dao.reference.interfaces.ISecurityReferenceDAO
@@ -48,7 +48,7 @@ public class AccessControlServiceDAOImpl implements IAccessControlServiceDAO
      * @throws NamingException 
      * @see com.cws.esolutions.IAccessControlServiceDAO.dao.reference.interfaces.IUserSecurityInformationDAO#getUserSalt(java.lang.String, java.lang.String)
      */
-    public synchronized List<String> getAccessGroups() throws SQLException
+    public List<String> getAccessGroups() throws SQLException
     {
         final String methodName = AccessControlServiceDAOImpl.CNAME + "#getAccessGroups() throws SQLException";
 
@@ -89,7 +89,7 @@ public class AccessControlServiceDAOImpl implements IAccessControlServiceDAO
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement("{ CALL getAvailableGroups(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getAvailableGroups() }");
 
             if (DEBUG)
             {
@@ -99,18 +99,12 @@ public class AccessControlServiceDAOImpl implements IAccessControlServiceDAO
             if (stmt.execute())
             {
                 resultSet = stmt.getResultSet();
+                responseList = new ArrayList<String>();
 
-                if (resultSet.next())
+                while (resultSet.next())
                 {
-                    resultSet.beforeFirst();
-
-                    while (resultSet.next())
-                    {
-                    	responseList = new ArrayList<String>(
-                    			Arrays.asList(
-                    					resultSet.getString(1),
-                    					resultSet.getString(2)));
-                    }
+                    // group guid
+                    responseList.add(resultSet.getString(1));
                 }
             }
         }
@@ -142,7 +136,7 @@ public class AccessControlServiceDAOImpl implements IAccessControlServiceDAO
     /**
      * @see com.cws.esolutions.IAccessControlServiceDAO.dao.reference.interfaces.IUserSecurityInformationDAO#obtainSecurityQuestionList()
      */
-    public synchronized String getUserGroups(final String commonName) throws SQLException
+    public String getUserGroups(final String commonName) throws SQLException
     {
         final String methodName = AccessControlServiceDAOImpl.CNAME + "#getUserGroups(final String commonName, final String userId) throws SQLException";
 
@@ -173,7 +167,7 @@ public class AccessControlServiceDAOImpl implements IAccessControlServiceDAO
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement("{ CALL getUserGroups(?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getUserGroups(?) }");
             stmt.setString(1, commonName);
 
             if (DEBUG)
@@ -234,7 +228,7 @@ public class AccessControlServiceDAOImpl implements IAccessControlServiceDAO
     /**
      * @see com.cws.esolutions.IAccessControlServiceDAO.dao.reference.interfaces.IUserSecurityInformationDAO#getUserSalt(java.lang.String, java.lang.String)
      */
-    public synchronized boolean isGroupEnabled(final String commonName) throws SQLException
+    public boolean isGroupEnabled(final String commonName) throws SQLException
     {
         final String methodName = AccessControlServiceDAOImpl.CNAME + "#isGroupEnabled(final String commonName) throws SQLException";
 
@@ -270,7 +264,7 @@ public class AccessControlServiceDAOImpl implements IAccessControlServiceDAO
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement("{ CALL getAvailableGroups() }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getAvailableGroups() }");
 
             if (DEBUG)
             {
@@ -46,7 +46,7 @@ public interface IAccessControlServiceDAO
 
     /**
      * 
-     * @return
+     * @return The GUID of every enabled group
      * @throws SQLException
      */
     List<String> getAccessGroups() throws SQLException;
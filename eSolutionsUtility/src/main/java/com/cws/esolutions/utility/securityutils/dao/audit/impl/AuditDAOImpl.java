@@ -25,16 +25,27 @@ package com.cws.esolutions.utility.securityutils.dao.audit.impl;
  * ----------------------------------------------------------------------------
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
+import java.util.Map;
 import java.util.List;
 import java.util.Objects;
 import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.ArrayList;
+import java.sql.Timestamp;
 import java.sql.Connection;
 import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.sql.PreparedStatement;
 
+import com.cws.esolutions.utility.coreutils.SQLUtils;
+import com.cws.esolutions.utility.coreutils.RowHandler;
+import com.cws.esolutions.utility.coreutils.StatementCache;
+import com.cws.esolutions.utility.exception.UtilityException;
+import com.cws.esolutions.utility.coreutils.ReplicaRoutingDataSource;
 import com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditCursor;
 /**
  * @see com.cws.esolutions.security.dao.audit.interfaces.IAuditDAO
  */
@@ -45,7 +56,7 @@ public class AuditDAOImpl implements IAuditDAO
     /**
      * @see com.cws.esolutions.security.dao.audit.interfaces.IAuditDAO#auditRequestedOperation(java.util.List)
      */
-    public synchronized void auditRequestedOperation(final List<String> auditRequest) throws SQLException
+    public void auditRequestedOperation(final List<String> auditRequest) throws SQLException
     {
         final String methodName = AuditDAOImpl.CNAME + "#auditRequestedOperation(final List<String> auditRequest) throws SQLException";
 
@@ -76,7 +87,7 @@ public class AuditDAOImpl implements IAuditDAO
 
             sqlConn.setAutoCommit(true);
 
-            stmt = sqlConn.prepareStatement("{ CALL insertAuditEntry(?, ?, ?, ?, ?, ?, ?, ?, ?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL insertAuditEntry(?, ?, ?, ?, ?, ?, ?, ?, ?, ?) }");
             stmt.setString(1, auditRequest.get(0)); // session id
             stmt.setString(2, auditRequest.get(1)); // username
             stmt.setString(3, auditRequest.get(2)); // guid
@@ -120,10 +131,58 @@ public class AuditDAOImpl implements IAuditDAO
         }
     }
 
+    /**
+     * @see com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO#auditRequestedOperations(java.util.List)
+     */
+    public int[] auditRequestedOperations(final List<List<String>> auditRequests) throws SQLException
+    {
+        final String methodName = AuditDAOImpl.CNAME + "#auditRequestedOperations(final List<List<String>> auditRequests) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("AuditRequests: {}", auditRequests);
+        }
+
+        try
+        {
+            return SQLUtils.addOrDeleteDataBatch((DataSource) bean.getAuditDataSource(), "{ CALL insertAuditEntry(?, ?, ?, ?, ?, ?, ?, ?, ?, ?) }",
+                AuditDAOImpl.batchParams(auditRequests, false));
+        }
+        catch (final UtilityException ux)
+        {
+            throw new SQLException(ux.getMessage(), ux);
+        }
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO#replayAuditedOperations(java.util.List)
+     */
+    public int[] replayAuditedOperations(final List<List<String>> auditRequests) throws SQLException
+    {
+        final String methodName = AuditDAOImpl.CNAME + "#replayAuditedOperations(final List<List<String>> auditRequests) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("AuditRequests: {}", auditRequests);
+        }
+
+        try
+        {
+            return SQLUtils.addOrDeleteDataBatch((DataSource) bean.getAuditDataSource(), "{ CALL insertAuditEntryAt(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) }",
+                AuditDAOImpl.batchParams(auditRequests, true));
+        }
+        catch (final UtilityException ux)
+        {
+            throw new SQLException(ux.getMessage(), ux);
+        }
+    }
+
     /**
      * @see com.cws.esolutions.security.dao.audit.interfaces.IAuditDAO#getAuditInterval(String, int)
      */
-    public synchronized List<Object> getAuditInterval(final String guid, final int startRow) throws SQLException
+    public List<Object> getAuditInterval(final String guid, final int startRow) throws SQLException
     {
         final String methodName = AuditDAOImpl.CNAME + "#getAuditInterval(final String guid, final int startRow) throws SQLException";
 
@@ -143,7 +202,7 @@ public class AuditDAOImpl implements IAuditDAO
         {
         	DataSource dataSource = (DataSource) bean.getAuditDataSource();
 
-            sqlConn = dataSource.getConnection();
+            sqlConn = ReplicaRoutingDataSource.getReadConnection(dataSource);
 
             if ((Objects.isNull(dataSource)) || (sqlConn.isClosed()))
             {
@@ -151,7 +210,7 @@ public class AuditDAOImpl implements IAuditDAO
             }
 
             sqlConn.setAutoCommit(true);
-            stmt = sqlConn.prepareStatement("{ CALL getAuditInterval(?, ?) }", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            stmt = StatementCache.prepareStatement(sqlConn, "{ CALL getAuditInterval(?, ?) }");
             stmt.setString(1, guid);
             stmt.setInt(2, startRow);
 
@@ -239,4 +298,182 @@ public class AuditDAOImpl implements IAuditDAO
 
         return responseList;
     }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO#getAuditEntries(java.lang.String, int)
+     */
+    public List<AuditEntry> getAuditEntries(final String guid, final int startRow) throws SQLException
+    {
+        final String methodName = AuditDAOImpl.CNAME + "#getAuditEntries(final String guid, final int startRow) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", guid);
+            DEBUGGER.debug("Value: {}", startRow);
+        }
+
+        Map<Integer, Object> params = new HashMap<Integer, Object>();
+        params.put(1, guid);
+        params.put(2, startRow);
+
+        try
+        {
+            return SQLUtils.queryForList((DataSource) bean.getAuditDataSource(), "{ CALL getAuditInterval(?, ?) }", params, true, AuditEntryRowMapper.INSTANCE);
+        }
+        catch (final UtilityException ux)
+        {
+            throw new SQLException(ux.getMessage(), ux);
+        }
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO#getAuditPage(java.lang.String, com.cws.esolutions.utility.securityutils.processors.dto.AuditCursor, int)
+     */
+    public List<AuditEntry> getAuditPage(final String guid, final AuditCursor cursor, final int pageSize) throws SQLException
+    {
+        final String methodName = AuditDAOImpl.CNAME + "#getAuditPage(final String guid, final AuditCursor cursor, final int pageSize) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", guid);
+            DEBUGGER.debug("Value: {}", cursor);
+            DEBUGGER.debug("Value: {}", pageSize);
+        }
+
+        Map<Integer, Object> params = new HashMap<Integer, Object>();
+        params.put(1, guid);
+        params.put(2, (cursor == null) ? null : cursor.getTimestamp());
+        params.put(3, (cursor == null) ? null : cursor.getAuditId());
+        params.put(4, pageSize);
+
+        try
+        {
+            return SQLUtils.queryForList((DataSource) bean.getAuditDataSource(), "{ CALL getAuditPage(?, ?, ?, ?) }", params, true, AuditEntryRowMapper.KEYSET);
+        }
+        catch (final UtilityException ux)
+        {
+            throw new SQLException(ux.getMessage(), ux);
+        }
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO#getAuditCount(java.lang.String)
+     */
+    public int getAuditCount(final String guid) throws SQLException
+    {
+        final String methodName = AuditDAOImpl.CNAME + "#getAuditCount(final String guid) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", guid);
+        }
+
+        Map<Integer, Object> params = new HashMap<Integer, Object>();
+        params.put(1, guid);
+
+        try
+        {
+            Integer count = SQLUtils.queryForObject((DataSource) bean.getAuditDataSource(), "{ CALL getAuditCount(?) }", params, true, resultSet -> resultSet.getInt(1));
+
+            return (count == null) ? 0 : count;
+        }
+        catch (final UtilityException ux)
+        {
+            throw new SQLException(ux.getMessage(), ux);
+        }
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO#iterateAuditEntries(java.lang.String, int)
+     */
+    public Iterator<AuditEntry> iterateAuditEntries(final String guid, final int pageSize)
+    {
+        final String methodName = AuditDAOImpl.CNAME + "#iterateAuditEntries(final String guid, final int pageSize)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", guid);
+            DEBUGGER.debug("Value: {}", pageSize);
+        }
+
+        return new AuditEntryIterator(this, guid, pageSize);
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO#streamAuditRange(java.sql.Timestamp, java.sql.Timestamp, java.sql.Timestamp, long, int, com.cws.esolutions.utility.coreutils.RowHandler)
+     */
+    public int streamAuditRange(final Timestamp startTime, final Timestamp endTime, final Timestamp afterTimestamp, final long afterId, final int pageSize,
+            final RowHandler handler) throws SQLException
+    {
+        final String methodName = AuditDAOImpl.CNAME + "#streamAuditRange(final Timestamp startTime, final Timestamp endTime, final Timestamp afterTimestamp, final long afterId, final int pageSize, final RowHandler handler) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", startTime);
+            DEBUGGER.debug("Value: {}", endTime);
+            DEBUGGER.debug("Value: {}", afterTimestamp);
+            DEBUGGER.debug("Value: {}", afterId);
+            DEBUGGER.debug("Value: {}", pageSize);
+        }
+
+        Map<Integer, Object> params = new HashMap<Integer, Object>();
+        params.put(1, startTime);
+        params.put(2, endTime);
+        params.put(3, afterTimestamp);
+        params.put(4, afterId);
+        params.put(5, pageSize);
+
+        try
+        {
+            return SQLUtils.streamQuery((DataSource) bean.getAuditDataSource(), "{ CALL getAuditRange(?, ?, ?, ?, ?) }", params, SQLUtils.DEFAULT_FETCH_SIZE, true, handler);
+        }
+        catch (final UtilityException ux)
+        {
+            throw new SQLException(ux.getMessage(), ux);
+        }
+    }
+
+    private static List<Map<Integer, Object>> batchParams(final List<List<String>> auditRequests, final boolean withCaptureTime)
+    {
+        List<Map<Integer, Object>> batchParams = new ArrayList<Map<Integer, Object>>();
+
+        for (List<String> auditRequest : auditRequests)
+        {
+            Map<Integer, Object> params = new HashMap<Integer, Object>();
+            params.put(1, auditRequest.get(0)); // session id
+            params.put(2, auditRequest.get(1)); // username
+            params.put(3, auditRequest.get(2)); // guid
+            params.put(4, auditRequest.get(3)); // user role
+            params.put(5, auditRequest.get(4)); // user action
+            params.put(6, Boolean.valueOf(auditRequest.get(5))); // is authorized
+            params.put(7, auditRequest.get(6)); // applid
+            params.put(8, auditRequest.get(7)); // applname
+            params.put(9, auditRequest.get(8)); // srcaddr
+            params.put(10, auditRequest.get(9)); // srchost
+
+            if (withCaptureTime)
+            {
+                params.put(11, AuditDAOImpl.captureTime(auditRequest)); // req timestamp
+            }
+
+            batchParams.add(params);
+        }
+
+        return batchParams;
+    }
+
+    private static Timestamp captureTime(final List<String> auditRequest)
+    {
+        if ((auditRequest.size() <= 10) || (auditRequest.get(10) == null))
+        {
+            return new Timestamp(System.currentTimeMillis());
+        }
+
+        return new Timestamp(Long.parseLong(auditRequest.get(10)));
+    }
 }
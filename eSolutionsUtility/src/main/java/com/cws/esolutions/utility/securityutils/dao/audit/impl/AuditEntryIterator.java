@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.dao.audit.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.dao.audit.impl
+ * File: AuditEntryIterator.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.List;
+import java.util.Iterator;
+import java.sql.Timestamp;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditCursor;
+import com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO;
+/**
+ * Iterates a user's audit history one keyset page at a time.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ * @see com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO#iterateAuditEntries(String, int)
+ */
+final class AuditEntryIterator implements Iterator<AuditEntry>
+{
+    private final IAuditDAO auditDAO;
+    private final String guid;
+    private final int pageSize;
+
+    private int position = 0;
+    private boolean lastPage = false;
+    private AuditCursor cursor = null;
+    private List<AuditEntry> page = null;
+
+    AuditEntryIterator(final IAuditDAO auditDAO, final String guid, final int pageSize)
+    {
+        this.auditDAO = auditDAO;
+        this.guid = guid;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @see java.util.Iterator#hasNext()
+     */
+    public boolean hasNext()
+    {
+        if ((this.page != null) && (this.position < this.page.size()))
+        {
+            return true;
+        }
+
+        if (this.lastPage)
+        {
+            return false;
+        }
+
+        try
+        {
+            this.page = this.auditDAO.getAuditPage(this.guid, this.cursor, this.pageSize);
+            this.position = 0;
+            this.lastPage = this.page.size() < this.pageSize;
+        }
+        catch (final SQLException sqx)
+        {
+            throw new IllegalStateException(sqx.getMessage(), sqx);
+        }
+
+        if (this.page.isEmpty())
+        {
+            this.lastPage = true;
+
+            return false;
+        }
+
+        final AuditEntry lastEntry = this.page.get(this.page.size() - 1);
+
+        this.cursor = new AuditCursor();
+        this.cursor.setAuditId(lastEntry.getAuditId());
+        this.cursor.setTimestamp((lastEntry.getAuditDate() instanceof Timestamp) ? (Timestamp) lastEntry.getAuditDate() : new Timestamp(lastEntry.getAuditDate().getTime()));
+
+        return true;
+    }
+
+    /**
+     * @see java.util.Iterator#next()
+     */
+    public AuditEntry next()
+    {
+        if (!(this.hasNext()))
+        {
+            throw new NoSuchElementException();
+        }
+
+        return this.page.get(this.position++);
+    }
+}
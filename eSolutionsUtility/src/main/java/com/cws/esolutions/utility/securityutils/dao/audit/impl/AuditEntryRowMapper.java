@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.dao.audit.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.dao.audit.impl
+ * File: AuditEntryRowMapper.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Date;
+import java.util.Arrays;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.SQLException;
+
+import com.cws.esolutions.utility.coreutils.RowMapper;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+/**
+ * Maps a row of <code>getAuditInterval</code> or <code>getAuditPage</code> to an {@link AuditEntry}.
+ * <code>getAuditPage</code> also returns the row id; its mapper keeps the full-precision
+ * {@link Timestamp} as the audit date so the pair can be used as the next keyset cursor.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+final class AuditEntryRowMapper implements RowMapper<AuditEntry>
+{
+    static final AuditEntryRowMapper INSTANCE = new AuditEntryRowMapper(false);
+    static final AuditEntryRowMapper KEYSET = new AuditEntryRowMapper(true);
+
+    private static final int SESSID = 1;
+    private static final int USERNAME = 2;
+    private static final int CN = 3;
+    private static final int ROLE = 4;
+    private static final int APPLID = 5;
+    private static final int APPLNAME = 6;
+    private static final int REQTIMESTAMP = 7;
+    private static final int ACTION = 8;
+    private static final int SRCADDR = 9;
+    private static final int SRCHOST = 10;
+    private static final int ID = 11;
+
+    private final boolean keyset;
+
+    private AuditEntryRowMapper(final boolean keyset)
+    {
+        this.keyset = keyset;
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.coreutils.RowMapper#mapRow(java.sql.ResultSet)
+     */
+    public AuditEntry mapRow(final ResultSet resultSet) throws SQLException
+    {
+        final Timestamp auditDate = resultSet.getTimestamp(AuditEntryRowMapper.REQTIMESTAMP);
+
+        AuditEntry auditEntry = new AuditEntry();
+        auditEntry.setSessionId(resultSet.getString(AuditEntryRowMapper.SESSID));
+        auditEntry.setUserName(resultSet.getString(AuditEntryRowMapper.USERNAME));
+        auditEntry.setUserGuid(resultSet.getString(AuditEntryRowMapper.CN));
+        auditEntry.setUserRole(resultSet.getString(AuditEntryRowMapper.ROLE));
+        auditEntry.setApplicationId(resultSet.getString(AuditEntryRowMapper.APPLID));
+        auditEntry.setApplicationName(resultSet.getString(AuditEntryRowMapper.APPLNAME));
+        auditEntry.setAuditDate(((auditDate == null) || (this.keyset)) ? auditDate : new Date(auditDate.getTime()));
+        auditEntry.setAuditType(AuditType.valueOf(resultSet.getString(AuditEntryRowMapper.ACTION)));
+        auditEntry.setHostInfo(Arrays.asList(resultSet.getString(AuditEntryRowMapper.SRCADDR), resultSet.getString(AuditEntryRowMapper.SRCHOST)));
+        auditEntry.setAccountInfo(Arrays.asList(auditEntry.getUserName(), auditEntry.getUserGuid()));
+
+        if (this.keyset)
+        {
+            auditEntry.setAuditId(resultSet.getLong(AuditEntryRowMapper.ID));
+        }
+
+        return auditEntry;
+    }
+}
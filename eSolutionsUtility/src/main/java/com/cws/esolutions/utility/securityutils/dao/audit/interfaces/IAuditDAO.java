@@ -26,12 +26,17 @@ package com.cws.esolutions.utility.securityutils.dao.audit.interfaces;
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
 import java.util.List;
+import java.util.Iterator;
+import java.sql.Timestamp;
 import java.sql.SQLException;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
 import com.cws.esolutions.utility.UtilityBean;
 import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.coreutils.RowHandler;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditCursor;
 /**
  * API allowing audit management tasks - storing audit requests and retrieving
  * for provided user accounts on demand.
@@ -48,13 +53,34 @@ public interface IAuditDAO
     static final Logger AUDIT_RECORDER = LogManager.getLogger(UtilityConstants.AUDIT_LOGGER);
 
     /**
-     * Inserts audit-related data into the audit datastore
+     * Inserts audit-related data into the audit datastore. The entry is stamped when it is written.
      *
      * @param auditRequest - A <code>List</code> of the audit data to insert
      * @throws SQLException {@link java.sql.SQLException} if an exception occurs during processing
      */
     void auditRequestedOperation(final List<String> auditRequest) throws SQLException;
 
+    /**
+     * Inserts a batch of audit records into the audit datastore in a single transaction
+     *
+     * @param auditRequests - A <code>List</code> of audit records, each in the same layout accepted by
+     * {@link #auditRequestedOperation(List)}
+     * @return The per-record update counts as reported by the driver
+     * @throws SQLException {@link java.sql.SQLException} if an exception occurs during processing
+     */
+    int[] auditRequestedOperations(final List<List<String>> auditRequests) throws SQLException;
+
+    /**
+     * Inserts a batch of previously spooled audit records into the audit datastore in a single
+     * transaction, keeping the time each was captured. The eleventh field of each record, if present,
+     * is that time in epoch milliseconds; records without it are stamped when they are written.
+     *
+     * @param auditRequests - A <code>List</code> of spooled audit records
+     * @return The per-record update counts as reported by the driver
+     * @throws SQLException {@link java.sql.SQLException} if an exception occurs during processing
+     */
+    int[] replayAuditedOperations(final List<List<String>> auditRequests) throws SQLException;
+
     /**
      * Inserts audit-related data into the audit datastore
      *
@@ -65,4 +91,68 @@ public interface IAuditDAO
      * @throws SQLException {@link java.sql.SQLException} if an exception occurs during processing
      */
     List<Object> getAuditInterval(final String username, final int startRow) throws SQLException;
+
+    /**
+     * Retrieves a page of audit entries for the provided user, mapped directly to
+     * {@link com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry} objects.
+     *
+     * @param guid - The GUID of the user to obtain data for
+     * @param startRow - The row to begin the page at
+     * @return A <code>List</code> of the associated audit entries, empty if there are none
+     * @throws SQLException {@link java.sql.SQLException} if an exception occurs during processing
+     */
+    List<AuditEntry> getAuditEntries(final String guid, final int startRow) throws SQLException;
+
+    /**
+     * Retrieves a page of audit entries for the provided user, newest first, using keyset paging.
+     * Each entry carries its audit id and full-precision timestamp so the last entry of a page can
+     * be used as the cursor for the next one.
+     *
+     * @param guid - The GUID of the user to obtain data for
+     * @param cursor - The {@link AuditCursor} to read after, or <code>null</code> for the first page
+     * @param pageSize - The maximum number of entries to return
+     * @return A <code>List</code> of the associated audit entries, empty if there are none
+     * @throws SQLException {@link java.sql.SQLException} if an exception occurs during processing
+     */
+    List<AuditEntry> getAuditPage(final String guid, final AuditCursor cursor, final int pageSize) throws SQLException;
+
+    /**
+     * Counts the audit entries stored for the provided user.
+     *
+     * @param guid - The GUID of the user to obtain data for
+     * @return The number of audit entries for the user
+     * @throws SQLException {@link java.sql.SQLException} if an exception occurs during processing
+     */
+    int getAuditCount(final String guid) throws SQLException;
+
+    /**
+     * Walks the full audit history of the provided user, newest first. Entries are read one keyset
+     * page at a time as the iterator advances, so no connection is held between pages. A failure
+     * while reading a page is thrown from <code>hasNext()</code> as an
+     * <code>IllegalStateException</code> wrapping the {@link java.sql.SQLException}.
+     *
+     * @param guid - The GUID of the user to obtain data for
+     * @param pageSize - The number of entries to read per page
+     * @return An <code>Iterator</code> over the user's audit entries
+     */
+    Iterator<AuditEntry> iterateAuditEntries(final String guid, final int pageSize);
+
+    /**
+     * Streams one keyset page of audit rows recorded in <code>[startTime, endTime)</code>, oldest
+     * first, to the provided handler. Rows are handed over as they are read from a forward-only
+     * cursor on the read-only route. Each row holds ID, REQTIMESTAMP, SESSID, USERNAME, CN, ROLE,
+     * ACTION, AUTHORIZED, APPLID, APPLNAME, SRCADDR and SRCHOST, in that order.
+     *
+     * @param startTime - The start of the range, inclusive
+     * @param endTime - The end of the range, exclusive
+     * @param afterTimestamp - The timestamp of the last row already read, <code>null</code> for the
+     * first page
+     * @param afterId - The id of the last row already read
+     * @param pageSize - The maximum number of rows to stream
+     * @param handler - The {@link com.cws.esolutions.utility.coreutils.RowHandler} invoked for each row
+     * @return The number of rows streamed. Fewer than <code>pageSize</code> means the range is exhausted
+     * @throws SQLException {@link java.sql.SQLException} if an exception occurs during processing
+     */
+    int streamAuditRange(final Timestamp startTime, final Timestamp endTime, final Timestamp afterTimestamp, final long afterId, final int pageSize,
+            final RowHandler handler) throws SQLException;
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.dto;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.dto
+ * File: AuditCursor.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.sql.Timestamp;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+
+import com.cws.esolutions.utility.UtilityConstants;
+/**
+ * Position in a user's audit history, newest first. A page read with a cursor holds the entries
+ * that sort strictly after it, so paging costs the same at any depth. The cursor also carries the
+ * entry count taken on the first page, so later pages report the same total without counting again.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+public class AuditCursor implements Serializable
+{
+    private int entryCount = 0;
+    private long auditId = 0L;
+    private Timestamp timestamp = null;
+
+    private static final String CNAME = AuditCursor.class.getName();
+    private static final long serialVersionUID = -4107528306412896325L;
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+
+    public final void setTimestamp(final Timestamp value)
+    {
+        final String methodName = AuditCursor.CNAME + "#setTimestamp(final Timestamp value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.timestamp = value;
+    }
+
+    public final void setAuditId(final long value)
+    {
+        final String methodName = AuditCursor.CNAME + "#setAuditId(final long value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditId = value;
+    }
+
+    public final void setEntryCount(final int value)
+    {
+        final String methodName = AuditCursor.CNAME + "#setEntryCount(final int value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.entryCount = value;
+    }
+
+    public final Timestamp getTimestamp()
+    {
+        final String methodName = AuditCursor.CNAME + "#getTimestamp()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.timestamp);
+        }
+
+        return this.timestamp;
+    }
+
+    public final long getAuditId()
+    {
+        final String methodName = AuditCursor.CNAME + "#getAuditId()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditId);
+        }
+
+        return this.auditId;
+    }
+
+    public final int getEntryCount()
+    {
+        final String methodName = AuditCursor.CNAME + "#getEntryCount()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.entryCount);
+        }
+
+        return this.entryCount;
+    }
+
+    @Override
+    public final String toString()
+    {
+        StringBuilder sBuilder = new StringBuilder()
+            .append("[" + this.getClass().getName() + "]" + UtilityConstants.LINE_BREAK + "{" + UtilityConstants.LINE_BREAK);
+
+        for (Field field : this.getClass().getDeclaredFields())
+        {
+            if (!(field.getName().equals("methodName")) &&
+                    (!(field.getName().equals("CNAME"))) &&
+                    (!(field.getName().equals("DEBUGGER"))) &&
+                    (!(field.getName().equals("DEBUG"))) &&
+                    (!(field.getName().equals("ERROR_RECORDER"))) &&
+                    (!(field.getName().equals("serialVersionUID"))))
+            {
+                try
+                {
+                    if (field.get(this) != null)
+                    {
+                        sBuilder.append("\t" + field.getName() + " --> " + field.get(this) + UtilityConstants.LINE_BREAK);
+                    }
+                }
+                catch (final IllegalAccessException iax) {}
+            }
+        }
+
+        sBuilder.append('}');
+
+        return sBuilder.toString();
+    }
+}
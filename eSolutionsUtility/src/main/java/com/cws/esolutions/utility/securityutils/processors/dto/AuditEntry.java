@@ -52,6 +52,7 @@ public class AuditEntry implements Serializable
     private List<String> hostInfo = null;
     private String applicationName = null;
     private List<String> accountInfo = null;
+    private long auditId = 0L;
 
     private static final String CNAME = AuditEntry.class.getName();
     private static final long serialVersionUID = 6162424573063066481L;
@@ -202,6 +203,19 @@ public class AuditEntry implements Serializable
         this.accountInfo = value;
     }
 
+    public final void setAuditId(final long value)
+    {
+        final String methodName = AuditEntry.CNAME + "#setAuditId(final long value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditId = value;
+    }
+
     public final String getApplicationName()
     {
         final String methodName = AuditEntry.CNAME + "#getApplicationName()";
@@ -345,6 +359,19 @@ public class AuditEntry implements Serializable
         return this.accountInfo;
     }
 
+    public final long getAuditId()
+    {
+        final String methodName = AuditEntry.CNAME + "#getAuditId()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditId);
+        }
+
+        return this.auditId;
+    }
+
     @Override
     public final String toString()
     {
@@ -32,6 +32,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
 import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditRollupInterval;
 /**
  * @author cws-khuntly
  * @version 1.0
@@ -42,6 +43,9 @@ public class AuditRequest implements Serializable
 	private int startRow = 0;
     private AuditEntry auditEntry = null;
     private List<String> hostInfo = null;
+    private AuditCursor cursor = null;
+    private AuditRollupInterval rollupInterval = null;
+    private int bucketCount = 0;
 
     private static final String CNAME = AuditRequest.class.getName();
     private static final long serialVersionUID = -2653808130602070325L;
@@ -88,6 +92,45 @@ public class AuditRequest implements Serializable
         this.startRow = value;
     }
 
+    public final void setCursor(final AuditCursor value)
+    {
+        final String methodName = AuditRequest.CNAME + "#setCursor(final AuditCursor value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.cursor = value;
+    }
+
+    public final void setRollupInterval(final AuditRollupInterval value)
+    {
+        final String methodName = AuditRequest.CNAME + "#setRollupInterval(final AuditRollupInterval value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.rollupInterval = value;
+    }
+
+    public final void setBucketCount(final int value)
+    {
+        final String methodName = AuditRequest.CNAME + "#setBucketCount(final int value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.bucketCount = value;
+    }
+
     public final List<String> getHostInfo()
     {
         final String methodName = AuditRequest.CNAME + "#getReqInfo()";
@@ -127,6 +170,45 @@ public class AuditRequest implements Serializable
         return this.startRow;
     }
 
+    public final AuditCursor getCursor()
+    {
+        final String methodName = AuditRequest.CNAME + "#getCursor()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.cursor);
+        }
+
+        return this.cursor;
+    }
+
+    public final AuditRollupInterval getRollupInterval()
+    {
+        final String methodName = AuditRequest.CNAME + "#getRollupInterval()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.rollupInterval);
+        }
+
+        return this.rollupInterval;
+    }
+
+    public final int getBucketCount()
+    {
+        final String methodName = AuditRequest.CNAME + "#getBucketCount()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.bucketCount);
+        }
+
+        return this.bucketCount;
+    }
+
     @Override
     public final String toString()
     {
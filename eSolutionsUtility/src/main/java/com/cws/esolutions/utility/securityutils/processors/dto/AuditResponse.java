@@ -43,6 +43,8 @@ public class AuditResponse implements Serializable
 	private int entryCount = 0;
     private List<AuditEntry> auditList = null;
     private AuditRequestStatus requestStatus = null;
+    private AuditCursor nextCursor = null;
+    private List<AuditRollup> rollupList = null;
 
     private static final String CNAME = AuditResponse.class.getName();
     private static final long serialVersionUID = -6944324117201453121L;
@@ -89,6 +91,32 @@ public class AuditResponse implements Serializable
         this.auditList = value;
     }
 
+    public final void setNextCursor(final AuditCursor value)
+    {
+        final String methodName = AuditResponse.CNAME + "#setNextCursor(final AuditCursor value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.nextCursor = value;
+    }
+
+    public final void setRollupList(final List<AuditRollup> value)
+    {
+        final String methodName = AuditResponse.CNAME + "#setRollupList(final List<AuditRollup> value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.rollupList = value;
+    }
+
     public final AuditRequestStatus getRequestStatus()
     {
         final String methodName = AuditResponse.CNAME + "#getRequestStatus()";
@@ -128,6 +156,32 @@ public class AuditResponse implements Serializable
         return this.auditList;
     }
 
+    public final AuditCursor getNextCursor()
+    {
+        final String methodName = AuditResponse.CNAME + "#getNextCursor()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.nextCursor);
+        }
+
+        return this.nextCursor;
+    }
+
+    public final List<AuditRollup> getRollupList()
+    {
+        final String methodName = AuditResponse.CNAME + "#getRollupList()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.rollupList);
+        }
+
+        return this.rollupList;
+    }
+
     @Override
     public final String toString()
     {
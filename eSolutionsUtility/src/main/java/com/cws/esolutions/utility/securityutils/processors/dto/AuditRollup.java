@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.dto;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.dto
+ * File: AuditRollup.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Date;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+
+import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditRollupInterval;
+/**
+ * Pre-aggregated audit count for one combination of action, user, application and authorization
+ * outcome, summed over the buckets of a rollup window.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+public class AuditRollup implements Serializable
+{
+    private long count = 0L;
+    private Date windowStart = null;
+    private AuditRollupInterval interval = null;
+    private AuditType auditType = null;
+    private String userGuid = null;
+    private String applicationId = null;
+    private Boolean authorized = null;
+
+    private static final String CNAME = AuditRollup.class.getName();
+    private static final long serialVersionUID = 3712854092211605537L;
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+
+    public final void setCount(final long value)
+    {
+        final String methodName = AuditRollup.CNAME + "#setCount(final long value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.count = value;
+    }
+
+    public final void setWindowStart(final Date value)
+    {
+        final String methodName = AuditRollup.CNAME + "#setWindowStart(final Date value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.windowStart = value;
+    }
+
+    public final void setInterval(final AuditRollupInterval value)
+    {
+        final String methodName = AuditRollup.CNAME + "#setInterval(final AuditRollupInterval value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.interval = value;
+    }
+
+    public final void setAuditType(final AuditType value)
+    {
+        final String methodName = AuditRollup.CNAME + "#setAuditType(final AuditType value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.auditType = value;
+    }
+
+    public final void setUserGuid(final String value)
+    {
+        final String methodName = AuditRollup.CNAME + "#setUserGuid(final String value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.userGuid = value;
+    }
+
+    public final void setApplicationId(final String value)
+    {
+        final String methodName = AuditRollup.CNAME + "#setApplicationId(final String value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.applicationId = value;
+    }
+
+    public final void setAuthorized(final Boolean value)
+    {
+        final String methodName = AuditRollup.CNAME + "#setAuthorized(final Boolean value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.authorized = value;
+    }
+
+    public final long getCount()
+    {
+        final String methodName = AuditRollup.CNAME + "#getCount()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.count);
+        }
+
+        return this.count;
+    }
+
+    public final Date getWindowStart()
+    {
+        final String methodName = AuditRollup.CNAME + "#getWindowStart()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.windowStart);
+        }
+
+        return this.windowStart;
+    }
+
+    public final AuditRollupInterval getInterval()
+    {
+        final String methodName = AuditRollup.CNAME + "#getInterval()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.interval);
+        }
+
+        return this.interval;
+    }
+
+    public final AuditType getAuditType()
+    {
+        final String methodName = AuditRollup.CNAME + "#getAuditType()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.auditType);
+        }
+
+        return this.auditType;
+    }
+
+    public final String getUserGuid()
+    {
+        final String methodName = AuditRollup.CNAME + "#getUserGuid()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.userGuid);
+        }
+
+        return this.userGuid;
+    }
+
+    public final String getApplicationId()
+    {
+        final String methodName = AuditRollup.CNAME + "#getApplicationId()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.applicationId);
+        }
+
+        return this.applicationId;
+    }
+
+    public final Boolean getAuthorized()
+    {
+        final String methodName = AuditRollup.CNAME + "#getAuthorized()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.authorized);
+        }
+
+        return this.authorized;
+    }
+
+    @Override
+    public final String toString()
+    {
+        StringBuilder sBuilder = new StringBuilder()
+            .append("[" + this.getClass().getName() + "]" + UtilityConstants.LINE_BREAK + "{" + UtilityConstants.LINE_BREAK);
+
+        for (Field field : this.getClass().getDeclaredFields())
+        {
+            if (!(field.getName().equals("methodName")) &&
+                    (!(field.getName().equals("CNAME"))) &&
+                    (!(field.getName().equals("DEBUGGER"))) &&
+                    (!(field.getName().equals("DEBUG"))) &&
+                    (!(field.getName().equals("ERROR_RECORDER"))) &&
+                    (!(field.getName().equals("serialVersionUID"))))
+            {
+                try
+                {
+                    if (field.get(this) != null)
+                    {
+                        sBuilder.append("\t" + field.getName() + " --> " + field.get(this) + UtilityConstants.LINE_BREAK);
+                    }
+                }
+                catch (final IllegalAccessException iax) {}
+            }
+        }
+
+        sBuilder.append('}');
+
+        return sBuilder.toString();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.enums;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.enums
+ * File: AuditOverflowPolicy.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+/**
+ * Determines what the audit writer does with a new record when its queue is full.
+ *
+ * <ul>
+ *   <li>BLOCK - the caller waits for space in the queue</li>
+ *   <li>DROP - the new record is discarded and counted</li>
+ *   <li>SYNCHRONOUS - the caller writes the record to the datastore itself</li>
+ *   <li>SPOOL - the caller appends the record to the local audit spool, or writes it to the datastore
+ *   itself if the spool is closed or full</li>
+ * </ul>
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public enum AuditOverflowPolicy
+{
+	BLOCK,
+	DROP,
+	SYNCHRONOUS,
+	SPOOL;
+}
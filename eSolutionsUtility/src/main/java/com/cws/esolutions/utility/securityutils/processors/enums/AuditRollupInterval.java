@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.enums;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.enums
+ * File: AuditRollupInterval.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+/**
+ * The bucket sizes kept by the audit rollups, along with the number of buckets of each size that
+ * are retained in memory.
+ *
+ * <ul>
+ *   <li>MINUTE - one minute buckets, kept for two hours</li>
+ *   <li>HOUR - one hour buckets, kept for seven days</li>
+ *   <li>DAY - one day buckets, kept for ninety days</li>
+ * </ul>
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public enum AuditRollupInterval
+{
+	MINUTE(60000L, 120),
+	HOUR(3600000L, 168),
+	DAY(86400000L, 90);
+
+    private final long millis;
+    private final int retention;
+
+    private AuditRollupInterval(final long millis, final int retention)
+    {
+        this.millis = millis;
+        this.retention = retention;
+    }
+
+    /**
+     * @return The length of a bucket, in milliseconds
+     */
+    public final long getMillis()
+    {
+        return this.millis;
+    }
+
+    /**
+     * @return The number of buckets retained
+     */
+    public final int getRetention()
+    {
+        return this.retention;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.enums;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.enums
+ * File: AuditTier.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+/**
+ * How much of an audited action is kept.
+ *
+ * <ul>
+ *   <li>ALWAYS - every event is logged, written to the audit datastore and counted in the rollups</li>
+ *   <li>SAMPLED - every event is counted; a configured fraction is also logged and written</li>
+ *   <li>AGGREGATED - events are only counted in the rollups</li>
+ *   <li>OFF - events are discarded</li>
+ * </ul>
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public enum AuditTier
+{
+	ALWAYS,
+	SAMPLED,
+	AGGREGATED,
+	OFF;
+}
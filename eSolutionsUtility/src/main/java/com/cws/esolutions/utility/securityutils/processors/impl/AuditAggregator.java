@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditAggregator.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.io.File;
+import java.util.Map;
+import java.util.Date;
+import java.util.List;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.nio.file.StandardCopyOption;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.coreutils.ThreadUtils;
+import com.cws.esolutions.utility.exception.UtilityException;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditRollup;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditRollupInterval;
+/**
+ * Incremental audit rollups. Every audited event increments a counter keyed by action, user GUID,
+ * application id and authorization outcome in the current minute, hour and day bucket, so questions
+ * such as "failed logons per user in the last hour" are answered from at most
+ * {@link AuditRollupInterval#getRetention()} buckets instead of the audit table. Buckets start on
+ * epoch-aligned boundaries (UTC) and are evicted once they fall out of retention.
+ *
+ * Counters live in memory. When {@link #open(String, long)} is given a snapshot file, the counters
+ * are loaded from it and written back to it periodically and on {@link #close()}; events recorded
+ * between the last snapshot and a crash are lost from the rollups but not from the audit table.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class AuditAggregator
+{
+    private static final int MAGIC = 0x41555252; // AURR
+    private static final int VERSION = 1;
+
+    private static volatile Thread persister = null;
+    private static volatile boolean running = false;
+    private static volatile File snapshotFile = null;
+
+    private static final Object lock = new Object();
+    private static final Map<AuditRollupInterval, ConcurrentSkipListMap<Long, ConcurrentHashMap<RollupKey, LongAdder>>> series = AuditAggregator.createSeries();
+
+    private static final String CNAME = AuditAggregator.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+    private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER + CNAME);
+
+    private AuditAggregator()
+    {
+    }
+
+    /**
+     * Loads the rollups from the snapshot file, if it exists, and starts writing them back to it
+     * every <code>persistInterval</code> milliseconds.
+     *
+     * @param snapshot - The path to the snapshot file
+     * @param persistInterval - The time, in milliseconds, between snapshots
+     * @throws UtilityException {@link com.cws.esolutions.utility.exception.UtilityException} if the
+     * interval is not positive or the snapshot cannot be read
+     */
+    public static void open(final String snapshot, final long persistInterval) throws UtilityException
+    {
+        final String methodName = AuditAggregator.CNAME + "#open(final String snapshot, final long persistInterval) throws UtilityException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", snapshot);
+            DEBUGGER.debug("Value: {}", persistInterval);
+        }
+
+        if (persistInterval <= 0)
+        {
+            throw new UtilityException("The audit rollup persist interval must be greater than zero.");
+        }
+
+        synchronized (AuditAggregator.lock)
+        {
+            if (AuditAggregator.snapshotFile != null)
+            {
+                return;
+            }
+
+            final File file = new File(snapshot);
+
+            if (file.exists())
+            {
+                try
+                {
+                    AuditAggregator.load(file);
+                }
+                catch (final IOException | IllegalArgumentException iox)
+                {
+                    throw new UtilityException(iox.getMessage(), iox);
+                }
+            }
+            else if ((file.getParentFile() != null) && (!(file.getParentFile().exists())))
+            {
+                file.getParentFile().mkdirs();
+            }
+
+            AuditAggregator.snapshotFile = file;
+            AuditAggregator.running = true;
+
+            Thread thread = new Thread(() -> AuditAggregator.persist(persistInterval), "AuditAggregator");
+            thread.setDaemon(true);
+            thread.start();
+
+            AuditAggregator.persister = thread;
+        }
+    }
+
+    /**
+     * Stops the periodic snapshots and writes a final one. The in-memory rollups are kept.
+     */
+    public static void close()
+    {
+        final String methodName = AuditAggregator.CNAME + "#close()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        final Thread current = AuditAggregator.persister;
+
+        AuditAggregator.running = false;
+
+        ThreadUtils.stop(current, 30000L);
+
+        synchronized (AuditAggregator.lock)
+        {
+            if (AuditAggregator.snapshotFile != null)
+            {
+                AuditAggregator.snapshot();
+            }
+
+            AuditAggregator.snapshotFile = null;
+            AuditAggregator.persister = null;
+        }
+    }
+
+    /**
+     * Counts an audited event in its minute, hour and day buckets.
+     *
+     * @param auditRecord - The audited event
+     */
+    public static void record(final AuditRecord auditRecord)
+    {
+        final RollupKey key = new RollupKey(auditRecord.getAuditType(), auditRecord.getUserGuid(), auditRecord.getApplicationId(), auditRecord.isAuthorized());
+
+        for (Map.Entry<AuditRollupInterval, ConcurrentSkipListMap<Long, ConcurrentHashMap<RollupKey, LongAdder>>> entry : AuditAggregator.series.entrySet())
+        {
+            AuditAggregator.bucket(entry.getKey(), entry.getValue(), auditRecord.getTimestamp())
+                .computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Sums the counters of the most recent buckets, one result per matching combination of action,
+     * user, application and outcome. A <code>null</code> filter matches every value.
+     *
+     * @param interval - The bucket size to read
+     * @param bucketCount - The number of buckets, ending with the current one, to sum. Capped at the
+     * retention of the interval
+     * @param auditType - The action to match
+     * @param userGuid - The user GUID to match
+     * @param applicationId - The application id to match
+     * @param authorized - The authorization outcome to match
+     * @return The matching rollups, largest count first
+     */
+    public static List<AuditRollup> query(final AuditRollupInterval interval, final int bucketCount, final AuditType auditType, final String userGuid,
+            final String applicationId, final Boolean authorized)
+    {
+        final String methodName = AuditAggregator.CNAME + "#query(final AuditRollupInterval interval, final int bucketCount, final AuditType auditType, final String userGuid, final String applicationId, final Boolean authorized)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", interval);
+            DEBUGGER.debug("Value: {}", bucketCount);
+            DEBUGGER.debug("Value: {}", auditType);
+            DEBUGGER.debug("Value: {}", userGuid);
+            DEBUGGER.debug("Value: {}", applicationId);
+            DEBUGGER.debug("Value: {}", authorized);
+        }
+
+        final long now = System.currentTimeMillis();
+        final int buckets = Math.min(Math.max(bucketCount, 1), interval.getRetention());
+        final long windowStart = now - Math.floorMod(now, interval.getMillis()) - ((buckets - 1) * interval.getMillis());
+        final Map<RollupKey, Long> totals = new HashMap<RollupKey, Long>();
+
+        for (ConcurrentHashMap<RollupKey, LongAdder> bucket : AuditAggregator.series.get(interval).tailMap(windowStart, true).values())
+        {
+            for (Map.Entry<RollupKey, LongAdder> entry : bucket.entrySet())
+            {
+                if (entry.getKey().matches(auditType, userGuid, applicationId, authorized))
+                {
+                    totals.merge(entry.getKey(), entry.getValue().sum(), Long::sum);
+                }
+            }
+        }
+
+        final List<AuditRollup> rollups = new ArrayList<AuditRollup>(totals.size());
+
+        for (Map.Entry<RollupKey, Long> total : totals.entrySet())
+        {
+            AuditRollup rollup = new AuditRollup();
+            rollup.setWindowStart(new Date(windowStart));
+            rollup.setInterval(interval);
+            rollup.setAuditType(total.getKey().auditType);
+            rollup.setUserGuid(total.getKey().userGuid);
+            rollup.setApplicationId(total.getKey().applicationId);
+            rollup.setAuthorized(Boolean.valueOf(total.getKey().authorized));
+            rollup.setCount(total.getValue().longValue());
+
+            rollups.add(rollup);
+        }
+
+        rollups.sort((first, second) -> Long.compare(second.getCount(), first.getCount()));
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug("List<AuditRollup>: {}", rollups);
+        }
+
+        return rollups;
+    }
+
+    /**
+     * Discards every in-memory counter.
+     */
+    static void clear()
+    {
+        for (ConcurrentSkipListMap<Long, ConcurrentHashMap<RollupKey, LongAdder>> buckets : AuditAggregator.series.values())
+        {
+            buckets.clear();
+        }
+    }
+
+    private static Map<AuditRollupInterval, ConcurrentSkipListMap<Long, ConcurrentHashMap<RollupKey, LongAdder>>> createSeries()
+    {
+        final Map<AuditRollupInterval, ConcurrentSkipListMap<Long, ConcurrentHashMap<RollupKey, LongAdder>>> created =
+            new EnumMap<AuditRollupInterval, ConcurrentSkipListMap<Long, ConcurrentHashMap<RollupKey, LongAdder>>>(AuditRollupInterval.class);
+
+        for (AuditRollupInterval interval : AuditRollupInterval.values())
+        {
+            created.put(interval, new ConcurrentSkipListMap<Long, ConcurrentHashMap<RollupKey, LongAdder>>());
+        }
+
+        return created;
+    }
+
+    private static ConcurrentHashMap<RollupKey, LongAdder> bucket(final AuditRollupInterval interval,
+            final ConcurrentSkipListMap<Long, ConcurrentHashMap<RollupKey, LongAdder>> buckets, final long timestamp)
+    {
+        final Long start = Long.valueOf(timestamp - Math.floorMod(timestamp, interval.getMillis()));
+        ConcurrentHashMap<RollupKey, LongAdder> bucket = buckets.get(start);
+
+        if (bucket == null)
+        {
+            bucket = buckets.computeIfAbsent(start, k -> new ConcurrentHashMap<RollupKey, LongAdder>());
+
+            // a new bucket - drop whatever fell out of retention
+            buckets.headMap(start.longValue() - ((interval.getRetention() - 1) * interval.getMillis())).clear();
+        }
+
+        return bucket;
+    }
+
+    private static void persist(final long persistInterval)
+    {
+        while (ThreadUtils.pause(persistInterval, () -> AuditAggregator.running))
+        {
+            synchronized (AuditAggregator.lock)
+            {
+                AuditAggregator.snapshot();
+            }
+        }
+    }
+
+    private static void snapshot()
+    {
+        final File file = AuditAggregator.snapshotFile;
+        final File temp = new File(file.getPath() + ".tmp");
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp))))
+        {
+            output.writeInt(AuditAggregator.MAGIC);
+            output.writeInt(AuditAggregator.VERSION);
+            output.writeInt(AuditAggregator.series.size());
+
+            for (Map.Entry<AuditRollupInterval, ConcurrentSkipListMap<Long, ConcurrentHashMap<RollupKey, LongAdder>>> entry : AuditAggregator.series.entrySet())
+            {
+                // copied first - the live maps may grow while they are written
+                final List<Map.Entry<Long, ConcurrentHashMap<RollupKey, LongAdder>>> buckets =
+                    new ArrayList<Map.Entry<Long, ConcurrentHashMap<RollupKey, LongAdder>>>(entry.getValue().entrySet());
+
+                output.writeUTF(entry.getKey().name());
+                output.writeInt(buckets.size());
+
+                for (Map.Entry<Long, ConcurrentHashMap<RollupKey, LongAdder>> bucket : buckets)
+                {
+                    final Map<RollupKey, Long> counters = new HashMap<RollupKey, Long>(bucket.getValue().size());
+
+                    for (Map.Entry<RollupKey, LongAdder> counter : bucket.getValue().entrySet())
+                    {
+                        counters.put(counter.getKey(), counter.getValue().sum());
+                    }
+
+                    output.writeLong(bucket.getKey().longValue());
+                    output.writeInt(counters.size());
+
+                    for (Map.Entry<RollupKey, Long> counter : counters.entrySet())
+                    {
+                        counter.getKey().write(output);
+                        output.writeLong(counter.getValue().longValue());
+                    }
+                }
+            }
+        }
+        catch (final IOException iox)
+        {
+            ERROR_RECORDER.error(iox.getMessage(), iox);
+
+            return;
+        }
+
+        try
+        {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (final IOException iox)
+        {
+            ERROR_RECORDER.error(iox.getMessage(), iox);
+        }
+    }
+
+    private static void load(final File file) throws IOException
+    {
+        final long now = System.currentTimeMillis();
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+        {
+            if ((input.readInt() != AuditAggregator.MAGIC) || (input.readInt() != AuditAggregator.VERSION))
+            {
+                throw new IOException("The audit rollup snapshot " + file + " is not readable by this version.");
+            }
+
+            final int intervals = input.readInt();
+
+            for (int x = 0; x < intervals; x++)
+            {
+                final AuditRollupInterval interval = AuditRollupInterval.valueOf(input.readUTF());
+                final ConcurrentSkipListMap<Long, ConcurrentHashMap<RollupKey, LongAdder>> buckets = AuditAggregator.series.get(interval);
+                final long oldest = now - Math.floorMod(now, interval.getMillis()) - ((interval.getRetention() - 1) * interval.getMillis());
+                final int bucketCount = input.readInt();
+
+                for (int y = 0; y < bucketCount; y++)
+                {
+                    final long start = input.readLong();
+                    final int counterCount = input.readInt();
+                    final ConcurrentHashMap<RollupKey, LongAdder> bucket = (start < oldest) ? null : buckets.computeIfAbsent(Long.valueOf(start), k -> new ConcurrentHashMap<RollupKey, LongAdder>());
+
+                    for (int z = 0; z < counterCount; z++)
+                    {
+                        final RollupKey key = RollupKey.read(input);
+                        final long count = input.readLong();
+
+                        if (bucket != null)
+                        {
+                            bucket.computeIfAbsent(key, k -> new LongAdder()).add(count);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug("Loaded audit rollups from {}", file);
+        }
+    }
+
+    private static final class RollupKey
+    {
+        private final AuditType auditType;
+        private final String userGuid;
+        private final String applicationId;
+        private final boolean authorized;
+        private final int hash;
+
+        private RollupKey(final AuditType auditType, final String userGuid, final String applicationId, final boolean authorized)
+        {
+            this.auditType = auditType;
+            this.userGuid = userGuid;
+            this.applicationId = applicationId;
+            this.authorized = authorized;
+            this.hash = (((((Objects.hashCode(auditType) * 31) + Objects.hashCode(userGuid)) * 31) + Objects.hashCode(applicationId)) * 31) + Boolean.hashCode(authorized);
+        }
+
+        private boolean matches(final AuditType type, final String guid, final String applId, final Boolean isAuthorized)
+        {
+            return ((type == null) || (type == this.auditType))
+                && ((guid == null) || (guid.equals(this.userGuid)))
+                && ((applId == null) || (applId.equals(this.applicationId)))
+                && ((isAuthorized == null) || (isAuthorized.booleanValue() == this.authorized));
+        }
+
+        private void write(final DataOutputStream output) throws IOException
+        {
+            output.writeUTF(this.auditType.name());
+            RollupKey.writeNullable(output, this.userGuid);
+            RollupKey.writeNullable(output, this.applicationId);
+            output.writeBoolean(this.authorized);
+        }
+
+        private static RollupKey read(final DataInputStream input) throws IOException
+        {
+            return new RollupKey(AuditType.valueOf(input.readUTF()), RollupKey.readNullable(input), RollupKey.readNullable(input), input.readBoolean());
+        }
+
+        private static void writeNullable(final DataOutputStream output, final String value) throws IOException
+        {
+            output.writeBoolean(value != null);
+
+            if (value != null)
+            {
+                output.writeUTF(value);
+            }
+        }
+
+        private static String readNullable(final DataInputStream input) throws IOException
+        {
+            return (input.readBoolean()) ? input.readUTF() : null;
+        }
+
+        @Override
+        public boolean equals(final Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+
+            if (!(object instanceof RollupKey))
+            {
+                return false;
+            }
+
+            final RollupKey other = (RollupKey) object;
+
+            return (this.auditType == other.auditType) && (this.authorized == other.authorized)
+                && (Objects.equals(this.userGuid, other.userGuid)) && (Objects.equals(this.applicationId, other.applicationId));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hash;
+        }
+    }
+}
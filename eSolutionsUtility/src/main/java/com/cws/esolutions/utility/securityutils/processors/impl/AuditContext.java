@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditContext.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.sql.SQLException;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+
+import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+/**
+ * Audit state for a single operation. A processor binds the context once, when the request
+ * arrives, with the requesting user, session, application and source host, and then records the
+ * outcome of the operation with {@link #audit(AuditType, boolean)}.
+ *
+ * Only the first event recorded through a context is audited; later calls are ignored. A
+ * processor that audits an unauthorized request and returns can therefore leave its
+ * <code>finally</code> audit in place without the operation being audited twice. Events go
+ * straight to the audit policy and writer, without an intermediate
+ * {@link com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry} or
+ * {@link com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest}.
+ *
+ * A context belongs to the thread handling the request and is not safe for concurrent use.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class AuditContext
+{
+    private final boolean enabled;
+    private final String sessionId;
+    private final String applicationId;
+    private final String applicationName;
+    private final String hostAddress;
+    private final String hostName;
+
+    // the user may only be known part way through the operation, see identify()
+    private String userName = null;
+    private String userGuid = null;
+    private String userRole = null;
+
+    private AuditType auditType = null;
+
+    private static final String CNAME = AuditContext.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+    private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER + CNAME);
+
+    /**
+     * @param enabled - <code>false</code> to bind a context that records nothing, e.g. when auditing
+     * is turned off in the security configuration
+     * @param sessionId - The session the request belongs to
+     * @param userName - The requesting user's name
+     * @param userGuid - The requesting user's GUID
+     * @param userRole - The requesting user's role
+     * @param applicationId - The calling application's id
+     * @param applicationName - The calling application's name
+     * @param hostAddress - The address the request came from
+     * @param hostName - The host the request came from
+     */
+    public AuditContext(final boolean enabled, final String sessionId, final String userName, final String userGuid, final String userRole,
+        final String applicationId, final String applicationName, final String hostAddress, final String hostName)
+    {
+        this.enabled = enabled;
+        this.sessionId = sessionId;
+        this.userName = userName;
+        this.userGuid = userGuid;
+        this.userRole = userRole;
+        this.applicationId = applicationId;
+        this.applicationName = applicationName;
+        this.hostAddress = hostAddress;
+        this.hostName = hostName;
+    }
+
+    /**
+     * Replaces the user the context was bound with. Used where the user is only resolved during the
+     * operation, such as a logon, and must be called before the event is recorded.
+     *
+     * @param guid - The user's GUID
+     * @param name - The user's name
+     * @param role - The user's role
+     */
+    public void identify(final String guid, final String name, final String role)
+    {
+        this.userGuid = guid;
+        this.userName = name;
+        this.userRole = role;
+    }
+
+    /**
+     * Records the outcome of the operation, unless an event has already been recorded through this
+     * context. Failures are logged and never reach the caller.
+     *
+     * @param type - The {@link AuditType} of the operation
+     * @param authorized - <code>true</code> if the requesting user was authorized for the operation
+     * @return <code>true</code> if this call recorded the event
+     */
+    public boolean audit(final AuditType type, final boolean authorized)
+    {
+        final String methodName = AuditContext.CNAME + "#audit(final AuditType type, final boolean authorized)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", type);
+            DEBUGGER.debug("Value: {}", authorized);
+        }
+
+        if ((!(this.enabled)) || (this.auditType != null))
+        {
+            return false;
+        }
+
+        this.auditType = type;
+
+        try
+        {
+            AuditProcessorImpl.record(this.sessionId, this.userName, this.userGuid, this.userRole, type, authorized,
+                this.applicationId, this.applicationName, this.hostAddress, this.hostName);
+        }
+        catch (final SQLException sqx)
+        {
+            ERROR_RECORDER.error(sqx.getMessage(), sqx);
+        }
+
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> once an event has been recorded through this context
+     */
+    public boolean isAudited()
+    {
+        return this.auditType != null;
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return new StringBuilder(128).append(AuditContext.CNAME).append("[sessionId=").append(this.sessionId)
+            .append(", userGuid=").append(this.userGuid).append(", applicationId=").append(this.applicationId)
+            .append(", hostAddress=").append(this.hostAddress).append(", auditType=").append(this.auditType).append(']').toString();
+    }
+}
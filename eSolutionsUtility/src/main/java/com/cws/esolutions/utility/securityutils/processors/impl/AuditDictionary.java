@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditDictionary.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+/**
+ * Process-wide dictionary for the low-cardinality audit fields - user role, application id,
+ * application name and source host. Each distinct value is stored once and referenced from
+ * {@link AuditRecord} by its integer code. The dictionary is bounded; once it is full, values that
+ * are not already coded are kept as plain strings on the record instead.
+ *
+ * Codes are only meaningful within the running process and are never persisted.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+final class AuditDictionary
+{
+    static final int NULL_CODE = -1;
+    static final int UNCODED = -2;
+    static final int CAPACITY = 4096;
+
+    private static volatile int size = 0;
+
+    private static final Map<String, Integer> codes = new ConcurrentHashMap<String, Integer>(256);
+    private static final AtomicReferenceArray<String> values = new AtomicReferenceArray<String>(AuditDictionary.CAPACITY);
+
+    private AuditDictionary()
+    {
+    }
+
+    /**
+     * Returns the code for the given value, adding the value to the dictionary if it is not
+     * already present.
+     *
+     * @param value - The value to code
+     * @return The code for the value, {@link #NULL_CODE} for <code>null</code>, or {@link #UNCODED}
+     * if the dictionary is full
+     */
+    static int encode(final String value)
+    {
+        if (value == null)
+        {
+            return AuditDictionary.NULL_CODE;
+        }
+
+        Integer code = AuditDictionary.codes.get(value);
+
+        if (code != null)
+        {
+            return code.intValue();
+        }
+
+        synchronized (AuditDictionary.codes)
+        {
+            code = AuditDictionary.codes.get(value);
+
+            if (code != null)
+            {
+                return code.intValue();
+            }
+
+            final int next = AuditDictionary.size;
+
+            if (next == AuditDictionary.CAPACITY)
+            {
+                return AuditDictionary.UNCODED;
+            }
+
+            // publish the value before the code so a reader never sees an empty slot
+            AuditDictionary.values.set(next, value);
+            AuditDictionary.codes.put(value, Integer.valueOf(next));
+            AuditDictionary.size = next + 1;
+
+            return next;
+        }
+    }
+
+    /**
+     * @param code - A code returned by {@link #encode(String)}
+     * @return The value for the code, or <code>null</code> for {@link #NULL_CODE}
+     */
+    static String decode(final int code)
+    {
+        return (code < 0) ? null : AuditDictionary.values.get(code);
+    }
+
+    /**
+     * @return The number of values currently held
+     */
+    static int size()
+    {
+        return AuditDictionary.size;
+    }
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditMetrics.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import java.util.List;
+import java.util.TreeMap;
+import javax.management.ObjectName;
+import javax.management.JMException;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.coreutils.Histogram;
+import com.cws.esolutions.utility.coreutils.MBeanUtils;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics;
+/**
+ * Counters and histograms for the audit pipeline. The {@link AuditWriter} reports every submitted
+ * record, every datastore write and every batch here; the remaining figures are read from the
+ * writer, the {@link AuditSpool}, the {@link AuditPolicy} and the {@link AuditDictionary} when the
+ * metrics are read.
+ *
+ * Per-type counters are indexed by the ordinal of the {@link AuditType} and histograms use
+ * power-of-two buckets ({@link Histogram}), so recording is a handful of {@link LongAdder} increments with no
+ * allocation. {@link #register(String)} exposes the metrics through the platform MBean server.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class AuditMetrics implements IAuditMetrics
+{
+    public static final String OBJECT_NAME = "com.cws.esolutions.utility:type=AuditMetrics";
+
+    private static final AuditType[] TYPES = AuditType.values();
+    private static final int UNTYPED = AuditMetrics.TYPES.length;
+    private static final int LATENCY_BUCKETS = 32;
+    private static final int BATCH_BUCKETS = 16;
+
+    private static final LongAdder[] enqueued = AuditMetrics.adders(AuditMetrics.UNTYPED + 1);
+    private static final LongAdder[] backlog = AuditMetrics.adders(AuditMetrics.UNTYPED + 1);
+    private static final LongAdder[] failures = AuditMetrics.adders(AuditMetrics.UNTYPED + 1);
+    private static final Histogram latency = new Histogram(AuditMetrics.LATENCY_BUCKETS);
+    private static final Histogram batches = new Histogram(AuditMetrics.BATCH_BUCKETS);
+
+    private static final AuditMetrics INSTANCE = new AuditMetrics();
+    private static volatile ObjectName registered = null;
+
+    private static final String CNAME = AuditMetrics.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+    private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER + CNAME);
+
+    private AuditMetrics()
+    {
+    }
+
+    /**
+     * @return The metrics instance, for callers that read the metrics without going through JMX
+     */
+    public static IAuditMetrics getInstance()
+    {
+        return AuditMetrics.INSTANCE;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server as <code>{@value #OBJECT_NAME},name=&lt;name&gt;</code>.
+     * Calling it again while registered has no effect; a failure, including a name already registered by
+     * another deployment, is logged and auditing carries on without the MBean.
+     *
+     * @param name - A name for this deployment, or blank to use one unique to this class loader
+     */
+    public static synchronized void register(final String name)
+    {
+        final String methodName = AuditMetrics.CNAME + "#register(final String name)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", name);
+        }
+
+        if (AuditMetrics.registered != null)
+        {
+            return;
+        }
+
+        try
+        {
+            AuditMetrics.registered = MBeanUtils.register(AuditMetrics.INSTANCE, AuditMetrics.OBJECT_NAME, name);
+        }
+        catch (final JMException jmx)
+        {
+            ERROR_RECORDER.error(jmx.getMessage(), jmx);
+        }
+    }
+
+    /**
+     * @return The name the metrics are registered under, or <code>null</code> if they are not registered
+     */
+    public static ObjectName getObjectName()
+    {
+        return AuditMetrics.registered;
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server. The counters keep running.
+     */
+    public static synchronized void unregister()
+    {
+        final String methodName = AuditMetrics.CNAME + "#unregister()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        if (AuditMetrics.registered == null)
+        {
+            return;
+        }
+
+        try
+        {
+            MBeanUtils.unregister(AuditMetrics.registered);
+        }
+        catch (final JMException jmx)
+        {
+            ERROR_RECORDER.error(jmx.getMessage(), jmx);
+        }
+        finally
+        {
+            AuditMetrics.registered = null;
+        }
+    }
+
+    /**
+     * A record was handed to the writer.
+     */
+    static void submitted(final AuditRecord auditRecord)
+    {
+        AuditMetrics.enqueued[AuditMetrics.index(auditRecord)].increment();
+    }
+
+    /**
+     * A record is about to be placed on the writer queue, or, with <code>added</code> false, could
+     * not be placed after all.
+     */
+    static void queued(final AuditRecord auditRecord, final boolean added)
+    {
+        AuditMetrics.backlog[AuditMetrics.index(auditRecord)].add((added) ? 1L : -1L);
+    }
+
+    /**
+     * A batch taken from the writer queue was written, or failed to write, in <code>nanos</code>.
+     */
+    static void batchWritten(final List<AuditRecord> batch, final long nanos, final boolean failed)
+    {
+        for (AuditRecord auditRecord : batch)
+        {
+            final int index = AuditMetrics.index(auditRecord);
+
+            AuditMetrics.backlog[index].decrement();
+
+            if (failed)
+            {
+                AuditMetrics.failures[index].increment();
+            }
+        }
+
+        AuditMetrics.batches.record(batch.size());
+        AuditMetrics.timed(nanos);
+    }
+
+    /**
+     * A single record was written, or failed to write, on the calling thread in <code>nanos</code>.
+     */
+    static void recordWritten(final AuditRecord auditRecord, final long nanos, final boolean failed)
+    {
+        if (failed)
+        {
+            AuditMetrics.failures[AuditMetrics.index(auditRecord)].increment();
+        }
+
+        AuditMetrics.timed(nanos);
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getEnqueuedCount()
+     */
+    public long getEnqueuedCount()
+    {
+        return AuditMetrics.sum(AuditMetrics.enqueued);
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getEnqueuedByType()
+     */
+    public Map<String, Long> getEnqueuedByType()
+    {
+        return AuditMetrics.byType(AuditMetrics.enqueued);
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getWrittenCount()
+     */
+    public long getWrittenCount()
+    {
+        return AuditWriter.getWrittenCount();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getDroppedCount()
+     */
+    public long getDroppedCount()
+    {
+        return AuditWriter.getDroppedCount();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getLostCount()
+     */
+    public long getLostCount()
+    {
+        return AuditWriter.getFailedCount();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getWriteFailureCount()
+     */
+    public long getWriteFailureCount()
+    {
+        return AuditMetrics.sum(AuditMetrics.failures);
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getWriteFailuresByType()
+     */
+    public Map<String, Long> getWriteFailuresByType()
+    {
+        return AuditMetrics.byType(AuditMetrics.failures);
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getQueueDepth()
+     */
+    public int getQueueDepth()
+    {
+        return AuditWriter.getQueueDepth();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getBacklogByType()
+     */
+    public Map<String, Long> getBacklogByType()
+    {
+        return AuditMetrics.byType(AuditMetrics.backlog);
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getWriteCount()
+     */
+    public long getWriteCount()
+    {
+        return AuditMetrics.latency.getCount();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getWriteLatencyMeanMicros()
+     */
+    public double getWriteLatencyMeanMicros()
+    {
+        return AuditMetrics.latency.getMean();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getWriteLatencyMaxMicros()
+     */
+    public long getWriteLatencyMaxMicros()
+    {
+        return AuditMetrics.latency.getMax();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getWriteLatencyPercentiles()
+     */
+    public Map<String, Long> getWriteLatencyPercentiles()
+    {
+        return AuditMetrics.latency.getPercentiles();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getWriteLatencyHistogram()
+     */
+    public Map<String, Long> getWriteLatencyHistogram()
+    {
+        return AuditMetrics.latency.toMap();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getBatchCount()
+     */
+    public long getBatchCount()
+    {
+        return AuditMetrics.batches.getCount();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getBatchSizeHistogram()
+     */
+    public Map<String, Long> getBatchSizeHistogram()
+    {
+        return AuditMetrics.batches.toMap();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getSpoolPendingBytes()
+     */
+    public int getSpoolPendingBytes()
+    {
+        return AuditSpool.getPendingBytes();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getSpooledCount()
+     */
+    public long getSpooledCount()
+    {
+        return AuditSpool.getSpooledCount();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getReplayedCount()
+     */
+    public long getReplayedCount()
+    {
+        return AuditSpool.getReplayedCount();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getSuppressedCount()
+     */
+    public long getSuppressedCount()
+    {
+        return AuditPolicy.getSuppressedCount();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics#getDictionarySize()
+     */
+    public int getDictionarySize()
+    {
+        return AuditDictionary.size();
+    }
+
+    private static void timed(final long nanos)
+    {
+        AuditMetrics.latency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    private static int index(final AuditRecord auditRecord)
+    {
+        final AuditType auditType = auditRecord.getAuditType();
+
+        return (auditType == null) ? AuditMetrics.UNTYPED : auditType.ordinal();
+    }
+
+    private static Map<String, Long> byType(final LongAdder[] counters)
+    {
+        final Map<String, Long> byType = new TreeMap<String, Long>();
+
+        for (int x = 0; x < counters.length; x++)
+        {
+            final long count = counters[x].sum();
+
+            if (count != 0L)
+            {
+                byType.put((x == AuditMetrics.UNTYPED) ? "NONE" : AuditMetrics.TYPES[x].name(), count);
+            }
+        }
+
+        return byType;
+    }
+
+    private static long sum(final LongAdder[] counters)
+    {
+        long sum = 0L;
+
+        for (LongAdder counter : counters)
+        {
+            sum += counter.sum();
+        }
+
+        return sum;
+    }
+
+    private static LongAdder[] adders(final int size)
+    {
+        final LongAdder[] adders = new LongAdder[size];
+
+        for (int x = 0; x < size; x++)
+        {
+            adders[x] = new LongAdder();
+        }
+
+        return adders;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditPolicy.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.List;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Collections;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditTier;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+/**
+ * Decides, per {@link AuditType}, which {@link AuditTier} an audited event is routed to, so that
+ * high-volume read audits can be sampled or kept only as rollup counters while security-relevant
+ * events keep full fidelity.
+ *
+ * Logons, logoffs, password, key, security question and role changes, account lifecycle changes
+ * and any event that was not authorized are always {@link AuditTier#ALWAYS}, whatever the
+ * configuration says. Until {@link #configure(AuditTier, double, List, List, List)} is called every
+ * action is {@link AuditTier#ALWAYS}.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class AuditPolicy
+{
+    private static final EnumSet<AuditType> PINNED = EnumSet.of(AuditType.LOGON, AuditType.LOGOFF, AuditType.FORCELOGOFF,
+        AuditType.CHANGEPASS, AuditType.RESETPASS, AuditType.CHANGEKEYS, AuditType.CHANGESECURITY, AuditType.CHANGEROLE,
+        AuditType.CREATEUSER, AuditType.MODIFYUSER, AuditType.DELETEUSER, AuditType.SUSPENDUSER, AuditType.PSUSPENDUSER,
+        AuditType.UNSUSPENDUSER, AuditType.LOCKUSER, AuditType.UNLOCKUSER, AuditType.MODIFYLOCKOUT);
+
+    private static volatile double sampleRate = 1.0;
+    private static volatile AuditTier[] tiers = AuditPolicy.createTiers(AuditTier.ALWAYS);
+
+    private static final LongAdder suppressed = new LongAdder();
+
+    private static final String CNAME = AuditPolicy.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+
+    private AuditPolicy()
+    {
+    }
+
+    /**
+     * Applies the audit policy. Actions named in more than one list take the most detailed tier.
+     *
+     * @param defaultTier - The tier for actions not named in any list. <code>null</code> for
+     * {@link AuditTier#ALWAYS}
+     * @param rate - The fraction, between 0 and 1, of sampled events that are logged and written
+     * @param sampled - The actions to sample
+     * @param aggregated - The actions to keep only as rollup counters
+     * @param disabled - The actions to discard
+     */
+    public static synchronized void configure(final AuditTier defaultTier, final double rate, final List<AuditType> sampled,
+            final List<AuditType> aggregated, final List<AuditType> disabled)
+    {
+        final String methodName = AuditPolicy.CNAME + "#configure(final AuditTier defaultTier, final double rate, final List<AuditType> sampled, final List<AuditType> aggregated, final List<AuditType> disabled)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", defaultTier);
+            DEBUGGER.debug("Value: {}", rate);
+            DEBUGGER.debug("Value: {}", sampled);
+            DEBUGGER.debug("Value: {}", aggregated);
+            DEBUGGER.debug("Value: {}", disabled);
+        }
+
+        final AuditTier[] configured = AuditPolicy.createTiers((defaultTier == null) ? AuditTier.ALWAYS : defaultTier);
+
+        // least detailed first, so an action listed twice ends up with the more detailed tier
+        AuditPolicy.assign(configured, disabled, AuditTier.OFF);
+        AuditPolicy.assign(configured, aggregated, AuditTier.AGGREGATED);
+        AuditPolicy.assign(configured, sampled, AuditTier.SAMPLED);
+
+        for (AuditType pinned : AuditPolicy.PINNED)
+        {
+            configured[pinned.ordinal()] = AuditTier.ALWAYS;
+        }
+
+        AuditPolicy.sampleRate = Math.min(Math.max(rate, 0.0), 1.0);
+        AuditPolicy.tiers = configured;
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug("AuditTiers: {}", Arrays.asList(configured));
+        }
+    }
+
+    /**
+     * @param auditType - The audited action
+     * @param authorized - Whether the action was authorized
+     * @return <code>false</code> if the event would be discarded, so callers can skip building the
+     * audit request altogether
+     */
+    public static boolean isAudited(final AuditType auditType, final boolean authorized)
+    {
+        return AuditPolicy.getTier(auditType, authorized) != AuditTier.OFF;
+    }
+
+    /**
+     * @param auditType - The audited action
+     * @param authorized - Whether the action was authorized
+     * @return The tier the event is routed to
+     */
+    public static AuditTier getTier(final AuditType auditType, final boolean authorized)
+    {
+        if ((!(authorized)) || (auditType == null))
+        {
+            return AuditTier.ALWAYS;
+        }
+
+        return AuditPolicy.tiers[auditType.ordinal()];
+    }
+
+    /**
+     * Decides whether an event of the given tier is logged and written to the audit datastore, as
+     * opposed to only being counted in the rollups, or discarded.
+     *
+     * @param tier - The tier the event was routed to
+     * @return <code>true</code> to log and write the event
+     */
+    public static boolean isRecorded(final AuditTier tier)
+    {
+        final boolean recorded;
+
+        switch (tier)
+        {
+            case ALWAYS:
+                recorded = true;
+
+                break;
+            case SAMPLED:
+                final double rate = AuditPolicy.sampleRate;
+
+                recorded = (rate >= 1.0) || (ThreadLocalRandom.current().nextDouble() < rate);
+
+                break;
+            default:
+                recorded = false;
+
+                break;
+        }
+
+        if (!(recorded))
+        {
+            AuditPolicy.suppressed.increment();
+        }
+
+        return recorded;
+    }
+
+    /**
+     * @return The number of events that were counted or discarded without being written
+     */
+    public static long getSuppressedCount()
+    {
+        return AuditPolicy.suppressed.sum();
+    }
+
+    private static AuditTier[] createTiers(final AuditTier defaultTier)
+    {
+        final AuditTier[] created = new AuditTier[AuditType.values().length];
+
+        Arrays.fill(created, defaultTier);
+
+        return created;
+    }
+
+    private static void assign(final AuditTier[] configured, final List<AuditType> auditTypes, final AuditTier tier)
+    {
+        for (AuditType auditType : (auditTypes == null) ? Collections.<AuditType>emptyList() : auditTypes)
+        {
+            configured[auditType.ordinal()] = tier;
+        }
+    }
+}
@@ -25,22 +25,20 @@ package com.cws.esolutions.utility.securityutils.processors.impl;
  * ----------------------------------------------------------------------------
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
-import java.util.Date;
 import java.util.List;
-import java.util.Arrays;
 import java.util.Objects;
 import java.sql.Timestamp;
-import java.util.ArrayList;
-import java.net.InetAddress;
 import java.sql.SQLException;
-import java.net.UnknownHostException;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.RandomStringUtils;
 
+import com.cws.esolutions.utility.coreutils.NodeIdentity;
 import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
-import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditRollup;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditCursor;
 import com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest;
 import com.cws.esolutions.utility.securityutils.processors.dto.AuditResponse;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditTier;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
 import com.cws.esolutions.utility.securityutils.processors.enums.AuditRequestStatus;
 import com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditProcessor;
 import com.cws.esolutions.utility.securityutils.processors.exception.AuditServiceException;
@@ -50,6 +48,7 @@ import com.cws.esolutions.utility.securityutils.processors.exception.AuditServic
 public class AuditProcessorImpl implements IAuditProcessor
 {
     private static final String CNAME = AuditProcessorImpl.class.getName();
+    private static final int PAGE_SIZE = 20;
 
     /**
      * @see com.cws.esolutions.security.processors.interfaces.IAuditProcessor#auditRequest(com.cws.esolutions.security.processors.dto.AuditRequest)
@@ -75,37 +74,14 @@ public class AuditProcessorImpl implements IAuditProcessor
 
         try
         {
-            List<String> auditList = new ArrayList<String>();
-            auditList.add((StringUtils.isEmpty(auditEntry.getSessionId())) ? RandomStringUtils.randomAlphanumeric(128) : auditEntry.getSessionId()); // sessionid
-            auditList.add((StringUtils.isEmpty(auditEntry.getUserName())) ? "WEBUSR" : auditEntry.getUserName()); // username
-            auditList.add((StringUtils.isEmpty(auditEntry.getUserGuid())) ? "918671b2-662e-4499-9fd3-1e4e88e0fba2" : auditEntry.getUserGuid()); // userguid
-            auditList.add((Objects.isNull(auditEntry.getUserRole())) ? "WEBROLE" : auditEntry.getUserRole()); // userrole
-            auditList.add((StringUtils.isEmpty(auditEntry.getAuditType().toString())) ? "NONE" : String.valueOf(auditEntry.getAuditType())); // useraction
-            auditList.add((Objects.isNull(auditEntry.getAuthorized())) ? "FALSE" : String.valueOf(auditEntry.getAuthorized()));// userrole
-            auditList.add((StringUtils.isEmpty(auditEntry.getApplicationId())) ? "SecurityServicesDefault" : auditEntry.getApplicationId()); // applid
-            auditList.add((StringUtils.isEmpty(auditEntry.getApplicationName())) ? "SecurityServicesDefault" : auditEntry.getApplicationName()); // applname
-            auditList.add((StringUtils.isEmpty(reqInfo.get(0))) ? InetAddress.getLocalHost().getHostAddress() : reqInfo.get(0)); // srcaddr
-            auditList.add((StringUtils.isEmpty(reqInfo.get(1))) ? InetAddress.getLocalHost().getHostName() : reqInfo.get(1)); // srchost
-
-            if (DEBUG)
-            {
-                DEBUGGER.debug("auditList: {}", auditList);
-            }
-
-            // log it ..
-            AUDIT_RECORDER.info("AUDIT: AuditEntry: " + auditEntry + ", Host: " + reqInfo);
-
-            // .. and stuff in in the db
-            auditDAO.auditRequestedOperation(auditList);
+            AuditProcessorImpl.record(auditEntry.getSessionId(), auditEntry.getUserName(), auditEntry.getUserGuid(), auditEntry.getUserRole(),
+                auditEntry.getAuditType(), (Objects.nonNull(auditEntry.getAuthorized())) && (auditEntry.getAuthorized().booleanValue()),
+                auditEntry.getApplicationId(), auditEntry.getApplicationName(), reqInfo.get(0), reqInfo.get(1));
         }
         catch (final SQLException sqx)
         {
             ERROR_RECORDER.error(sqx.getMessage(), sqx);
         }
-        catch (UnknownHostException uhx)
-        {
-        	ERROR_RECORDER.error(uhx.getMessage(), uhx);
-        }
     }
 
     /**
@@ -132,76 +108,50 @@ public class AuditProcessorImpl implements IAuditProcessor
 
         try
         {
-        	List<Object> dataResponse = auditDAO.getAuditInterval(auditEntry.getUserGuid(), request.getStartRow());
+            List<AuditEntry> auditList = null;
+            final boolean offsetPaging = (Objects.isNull(request.getCursor())) && (request.getStartRow() > 0);
+
+            if (offsetPaging)
+            {
+                // offset paging, kept for callers that still page by row number
+                auditList = auditDAO.getAuditEntries(auditEntry.getUserGuid(), request.getStartRow());
+            }
+            else
+            {
+                auditList = auditDAO.getAuditPage(auditEntry.getUserGuid(), request.getCursor(), AuditProcessorImpl.PAGE_SIZE);
+            }
 
             if (DEBUG)
             {
-                DEBUGGER.debug("Data: {}", dataResponse);
+                DEBUGGER.debug("AuditList: {}", auditList);
             }
 
-            if ((dataResponse != null) && (dataResponse.size() != 0))
+            if ((auditList != null) && (auditList.size() != 0))
             {
-                List<AuditEntry> auditList = new ArrayList<AuditEntry>();
+                // the total only changes by new events, which sort before any cursor, so it is counted
+                // once and handed on from page to page in the cursor
+                final int entryCount = ((Objects.isNull(request.getCursor())) || (request.getCursor().getEntryCount() <= 0))
+                    ? auditDAO.getAuditCount(auditEntry.getUserGuid()) : request.getCursor().getEntryCount();
 
-                for (int x = 1; dataResponse.size() != x; x++)
+                // offset rows carry no id, so only keyset pages hand back a cursor
+                if ((!(offsetPaging)) && (auditList.size() == AuditProcessorImpl.PAGE_SIZE))
                 {
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("Value: {}", dataResponse.get(x));
-                    }
-
-                    Object[] array = (Object[]) dataResponse.get(x);
-
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("Object[]: {}", array);
-                    }
-
-                    List<String> hostInfo = new ArrayList<String>(
-                    		Arrays.asList(
-                    				(String) array[8],
-                    				(String) array[9]));
-
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("RequestHostInfo: {}", hostInfo);
-                    }
-
-                    // capture
-                    List<String> userAccount = new ArrayList<String>(Arrays.asList((String) array[1], (String) array[2])); // resultSet.getString(4), // CN
-
-                    if (DEBUG)
-                    {
-                        DEBUGGER.debug("UserAccount: {}", userAccount);
-                    }
-
-                    AuditEntry resEntry = new AuditEntry();
-                    resEntry.setSessionId((String) array[0]);
-                    resEntry.setUserName((String) array[1]);
-                    resEntry.setUserGuid((String) array[2]);
-                    resEntry.setUserRole((String) array[3]);
-                    resEntry.setApplicationId((String) array[4]);
-                    resEntry.setApplicationName((String) array[5]);                    
-                    resEntry.setAuditDate(new Date(((Timestamp) array[6]).getTime()));
-                    resEntry.setAuditType(AuditType.valueOf((String) array[7]));
+                    final AuditEntry lastEntry = auditList.get(auditList.size() - 1);
 
-                    resEntry.setHostInfo(hostInfo);
-                    resEntry.setAccountInfo(userAccount);
+                    AuditCursor nextCursor = new AuditCursor();
+                    nextCursor.setAuditId(lastEntry.getAuditId());
+                    nextCursor.setTimestamp((lastEntry.getAuditDate() instanceof Timestamp) ? (Timestamp) lastEntry.getAuditDate() : new Timestamp(lastEntry.getAuditDate().getTime()));
+                    nextCursor.setEntryCount(entryCount);
 
                     if (DEBUG)
                     {
-                        DEBUGGER.debug("AuditEntry: {}", resEntry);
+                        DEBUGGER.debug("AuditCursor: {}", nextCursor);
                     }
 
-                    auditList.add(resEntry);
+                    response.setNextCursor(nextCursor);
                 }
 
-                if (DEBUG)
-                {
-                    DEBUGGER.debug("AuditList: {}", auditList);
-                }
-
-                response.setEntryCount(dataResponse.size());
+                response.setEntryCount(entryCount);
                 response.setAuditList(auditList);
                 response.setRequestStatus(AuditRequestStatus.SUCCESS);
             }
@@ -219,4 +169,105 @@ public class AuditProcessorImpl implements IAuditProcessor
 
         return response;
     }
+
+    /**
+     * @see com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditProcessor#getAuditRollups(com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest)
+     */
+    public AuditResponse getAuditRollups(final AuditRequest request) throws AuditServiceException
+    {
+        final String methodName = AuditProcessorImpl.CNAME + "#getAuditRollups(final AuditRequest request) throws AuditServiceException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("AuditRequest: {}", request);
+        }
+
+        if (Objects.isNull(request.getRollupInterval()))
+        {
+            throw new AuditServiceException("No rollup interval was provided. Cannot continue.");
+        }
+
+        AuditResponse response = new AuditResponse();
+
+        final AuditEntry auditEntry = (Objects.isNull(request.getAuditEntry())) ? new AuditEntry() : request.getAuditEntry();
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug("AuditEntry: {}", auditEntry);
+        }
+
+        final List<AuditRollup> rollupList = AuditAggregator.query(request.getRollupInterval(), request.getBucketCount(), auditEntry.getAuditType(),
+            auditEntry.getUserGuid(), auditEntry.getApplicationId(), auditEntry.getAuthorized());
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug("RollupList: {}", rollupList);
+        }
+
+        response.setRollupList(rollupList);
+        response.setRequestStatus(AuditRequestStatus.SUCCESS);
+
+        return response;
+    }
+
+    /**
+     * Runs a single audit event through the audit policy, the rollups and the audit writer. Shared
+     * by {@link #auditRequest(AuditRequest)} and {@link AuditContext}, so both apply the same
+     * defaults for fields that were not provided.
+     *
+     * @throws SQLException {@link java.sql.SQLException} if the record is written on the calling
+     * thread and the insert fails
+     */
+    static void record(final String sessionId, final String userName, final String userGuid, final String userRole, final AuditType auditType,
+        final boolean authorized, final String applicationId, final String applicationName, final String hostAddress, final String hostName) throws SQLException
+    {
+        final AuditTier auditTier = AuditPolicy.getTier(auditType, authorized);
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug("AuditTier: {}", auditTier);
+        }
+
+        if (auditTier == AuditTier.OFF)
+        {
+            // discarded before anything is built, only the suppressed count moves
+            AuditPolicy.isRecorded(auditTier);
+
+            return;
+        }
+
+        final AuditRecord auditRecord = new AuditRecord(
+            (StringUtils.isEmpty(sessionId)) ? NodeIdentity.nextId() : sessionId, // sessionid
+            (StringUtils.isEmpty(userName)) ? "WEBUSR" : userName, // username
+            (StringUtils.isEmpty(userGuid)) ? "918671b2-662e-4499-9fd3-1e4e88e0fba2" : userGuid, // userguid
+            (Objects.isNull(userRole)) ? "WEBROLE" : userRole, // userrole
+            auditType, // useraction
+            authorized, // authorized
+            (StringUtils.isEmpty(applicationId)) ? "SecurityServicesDefault" : applicationId, // applid
+            (StringUtils.isEmpty(applicationName)) ? "SecurityServicesDefault" : applicationName, // applname
+            (StringUtils.isEmpty(hostAddress)) ? NodeIdentity.getHostAddress() : hostAddress, // srcaddr
+            (StringUtils.isEmpty(hostName)) ? NodeIdentity.getHostName() : hostName, // srchost
+            System.currentTimeMillis());
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug("AuditRecord: {}", auditRecord);
+        }
+
+        // count it ..
+        AuditAggregator.record(auditRecord);
+
+        if (!(AuditPolicy.isRecorded(auditTier)))
+        {
+            // aggregated only, or not picked by the sample
+            return;
+        }
+
+        // .. log it ..
+        AUDIT_RECORDER.info("AUDIT: {}", auditRecord);
+
+        // .. and hand it to the writer for the db
+        AuditWriter.submit(auditRecord);
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditRecord.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Date;
+import java.util.List;
+import java.util.Arrays;
+
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+/**
+ * Compact, immutable form of a single audit event as it moves from {@link AuditProcessorImpl}
+ * through the {@link AuditWriter} queue and into the audit log. The record carries a fixed-width
+ * header (event time, flags and action) followed by the string fields. The user role, application
+ * id, application name and source host repeat across nearly every event and are held as
+ * {@link AuditDictionary} codes; the session, user and source address are held as-is.
+ *
+ * {@link #toRow()} produces the row accepted by the audit DAO and {@link #toAuditEntry()} exports
+ * the record back to an {@link AuditEntry}.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class AuditRecord
+{
+    private static final byte AUTHORIZED = 0x01;
+    private static final short NO_ACTION = -1;
+    private static final char SEPARATOR = '|';
+
+    private static final int ROLE = 0;
+    private static final int APPLICATION_ID = 1;
+    private static final int APPLICATION_NAME = 2;
+    private static final int SOURCE_HOST = 3;
+
+    private static final AuditType[] ACTIONS = AuditType.values();
+
+    // header
+    private final long timestamp;
+    private final byte flags;
+    private final short action;
+
+    // dictionary coded
+    private final int role;
+    private final int applicationId;
+    private final int applicationName;
+    private final int sourceHost;
+    private final String[] uncoded;
+
+    // free text
+    private final String sessionId;
+    private final String userName;
+    private final String userGuid;
+    private final String sourceAddress;
+
+    /**
+     * @param sessionId - The session identifier
+     * @param userName - The user name
+     * @param userGuid - The user GUID
+     * @param userRole - The user role
+     * @param auditType - The audited action, <code>null</code> for {@link AuditType#NONE}
+     * @param authorized - Whether the action was authorized
+     * @param applicationId - The application id
+     * @param applicationName - The application name
+     * @param sourceAddress - The source address of the request
+     * @param sourceHost - The source host of the request
+     * @param timestamp - The event time, in milliseconds since the epoch
+     */
+    public AuditRecord(final String sessionId, final String userName, final String userGuid, final String userRole, final AuditType auditType,
+            final boolean authorized, final String applicationId, final String applicationName, final String sourceAddress, final String sourceHost,
+            final long timestamp)
+    {
+        this.timestamp = timestamp;
+        this.flags = (authorized) ? AuditRecord.AUTHORIZED : 0;
+        this.action = (auditType == null) ? AuditRecord.NO_ACTION : (short) auditType.ordinal();
+
+        this.sessionId = sessionId;
+        this.userName = userName;
+        this.userGuid = userGuid;
+        this.sourceAddress = sourceAddress;
+
+        this.role = AuditDictionary.encode(userRole);
+        this.applicationId = AuditDictionary.encode(applicationId);
+        this.applicationName = AuditDictionary.encode(applicationName);
+        this.sourceHost = AuditDictionary.encode(sourceHost);
+
+        // only kept when the dictionary is full
+        this.uncoded = ((this.role == AuditDictionary.UNCODED) || (this.applicationId == AuditDictionary.UNCODED)
+                || (this.applicationName == AuditDictionary.UNCODED) || (this.sourceHost == AuditDictionary.UNCODED))
+                ? new String[] { userRole, applicationId, applicationName, sourceHost } : null;
+    }
+
+    public final long getTimestamp()
+    {
+        return this.timestamp;
+    }
+
+    public final boolean isAuthorized()
+    {
+        return (this.flags & AuditRecord.AUTHORIZED) != 0;
+    }
+
+    public final AuditType getAuditType()
+    {
+        return (this.action == AuditRecord.NO_ACTION) ? AuditType.NONE : AuditRecord.ACTIONS[this.action];
+    }
+
+    public final String getSessionId()
+    {
+        return this.sessionId;
+    }
+
+    public final String getUserName()
+    {
+        return this.userName;
+    }
+
+    public final String getUserGuid()
+    {
+        return this.userGuid;
+    }
+
+    public final String getUserRole()
+    {
+        return this.field(this.role, AuditRecord.ROLE);
+    }
+
+    public final String getApplicationId()
+    {
+        return this.field(this.applicationId, AuditRecord.APPLICATION_ID);
+    }
+
+    public final String getApplicationName()
+    {
+        return this.field(this.applicationName, AuditRecord.APPLICATION_NAME);
+    }
+
+    public final String getSourceAddress()
+    {
+        return this.sourceAddress;
+    }
+
+    public final String getSourceHost()
+    {
+        return this.field(this.sourceHost, AuditRecord.SOURCE_HOST);
+    }
+
+    /**
+     * @return The record in the layout accepted by
+     * {@link com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO#auditRequestedOperation(List)},
+     * followed by the capture time in epoch milliseconds, which only
+     * {@link com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO#replayAuditedOperations(List)} writes
+     */
+    public final List<String> toRow()
+    {
+        return Arrays.asList(this.sessionId, this.userName, this.userGuid, this.getUserRole(), this.getAuditType().name(),
+                Boolean.toString(this.isAuthorized()), this.getApplicationId(), this.getApplicationName(), this.sourceAddress,
+                this.getSourceHost(), Long.toString(this.timestamp));
+    }
+
+    /**
+     * @return The record as an {@link AuditEntry}, with the source address and host as its host info
+     */
+    public final AuditEntry toAuditEntry()
+    {
+        AuditEntry auditEntry = new AuditEntry();
+        auditEntry.setAuditDate(new Date(this.timestamp));
+        auditEntry.setSessionId(this.sessionId);
+        auditEntry.setUserName(this.userName);
+        auditEntry.setUserGuid(this.userGuid);
+        auditEntry.setUserRole(this.getUserRole());
+        auditEntry.setAuditType(this.getAuditType());
+        auditEntry.setAuthorized(Boolean.valueOf(this.isAuthorized()));
+        auditEntry.setApplicationId(this.getApplicationId());
+        auditEntry.setApplicationName(this.getApplicationName());
+        auditEntry.setHostInfo(Arrays.asList(this.sourceAddress, this.getSourceHost()));
+
+        return auditEntry;
+    }
+
+    /**
+     * @return The audit log line - the event time followed by the remaining fields of {@link #toRow()},
+     * separated by <code>|</code>
+     */
+    @Override
+    public final String toString()
+    {
+        StringBuilder sBuilder = new StringBuilder(192)
+            .append(this.timestamp).append(AuditRecord.SEPARATOR)
+            .append(this.sessionId).append(AuditRecord.SEPARATOR)
+            .append(this.userName).append(AuditRecord.SEPARATOR)
+            .append(this.userGuid).append(AuditRecord.SEPARATOR)
+            .append(this.getUserRole()).append(AuditRecord.SEPARATOR)
+            .append(this.getAuditType().name()).append(AuditRecord.SEPARATOR)
+            .append(this.isAuthorized()).append(AuditRecord.SEPARATOR)
+            .append(this.getApplicationId()).append(AuditRecord.SEPARATOR)
+            .append(this.getApplicationName()).append(AuditRecord.SEPARATOR)
+            .append(this.sourceAddress).append(AuditRecord.SEPARATOR)
+            .append(this.getSourceHost());
+
+        return sBuilder.toString();
+    }
+
+    private String field(final int code, final int index)
+    {
+        return (code == AuditDictionary.UNCODED) ? this.uncoded[index] : AuditDictionary.decode(code);
+    }
+}
@@ -0,0 +1,623 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditSpool.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.io.File;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.nio.file.StandardOpenOption;
+import java.nio.channels.FileChannel;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.coreutils.SQLUtils;
+import com.cws.esolutions.utility.coreutils.ThreadUtils;
+import com.cws.esolutions.utility.exception.UtilityException;
+import com.cws.esolutions.utility.securityutils.dao.audit.impl.AuditDAOImpl;
+import com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO;
+/**
+ * Local, memory-mapped write-ahead spool for audit records that cannot be written to the audit
+ * datastore right away. Records are appended at the tail of the file and a background replayer
+ * forwards them from the head to the datastore in batches, checkpointing its position in the file
+ * header after each successful batch. Anything still spooled at shutdown is replayed the next time
+ * the spool is opened.
+ *
+ * File layout: a 16 byte header (magic, version, write position, read position) followed by
+ * length-prefixed records. Each record holds the authorized flag as a single byte, the capture time
+ * as eight bytes of epoch milliseconds and the nine remaining fields of the audit row as
+ * length-prefixed UTF-8, with <code>0xFFFF</code> marking a <code>null</code> field. Replayed rows
+ * keep the capture time, so they are not stamped with the time of the replay.
+ *
+ * A batch that fails because the datastore is unavailable is retried every few seconds. A batch the
+ * datastore rejects is replayed one record at a time instead, and any record it rejects on its own is
+ * logged and skipped so it cannot hold up the records behind it.
+ *
+ * Appends are not forced to disk - they survive a process crash but not a host crash. Checkpoints
+ * are forced. A batch that reaches the datastore just before a crash is replayed again on restart,
+ * so delivery is at-least-once.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class AuditSpool
+{
+    private static final int MAGIC = 0x41554453; // AUDS
+    private static final int VERSION = 2;
+    private static final int WRITE_POS = 8;
+    private static final int READ_POS = 12;
+    private static final int HEADER_SIZE = 16;
+    private static final int FIELD_COUNT = 10;
+    private static final int AUTHORIZED = 5;
+    private static final int CAPTURE_TIME = 10;
+    private static final int NULL_FIELD = 0xFFFF;
+    private static final int REPLAY_SIZE = 256;
+    private static final long IDLE_INTERVAL = 500L;
+    private static final long RETRY_INTERVAL = 5000L;
+
+    private static FileChannel channel = null;
+    private static MappedByteBuffer buffer = null;
+    private static int writePos = HEADER_SIZE;
+    private static int readPos = HEADER_SIZE;
+
+    private static volatile Thread replayer = null;
+    private static volatile boolean running = false;
+
+    private static final Object lock = new Object();
+    private static final IAuditDAO auditDAO = new AuditDAOImpl();
+    private static final AtomicLong spooled = new AtomicLong();
+    private static final AtomicLong replayed = new AtomicLong();
+    private static final AtomicLong rejected = new AtomicLong();
+
+    private static final String CNAME = AuditSpool.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+    private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER + CNAME);
+
+    private AuditSpool()
+    {
+    }
+
+    /**
+     * Opens (or creates) the spool file and starts the replayer. An existing spool keeps its contents
+     * and is never shrunk below its current size.
+     *
+     * @param spoolFile - The path of the spool file
+     * @param spoolSize - The size of the spool file, in bytes
+     * @throws UtilityException {@link com.cws.esolutions.utility.exception.UtilityException} if the spool
+     * cannot be opened or is not a valid spool file
+     */
+    public static void open(final String spoolFile, final long spoolSize) throws UtilityException
+    {
+        final String methodName = AuditSpool.CNAME + "#open(final String spoolFile, final long spoolSize) throws UtilityException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", spoolFile);
+            DEBUGGER.debug("Value: {}", spoolSize);
+        }
+
+        if ((spoolSize <= HEADER_SIZE) || (spoolSize > Integer.MAX_VALUE))
+        {
+            throw new UtilityException("The audit spool size must be between " + (HEADER_SIZE + 1) + " and " + Integer.MAX_VALUE + " bytes.");
+        }
+
+        synchronized (AuditSpool.lock)
+        {
+            if (AuditSpool.buffer != null)
+            {
+                return;
+            }
+
+            try
+            {
+                final File file = new File(spoolFile);
+
+                if ((file.getParentFile() != null) && (!(file.getParentFile().exists())))
+                {
+                    file.getParentFile().mkdirs();
+                }
+
+                AuditSpool.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                AuditSpool.buffer = AuditSpool.channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(spoolSize, AuditSpool.channel.size()));
+
+                if (AuditSpool.buffer.getInt(0) == AuditSpool.MAGIC)
+                {
+                    if (AuditSpool.buffer.getInt(4) != AuditSpool.VERSION)
+                    {
+                        throw new IOException("Unsupported audit spool version " + AuditSpool.buffer.getInt(4) + " in " + spoolFile);
+                    }
+
+                    AuditSpool.writePos = AuditSpool.buffer.getInt(AuditSpool.WRITE_POS);
+                    AuditSpool.readPos = AuditSpool.buffer.getInt(AuditSpool.READ_POS);
+
+                    if ((AuditSpool.readPos < HEADER_SIZE) || (AuditSpool.readPos > AuditSpool.writePos) || (AuditSpool.writePos > AuditSpool.buffer.capacity()))
+                    {
+                        throw new IOException("The audit spool header in " + spoolFile + " is corrupt.");
+                    }
+                }
+                else
+                {
+                    AuditSpool.buffer.putInt(0, AuditSpool.MAGIC);
+                    AuditSpool.buffer.putInt(4, AuditSpool.VERSION);
+                    AuditSpool.checkpoint(HEADER_SIZE, HEADER_SIZE);
+                }
+
+                if (DEBUG)
+                {
+                    DEBUGGER.debug("Opened audit spool {} with {} bytes pending", spoolFile, AuditSpool.writePos - AuditSpool.readPos);
+                }
+            }
+            catch (final IOException iox)
+            {
+                AuditSpool.release();
+
+                throw new UtilityException(iox.getMessage(), iox);
+            }
+
+            AuditSpool.running = true;
+
+            Thread thread = new Thread(AuditSpool::replay, "AuditSpoolReplayer");
+            thread.setDaemon(true);
+            thread.start();
+
+            AuditSpool.replayer = thread;
+        }
+    }
+
+    /**
+     * Stops the replayer, forces the spool to disk and closes it. Records that were not replayed
+     * stay in the file.
+     */
+    public static void close()
+    {
+        final String methodName = AuditSpool.CNAME + "#close()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        final Thread current = AuditSpool.replayer;
+
+        AuditSpool.running = false;
+
+        ThreadUtils.stop(current, AuditSpool.RETRY_INTERVAL + 30000L);
+
+        synchronized (AuditSpool.lock)
+        {
+            AuditSpool.release();
+
+            AuditSpool.replayer = null;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the spool is open and accepting records
+     */
+    public static boolean isOpen()
+    {
+        synchronized (AuditSpool.lock)
+        {
+            return AuditSpool.buffer != null;
+        }
+    }
+
+    /**
+     * Appends audit records to the spool. The records use the layout accepted by
+     * {@link IAuditDAO#replayAuditedOperations(List)}.
+     *
+     * @param auditRecords - The audit records to spool
+     * @return <code>true</code> if every record was spooled, <code>false</code> if the spool is closed or
+     * does not have room for all of them, in which case none were spooled
+     */
+    public static boolean append(final List<List<String>> auditRecords)
+    {
+        final String methodName = AuditSpool.CNAME + "#append(final List<List<String>> auditRecords)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", auditRecords);
+        }
+
+        List<byte[]> encoded = new ArrayList<byte[]>(auditRecords.size());
+        int required = 0;
+
+        for (List<String> auditRecord : auditRecords)
+        {
+            byte[] bytes = AuditSpool.encode(auditRecord);
+
+            if (bytes == null)
+            {
+                return false;
+            }
+
+            encoded.add(bytes);
+            required += 4 + bytes.length;
+        }
+
+        synchronized (AuditSpool.lock)
+        {
+            if (AuditSpool.buffer == null)
+            {
+                return false;
+            }
+
+            if (AuditSpool.writePos + required > AuditSpool.buffer.capacity())
+            {
+                AuditSpool.compact();
+
+                if (AuditSpool.writePos + required > AuditSpool.buffer.capacity())
+                {
+                    ERROR_RECORDER.error("The audit spool is full; {} records were not spooled.", auditRecords.size());
+
+                    return false;
+                }
+            }
+
+            int position = AuditSpool.writePos;
+
+            for (byte[] bytes : encoded)
+            {
+                AuditSpool.buffer.putInt(position, bytes.length);
+                AuditSpool.buffer.put(position + 4, bytes);
+
+                position += 4 + bytes.length;
+            }
+
+            // data first, then the header, so a crash between the two loses at most this append
+            AuditSpool.checkpoint(position, AuditSpool.readPos);
+        }
+
+        AuditSpool.spooled.addAndGet(auditRecords.size());
+
+        return true;
+    }
+
+    /**
+     * @return The number of bytes waiting to be replayed
+     */
+    public static int getPendingBytes()
+    {
+        synchronized (AuditSpool.lock)
+        {
+            return AuditSpool.writePos - AuditSpool.readPos;
+        }
+    }
+
+    /**
+     * @return The number of records appended to the spool
+     */
+    public static long getSpooledCount()
+    {
+        return AuditSpool.spooled.get();
+    }
+
+    /**
+     * @return The number of records replayed to the datastore
+     */
+    public static long getReplayedCount()
+    {
+        return AuditSpool.replayed.get();
+    }
+
+    /**
+     * @return The number of spooled records the datastore rejected, which were skipped
+     */
+    public static long getRejectedCount()
+    {
+        return AuditSpool.rejected.get();
+    }
+
+    private static void replay()
+    {
+        final List<List<String>> batch = new ArrayList<List<String>>(AuditSpool.REPLAY_SIZE);
+        final int[] offsets = new int[AuditSpool.REPLAY_SIZE];
+
+        // an interrupt ends the replay the same way close() does
+        while ((AuditSpool.running) && (!(Thread.currentThread().isInterrupted())))
+        {
+            int consumed = 0;
+
+            synchronized (AuditSpool.lock)
+            {
+                if (AuditSpool.buffer == null)
+                {
+                    return;
+                }
+
+                int position = AuditSpool.readPos;
+
+                while ((position < AuditSpool.writePos) && (batch.size() < AuditSpool.REPLAY_SIZE))
+                {
+                    final int length = AuditSpool.buffer.getInt(position);
+
+                    if ((length <= 0) || (position + 4 + length > AuditSpool.writePos))
+                    {
+                        ERROR_RECORDER.error("Corrupt audit spool record at {}; discarding {} bytes.", position, AuditSpool.writePos - position);
+
+                        position = AuditSpool.writePos;
+
+                        break;
+                    }
+
+                    batch.add(AuditSpool.decode(AuditSpool.buffer, position + 4, length));
+                    position += 4 + length;
+                    offsets[batch.size() - 1] = position - AuditSpool.readPos;
+                }
+
+                consumed = position - AuditSpool.readPos;
+
+                if ((batch.isEmpty()) && (consumed != 0))
+                {
+                    AuditSpool.checkpoint(AuditSpool.writePos, position);
+                }
+            }
+
+            if (batch.isEmpty())
+            {
+                ThreadUtils.pause(AuditSpool.IDLE_INTERVAL, () -> AuditSpool.running);
+
+                continue;
+            }
+
+            try
+            {
+                auditDAO.replayAuditedOperations(batch);
+
+                AuditSpool.advance(consumed);
+                AuditSpool.replayed.addAndGet(batch.size());
+            }
+            catch (final SQLException sqx)
+            {
+                if ((SQLUtils.isTransient(sqx)) || (AuditSpool.replayEach(batch, offsets, consumed) != batch.size()))
+                {
+                    ERROR_RECORDER.error(sqx.getMessage(), sqx);
+
+                    ThreadUtils.pause(AuditSpool.RETRY_INTERVAL, () -> AuditSpool.running);
+                }
+            }
+            finally
+            {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Replays a rejected batch one record at a time, skipping the records the datastore rejects on
+     * their own. Stops at the first record that fails because the datastore is unavailable.
+     *
+     * @return The number of records replayed or skipped; the head has been advanced past them
+     */
+    private static int replayEach(final List<List<String>> batch, final int[] offsets, final int consumed)
+    {
+        int resolved = 0;
+
+        for (List<String> auditRecord : batch)
+        {
+            try
+            {
+                auditDAO.replayAuditedOperations(Collections.singletonList(auditRecord));
+
+                AuditSpool.replayed.incrementAndGet();
+            }
+            catch (final SQLException sqx)
+            {
+                if (SQLUtils.isTransient(sqx))
+                {
+                    break;
+                }
+
+                ERROR_RECORDER.error("Skipping spooled audit record rejected by the datastore: " + auditRecord, sqx);
+
+                AuditSpool.rejected.incrementAndGet();
+            }
+
+            resolved++;
+        }
+
+        if (resolved != 0)
+        {
+            // the last record also carries any corrupt tail that was discarded with the batch
+            AuditSpool.advance((resolved == batch.size()) ? consumed : offsets[resolved - 1]);
+        }
+
+        return resolved;
+    }
+
+    private static void advance(final int consumed)
+    {
+        synchronized (AuditSpool.lock)
+        {
+            // compaction only moves unread data, so the head advances by what was read
+            AuditSpool.checkpoint(AuditSpool.writePos, AuditSpool.readPos + consumed);
+            AuditSpool.buffer.force();
+        }
+    }
+
+    private static void checkpoint(final int write, final int read)
+    {
+        if (read == write)
+        {
+            // fully replayed - start over at the front of the file
+            AuditSpool.writePos = HEADER_SIZE;
+            AuditSpool.readPos = HEADER_SIZE;
+        }
+        else
+        {
+            AuditSpool.writePos = write;
+            AuditSpool.readPos = read;
+        }
+
+        AuditSpool.buffer.putInt(AuditSpool.WRITE_POS, AuditSpool.writePos);
+        AuditSpool.buffer.putInt(AuditSpool.READ_POS, AuditSpool.readPos);
+    }
+
+    private static void compact()
+    {
+        if (AuditSpool.readPos == HEADER_SIZE)
+        {
+            return;
+        }
+
+        final int pending = AuditSpool.writePos - AuditSpool.readPos;
+
+        AuditSpool.buffer.put(HEADER_SIZE, AuditSpool.buffer, AuditSpool.readPos, pending);
+        AuditSpool.buffer.force();
+        AuditSpool.checkpoint(HEADER_SIZE + pending, HEADER_SIZE);
+    }
+
+    private static byte[] encode(final List<String> auditRecord)
+    {
+        byte[][] fields = new byte[FIELD_COUNT][];
+        int length = 9;
+
+        for (int x = 0; x < FIELD_COUNT; x++)
+        {
+            if ((x == AuditSpool.AUTHORIZED) || (auditRecord.get(x) == null))
+            {
+                continue;
+            }
+
+            fields[x] = auditRecord.get(x).getBytes(StandardCharsets.UTF_8);
+
+            if (fields[x].length >= AuditSpool.NULL_FIELD)
+            {
+                ERROR_RECORDER.error("Audit field {} is too large to spool.", x);
+
+                return null;
+            }
+        }
+
+        for (int x = 0; x < FIELD_COUNT; x++)
+        {
+            if (x != AuditSpool.AUTHORIZED)
+            {
+                length += 2 + ((fields[x] == null) ? 0 : fields[x].length);
+            }
+        }
+
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        bytes.put((byte) (Boolean.valueOf(auditRecord.get(AuditSpool.AUTHORIZED)) ? 1 : 0));
+
+        // rows handed in without a capture time are stamped when they are spooled
+        bytes.putLong(((auditRecord.size() > AuditSpool.CAPTURE_TIME) && (auditRecord.get(AuditSpool.CAPTURE_TIME) != null))
+            ? Long.parseLong(auditRecord.get(AuditSpool.CAPTURE_TIME)) : System.currentTimeMillis());
+
+        for (int x = 0; x < FIELD_COUNT; x++)
+        {
+            if (x == AuditSpool.AUTHORIZED)
+            {
+                continue;
+            }
+
+            if (fields[x] == null)
+            {
+                bytes.putShort((short) AuditSpool.NULL_FIELD);
+            }
+            else
+            {
+                bytes.putShort((short) fields[x].length);
+                bytes.put(fields[x]);
+            }
+        }
+
+        return bytes.array();
+    }
+
+    private static List<String> decode(final ByteBuffer source, final int offset, final int length)
+    {
+        List<String> auditRecord = new ArrayList<String>(FIELD_COUNT + 1);
+        int position = offset + 9;
+
+        for (int x = 0; x < FIELD_COUNT; x++)
+        {
+            if (x == AuditSpool.AUTHORIZED)
+            {
+                auditRecord.add(String.valueOf(source.get(offset) == 1));
+
+                continue;
+            }
+
+            final int fieldLength = Short.toUnsignedInt(source.getShort(position));
+            position += 2;
+
+            if (fieldLength == AuditSpool.NULL_FIELD)
+            {
+                auditRecord.add(null);
+
+                continue;
+            }
+
+            byte[] field = new byte[fieldLength];
+            source.get(position, field);
+            position += fieldLength;
+
+            auditRecord.add(new String(field, StandardCharsets.UTF_8));
+        }
+
+        auditRecord.add(Long.toString(source.getLong(offset + 1)));
+
+        return auditRecord;
+    }
+
+    private static void release()
+    {
+        if (AuditSpool.buffer != null)
+        {
+            AuditSpool.buffer.force();
+            AuditSpool.buffer = null;
+        }
+
+        if (AuditSpool.channel != null)
+        {
+            try
+            {
+                AuditSpool.channel.close();
+            }
+            catch (final IOException iox)
+            {
+                ERROR_RECORDER.error(iox.getMessage(), iox);
+            }
+
+            AuditSpool.channel = null;
+        }
+
+        AuditSpool.writePos = HEADER_SIZE;
+        AuditSpool.readPos = HEADER_SIZE;
+    }
+}
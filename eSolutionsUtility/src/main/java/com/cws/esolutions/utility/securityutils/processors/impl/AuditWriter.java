@@ -0,0 +1,490 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditWriter.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import java.util.concurrent.BlockingQueue;
+import org.apache.logging.log4j.LogManager;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.coreutils.SQLUtils;
+import com.cws.esolutions.utility.securityutils.dao.audit.impl.AuditDAOImpl;
+import com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditOverflowPolicy;
+/**
+ * Moves audit inserts off the request path. {@link AuditRecord}s are placed on a bounded queue and a single
+ * background thread writes them to the audit datastore in batches, either once <code>flushSize</code>
+ * records are waiting or <code>flushInterval</code> milliseconds after the first record of a batch
+ * arrived, whichever comes first. When the queue is full the configured {@link AuditOverflowPolicy}
+ * applies.
+ *
+ * Records that cannot be written because the datastore is unavailable go to the {@link AuditSpool}
+ * when it is open, and are replayed from there once the datastore recovers. A batch the datastore
+ * rejects is retried one record at a time, so a single bad record does not take the rest of its batch
+ * down with it; the bad record itself is logged and counted as failed.
+ *
+ * Enqueue counts, write latency, batch sizes and failures are reported to {@link AuditMetrics}.
+ *
+ * The writer starts on the first submitted record. {@link #shutdown()} stops it and writes whatever
+ * is still queued, and must be called before the audit datasource is released.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class AuditWriter
+{
+    private static volatile boolean async = true;
+    private static volatile int queueSize = 8192;
+    private static volatile int flushSize = 256;
+    private static volatile long flushInterval = 250L;
+    private static volatile AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.SYNCHRONOUS;
+
+    private static volatile Thread worker = null;
+    private static volatile boolean running = false;
+    private static volatile BlockingQueue<AuditRecord> queue = null;
+
+    private static final IAuditDAO auditDAO = new AuditDAOImpl();
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong failed = new AtomicLong();
+
+    private static final String CNAME = AuditWriter.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+    private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER + CNAME);
+
+    private AuditWriter()
+    {
+    }
+
+    /**
+     * Applies the writer settings. Settings take effect the next time the writer starts, so this
+     * should be called during service initialization, before the first audit record is submitted.
+     * Values that are not positive leave the current setting in place.
+     *
+     * @param isAsync - <code>true</code> to queue records for the background writer, <code>false</code>
+     * to write each record on the calling thread
+     * @param maxQueued - The maximum number of records held in the queue
+     * @param batchSize - The maximum number of records written per batch
+     * @param interval - The maximum time, in milliseconds, a queued record waits before it is written
+     * @param policy - The {@link AuditOverflowPolicy} to apply when the queue is full
+     */
+    public static synchronized void configure(final boolean isAsync, final int maxQueued, final int batchSize, final long interval, final AuditOverflowPolicy policy)
+    {
+        final String methodName = AuditWriter.CNAME + "#configure(final boolean isAsync, final int maxQueued, final int batchSize, final long interval, final AuditOverflowPolicy policy)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", isAsync);
+            DEBUGGER.debug("Value: {}", maxQueued);
+            DEBUGGER.debug("Value: {}", batchSize);
+            DEBUGGER.debug("Value: {}", interval);
+            DEBUGGER.debug("Value: {}", policy);
+        }
+
+        AuditWriter.async = isAsync;
+
+        if (maxQueued > 0)
+        {
+            AuditWriter.queueSize = maxQueued;
+        }
+
+        if (batchSize > 0)
+        {
+            AuditWriter.flushSize = batchSize;
+        }
+
+        if (interval > 0)
+        {
+            AuditWriter.flushInterval = interval;
+        }
+
+        if (policy != null)
+        {
+            AuditWriter.overflowPolicy = policy;
+        }
+    }
+
+    /**
+     * Submits an audit record for writing.
+     *
+     * @param auditRecord - The audit record to write
+     * @throws SQLException {@link java.sql.SQLException} if the record is written on the calling
+     * thread and the insert fails
+     */
+    public static void submit(final AuditRecord auditRecord) throws SQLException
+    {
+        final String methodName = AuditWriter.CNAME + "#submit(final AuditRecord auditRecord) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", auditRecord);
+        }
+
+        AuditMetrics.submitted(auditRecord);
+
+        if (!(AuditWriter.async))
+        {
+            AuditWriter.write(auditRecord);
+
+            return;
+        }
+
+        BlockingQueue<AuditRecord> pending = AuditWriter.queue;
+
+        if ((pending == null) || (!(AuditWriter.running)))
+        {
+            pending = AuditWriter.start();
+        }
+
+        // counted before the offer so the worker can never see it leave the backlog first
+        AuditMetrics.queued(auditRecord, true);
+
+        if (pending.offer(auditRecord))
+        {
+            AuditWriter.reclaim(pending, auditRecord);
+
+            return;
+        }
+
+        AuditMetrics.queued(auditRecord, false);
+
+        switch (AuditWriter.overflowPolicy)
+        {
+            case BLOCK:
+                try
+                {
+                    AuditMetrics.queued(auditRecord, true);
+
+                    pending.put(auditRecord);
+
+                    AuditWriter.reclaim(pending, auditRecord);
+                }
+                catch (final InterruptedException ix)
+                {
+                    AuditMetrics.queued(auditRecord, false);
+
+                    Thread.currentThread().interrupt();
+
+                    AuditWriter.write(auditRecord);
+                }
+
+                break;
+            case SPOOL:
+                if (!(AuditSpool.append(Collections.singletonList(auditRecord.toRow()))))
+                {
+                    AuditWriter.write(auditRecord);
+                }
+
+                break;
+            case DROP:
+                AuditWriter.dropped.incrementAndGet();
+
+                if (DEBUG)
+                {
+                    DEBUGGER.debug("Audit queue full, record dropped: {}", auditRecord);
+                }
+
+                break;
+            default:
+                AuditWriter.write(auditRecord);
+
+                break;
+        }
+    }
+
+    /**
+     * Stops the background writer and writes every record still in the queue. Records submitted
+     * after this call restart the writer.
+     */
+    public static synchronized void shutdown()
+    {
+        final String methodName = AuditWriter.CNAME + "#shutdown()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        final Thread current = AuditWriter.worker;
+
+        AuditWriter.running = false;
+
+        if (current != null)
+        {
+            try
+            {
+                // the worker notices within one interval and finishes its current batch
+                current.join(AuditWriter.flushInterval + 30000L);
+            }
+            catch (final InterruptedException ix)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        final BlockingQueue<AuditRecord> pending = AuditWriter.queue;
+
+        // detach first so a submit racing this call either lands before the drain or sees the
+        // queue has gone and reclaims its record
+        AuditWriter.queue = null;
+        AuditWriter.worker = null;
+
+        AuditWriter.drain(pending);
+    }
+
+    /**
+     * @return The number of records currently waiting to be written
+     */
+    public static int getQueueDepth()
+    {
+        final BlockingQueue<AuditRecord> pending = AuditWriter.queue;
+
+        return (pending == null) ? 0 : pending.size();
+    }
+
+    /**
+     * @return The number of records written to the datastore
+     */
+    public static long getWrittenCount()
+    {
+        return AuditWriter.written.get();
+    }
+
+    /**
+     * @return The number of records discarded because the queue was full
+     */
+    public static long getDroppedCount()
+    {
+        return AuditWriter.dropped.get();
+    }
+
+    /**
+     * @return The number of records that could be neither written to the datastore nor spooled
+     */
+    public static long getFailedCount()
+    {
+        return AuditWriter.failed.get();
+    }
+
+    private static synchronized BlockingQueue<AuditRecord> start()
+    {
+        if (AuditWriter.queue == null)
+        {
+            AuditWriter.queue = new ArrayBlockingQueue<AuditRecord>(AuditWriter.queueSize);
+        }
+
+        if (!(AuditWriter.running))
+        {
+            AuditWriter.running = true;
+
+            Thread thread = new Thread(AuditWriter::run, "AuditWriter");
+            thread.setDaemon(true);
+            thread.start();
+
+            AuditWriter.worker = thread;
+        }
+
+        return AuditWriter.queue;
+    }
+
+    private static void run()
+    {
+        final BlockingQueue<AuditRecord> pending = AuditWriter.queue;
+        final List<AuditRecord> batch = new ArrayList<AuditRecord>(AuditWriter.flushSize);
+
+        while (AuditWriter.running)
+        {
+            try
+            {
+                AuditRecord first = pending.poll(AuditWriter.flushInterval, TimeUnit.MILLISECONDS);
+
+                if (first == null)
+                {
+                    continue;
+                }
+
+                batch.add(first);
+
+                // give the batch until the interval runs out to fill up
+                final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(AuditWriter.flushInterval);
+
+                while (batch.size() < AuditWriter.flushSize)
+                {
+                    if (pending.drainTo(batch, AuditWriter.flushSize - batch.size()) != 0)
+                    {
+                        continue;
+                    }
+
+                    AuditRecord next = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+                    if (next == null)
+                    {
+                        break;
+                    }
+
+                    batch.add(next);
+                }
+            }
+            catch (final InterruptedException ix)
+            {
+                ERROR_RECORDER.error(ix.getMessage(), ix);
+
+                AuditWriter.running = false;
+            }
+
+            AuditWriter.flush(batch);
+        }
+    }
+
+    private static void drain(final BlockingQueue<AuditRecord> pending)
+    {
+        if (pending == null)
+        {
+            return;
+        }
+
+        List<AuditRecord> batch = new ArrayList<AuditRecord>(AuditWriter.flushSize);
+
+        while (pending.drainTo(batch, AuditWriter.flushSize) != 0)
+        {
+            AuditWriter.flush(batch);
+        }
+    }
+
+    static void reclaim(final BlockingQueue<AuditRecord> pending, final AuditRecord auditRecord) throws SQLException
+    {
+        // a submit that read the queue before shutdown() detached it can land after the final drain;
+        // take the record back and write it here, unless the drain already got to it
+        if ((AuditWriter.queue == pending) || (!(pending.remove(auditRecord))))
+        {
+            return;
+        }
+
+        AuditMetrics.queued(auditRecord, false);
+
+        AuditWriter.write(auditRecord);
+    }
+
+    private static void flush(final List<AuditRecord> batch)
+    {
+        if (batch.isEmpty())
+        {
+            return;
+        }
+
+        // records stay compact while queued and are only expanded into rows here
+        final List<List<String>> rows = new ArrayList<List<String>>(batch.size());
+
+        for (AuditRecord auditRecord : batch)
+        {
+            rows.add(auditRecord.toRow());
+        }
+
+        final long start = System.nanoTime();
+
+        try
+        {
+            auditDAO.auditRequestedOperations(rows);
+
+            AuditMetrics.batchWritten(batch, System.nanoTime() - start, false);
+            AuditWriter.written.addAndGet(batch.size());
+        }
+        catch (final SQLException sqx)
+        {
+            if (SQLUtils.isTransient(sqx))
+            {
+                AuditMetrics.batchWritten(batch, System.nanoTime() - start, true);
+
+                if (!(AuditSpool.append(rows)))
+                {
+                    ERROR_RECORDER.error(sqx.getMessage(), sqx);
+
+                    AuditWriter.failed.addAndGet(batch.size());
+                }
+
+                return;
+            }
+
+            // the batch runs as one transaction, so a single bad record rolled back the lot
+            AuditMetrics.batchWritten(batch, System.nanoTime() - start, false);
+
+            for (AuditRecord auditRecord : batch)
+            {
+                try
+                {
+                    AuditWriter.write(auditRecord);
+                }
+                catch (final SQLException rsqx)
+                {
+                    ERROR_RECORDER.error("Audit record rejected by the datastore: " + auditRecord, rsqx);
+                }
+            }
+        }
+        finally
+        {
+            batch.clear();
+        }
+    }
+
+    private static void write(final AuditRecord auditRecord) throws SQLException
+    {
+        final List<String> row = auditRecord.toRow();
+        final long start = System.nanoTime();
+
+        try
+        {
+            auditDAO.auditRequestedOperation(row);
+
+            AuditMetrics.recordWritten(auditRecord, System.nanoTime() - start, false);
+            AuditWriter.written.incrementAndGet();
+        }
+        catch (final SQLException sqx)
+        {
+            AuditMetrics.recordWritten(auditRecord, System.nanoTime() - start, true);
+
+            // a record the datastore rejected would only fail again on replay
+            if ((SQLUtils.isTransient(sqx)) && (AuditSpool.append(Collections.singletonList(row))))
+            {
+                return;
+            }
+
+            AuditWriter.failed.incrementAndGet();
+
+            throw sqx;
+        }
+    }
+}
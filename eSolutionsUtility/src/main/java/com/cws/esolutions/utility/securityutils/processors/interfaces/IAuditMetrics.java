@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.interfaces;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.interfaces
+ * File: IAuditMetrics.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import javax.management.MXBean;
+/**
+ * Management view of the audit pipeline, registered with the platform MBean server as
+ * <code>com.cws.esolutions.utility:type=AuditMetrics</code>. Counters are cumulative since
+ * startup; rates are derived by the monitoring system from successive reads.
+ *
+ * Histogram maps are keyed by the inclusive upper bound of each bucket, e.g. <code>le_1024</code>,
+ * and only carry buckets that have been hit.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+@MXBean
+public interface IAuditMetrics
+{
+    /**
+     * @return The number of audit records handed to the writer
+     */
+    long getEnqueuedCount();
+
+    /**
+     * @return The number of audit records handed to the writer, by audit type
+     */
+    Map<String, Long> getEnqueuedByType();
+
+    /**
+     * @return The number of audit records written to the datastore
+     */
+    long getWrittenCount();
+
+    /**
+     * @return The number of audit records discarded because the writer queue was full
+     */
+    long getDroppedCount();
+
+    /**
+     * @return The number of audit records that could be neither written nor spooled
+     */
+    long getLostCount();
+
+    /**
+     * @return The number of audit records whose datastore write failed, whether or not they were
+     * then spooled
+     */
+    long getWriteFailureCount();
+
+    /**
+     * @return The number of failed audit record writes, by audit type
+     */
+    Map<String, Long> getWriteFailuresByType();
+
+    /**
+     * @return The number of audit records waiting in the writer queue
+     */
+    int getQueueDepth();
+
+    /**
+     * @return The number of audit records waiting in the writer queue, by audit type
+     */
+    Map<String, Long> getBacklogByType();
+
+    /**
+     * @return The number of datastore writes, batched or single, that have been timed
+     */
+    long getWriteCount();
+
+    /**
+     * @return The mean datastore write latency, in microseconds
+     */
+    double getWriteLatencyMeanMicros();
+
+    /**
+     * @return The longest datastore write, in microseconds
+     */
+    long getWriteLatencyMaxMicros();
+
+    /**
+     * @return The 50th, 90th, 99th and 99.9th percentile datastore write latency, in microseconds,
+     * as bucket upper bounds
+     */
+    Map<String, Long> getWriteLatencyPercentiles();
+
+    /**
+     * @return The datastore write latency histogram, in microseconds
+     */
+    Map<String, Long> getWriteLatencyHistogram();
+
+    /**
+     * @return The number of batches written by the background writer
+     */
+    long getBatchCount();
+
+    /**
+     * @return The batch size histogram, in records
+     */
+    Map<String, Long> getBatchSizeHistogram();
+
+    /**
+     * @return The number of bytes waiting in the audit spool
+     */
+    int getSpoolPendingBytes();
+
+    /**
+     * @return The number of audit records written to the spool
+     */
+    long getSpooledCount();
+
+    /**
+     * @return The number of spooled audit records replayed to the datastore
+     */
+    long getReplayedCount();
+
+    /**
+     * @return The number of audit events dropped or aggregated by the audit policy
+     */
+    long getSuppressedCount();
+
+    /**
+     * @return The number of distinct values held by the audit record dictionary
+     */
+    int getDictionarySize();
+}
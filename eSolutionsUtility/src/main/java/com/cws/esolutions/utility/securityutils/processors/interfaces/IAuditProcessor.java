@@ -63,10 +63,27 @@ public interface IAuditProcessor
     void auditRequest(final AuditRequest request) throws AuditServiceException;
 
     /**
-     * 
-     * @param request
-     * @return
-     * @throws AuditServiceException
+     * Returns a page of the audit history for the user in the request, newest first. The total entry
+     * count is only returned with the first page - the request without a cursor or start row.
+     *
+     * @param request - The {@link com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest}
+     * which contains the necessary information to complete the request
+     * @return {@link com.cws.esolutions.utility.securityutils.processors.dto.AuditResponse}
+     * @throws AuditServiceException {@link com.cws.esolutions.utility.securityutils.processors.exception.AuditServiceException} if an exception occurs during processing
      */
     AuditResponse getAuditEntries(final AuditRequest request) throws AuditServiceException;
+
+    /**
+     * Returns pre-aggregated audit counts over the most recent buckets of the requested rollup
+     * interval. The action, user GUID, application id and authorization outcome of the supplied
+     * {@link com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry} narrow the result;
+     * any of them left <code>null</code> matches every value.
+     *
+     * @param request - The {@link com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest}
+     * which contains the necessary information to complete the request
+     * @return {@link com.cws.esolutions.utility.securityutils.processors.dto.AuditResponse} holding the
+     * matching rollups
+     * @throws AuditServiceException {@link com.cws.esolutions.utility.securityutils.processors.exception.AuditServiceException} if an exception occurs during processing
+     */
+    AuditResponse getAuditRollups(final AuditRequest request) throws AuditServiceException;
 }
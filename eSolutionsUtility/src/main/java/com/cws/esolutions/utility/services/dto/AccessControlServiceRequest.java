@@ -42,6 +42,7 @@ public class AccessControlServiceRequest implements Serializable
 {
 	private String serviceGuid = null;
 	private List<Object> userAccount = null;
+	private List<String> serviceGuids = null;
 
     private static final long serialVersionUID = -4023063417915572531L;
     private static final String CNAME = AccessControlServiceRequest.class.getName();
@@ -75,6 +76,19 @@ public class AccessControlServiceRequest implements Serializable
         this.userAccount = value;
     }
 
+    public final void setServiceGuids(final List<String> value)
+    {
+        final String methodName = AccessControlServiceRequest.CNAME + "#setServiceGuids(final List<String> value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.serviceGuids = value;
+    }
+
     public final String getServiceGuid()
     {
         final String methodName = AccessControlServiceRequest.CNAME + "#getServiceGuid()";
@@ -101,6 +115,19 @@ public class AccessControlServiceRequest implements Serializable
         return this.userAccount;
     }
 
+    public final List<String> getServiceGuids()
+    {
+        final String methodName = AccessControlServiceRequest.CNAME + "#getServiceGuids()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.serviceGuids);
+        }
+
+        return this.serviceGuids;
+    }
+
     @Override
     public final String toString()
     {
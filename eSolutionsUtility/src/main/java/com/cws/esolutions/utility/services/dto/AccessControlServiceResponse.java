@@ -25,6 +25,7 @@ package com.cws.esolutions.utility.services.dto;
  * ----------------------------------------------------------------------------
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
+import java.util.Map;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import org.apache.logging.log4j.Logger;
@@ -39,6 +40,7 @@ import com.cws.esolutions.utility.UtilityConstants;
 public class AccessControlServiceResponse implements Serializable
 {
 	private Boolean isUserAuthorized = false;
+	private Map<String, Boolean> authorizations = null;
 
 	private static final long serialVersionUID = 6265718216747680811L;
     private static final String CNAME = AccessControlServiceResponse.class.getName();
@@ -59,6 +61,19 @@ public class AccessControlServiceResponse implements Serializable
         this.isUserAuthorized = value;
     }
 
+    public final void setAuthorizations(final Map<String, Boolean> value)
+    {
+        final String methodName = AccessControlServiceResponse.CNAME + "#setAuthorizations(final Map<String, Boolean> value)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", value);
+        }
+
+        this.authorizations = value;
+    }
+
     public final Boolean getIsUserAuthorized()
     {
         final String methodName = AccessControlServiceResponse.CNAME + "#getIsUserAuthorized()";
@@ -72,6 +87,19 @@ public class AccessControlServiceResponse implements Serializable
         return this.isUserAuthorized;
     }
 
+    public final Map<String, Boolean> getAuthorizations()
+    {
+        final String methodName = AccessControlServiceResponse.CNAME + "#getAuthorizations()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", this.authorizations);
+        }
+
+        return this.authorizations;
+    }
+
     @Override
     public final String toString()
     {
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.services.dto;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.services.dto
+ * File: ServiceMembership.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.BitSet;
+/**
+ * A user's service memberships as interned by
+ * {@link com.cws.esolutions.utility.services.impl.ServiceIndex}, stamped with the index instance
+ * that assigned the bit positions and the time it was built.
+ *
+ * The bit positions only mean something to the index instance that built them, so this is
+ * deliberately not serializable - a replicated or restored session has to rebuild it, and until
+ * then is decided from the datastore.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class ServiceMembership
+{
+    private final BitSet services;
+    private final String indexId;
+    private final long buildTime;
+
+    public ServiceMembership(final BitSet services, final String indexId, final long buildTime)
+    {
+        this.services = (BitSet) services.clone();
+        this.indexId = indexId;
+        this.buildTime = buildTime;
+    }
+
+    /**
+     * @param id - The service id
+     * @return <code>true</code> if the bit for the service is set
+     */
+    public final boolean get(final int id)
+    {
+        return (id >= 0) && (this.services.get(id));
+    }
+
+    /**
+     * @return The id of the service index instance that built this membership
+     */
+    public final String getIndexId()
+    {
+        return this.indexId;
+    }
+
+    /**
+     * @return The time, in milliseconds since the epoch, this membership was built
+     */
+    public final long getBuildTime()
+    {
+        return this.buildTime;
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public final String toString()
+    {
+        return this.getClass().getName() + "[services=" + this.services + ", indexId=" + this.indexId + ", buildTime=" + this.buildTime + "]";
+    }
+}
@@ -26,9 +26,15 @@ import java.sql.SQLException;
  * ----------------------------------------------------------------------------
  * cws-khuntly          11/23/2008 22:39:20             Created.
  */
+import java.util.Set;
+import java.util.Map;
 import java.util.List;
+import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import org.apache.commons.lang3.StringUtils;
 
+import com.cws.esolutions.utility.services.dto.ServiceMembership;
 import com.cws.esolutions.utility.services.dto.AccessControlServiceRequest;
 import com.cws.esolutions.utility.services.dto.AccessControlServiceResponse;
 import com.cws.esolutions.utility.services.interfaces.IAccessControlService;
@@ -56,6 +62,9 @@ public class AccessControlServiceImpl implements IAccessControlService
         }
 
         boolean isAuthorized = false;
+        boolean failed = false;
+        int source = AuthorizationMetrics.DATASTORE;
+        final long startTime = System.nanoTime();
         List<Object> accountData = request.getUserAccount();
 
         if (DEBUG)
@@ -67,11 +76,42 @@ public class AccessControlServiceImpl implements IAccessControlService
         {
 	        if (StringUtils.equals((String) accountData.get(1), "SITE_ADMIN"))
 	        {
+	        	source = AuthorizationMetrics.ADMIN;
+
 	        	response.setIsUserAuthorized(Boolean.TRUE);
 	        }
+	        else if ((ServiceIndex.isLoaded()) && (accountData.size() > 3) && (accountData.get(3) instanceof ServiceMembership)
+	        	&& (ServiceIndex.isCurrent((ServiceMembership) accountData.get(3), (String) accountData.get(0))))
+	        {
+	        	// membership was interned at logon by this node and is still current, no need to go to the dao
+	        	source = AuthorizationMetrics.BITSET;
+
+	        	response.setIsUserAuthorized(ServiceIndex.isAuthorized((ServiceMembership) accountData.get(3), request.getServiceGuid()));
+	        }
 	        else
 	        {
-	        	boolean isEnabled = dao.isGroupEnabled(request.getServiceGuid());
+	        	final String userGuid = (String) accountData.get(0);
+	        	final Boolean cached = AuthorizationCache.get(userGuid, request.getServiceGuid());
+
+	        	if (DEBUG)
+	        	{
+	        		DEBUGGER.debug("Boolean: cached: {}", cached);
+	        	}
+
+	        	if (cached != null)
+	        	{
+	        		source = AuthorizationMetrics.CACHE;
+
+	        		response.setIsUserAuthorized(cached);
+
+	        		return response;
+	        	}
+
+	        	// read before the lookups so an invalidation that races them drops the decision
+	        	final long generation = AuthorizationCache.getGeneration();
+
+	        	// the enablement snapshot, until it has been loaded
+	        	boolean isEnabled = (ServiceIndex.isLoaded()) ? ServiceIndex.isEnabled(request.getServiceGuid()) : this.isGroupEnabled(request.getServiceGuid());
 
 	        	if (DEBUG)
 	        	{
@@ -80,7 +120,7 @@ public class AccessControlServiceImpl implements IAccessControlService
 
 	        	if (isEnabled)
 	        	{
-	        		String[] userGroups = dao.getUserGroups((String) accountData.get(0)).split(",");
+	        		String[] userGroups = this.getUserGroups(userGuid).split(",");
 
 	        		if (DEBUG)
 	        		{
@@ -113,13 +153,215 @@ public class AccessControlServiceImpl implements IAccessControlService
 	        	{
 	        		response.setIsUserAuthorized(Boolean.FALSE);
 	        	}
+
+	        	AuthorizationCache.put(userGuid, request.getServiceGuid(), isAuthorized, generation);
 	        }
         }
         catch (SQLException sqx)
         {
         	ERROR_RECORDER.error(sqx.getMessage(), sqx);
+
+        	failed = true;
+        }
+        finally
+        {
+        	AuthorizationMetrics.decided((String) accountData.get(0), request.getServiceGuid(), source,
+        		Boolean.TRUE.equals(response.getIsUserAuthorized()), failed, System.nanoTime() - startTime);
+        }
+
+        return response;
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAccessControlService#getUserAuthorizations(AccessControlServiceRequest) throws AccessControlServiceException
+     */
+    public AccessControlServiceResponse getUserAuthorizations(final AccessControlServiceRequest request) throws AccessControlServiceException
+    {
+        final String methodName = AccessControlServiceImpl.CNAME + "#getUserAuthorizations(final AccessControlServiceRequest request) throws AccessControlServiceException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("AccessControlServiceRequest: {}", request);
         }
-        
+
+        AccessControlServiceResponse response = new AccessControlServiceResponse();
+
+        final List<Object> accountData = request.getUserAccount();
+        final List<String> serviceGuids = request.getServiceGuids();
+        final Map<String, Boolean> authorizations = new LinkedHashMap<String, Boolean>();
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug("UserAccount: {}", accountData);
+            DEBUGGER.debug("List<String>: serviceGuids: {}", serviceGuids);
+        }
+
+        response.setAuthorizations(authorizations);
+
+        if ((serviceGuids == null) || (serviceGuids.isEmpty()))
+        {
+            return response;
+        }
+
+        // anything not decided below is denied
+        for (String serviceGuid : serviceGuids)
+        {
+            authorizations.put(serviceGuid, Boolean.FALSE);
+        }
+
+        boolean failed = false;
+        int source = AuthorizationMetrics.DATASTORE;
+        final long startTime = System.nanoTime();
+
+        try
+        {
+            source = this.resolveAuthorizations(accountData, authorizations);
+        }
+        catch (SQLException sqx)
+        {
+            // only the datastore lookups throw
+            ERROR_RECORDER.error(sqx.getMessage(), sqx);
+
+            failed = true;
+        }
+        finally
+        {
+            AuthorizationMetrics.decided((String) accountData.get(0), authorizations, source, failed, System.nanoTime() - startTime);
+        }
+
         return response;
     }
+
+    /**
+     * Decides every service in <code>authorizations</code> for the account, from the cheapest
+     * source that can answer. Anything not decided here stays denied.
+     *
+     * @return The source that decided the slowest of the services, as an
+     * {@link AuthorizationMetrics} source
+     * @throws SQLException {@link java.sql.SQLException} if the membership lookups fail
+     */
+    private int resolveAuthorizations(final List<Object> accountData, final Map<String, Boolean> authorizations) throws SQLException
+    {
+        final String methodName = AccessControlServiceImpl.CNAME + "#resolveAuthorizations(final List<Object> accountData, final Map<String, Boolean> authorizations) throws SQLException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        if (StringUtils.equals((String) accountData.get(1), "SITE_ADMIN"))
+        {
+            authorizations.replaceAll((serviceGuid, authorized) -> Boolean.TRUE);
+
+            return AuthorizationMetrics.ADMIN;
+        }
+
+        // a membership from another node, an expired one or one that predates a revocation goes to the dao
+        if ((ServiceIndex.isLoaded()) && (accountData.size() > 3) && (accountData.get(3) instanceof ServiceMembership)
+            && (ServiceIndex.isCurrent((ServiceMembership) accountData.get(3), (String) accountData.get(0))))
+        {
+            final ServiceMembership userAuthorizations = (ServiceMembership) accountData.get(3);
+
+            authorizations.replaceAll((serviceGuid, authorized) -> ServiceIndex.isAuthorized(userAuthorizations, serviceGuid));
+
+            return AuthorizationMetrics.BITSET;
+        }
+
+        final String userGuid = (String) accountData.get(0);
+        final List<String> unresolved = new ArrayList<String>();
+
+        for (String serviceGuid : authorizations.keySet())
+        {
+            final Boolean cached = AuthorizationCache.get(userGuid, serviceGuid);
+
+            if (cached == null)
+            {
+                unresolved.add(serviceGuid);
+            }
+            else
+            {
+                authorizations.put(serviceGuid, cached);
+            }
+        }
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug("List<String>: unresolved: {}", unresolved);
+        }
+
+        if (unresolved.isEmpty())
+        {
+            return AuthorizationMetrics.CACHE;
+        }
+
+        final long generation = AuthorizationCache.getGeneration();
+
+        final Set<String> userGroups = new HashSet<String>();
+
+        // one membership fetch for the whole batch
+        if ((ServiceIndex.isLoaded()) ? (unresolved.stream().anyMatch(ServiceIndex::isEnabled)) : (this.isGroupEnabled(unresolved.get(0))))
+        {
+            final String groupList = this.getUserGroups(userGuid);
+
+            if (StringUtils.isNotBlank(groupList))
+            {
+                for (String group : groupList.split(","))
+                {
+                    userGroups.add(group.trim());
+                }
+            }
+        }
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug("Set<String>: userGroups: {}", userGroups);
+        }
+
+        for (String serviceGuid : unresolved)
+        {
+            final boolean isAuthorized = (serviceGuid != null) && (userGroups.contains(serviceGuid))
+                && ((!(ServiceIndex.isLoaded())) || (ServiceIndex.isEnabled(serviceGuid)));
+
+            authorizations.put(serviceGuid, isAuthorized);
+
+            AuthorizationCache.put(userGuid, serviceGuid, isAuthorized, generation);
+        }
+
+        return AuthorizationMetrics.DATASTORE;
+    }
+
+    /**
+     * Timed call to {@link com.cws.esolutions.utility.securityutils.dao.accesscontrol.dao.interfaces.IAccessControlServiceDAO#isGroupEnabled(String)}
+     */
+    private boolean isGroupEnabled(final String serviceGuid) throws SQLException
+    {
+        final long startTime = System.nanoTime();
+
+        try
+        {
+            return dao.isGroupEnabled(serviceGuid);
+        }
+        finally
+        {
+            AuthorizationMetrics.daoCall(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Timed call to {@link com.cws.esolutions.utility.securityutils.dao.accesscontrol.dao.interfaces.IAccessControlServiceDAO#getUserGroups(String)}
+     */
+    private String getUserGroups(final String userGuid) throws SQLException
+    {
+        final long startTime = System.nanoTime();
+
+        try
+        {
+            return dao.getUserGroups(userGuid);
+        }
+        finally
+        {
+            AuthorizationMetrics.daoCall(System.nanoTime() - startTime);
+        }
+    }
 }
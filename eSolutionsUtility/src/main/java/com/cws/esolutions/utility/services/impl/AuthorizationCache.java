@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.services.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.services.impl
+ * File: AuthorizationCache.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.cws.esolutions.utility.UtilityConstants;
+/**
+ * Holds recent authorization decisions made by {@link AccessControlServiceImpl}, keyed by user
+ * GUID and service GUID, so that repeated checks within a session cost a map lookup rather than
+ * the group and membership queries.
+ *
+ * Decisions expire <code>timeToLive</code> milliseconds after they were made. Changes to a user's
+ * role or groups must call {@link #invalidateUser(String)}; a decision that was being computed
+ * while an invalidation ran is not stored. When more than <code>maxEntries</code> decisions are
+ * held, expired decisions are removed first and then live ones until the cache is back under
+ * its bound.
+ *
+ * Invalidating a user also records when the user was revoked. Memberships built at logon cannot be
+ * reached from here, so {@link ServiceIndex#isCurrent(com.cws.esolutions.utility.services.dto.ServiceMembership, String)}
+ * checks {@link #isRevokedSince(String, long)} and a membership built before the revocation is not
+ * trusted. Memberships are never trusted for longer than <code>timeToLive</code>, so revocations
+ * older than that are pruned.
+ *
+ * Decisions are held in a single map keyed by user and service, so its size is the number of
+ * decisions held and cannot drift from a separately maintained count. Dropping a user's decisions
+ * walks the map, which is acceptable for role changes and account removals.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class AuthorizationCache
+{
+    private static volatile long timeToLive = TimeUnit.MINUTES.toNanos(5);
+    private static volatile int maxEntries = 10000;
+
+    private static final AtomicLong generation = new AtomicLong();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final ConcurrentHashMap<Key, Decision> decisions = new ConcurrentHashMap<Key, Decision>();
+    private static final ConcurrentHashMap<String, Long> revocations = new ConcurrentHashMap<String, Long>();
+
+    private static final String CNAME = AuthorizationCache.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+
+    private AuthorizationCache()
+    {
+    }
+
+    /**
+     * Applies the cache settings and drops every held decision.
+     *
+     * @param ttl - The time, in milliseconds, a decision is reused. <code>0</code> disables the cache
+     * @param entries - The maximum number of decisions held. Values that are not positive leave
+     * the current setting in place
+     */
+    public static synchronized void configure(final long ttl, final int entries)
+    {
+        final String methodName = AuthorizationCache.CNAME + "#configure(final long ttl, final int entries)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", ttl);
+            DEBUGGER.debug("Value: {}", entries);
+        }
+
+        AuthorizationCache.timeToLive = TimeUnit.MILLISECONDS.toNanos(Math.max(ttl, 0L));
+
+        if (entries > 0)
+        {
+            AuthorizationCache.maxEntries = entries;
+        }
+
+        AuthorizationCache.invalidateAll();
+    }
+
+    /**
+     * @return The current generation, to be passed to {@link #put(String, String, boolean, long)}
+     * once the decision has been computed
+     */
+    public static long getGeneration()
+    {
+        return AuthorizationCache.generation.get();
+    }
+
+    /**
+     * @param userGuid - The user's GUID
+     * @param serviceGuid - The service GUID
+     * @return The held decision, or <code>null</code> if there is none or it has expired
+     */
+    public static Boolean get(final String userGuid, final String serviceGuid)
+    {
+        if ((AuthorizationCache.timeToLive == 0L) || (userGuid == null) || (serviceGuid == null))
+        {
+            return null;
+        }
+
+        final Decision decision = AuthorizationCache.decisions.get(new Key(userGuid, serviceGuid));
+
+        if ((decision == null) || (decision.expires - System.nanoTime() < 0L))
+        {
+            AuthorizationCache.misses.increment();
+
+            return null;
+        }
+
+        AuthorizationCache.hits.increment();
+
+        return Boolean.valueOf(decision.authorized);
+    }
+
+    /**
+     * Holds a decision, unless the cache was invalidated after <code>since</code> was read.
+     *
+     * @param userGuid - The user's GUID
+     * @param serviceGuid - The service GUID
+     * @param authorized - The decision
+     * @param since - The {@link #getGeneration()} read before the decision was computed
+     */
+    public static void put(final String userGuid, final String serviceGuid, final boolean authorized, final long since)
+    {
+        final long ttl = AuthorizationCache.timeToLive;
+
+        if ((ttl == 0L) || (userGuid == null) || (serviceGuid == null) || (AuthorizationCache.generation.get() != since))
+        {
+            return;
+        }
+
+        final Key key = new Key(userGuid, serviceGuid);
+        final Decision decision = new Decision(authorized, System.nanoTime() + ttl);
+
+        if ((AuthorizationCache.decisions.put(key, decision) == null) && (AuthorizationCache.decisions.mappingCount() > AuthorizationCache.maxEntries))
+        {
+            AuthorizationCache.evict();
+        }
+
+        // an invalidation may have run between the check above and the put
+        if (AuthorizationCache.generation.get() != since)
+        {
+            AuthorizationCache.decisions.remove(key, decision);
+        }
+    }
+
+    /**
+     * Drops every decision held for the user and records the revocation. Called when the user's
+     * role or group membership changes, or the account is removed.
+     *
+     * @param userGuid - The user's GUID
+     */
+    public static void invalidateUser(final String userGuid)
+    {
+        final String methodName = AuthorizationCache.CNAME + "#invalidateUser(final String userGuid)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", userGuid);
+        }
+
+        if (userGuid == null)
+        {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        final long oldest = now - AuthorizationCache.getTimeToLive();
+
+        // revoked before the decisions go, so no membership check can slip in between
+        AuthorizationCache.revocations.put(userGuid, Long.valueOf(now));
+        AuthorizationCache.revocations.values().removeIf(revokedAt -> revokedAt.longValue() < oldest);
+        AuthorizationCache.generation.incrementAndGet();
+
+        AuthorizationCache.decisions.keySet().removeIf(key -> key.userGuid.equals(userGuid));
+    }
+
+    /**
+     * @param userGuid - The user's GUID
+     * @param since - The time, in milliseconds since the epoch, a membership for the user was built
+     * @return <code>true</code> if the user has been invalidated at or after <code>since</code>, in
+     * which case the membership may be stale
+     */
+    public static boolean isRevokedSince(final String userGuid, final long since)
+    {
+        if ((userGuid == null) || (AuthorizationCache.revocations.isEmpty()))
+        {
+            return false;
+        }
+
+        final Long revokedAt = AuthorizationCache.revocations.get(userGuid);
+
+        return (revokedAt != null) && (revokedAt.longValue() >= since);
+    }
+
+    /**
+     * @return The time, in milliseconds, a decision or a logon membership is trusted
+     */
+    public static long getTimeToLive()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(AuthorizationCache.timeToLive);
+    }
+
+    /**
+     * Drops every held decision. Called when services or groups are enabled or disabled.
+     */
+    public static void invalidateAll()
+    {
+        final String methodName = AuthorizationCache.CNAME + "#invalidateAll()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        AuthorizationCache.generation.incrementAndGet();
+
+        AuthorizationCache.decisions.clear();
+    }
+
+    /**
+     * @return The number of decisions held
+     */
+    public static int getSize()
+    {
+        return (int) Math.min(AuthorizationCache.decisions.mappingCount(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return The number of lookups answered from the cache
+     */
+    public static long getHitCount()
+    {
+        return AuthorizationCache.hits.sum();
+    }
+
+    /**
+     * @return The number of lookups that found no usable decision
+     */
+    public static long getMissCount()
+    {
+        return AuthorizationCache.misses.sum();
+    }
+
+    private static synchronized void evict()
+    {
+        if (AuthorizationCache.decisions.mappingCount() <= AuthorizationCache.maxEntries)
+        {
+            return;
+        }
+
+        final long now = System.nanoTime();
+
+        AuthorizationCache.decisions.values().removeIf(decision -> decision.expires - now < 0L);
+
+        // still full of live decisions - make room for a tenth of the bound at once
+        final int target = AuthorizationCache.maxEntries - (AuthorizationCache.maxEntries / 10);
+        final Iterator<Key> iterator = AuthorizationCache.decisions.keySet().iterator();
+
+        while ((AuthorizationCache.decisions.mappingCount() > target) && (iterator.hasNext()))
+        {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static final class Key
+    {
+        private final String userGuid;
+        private final String serviceGuid;
+        private final int hash;
+
+        private Key(final String userGuid, final String serviceGuid)
+        {
+            this.userGuid = userGuid;
+            this.serviceGuid = serviceGuid;
+            this.hash = (31 * userGuid.hashCode()) + serviceGuid.hashCode();
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+
+            if (!(object instanceof Key))
+            {
+                return false;
+            }
+
+            final Key key = (Key) object;
+
+            return (this.userGuid.equals(key.userGuid)) && (this.serviceGuid.equals(key.serviceGuid));
+        }
+    }
+
+    private static final class Decision
+    {
+        private final boolean authorized;
+        private final long expires;
+
+        private Decision(final boolean authorized, final long expires)
+        {
+            this.authorized = authorized;
+            this.expires = expires;
+        }
+    }
+}
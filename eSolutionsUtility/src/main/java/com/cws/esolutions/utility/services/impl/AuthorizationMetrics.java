@@ -0,0 +1,518 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.services.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.services.impl
+ * File: AuthorizationMetrics.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import java.util.TreeMap;
+import javax.management.ObjectName;
+import javax.management.JMException;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.coreutils.Histogram;
+import com.cws.esolutions.utility.coreutils.MBeanUtils;
+import com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics;
+/**
+ * Counters and histograms for access control. {@link AccessControlServiceImpl} reports every
+ * decision and every DAO call it makes here; cache and snapshot figures are read from the
+ * {@link AuthorizationCache} and the {@link ServiceIndex} when the metrics are read.
+ *
+ * Calls slower than the trace threshold are written to the trace log with the user, the services
+ * and the source that answered them. {@link #register(String)} exposes the metrics through the platform
+ * MBean server.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class AuthorizationMetrics implements IAuthorizationMetrics
+{
+    public static final String OBJECT_NAME = "com.cws.esolutions.utility:type=AuthorizationMetrics";
+
+    static final int ADMIN = 0;
+    static final int BITSET = 1;
+    static final int CACHE = 2;
+    static final int DATASTORE = 3;
+
+    private static final String[] SOURCES = { "ADMIN", "BITSET", "CACHE", "DATASTORE" };
+    private static final String OTHER_SERVICES = "OTHER";
+    private static final int MAX_SERVICES = 1024;
+    private static final int LATENCY_BUCKETS = 32;
+
+    private static final LongAdder[] sources = AuthorizationMetrics.adders(AuthorizationMetrics.SOURCES.length);
+    private static final LongAdder granted = new LongAdder();
+    private static final LongAdder denied = new LongAdder();
+    private static final LongAdder errors = new LongAdder();
+    private static final LongAdder slowCalls = new LongAdder();
+    private static final Map<String, LongAdder> grantedByService = new ConcurrentHashMap<String, LongAdder>();
+    private static final Map<String, LongAdder> deniedByService = new ConcurrentHashMap<String, LongAdder>();
+    private static final Histogram callLatency = new Histogram(AuthorizationMetrics.LATENCY_BUCKETS);
+    private static final Histogram daoLatency = new Histogram(AuthorizationMetrics.LATENCY_BUCKETS);
+
+    private static volatile long traceThreshold = 0L;
+
+    private static final AuthorizationMetrics INSTANCE = new AuthorizationMetrics();
+    private static volatile ObjectName registered = null;
+
+    private static final String CNAME = AuthorizationMetrics.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+    private static final Logger TRACE_RECORDER = LogManager.getLogger(UtilityConstants.TRACE_LOGGER);
+    private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER + CNAME);
+
+    private AuthorizationMetrics()
+    {
+    }
+
+    /**
+     * @return The metrics instance, for callers that read the metrics without going through JMX
+     */
+    public static IAuthorizationMetrics getInstance()
+    {
+        return AuthorizationMetrics.INSTANCE;
+    }
+
+    /**
+     * @param value - Authorization calls slower than this, in milliseconds, are written to the
+     * trace log. <code>0</code> turns tracing off
+     */
+    public static void setTraceThreshold(final long value)
+    {
+        AuthorizationMetrics.traceThreshold = TimeUnit.MILLISECONDS.toNanos(Math.max(value, 0L));
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server as <code>{@value #OBJECT_NAME},name=&lt;name&gt;</code>.
+     * Calling it again while registered has no effect; a failure, including a name already registered by
+     * another deployment, is logged and authorization carries on without the MBean.
+     *
+     * @param name - A name for this deployment, or blank to use one unique to this class loader
+     */
+    public static synchronized void register(final String name)
+    {
+        final String methodName = AuthorizationMetrics.CNAME + "#register(final String name)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", name);
+        }
+
+        if (AuthorizationMetrics.registered != null)
+        {
+            return;
+        }
+
+        try
+        {
+            AuthorizationMetrics.registered = MBeanUtils.register(AuthorizationMetrics.INSTANCE, AuthorizationMetrics.OBJECT_NAME, name);
+        }
+        catch (final JMException jmx)
+        {
+            ERROR_RECORDER.error(jmx.getMessage(), jmx);
+        }
+    }
+
+    /**
+     * @return The name the metrics are registered under, or <code>null</code> if they are not registered
+     */
+    public static ObjectName getObjectName()
+    {
+        return AuthorizationMetrics.registered;
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server. The counters keep running.
+     */
+    public static synchronized void unregister()
+    {
+        final String methodName = AuthorizationMetrics.CNAME + "#unregister()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        if (AuthorizationMetrics.registered == null)
+        {
+            return;
+        }
+
+        try
+        {
+            MBeanUtils.unregister(AuthorizationMetrics.registered);
+        }
+        catch (final JMException jmx)
+        {
+            ERROR_RECORDER.error(jmx.getMessage(), jmx);
+        }
+        finally
+        {
+            AuthorizationMetrics.registered = null;
+        }
+    }
+
+    /**
+     * A single service was decided for <code>userGuid</code> by <code>source</code> in
+     * <code>nanos</code>.
+     */
+    static void decided(final String userGuid, final String serviceGuid, final int source, final boolean authorized, final boolean failed,
+        final long nanos)
+    {
+        AuthorizationMetrics.count(serviceGuid, source, authorized, failed);
+        AuthorizationMetrics.timed(nanos);
+
+        if (AuthorizationMetrics.isSlow(nanos))
+        {
+            TRACE_RECORDER.info("SLOW AUTHORIZATION: {} us, source {}, user {}, service {}, authorized {}, failed {}",
+                TimeUnit.NANOSECONDS.toMicros(nanos), AuthorizationMetrics.SOURCES[source], userGuid, serviceGuid, authorized, failed);
+        }
+    }
+
+    /**
+     * A batch of services was decided for <code>userGuid</code> in <code>nanos</code>;
+     * <code>source</code> is the slowest source any of them needed.
+     */
+    static void decided(final String userGuid, final Map<String, Boolean> authorizations, final int source, final boolean failed, final long nanos)
+    {
+        for (Map.Entry<String, Boolean> entry : authorizations.entrySet())
+        {
+            AuthorizationMetrics.count(entry.getKey(), source, entry.getValue().booleanValue(), failed);
+        }
+
+        AuthorizationMetrics.timed(nanos);
+
+        if (AuthorizationMetrics.isSlow(nanos))
+        {
+            TRACE_RECORDER.info("SLOW AUTHORIZATION: {} us, source {}, user {}, services {}, failed {}",
+                TimeUnit.NANOSECONDS.toMicros(nanos), AuthorizationMetrics.SOURCES[source], userGuid, authorizations, failed);
+        }
+    }
+
+    /**
+     * An access-control DAO call on the authorization path took <code>nanos</code>.
+     */
+    static void daoCall(final long nanos)
+    {
+        AuthorizationMetrics.daoLatency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getDecisionCount()
+     */
+    public long getDecisionCount()
+    {
+        return AuthorizationMetrics.granted.sum() + AuthorizationMetrics.denied.sum();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getGrantedCount()
+     */
+    public long getGrantedCount()
+    {
+        return AuthorizationMetrics.granted.sum();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getDeniedCount()
+     */
+    public long getDeniedCount()
+    {
+        return AuthorizationMetrics.denied.sum();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getErrorCount()
+     */
+    public long getErrorCount()
+    {
+        return AuthorizationMetrics.errors.sum();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getDecisionsBySource()
+     */
+    public Map<String, Long> getDecisionsBySource()
+    {
+        final Map<String, Long> bySource = new TreeMap<String, Long>();
+
+        for (int x = 0; x < AuthorizationMetrics.SOURCES.length; x++)
+        {
+            final long count = AuthorizationMetrics.sources[x].sum();
+
+            if (count != 0L)
+            {
+                bySource.put(AuthorizationMetrics.SOURCES[x], count);
+            }
+        }
+
+        return bySource;
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getGrantedByService()
+     */
+    public Map<String, Long> getGrantedByService()
+    {
+        return AuthorizationMetrics.byService(AuthorizationMetrics.grantedByService);
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getDeniedByService()
+     */
+    public Map<String, Long> getDeniedByService()
+    {
+        return AuthorizationMetrics.byService(AuthorizationMetrics.deniedByService);
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getCacheHitCount()
+     */
+    public long getCacheHitCount()
+    {
+        return AuthorizationCache.getHitCount();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getCacheMissCount()
+     */
+    public long getCacheMissCount()
+    {
+        return AuthorizationCache.getMissCount();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getCacheHitRatio()
+     */
+    public double getCacheHitRatio()
+    {
+        final long hits = AuthorizationCache.getHitCount();
+        final long lookups = hits + AuthorizationCache.getMissCount();
+
+        return (lookups == 0L) ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getCacheSize()
+     */
+    public int getCacheSize()
+    {
+        return AuthorizationCache.getSize();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getCallCount()
+     */
+    public long getCallCount()
+    {
+        return AuthorizationMetrics.callLatency.getCount();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getCallLatencyMeanMicros()
+     */
+    public double getCallLatencyMeanMicros()
+    {
+        return AuthorizationMetrics.callLatency.getMean();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getCallLatencyMaxMicros()
+     */
+    public long getCallLatencyMaxMicros()
+    {
+        return AuthorizationMetrics.callLatency.getMax();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getCallLatencyPercentiles()
+     */
+    public Map<String, Long> getCallLatencyPercentiles()
+    {
+        return AuthorizationMetrics.callLatency.getPercentiles();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getCallLatencyHistogram()
+     */
+    public Map<String, Long> getCallLatencyHistogram()
+    {
+        return AuthorizationMetrics.callLatency.toMap();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getDaoCallCount()
+     */
+    public long getDaoCallCount()
+    {
+        return AuthorizationMetrics.daoLatency.getCount();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getDaoLatencyMeanMicros()
+     */
+    public double getDaoLatencyMeanMicros()
+    {
+        return AuthorizationMetrics.daoLatency.getMean();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getDaoLatencyMaxMicros()
+     */
+    public long getDaoLatencyMaxMicros()
+    {
+        return AuthorizationMetrics.daoLatency.getMax();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getDaoLatencyPercentiles()
+     */
+    public Map<String, Long> getDaoLatencyPercentiles()
+    {
+        return AuthorizationMetrics.daoLatency.getPercentiles();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getDaoLatencyHistogram()
+     */
+    public Map<String, Long> getDaoLatencyHistogram()
+    {
+        return AuthorizationMetrics.daoLatency.toMap();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getSlowCallCount()
+     */
+    public long getSlowCallCount()
+    {
+        return AuthorizationMetrics.slowCalls.sum();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getTraceThresholdMillis()
+     */
+    public long getTraceThresholdMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(AuthorizationMetrics.traceThreshold);
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getEnabledServiceCount()
+     */
+    public int getEnabledServiceCount()
+    {
+        return ServiceIndex.getEnabledServices().size();
+    }
+
+    /**
+     * @see com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics#getSnapshotAgeMillis()
+     */
+    public long getSnapshotAgeMillis()
+    {
+        final long loadTime = ServiceIndex.getLoadTime();
+
+        return (loadTime == 0L) ? -1L : System.currentTimeMillis() - loadTime;
+    }
+
+    private static void count(final String serviceGuid, final int source, final boolean authorized, final boolean failed)
+    {
+        AuthorizationMetrics.sources[source].increment();
+
+        if (failed)
+        {
+            AuthorizationMetrics.errors.increment();
+        }
+
+        if (authorized)
+        {
+            AuthorizationMetrics.granted.increment();
+        }
+        else
+        {
+            AuthorizationMetrics.denied.increment();
+        }
+
+        final Map<String, LongAdder> byService = (authorized) ? AuthorizationMetrics.grantedByService : AuthorizationMetrics.deniedByService;
+        LongAdder counter = byService.get(String.valueOf(serviceGuid));
+
+        if (counter == null)
+        {
+            // service guids come from the caller, so the number tracked by name is capped
+            final String key = (byService.size() < AuthorizationMetrics.MAX_SERVICES) ? String.valueOf(serviceGuid) : AuthorizationMetrics.OTHER_SERVICES;
+
+            counter = byService.computeIfAbsent(key, name -> new LongAdder());
+        }
+
+        counter.increment();
+    }
+
+    private static void timed(final long nanos)
+    {
+        AuthorizationMetrics.callLatency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    private static boolean isSlow(final long nanos)
+    {
+        final long threshold = AuthorizationMetrics.traceThreshold;
+
+        if ((threshold == 0L) || (nanos < threshold))
+        {
+            return false;
+        }
+
+        AuthorizationMetrics.slowCalls.increment();
+
+        return true;
+    }
+
+    private static Map<String, Long> byService(final Map<String, LongAdder> counters)
+    {
+        final Map<String, Long> byService = new TreeMap<String, Long>();
+
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet())
+        {
+            byService.put(entry.getKey(), entry.getValue().sum());
+        }
+
+        return byService;
+    }
+
+    private static LongAdder[] adders(final int size)
+    {
+        final LongAdder[] adders = new LongAdder[size];
+
+        for (int x = 0; x < size; x++)
+        {
+            adders[x] = new LongAdder();
+        }
+
+        return adders;
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.services.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.services.impl
+ * File: ServiceIndex.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Set;
+import java.util.Map;
+import java.util.List;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.Objects;
+import java.util.Collection;
+import java.util.Collections;
+import java.sql.SQLException;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+
+import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.coreutils.ThreadUtils;
+import com.cws.esolutions.utility.services.dto.ServiceMembership;
+import com.cws.esolutions.utility.services.interfaces.IAccessControlService;
+/**
+ * Interns service (group) GUIDs to dense integer ids so that a user's memberships can be held as a
+ * {@link BitSet} and an authorization check becomes a single bit test, and holds the set of enabled
+ * services as an immutable snapshot.
+ *
+ * The snapshot is loaded at startup and re-loaded in the background, or on demand through
+ * {@link #refresh()}, and swapped in whole - readers on the request path never wait on the
+ * database. A failed refresh keeps the previous snapshot. When the enabled set changes, cached
+ * authorization decisions are dropped.
+ *
+ * Ids are handed out once and never reused, but only within this process: they are assigned in
+ * first-seen order, so another node or a restarted one numbers the same services differently. A
+ * {@link ServiceMembership} built at logon is therefore stamped with this index's instance id and
+ * its build time, and {@link #isCurrent(ServiceMembership, String)} only trusts it here, for at most
+ * the authorization cache time to live, and only if the user has not been revoked since. GUIDs that
+ * are first seen in a membership list are interned on demand and are treated as disabled until a
+ * snapshot reports them as enabled.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class ServiceIndex
+{
+    private static final long DEFAULT_REFRESH = 300000L;
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+    private static volatile Snapshot snapshot = null;
+    private static volatile Thread refresher = null;
+    private static volatile boolean running = false;
+    private static volatile long refreshInterval = ServiceIndex.DEFAULT_REFRESH;
+    private static volatile Map<String, Integer> ids = new HashMap<String, Integer>();
+
+    private static final String CNAME = ServiceIndex.class.getName();
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+    private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER + CNAME);
+
+    private ServiceIndex()
+    {
+    }
+
+    /**
+     * Loads the enabled services and starts re-loading them every <code>refreshInterval</code>
+     * milliseconds. Calling this while the refresher is running only applies the new interval.
+     *
+     * @param refreshInterval - The time, in milliseconds, between refreshes. Values that are not
+     * positive keep the current interval, five minutes unless configured
+     */
+    public static synchronized void start(final long refreshInterval)
+    {
+        final String methodName = ServiceIndex.CNAME + "#start(final long refreshInterval)";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", refreshInterval);
+        }
+
+        ServiceIndex.setRefreshInterval(refreshInterval);
+
+        if (ServiceIndex.running)
+        {
+            return;
+        }
+
+        ServiceIndex.refresh();
+
+        ServiceIndex.running = true;
+
+        Thread thread = new Thread(() -> ServiceIndex.run(), "ServiceIndex");
+        thread.setDaemon(true);
+        thread.start();
+
+        ServiceIndex.refresher = thread;
+    }
+
+    /**
+     * Stops the background refresh. The last loaded snapshot continues to be served.
+     */
+    public static synchronized void stop()
+    {
+        final String methodName = ServiceIndex.CNAME + "#stop()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        final Thread current = ServiceIndex.refresher;
+
+        ServiceIndex.running = false;
+
+        ThreadUtils.stop(current, 5000L);
+
+        ServiceIndex.refresher = null;
+    }
+
+    /**
+     * @param value - The time, in milliseconds, between refreshes. Values that are not positive are
+     * ignored
+     */
+    public static void setRefreshInterval(final long value)
+    {
+        if (value > 0)
+        {
+            ServiceIndex.refreshInterval = value;
+        }
+    }
+
+    /**
+     * Re-loads the enabled services from the access-control DAO and swaps in the new snapshot. This
+     * is the manual refresh hook for administrative changes that should apply before the next
+     * scheduled refresh.
+     *
+     * @return <code>true</code> if the services were loaded, <code>false</code> if the previous
+     * snapshot was kept
+     */
+    public static boolean refresh()
+    {
+        final String methodName = ServiceIndex.CNAME + "#refresh()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        try
+        {
+            final List<String> services = IAccessControlService.dao.getAccessGroups();
+
+            if (DEBUG)
+            {
+                DEBUGGER.debug("List<String>: services: {}", services);
+            }
+
+            ServiceIndex.load(services);
+
+            return true;
+        }
+        catch (final SQLException sqx)
+        {
+            ERROR_RECORDER.error(sqx.getMessage(), sqx);
+
+            return false;
+        }
+    }
+
+    /**
+     * Interns the given service GUIDs and swaps in a snapshot with exactly those enabled.
+     *
+     * @param services - The enabled service GUIDs
+     */
+    public static synchronized void load(final Collection<String> services)
+    {
+        final Set<String> enabledServices = new HashSet<String>();
+        final BitSet enabledSet = new BitSet();
+
+        if (services != null)
+        {
+            for (String service : services)
+            {
+                final int id = ServiceIndex.intern(service);
+
+                if (id >= 0)
+                {
+                    enabledServices.add(service.trim());
+                    enabledSet.set(id);
+                }
+            }
+        }
+
+        final Snapshot previous = ServiceIndex.snapshot;
+
+        ServiceIndex.snapshot = new Snapshot(Collections.unmodifiableSet(enabledServices), enabledSet, System.currentTimeMillis());
+
+        if ((previous != null) && (!(previous.services.equals(enabledServices))))
+        {
+            // decisions were made against the old enabled set
+            AuthorizationCache.invalidateAll();
+        }
+    }
+
+    /**
+     * @return <code>true</code> once a snapshot of the enabled services has been loaded
+     */
+    public static boolean isLoaded()
+    {
+        return ServiceIndex.snapshot != null;
+    }
+
+    /**
+     * @return The time, in milliseconds since the epoch, the current snapshot was loaded, or
+     * <code>0</code> if none has been
+     */
+    public static long getLoadTime()
+    {
+        final Snapshot current = ServiceIndex.snapshot;
+
+        return (current == null) ? 0L : current.loadTime;
+    }
+
+    /**
+     * @return The enabled service GUIDs in the current snapshot
+     */
+    public static Set<String> getEnabledServices()
+    {
+        final Snapshot current = ServiceIndex.snapshot;
+
+        return (current == null) ? Collections.<String>emptySet() : current.services;
+    }
+
+    /**
+     * @param service - The service GUID
+     * @return <code>true</code> if the current snapshot holds the service as enabled
+     */
+    public static boolean isEnabled(final String service)
+    {
+        final Snapshot current = ServiceIndex.snapshot;
+
+        return (current != null) && (service != null) && (current.services.contains(service.trim()));
+    }
+
+    /**
+     * @param service - The service GUID
+     * @return The id of the service, or <code>-1</code> if it has never been seen
+     */
+    public static int getId(final String service)
+    {
+        final Integer id = (service == null) ? null : ServiceIndex.ids.get(service.trim());
+
+        return (id == null) ? -1 : id.intValue();
+    }
+
+    /**
+     * Builds the membership bitset for a user.
+     *
+     * @param services - The service GUIDs the user is a member of
+     * @return A bitset holding the id of each service
+     */
+    public static BitSet toBitSet(final Collection<String> services)
+    {
+        final BitSet bitSet = new BitSet();
+
+        if (services == null)
+        {
+            return bitSet;
+        }
+
+        for (String service : services)
+        {
+            final int id = ServiceIndex.intern(service);
+
+            if (id >= 0)
+            {
+                bitSet.set(id);
+            }
+        }
+
+        return bitSet;
+    }
+
+    /**
+     * Builds the logon membership for a user, stamped with this index instance and the current time.
+     *
+     * @param services - The service GUIDs the user is a member of
+     * @return The user's {@link ServiceMembership}
+     */
+    public static ServiceMembership toMembership(final Collection<String> services)
+    {
+        return new ServiceMembership(ServiceIndex.toBitSet(services), ServiceIndex.INSTANCE_ID, System.currentTimeMillis());
+    }
+
+    /**
+     * @param membership - The user's logon membership
+     * @param userGuid - The user's GUID
+     * @return <code>true</code> if the membership was built by this index instance, is younger than
+     * the authorization cache time to live and predates no revocation of the user - otherwise the
+     * caller has to decide from the datastore
+     */
+    public static boolean isCurrent(final ServiceMembership membership, final String userGuid)
+    {
+        if ((membership == null) || (!(ServiceIndex.INSTANCE_ID.equals(membership.getIndexId()))))
+        {
+            return false;
+        }
+
+        final long age = System.currentTimeMillis() - membership.getBuildTime();
+
+        return (age >= 0L) && (age < AuthorizationCache.getTimeToLive()) && (!(AuthorizationCache.isRevokedSince(userGuid, membership.getBuildTime())));
+    }
+
+    /**
+     * @param membership - The user's logon membership, from {@link #toMembership(Collection)}
+     * @param service - The service GUID
+     * @return <code>true</code> if the service is enabled and its bit is set
+     */
+    public static boolean isAuthorized(final ServiceMembership membership, final String service)
+    {
+        final Snapshot current = ServiceIndex.snapshot;
+        final int id = ServiceIndex.getId(service);
+
+        return (id >= 0) && (current != null) && (Objects.nonNull(membership)) && (membership.get(id)) && (current.enabled.get(id));
+    }
+
+    private static int intern(final String service)
+    {
+        if ((service == null) || (service.isBlank()))
+        {
+            return -1;
+        }
+
+        final String key = service.trim();
+        final Integer id = ServiceIndex.ids.get(key);
+
+        if (id != null)
+        {
+            return id.intValue();
+        }
+
+        synchronized (ServiceIndex.class)
+        {
+            final Integer current = ServiceIndex.ids.get(key);
+
+            if (current != null)
+            {
+                return current.intValue();
+            }
+
+            // copy on write, readers never lock
+            final Map<String, Integer> copy = new HashMap<String, Integer>(ServiceIndex.ids);
+            copy.put(key, Integer.valueOf(copy.size()));
+
+            ServiceIndex.ids = copy;
+
+            return copy.size() - 1;
+        }
+    }
+
+    private static void run()
+    {
+        while (ThreadUtils.pause(ServiceIndex.refreshInterval, () -> ServiceIndex.running))
+        {
+            ServiceIndex.refresh();
+        }
+    }
+
+    private static final class Snapshot
+    {
+        private final Set<String> services;
+        private final BitSet enabled;
+        private final long loadTime;
+
+        private Snapshot(final Set<String> services, final BitSet enabled, final long loadTime)
+        {
+            this.services = services;
+            this.enabled = enabled;
+            this.loadTime = loadTime;
+        }
+    }
+}
@@ -63,4 +63,15 @@ public interface IAccessControlService
      * @throws AccessControlServiceException {@link com.cws.esolutions.security.services.exception.AccessControlServiceException} if an exception occurs during processing
      */
     AccessControlServiceResponse isUserAuthorized(final AccessControlServiceRequest request) throws AccessControlServiceException;
+
+    /**
+     * Determines, in a single call, which of the services in <code>serviceGuids</code> the requested
+     * user may access. The user's groups are fetched at most once regardless of how many services
+     * are asked about - used to render menus and other views that show many services at once.
+     *
+     * @param request The control service request data, with the service GUIDs to check
+     * @return A map of each requested service GUID to its decision
+     * @throws AccessControlServiceException {@link com.cws.esolutions.security.services.exception.AccessControlServiceException} if an exception occurs during processing
+     */
+    AccessControlServiceResponse getUserAuthorizations(final AccessControlServiceRequest request) throws AccessControlServiceException;
 }
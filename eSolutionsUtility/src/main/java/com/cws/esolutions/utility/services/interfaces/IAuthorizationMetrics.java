@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.services.interfaces;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.services.interfaces
+ * File: IAuthorizationMetrics.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import javax.management.MXBean;
+/**
+ * Management view of access control, registered with the platform MBean server as
+ * <code>com.cws.esolutions.utility:type=AuthorizationMetrics</code> alongside the audit metrics.
+ * Counters are cumulative since startup.
+ *
+ * A decision is answered by one of four sources: <code>ADMIN</code> (site administrators),
+ * <code>BITSET</code> (the membership bitset built at logon), <code>CACHE</code> (a cached
+ * decision) or <code>DATASTORE</code> (the access-control DAO). Histogram maps are keyed by the
+ * inclusive upper bound of each bucket, e.g. <code>le_1024</code>, and only carry buckets that
+ * have been hit.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+@MXBean
+public interface IAuthorizationMetrics
+{
+    /**
+     * @return The number of authorization decisions made, one per service asked about
+     */
+    long getDecisionCount();
+
+    /**
+     * @return The number of decisions that granted access
+     */
+    long getGrantedCount();
+
+    /**
+     * @return The number of decisions that denied access, including those denied on error
+     */
+    long getDeniedCount();
+
+    /**
+     * @return The number of decisions denied because the datastore could not be read
+     */
+    long getErrorCount();
+
+    /**
+     * @return The number of decisions, by the source that answered them
+     */
+    Map<String, Long> getDecisionsBySource();
+
+    /**
+     * @return The number of granted decisions, by service GUID
+     */
+    Map<String, Long> getGrantedByService();
+
+    /**
+     * @return The number of denied decisions, by service GUID
+     */
+    Map<String, Long> getDeniedByService();
+
+    /**
+     * @return The number of authorization cache lookups that found a decision
+     */
+    long getCacheHitCount();
+
+    /**
+     * @return The number of authorization cache lookups that found no usable decision
+     */
+    long getCacheMissCount();
+
+    /**
+     * @return The share of authorization cache lookups that found a decision, from 0 to 1
+     */
+    double getCacheHitRatio();
+
+    /**
+     * @return The number of decisions held in the authorization cache
+     */
+    int getCacheSize();
+
+    /**
+     * @return The number of authorization calls timed
+     */
+    long getCallCount();
+
+    /**
+     * @return The mean time spent in an authorization call, in microseconds
+     */
+    double getCallLatencyMeanMicros();
+
+    /**
+     * @return The longest time spent in an authorization call, in microseconds
+     */
+    long getCallLatencyMaxMicros();
+
+    /**
+     * @return The p50, p90, p99 and p999 authorization call times, in microseconds
+     */
+    Map<String, Long> getCallLatencyPercentiles();
+
+    /**
+     * @return The authorization call time histogram, in microseconds
+     */
+    Map<String, Long> getCallLatencyHistogram();
+
+    /**
+     * @return The number of access-control DAO calls made on the authorization path
+     */
+    long getDaoCallCount();
+
+    /**
+     * @return The mean access-control DAO call time, in microseconds
+     */
+    double getDaoLatencyMeanMicros();
+
+    /**
+     * @return The longest access-control DAO call time, in microseconds
+     */
+    long getDaoLatencyMaxMicros();
+
+    /**
+     * @return The p50, p90, p99 and p999 access-control DAO call times, in microseconds
+     */
+    Map<String, Long> getDaoLatencyPercentiles();
+
+    /**
+     * @return The access-control DAO call time histogram, in microseconds
+     */
+    Map<String, Long> getDaoLatencyHistogram();
+
+    /**
+     * @return The number of authorization calls slower than the trace threshold
+     */
+    long getSlowCallCount();
+
+    /**
+     * @return The trace threshold, in milliseconds. <code>0</code> when tracing is off
+     */
+    long getTraceThresholdMillis();
+
+    /**
+     * @return The number of services in the enablement snapshot
+     */
+    int getEnabledServiceCount();
+
+    /**
+     * @return The age of the enablement snapshot, in milliseconds, or <code>-1</code> if none has
+     * been loaded
+     */
+    long getSnapshotAgeMillis();
+}
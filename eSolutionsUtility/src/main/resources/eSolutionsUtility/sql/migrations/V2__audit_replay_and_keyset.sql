@@ -0,0 +1,123 @@
+--
+-- Copyright (c) 2009 - 2020 CaspersBox Web Services
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+-- Audit schema, version 2. Adds the procedures AuditDAOImpl calls for spool replay
+-- (insertAuditEntryAt), keyset paging (getAuditPage, getAuditCount) and range export
+-- (getAuditRange), plus the indexes they walk. insertAuditEntry is unchanged. Safe to
+-- run more than once.
+--
+-- mysql -u <admin> -p AUDIT < V2__audit_replay_and_keyset.sql
+--
+
+DELIMITER //
+
+DROP PROCEDURE IF EXISTS addAuditIndexIfMissing //
+
+CREATE PROCEDURE addAuditIndexIfMissing(IN indexName VARCHAR(64), IN indexColumns VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'AUDIT' AND INDEX_NAME = indexName) THEN
+        SET @ddl = CONCAT('CREATE INDEX ', indexName, ' ON AUDIT (', indexColumns, ')');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END //
+
+CALL addAuditIndexIfMissing('IDX_AUDIT_CN', 'CN, REQTIMESTAMP, ID') //
+CALL addAuditIndexIfMissing('IDX_AUDIT_TIME', 'REQTIMESTAMP, ID') //
+
+DROP PROCEDURE addAuditIndexIfMissing //
+
+DROP PROCEDURE IF EXISTS insertAuditEntryAt //
+
+CREATE PROCEDURE insertAuditEntryAt(
+    IN sessionId VARCHAR(255),
+    IN userName VARCHAR(45),
+    IN commonName VARCHAR(128),
+    IN userRole VARCHAR(45),
+    IN userAction VARCHAR(45),
+    IN isAuthorized BOOLEAN,
+    IN applicationId VARCHAR(128),
+    IN applicationName VARCHAR(128),
+    IN sourceAddress VARCHAR(50),
+    IN sourceHost VARCHAR(255),
+    IN requestTime TIMESTAMP)
+BEGIN
+    INSERT INTO AUDIT (SESSID, USERNAME, CN, ROLE, ACTION, AUTHORIZED, APPLID, APPLNAME, SRCADDR, SRCHOST, REQTIMESTAMP)
+    VALUES (sessionId, userName, commonName, userRole, userAction, isAuthorized, applicationId, applicationName, sourceAddress, sourceHost,
+        COALESCE(requestTime, CURRENT_TIMESTAMP));
+
+    COMMIT;
+END //
+
+DROP PROCEDURE IF EXISTS getAuditPage //
+
+CREATE PROCEDURE getAuditPage(
+    IN commonName VARCHAR(128),
+    IN beforeTimestamp TIMESTAMP,
+    IN beforeId BIGINT,
+    IN pageSize INT)
+BEGIN
+    IF beforeTimestamp IS NULL THEN
+        SELECT SESSID, USERNAME, CN, ROLE, APPLID, APPLNAME, REQTIMESTAMP, ACTION, SRCADDR, SRCHOST, ID
+        FROM AUDIT
+        WHERE CN = commonName
+        ORDER BY REQTIMESTAMP DESC, ID DESC
+        LIMIT pageSize;
+    ELSE
+        SELECT SESSID, USERNAME, CN, ROLE, APPLID, APPLNAME, REQTIMESTAMP, ACTION, SRCADDR, SRCHOST, ID
+        FROM AUDIT
+        WHERE CN = commonName
+        AND (REQTIMESTAMP < beforeTimestamp OR (REQTIMESTAMP = beforeTimestamp AND ID < beforeId))
+        ORDER BY REQTIMESTAMP DESC, ID DESC
+        LIMIT pageSize;
+    END IF;
+END //
+
+DROP PROCEDURE IF EXISTS getAuditCount //
+
+CREATE PROCEDURE getAuditCount(
+    IN commonName VARCHAR(128))
+BEGIN
+    SELECT COUNT(*)
+    FROM AUDIT
+    WHERE CN = commonName;
+END //
+
+DROP PROCEDURE IF EXISTS getAuditRange //
+
+CREATE PROCEDURE getAuditRange(
+    IN startTime TIMESTAMP,
+    IN endTime TIMESTAMP,
+    IN afterTimestamp TIMESTAMP,
+    IN afterId BIGINT,
+    IN pageSize INT)
+BEGIN
+    IF afterTimestamp IS NULL THEN
+        SELECT ID, REQTIMESTAMP, SESSID, USERNAME, CN, ROLE, ACTION, AUTHORIZED, APPLID, APPLNAME, SRCADDR, SRCHOST
+        FROM AUDIT
+        WHERE REQTIMESTAMP >= startTime AND REQTIMESTAMP < endTime
+        ORDER BY REQTIMESTAMP, ID
+        LIMIT pageSize;
+    ELSE
+        SELECT ID, REQTIMESTAMP, SESSID, USERNAME, CN, ROLE, ACTION, AUTHORIZED, APPLID, APPLNAME, SRCADDR, SRCHOST
+        FROM AUDIT
+        WHERE (REQTIMESTAMP > afterTimestamp OR (REQTIMESTAMP = afterTimestamp AND ID > afterId)) AND REQTIMESTAMP < endTime
+        ORDER BY REQTIMESTAMP, ID
+        LIMIT pageSize;
+    END IF;
+END //
+
+DELIMITER ;
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: DataSourceRegistryTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.TestInstance;
+import org.apache.commons.dbcp2.BasicDataSource;
+
+import com.cws.esolutions.utility.exception.UtilityException;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DataSourceRegistryTest
+{
+    @Test public void registerSharesPoolForSameDatabase()
+    {
+        final BasicDataSource security = newDataSource("jdbc:mysql://localhost/esolutions", "appusr");
+        final BasicDataSource contact = newDataSource("jdbc:mysql://localhost/esolutions", "appusr");
+        final BasicDataSource application = newDataSource("jdbc:mysql://localhost/esolutionssvc", "appusr");
+
+        try
+        {
+            DataSourceRegistry.Handle securityHandle = DataSourceRegistry.register("SecurityDataSource", security);
+            DataSourceRegistry.Handle contactHandle = DataSourceRegistry.register("ContactDataSource", contact);
+            DataSourceRegistry.register("ApplicationDataSource", application);
+
+            Assertions.assertThat(DataSourceRegistry.getNames()).containsOnly("SecurityDataSource", "ContactDataSource", "ApplicationDataSource");
+            Assertions.assertThat(DataSourceRegistry.getPoolCount()).isEqualTo(2);
+            Assertions.assertThat(contactHandle.getTarget()).isSameAs(securityHandle.getTarget());
+            Assertions.assertThat(contact.isClosed()).isTrue();
+            Assertions.assertThat(security.isClosed()).isFalse();
+        }
+        catch (final UtilityException ux)
+        {
+            Assertions.fail(ux.getMessage());
+        }
+    }
+
+    @Test public void releaseClosesPoolAfterLastHandle()
+    {
+        final BasicDataSource security = newDataSource("jdbc:mysql://localhost/esolutions", "appusr");
+
+        try
+        {
+            DataSourceRegistry.register("SecurityDataSource", security);
+            DataSourceRegistry.register("ContactDataSource", newDataSource("jdbc:mysql://localhost/esolutions", "appusr"));
+        }
+        catch (final UtilityException ux)
+        {
+            Assertions.fail(ux.getMessage());
+        }
+
+        DataSourceRegistry.release("SecurityDataSource");
+
+        Assertions.assertThat(security.isClosed()).isFalse();
+        Assertions.assertThat(DataSourceRegistry.getDataSource("SecurityDataSource")).isNull();
+
+        DataSourceRegistry.release("ContactDataSource");
+
+        Assertions.assertThat(security.isClosed()).isTrue();
+        Assertions.assertThat(DataSourceRegistry.getPoolCount()).isEqualTo(0);
+    }
+
+    @Test public void sameNameIsSharedForSameDatabase()
+    {
+        final BasicDataSource first = newDataSource("jdbc:mysql://localhost/esolutions", "appusr");
+        final BasicDataSource second = newDataSource("jdbc:mysql://localhost/esolutions", "appusr");
+
+        try
+        {
+            DataSourceRegistry.Handle handle = DataSourceRegistry.register("SecurityDataSource", first);
+
+            Assertions.assertThat(DataSourceRegistry.register("SecurityDataSource", second)).isSameAs(handle);
+            Assertions.assertThat(second.isClosed()).isTrue();
+        }
+        catch (final UtilityException ux)
+        {
+            Assertions.fail(ux.getMessage());
+        }
+    }
+
+    @Test public void sameNameForDifferentDatabaseIsRejected()
+    {
+        final BasicDataSource security = newDataSource("jdbc:mysql://localhost/esolutions", "appusr");
+        final BasicDataSource otherUrl = newDataSource("jdbc:mysql://localhost/esolutionssvc", "appusr");
+        final BasicDataSource otherUser = newDataSource("jdbc:mysql://localhost/esolutions", "adminusr");
+
+        try
+        {
+            DataSourceRegistry.register("SecurityDataSource", security);
+        }
+        catch (final UtilityException ux)
+        {
+            Assertions.fail(ux.getMessage());
+        }
+
+        Assertions.assertThatThrownBy(() -> DataSourceRegistry.register("SecurityDataSource", otherUrl)).isInstanceOf(UtilityException.class);
+        Assertions.assertThatThrownBy(() -> DataSourceRegistry.register("SecurityDataSource", otherUser)).isInstanceOf(UtilityException.class);
+        Assertions.assertThat(otherUrl.isClosed()).isTrue();
+        Assertions.assertThat(otherUser.isClosed()).isTrue();
+        Assertions.assertThat(security.isClosed()).isFalse();
+        Assertions.assertThat(DataSourceRegistry.getPoolCount()).isEqualTo(1);
+    }
+
+    @AfterEach public void tearDown()
+    {
+        DataSourceRegistry.releaseAll();
+    }
+
+    private static BasicDataSource newDataSource(final String url, final String user)
+    {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setUrl(url);
+        dataSource.setUsername(user);
+
+        return dataSource;
+    }
+}
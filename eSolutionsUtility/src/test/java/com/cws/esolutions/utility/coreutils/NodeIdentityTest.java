@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: NodeIdentityTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Set;
+import java.util.HashSet;
+import org.junit.jupiter.api.Test;
+import org.assertj.core.api.Assertions;
+
+public class NodeIdentityTest
+{
+    @Test public void servesResolvedIdentity()
+    {
+        NodeIdentity.start(60000L);
+
+        try
+        {
+            Assertions.assertThat(NodeIdentity.getHostName()).isNotBlank();
+            Assertions.assertThat(NodeIdentity.getHostAddress()).isEqualTo(NodeIdentity.getAddress().getHostAddress());
+            Assertions.assertThat(NodeIdentity.isLocal(NodeIdentity.getHostName())).isTrue();
+            Assertions.assertThat(NodeIdentity.isLocal("host.invalid")).isFalse();
+        }
+        finally
+        {
+            NodeIdentity.stop();
+        }
+    }
+
+    @Test public void idsAreUnique()
+    {
+        final Set<String> ids = new HashSet<String>();
+
+        for (int x = 0; x < 1000; x++)
+        {
+            ids.add(NodeIdentity.nextId());
+        }
+
+        Assertions.assertThat(ids).hasSize(1000);
+    }
+}
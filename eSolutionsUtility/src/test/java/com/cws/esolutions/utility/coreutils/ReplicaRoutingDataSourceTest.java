@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: ReplicaRoutingDataSourceTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Arrays;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.lang.reflect.Proxy;
+import org.junit.jupiter.api.Test;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.TestInstance;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReplicaRoutingDataSourceTest
+{
+    private final Connection primaryConn = stubConnection();
+    private final Connection replicaOneConn = stubConnection();
+    private final Connection replicaTwoConn = stubConnection();
+
+    @Test public void readsAlternateBetweenReplicas()
+    {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(stubDataSource(primaryConn),
+            Arrays.asList(stubDataSource(replicaOneConn), stubDataSource(replicaTwoConn)), "ROUND_ROBIN");
+
+        try
+        {
+            Assertions.assertThat(ReplicaRoutingDataSource.getReadConnection(dataSource)).isSameAs(replicaOneConn);
+            Assertions.assertThat(ReplicaRoutingDataSource.getReadConnection(dataSource)).isSameAs(replicaTwoConn);
+            Assertions.assertThat(ReplicaRoutingDataSource.getReadConnection(dataSource)).isSameAs(replicaOneConn);
+            Assertions.assertThat(dataSource.getConnection()).isSameAs(primaryConn);
+        }
+        catch (final SQLException sqx)
+        {
+            Assertions.fail(sqx.getMessage());
+        }
+    }
+
+    @Test public void readsFallBackToPrimary()
+    {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(stubDataSource(primaryConn),
+            Arrays.asList(stubDataSource(null), stubDataSource(null)), "LEAST_LOADED");
+
+        try
+        {
+            Assertions.assertThat(ReplicaRoutingDataSource.getReadConnection(dataSource)).isSameAs(primaryConn);
+        }
+        catch (final SQLException sqx)
+        {
+            Assertions.fail(sqx.getMessage());
+        }
+    }
+
+    private static Connection stubConnection()
+    {
+        return (Connection) Proxy.newProxyInstance(ReplicaRoutingDataSourceTest.class.getClassLoader(),
+            new Class<?>[] { Connection.class }, (proxy, method, args) -> null);
+    }
+
+    /**
+     * A <code>null</code> connection stands for a replica that is down.
+     */
+    private static DataSource stubDataSource(final Connection sqlConn)
+    {
+        return (DataSource) Proxy.newProxyInstance(ReplicaRoutingDataSourceTest.class.getClassLoader(),
+            new Class<?>[] { DataSource.class }, (proxy, method, args) ->
+        {
+            if (method.getName().equals("getConnection"))
+            {
+                if (sqlConn == null)
+                {
+                    throw new SQLException("Connection refused");
+                }
+
+                return sqlConn;
+            }
+            else if (method.getName().equals("isWrapperFor"))
+            {
+                return Boolean.FALSE;
+            }
+
+            return null;
+        });
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: SQLUtilsTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import java.util.List;
+import java.util.HashMap;
+import java.sql.Statement;
+import java.sql.ResultSet;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.TestInstance;
+import org.apache.commons.dbcp2.BasicDataSource;
+
+import com.cws.esolutions.utility.exception.UtilityException;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SQLUtilsTest
+{
+    private static final String INSERT = "INSERT INTO BATCH_TEST (ID, NAME) VALUES (?, ?)";
+
+    private BasicDataSource dataSource = null;
+
+    @BeforeAll public void setUp()
+    {
+        this.dataSource = new BasicDataSource();
+        this.dataSource.setUrl("jdbc:h2:mem:sqlutils;DB_CLOSE_DELAY=-1");
+        this.dataSource.setUsername("sa");
+    }
+
+    @BeforeEach public void createTable()
+    {
+        try (Connection sqlConn = this.dataSource.getConnection();
+            Statement stmt = sqlConn.createStatement())
+        {
+            stmt.executeUpdate("DROP TABLE IF EXISTS BATCH_TEST");
+            stmt.executeUpdate("CREATE TABLE BATCH_TEST (ID INT PRIMARY KEY, NAME VARCHAR(32) NOT NULL)");
+        }
+        catch (final SQLException sqx)
+        {
+            Assertions.fail(sqx.getMessage());
+        }
+    }
+
+    @Test public void batchIsSentInChunks()
+    {
+        try
+        {
+            final int[] updateCounts = SQLUtils.addOrDeleteDataBatch(this.dataSource, INSERT, rows(0, 7), 3);
+
+            Assertions.assertThat(updateCounts).hasSize(7).containsOnly(1);
+            Assertions.assertThat(this.rowCount()).isEqualTo(7);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void failedChunkRollsBackTheWholeBatch()
+    {
+        // the duplicate key lands in the second chunk, after the first has been executed
+        final List<Map<Integer, Object>> params = rows(0, 5);
+        params.addAll(rows(2, 1));
+
+        Assertions.assertThatThrownBy(() -> SQLUtils.addOrDeleteDataBatch(this.dataSource, INSERT, params, 3)).isInstanceOf(UtilityException.class);
+        Assertions.assertThat(this.rowCount()).isZero();
+    }
+
+    @Test public void missingParameterIsNotCarriedOver()
+    {
+        final List<Map<Integer, Object>> params = rows(0, 1);
+        final Map<Integer, Object> partial = new HashMap<Integer, Object>();
+        partial.put(1, 1);
+        params.add(partial);
+
+        Assertions.assertThatThrownBy(() -> SQLUtils.addOrDeleteDataBatch(this.dataSource, INSERT, params, 10)).isInstanceOf(UtilityException.class);
+        Assertions.assertThat(this.rowCount()).isZero();
+    }
+
+    @Test public void rejectedBatchIsNotTransient()
+    {
+        final List<Map<Integer, Object>> params = rows(0, 2);
+        params.addAll(rows(1, 1));
+
+        Assertions.assertThatThrownBy(() -> SQLUtils.addOrDeleteDataBatch(this.dataSource, INSERT, params, 10))
+            .satisfies(failure -> Assertions.assertThat(SQLUtils.isTransient(new SQLException(failure.getMessage(), failure))).isFalse());
+    }
+
+    @Test public void connectionFailureIsTransient()
+    {
+        Assertions.assertThat(SQLUtils.isTransient(new SQLException("Communications link failure", "08S01"))).isTrue();
+        Assertions.assertThat(SQLUtils.isTransient(new SQLException("Deadlock found", "40001"))).isTrue();
+        Assertions.assertThat(SQLUtils.isTransient(new SQLException("A datasource connection could not be obtained."))).isTrue();
+        Assertions.assertThatThrownBy(() -> SQLUtils.addOrDeleteDataBatch(null, INSERT, rows(0, 1)))
+            .satisfies(failure -> Assertions.assertThat(SQLUtils.isTransient(failure)).isTrue());
+    }
+
+    @AfterAll public void tearDown()
+    {
+        try
+        {
+            this.dataSource.close();
+        }
+        catch (final SQLException sqx)
+        {
+            Assertions.fail(sqx.getMessage());
+        }
+    }
+
+    private int rowCount()
+    {
+        try (Connection sqlConn = this.dataSource.getConnection();
+            Statement stmt = sqlConn.createStatement();
+            ResultSet resultSet = stmt.executeQuery("SELECT COUNT(*) FROM BATCH_TEST"))
+        {
+            resultSet.next();
+
+            return resultSet.getInt(1);
+        }
+        catch (final SQLException sqx)
+        {
+            Assertions.fail(sqx.getMessage());
+
+            return -1;
+        }
+    }
+
+    private static List<Map<Integer, Object>> rows(final int start, final int count)
+    {
+        final List<Map<Integer, Object>> rows = new ArrayList<Map<Integer, Object>>();
+
+        for (int x = start; x < start + count; x++)
+        {
+            final Map<Integer, Object> row = new HashMap<Integer, Object>();
+            row.put(1, x);
+            row.put(2, "row-" + x);
+
+            rows.add(row);
+        }
+
+        return rows;
+    }
+}
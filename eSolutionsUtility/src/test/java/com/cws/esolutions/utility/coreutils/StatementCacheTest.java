@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: StatementCacheTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.PreparedStatement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.assertj.core.api.Assertions;
+import org.apache.commons.dbcp2.BasicDataSource;
+
+public class StatementCacheTest
+{
+    private static final String SQL = "SELECT 1";
+
+    @BeforeEach public void setUp()
+    {
+        StatementCache.reset();
+    }
+
+    @Test public void secondPrepareOnSameConnectionIsAHit()
+    {
+        final BasicDataSource dataSource = newDataSource("jdbc:h2:mem:stmtcache-pooled", true);
+
+        try (Connection sqlConn = dataSource.getConnection())
+        {
+            prepare(sqlConn, SQL);
+
+            Assertions.assertThat(StatementCache.getMissCount()).isEqualTo(1L);
+            Assertions.assertThat(StatementCache.getHitCount()).isZero();
+
+            prepare(sqlConn, SQL);
+
+            Assertions.assertThat(StatementCache.getHitCount()).isEqualTo(1L);
+
+            prepare(sqlConn, "SELECT 2");
+
+            Assertions.assertThat(StatementCache.getMissCount()).isEqualTo(2L);
+            Assertions.assertThat(StatementCache.getHitRatio()).isEqualTo(1.0 / 3.0);
+        }
+        catch (final SQLException sqx)
+        {
+            Assertions.fail(sqx.getMessage());
+        }
+        finally
+        {
+            close(dataSource);
+        }
+    }
+
+    @Test public void pooledStatementSurvivesConnectionReturn()
+    {
+        final BasicDataSource dataSource = newDataSource("jdbc:h2:mem:stmtcache-return", true);
+
+        try
+        {
+            for (int x = 0; x < 3; x++)
+            {
+                // max one connection, so every borrow is the same physical connection
+                try (Connection sqlConn = dataSource.getConnection())
+                {
+                    prepare(sqlConn, SQL);
+                }
+            }
+
+            Assertions.assertThat(StatementCache.getMissCount()).isEqualTo(1L);
+            Assertions.assertThat(StatementCache.getHitCount()).isEqualTo(2L);
+        }
+        catch (final SQLException sqx)
+        {
+            Assertions.fail(sqx.getMessage());
+        }
+        finally
+        {
+            close(dataSource);
+        }
+    }
+
+    @Test public void unpooledStatementsAreAlwaysMisses()
+    {
+        final BasicDataSource dataSource = newDataSource("jdbc:h2:mem:stmtcache-unpooled", false);
+
+        try (Connection sqlConn = dataSource.getConnection())
+        {
+            prepare(sqlConn, SQL);
+            prepare(sqlConn, SQL);
+
+            Assertions.assertThat(StatementCache.getMissCount()).isEqualTo(2L);
+            Assertions.assertThat(StatementCache.getHitCount()).isZero();
+        }
+        catch (final SQLException sqx)
+        {
+            Assertions.fail(sqx.getMessage());
+        }
+        finally
+        {
+            close(dataSource);
+        }
+    }
+
+    private static void prepare(final Connection sqlConn, final String sql) throws SQLException
+    {
+        try (PreparedStatement stmt = StatementCache.prepareStatement(sqlConn, sql))
+        {
+            stmt.execute();
+        }
+    }
+
+    private static BasicDataSource newDataSource(final String url, final boolean poolStatements)
+    {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setUrl(url);
+        dataSource.setUsername("sa");
+        dataSource.setMaxTotal(1);
+        dataSource.setPoolPreparedStatements(poolStatements);
+
+        return dataSource;
+    }
+
+    private static void close(final BasicDataSource dataSource)
+    {
+        try
+        {
+            dataSource.close();
+        }
+        catch (final SQLException sqx)
+        {
+            Assertions.fail(sqx.getMessage());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.coreutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.coreutils
+ * File: ThreadUtilsTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import org.junit.jupiter.api.Test;
+import org.assertj.core.api.Assertions;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ThreadUtilsTest
+{
+    @Test public void stopWakesAPausedThread()
+    {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicBoolean carriedOn = new AtomicBoolean(true);
+
+        Thread thread = new Thread(() -> carriedOn.set(ThreadUtils.pause(60000L, running::get)));
+        thread.start();
+
+        final long start = System.nanoTime();
+
+        running.set(false);
+        ThreadUtils.stop(thread, 60000L);
+
+        Assertions.assertThat(thread.isAlive()).isFalse();
+        Assertions.assertThat(carriedOn.get()).isFalse();
+        Assertions.assertThat(System.nanoTime() - start).isLessThan(5000000000L);
+    }
+
+    @Test public void pauseRunsOutWhileRunning()
+    {
+        final long start = System.nanoTime();
+
+        Assertions.assertThat(ThreadUtils.pause(50L, () -> true)).isTrue();
+        Assertions.assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(50000000L);
+    }
+
+    @Test public void interruptEndsThePause()
+    {
+        Thread.currentThread().interrupt();
+
+        try
+        {
+            Assertions.assertThat(ThreadUtils.pause(60000L, () -> true)).isFalse();
+        }
+        finally
+        {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,697 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.embedded;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.embedded
+ * File: EmbeddedDatabase.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import java.util.Set;
+import java.util.Random;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Collection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import java.lang.reflect.InvocationHandler;
+import java.sql.SQLFeatureNotSupportedException;
+import org.apache.commons.dbcp2.BasicDataSource;
+import java.lang.reflect.InvocationTargetException;
+
+import com.cws.esolutions.utility.UtilityBean;
+import com.cws.esolutions.utility.UtilityConstants;
+import com.cws.esolutions.utility.coreutils.NodeIdentity;
+import com.cws.esolutions.utility.services.impl.ServiceIndex;
+import com.cws.esolutions.utility.coreutils.DataSourceRegistry;
+import com.cws.esolutions.utility.exception.UtilityException;
+/**
+ * In-memory H2 database standing in for the MySQL schemas, so DAOs can be exercised and
+ * measured without a live database or JNDI environment. The schema and the stored procedure
+ * aliases are loaded from <code>eSolutionsUtility/sql/embedded-schema.sql</code>; the procedure
+ * bodies live in {@link EmbeddedProcedures}.
+ * <p>
+ * H2 has no OUT parameters and always returns a result from <code>CALL</code>, so the
+ * {@link javax.sql.DataSource} handed out here adapts calls to write procedures: the registered
+ * OUT parameter is bound as <code>NULL</code>, <code>execute()</code> returns <code>false</code>
+ * and the procedure's row count is reported through <code>getInt(outIndex)</code>,
+ * <code>executeUpdate()</code> and <code>getUpdateCount()</code>, as it would be against MySQL.
+ * <p>
+ * This is test support only: it ships in the <code>eSolutionsUtility</code> test jar, which the
+ * utility tests and <code>eSolutionsBenchmarks</code> put on their classpath alongside H2.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class EmbeddedDatabase
+{
+    private static DataSource dataSource = null;
+    private static Set<String> writeProcedures = null;
+
+    public static final String DS_NAME = "EmbeddedDataSource";
+    public static final String DRIVER = "org.h2.Driver";
+    public static final String URL = "jdbc:h2:mem:esolutions;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    public static final String SCHEMA = "classpath:/eSolutionsUtility/sql/embedded-schema.sql";
+
+    private static final String USERNAME = "sa";
+    private static final String CNAME = EmbeddedDatabase.class.getName();
+    private static final Pattern CALL_PATTERN = Pattern.compile("^\\s*\\{?\\s*CALL\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private static final Logger DEBUGGER = LogManager.getLogger(UtilityConstants.DEBUGGER);
+    private static final boolean DEBUG = DEBUGGER.isDebugEnabled();
+    private static final Logger ERROR_RECORDER = LogManager.getLogger(UtilityConstants.ERROR_LOGGER + CNAME);
+
+    private EmbeddedDatabase()
+    {
+    }
+
+    /**
+     * Starts the embedded database and loads the schema, or returns the running instance if it
+     * has already been started. The same database is shared by every module in the process.
+     *
+     * @return The {@link javax.sql.DataSource} to hand to the DAOs
+     * @throws UtilityException {@link com.cws.esolutions.utility.exception.UtilityException} if the database cannot be started
+     */
+    public static final synchronized DataSource start() throws UtilityException
+    {
+        final String methodName = EmbeddedDatabase.CNAME + "#start() throws UtilityException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        if (!(Objects.isNull(EmbeddedDatabase.dataSource)))
+        {
+            return EmbeddedDatabase.dataSource;
+        }
+
+        BasicDataSource pool = new BasicDataSource();
+        pool.setDriverClassName(EmbeddedDatabase.DRIVER);
+        pool.setUrl(EmbeddedDatabase.URL);
+        pool.setUsername(EmbeddedDatabase.USERNAME);
+        pool.setPassword("");
+        pool.setPoolPreparedStatements(true);
+        pool.setMaxOpenPreparedStatements(64);
+        pool.setMaxTotal(20);
+        pool.setMaxIdle(10);
+        pool.setMinIdle(2);
+        pool.setInitialSize(2);
+        pool.setMaxWaitMillis(TimeUnit.SECONDS.toMillis(10));
+
+        DataSource handle = DataSourceRegistry.register(EmbeddedDatabase.DS_NAME, pool);
+        Set<String> procedures = new HashSet<String>();
+
+        try (Connection sqlConn = handle.getConnection(); Statement stmt = sqlConn.createStatement())
+        {
+            stmt.execute("RUNSCRIPT FROM '" + EmbeddedDatabase.SCHEMA + "'");
+
+            // procedures bound to a method returning a row count rather than a result set
+            try (ResultSet resultSet = stmt.executeQuery("SELECT ROUTINE_NAME FROM INFORMATION_SCHEMA.ROUTINES WHERE ROUTINE_SCHEMA = 'PUBLIC' AND DATA_TYPE = 'INTEGER'"))
+            {
+                while (resultSet.next())
+                {
+                    procedures.add(resultSet.getString(1).toUpperCase());
+                }
+            }
+        }
+        catch (final SQLException sqx)
+        {
+            ERROR_RECORDER.error(sqx.getMessage(), sqx);
+
+            DataSourceRegistry.release(EmbeddedDatabase.DS_NAME);
+
+            throw new UtilityException(sqx.getMessage(), sqx);
+        }
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug("Value: {}", procedures);
+        }
+
+        EmbeddedDatabase.writeProcedures = procedures;
+        EmbeddedDatabase.dataSource = new ProcedureDataSource(handle);
+
+        return EmbeddedDatabase.dataSource;
+    }
+
+    /**
+     * Initializes the utility services against the embedded database instead of the configured
+     * repositories, as {@link com.cws.esolutions.utility.init.UtilityInitializer#initializeService(boolean)}
+     * does against JNDI.
+     *
+     * @throws UtilityException {@link com.cws.esolutions.utility.exception.UtilityException} if the database cannot be started
+     */
+    public static final synchronized void initializeUtility() throws UtilityException
+    {
+        final String methodName = EmbeddedDatabase.CNAME + "#initializeUtility() throws UtilityException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        NodeIdentity.start(0L);
+
+        final DataSource embedded = EmbeddedDatabase.start();
+
+        UtilityBean.getInstance().setAuthDataSource(embedded);
+        UtilityBean.getInstance().setAuditDataSource(embedded);
+
+        ServiceIndex.start(0L);
+    }
+
+    /**
+     * Maps each of the provided datasource names to the embedded database, for the security and
+     * core beans that look their datasources up by name.
+     *
+     * @param dsMap - The bean's current datasources, or <code>null</code>
+     * @param dsNames - The datasource names the bean's DAOs look up
+     * @return The datasources with every provided name bound to the embedded database
+     * @throws UtilityException {@link com.cws.esolutions.utility.exception.UtilityException} if the database cannot be started
+     */
+    public static final synchronized Map<String, DataSource> bind(final Map<String, DataSource> dsMap, final Collection<String> dsNames) throws UtilityException
+    {
+        final String methodName = EmbeddedDatabase.CNAME + "#bind(final Map<String, DataSource> dsMap, final Collection<String> dsNames) throws UtilityException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", dsNames);
+        }
+
+        final DataSource embedded = EmbeddedDatabase.start();
+        final Map<String, DataSource> dataSources = (dsMap == null) ? new HashMap<String, DataSource>() : dsMap;
+
+        for (String dsName : dsNames)
+        {
+            dataSources.put(dsName, DataSourceRegistry.registerExternal(dsName, embedded));
+        }
+
+        return dataSources;
+    }
+
+    /**
+     * Seeds the database with a representative dataset: the given number of users, and servers,
+     * services, datacenters, articles and audit history in proportion. Every seeded user is a
+     * member of at least one group, so authorization lookups return real rows. The data is
+     * generated from a fixed seed, so repeated runs see the same rows.
+     *
+     * @param users - The number of user accounts to create
+     * @throws UtilityException {@link com.cws.esolutions.utility.exception.UtilityException} if the database is not started or the data cannot be loaded
+     */
+    public static final synchronized void populate(final int users) throws UtilityException
+    {
+        final String methodName = EmbeddedDatabase.CNAME + "#populate(final int users) throws UtilityException";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+            DEBUGGER.debug("Value: {}", users);
+        }
+
+        if (Objects.isNull(EmbeddedDatabase.dataSource))
+        {
+            throw new UtilityException("The embedded database has not been started.");
+        }
+
+        final Random random = new Random(users);
+        final long now = System.currentTimeMillis();
+        final int groups = Math.max(1, users / 100);
+        final int datacenters = Math.max(1, users / 500);
+        final String[] roles = new String[] { "USER", "USER", "USER", "ADMIN", "USER_ADMIN" };
+
+        try (Connection sqlConn = EmbeddedDatabase.dataSource.getConnection())
+        {
+            sqlConn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = sqlConn.prepareStatement("INSERT INTO USER_GROUPS (GROUP_GUID, GROUP_NAME) VALUES (?, ?)"))
+            {
+                for (int x = 0; x < groups; x++)
+                {
+                    stmt.setString(1, "group-" + x);
+                    stmt.setString(2, "Group " + x);
+                    stmt.addBatch();
+                }
+
+                stmt.executeBatch();
+            }
+
+            try (PreparedStatement stmt = sqlConn.prepareStatement("INSERT INTO SECURITY_QUESTIONS (QUESTION) VALUES (?)"))
+            {
+                for (int x = 0; x < 10; x++)
+                {
+                    stmt.setString(1, "Security question " + x + "?");
+                    stmt.addBatch();
+                }
+
+                stmt.executeBatch();
+            }
+
+            try (PreparedStatement stmt = sqlConn.prepareStatement("INSERT INTO USERS (CN, UID, USERPASSWORD, CWSROLE, CWSLASTLOGIN, SN, GIVENNAME, " +
+                "CWSEXPIRYDATE, DISPLAYNAME, MEMBEROF, EMAIL, TELEPHONENUMBER, CWSISOLRSETUP, CWSSECQ1, CWSSECQ2, CWSSECANS1, CWSSECANS2) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, ?, ?, ?, ?)");
+                PreparedStatement salt = sqlConn.prepareStatement("INSERT INTO USER_SECURITY (CN, SALT_TYPE, SALT_VALUE) VALUES (?, ?, ?)"))
+            {
+                for (int x = 0; x < users; x++)
+                {
+                    final String commonName = "user-" + x;
+                    final StringBuilder memberOf = new StringBuilder("group-" + (x % groups));
+
+                    if ((groups > 1) && (random.nextInt(4) == 0))
+                    {
+                        memberOf.append(",group-" + random.nextInt(groups));
+                    }
+
+                    stmt.setString(1, commonName);
+                    stmt.setString(2, "uid" + x);
+                    stmt.setString(3, Long.toHexString(random.nextLong()));
+                    stmt.setString(4, roles[random.nextInt(roles.length)]);
+                    stmt.setTimestamp(5, new Timestamp(now - TimeUnit.HOURS.toMillis(random.nextInt(24 * 90))));
+                    stmt.setString(6, "Surname" + x);
+                    stmt.setString(7, "Given" + x);
+                    stmt.setTimestamp(8, new Timestamp(now + TimeUnit.DAYS.toMillis(random.nextInt(90))));
+                    stmt.setString(9, "Given" + x + " Surname" + x);
+                    stmt.setString(10, memberOf.toString());
+                    stmt.setString(11, "uid" + x + "@caspersbox.com");
+                    stmt.setString(12, String.format("555%07d", x));
+                    stmt.setString(13, "Security question 0?");
+                    stmt.setString(14, "Security question 1?");
+                    stmt.setString(15, Long.toHexString(random.nextLong()));
+                    stmt.setString(16, Long.toHexString(random.nextLong()));
+                    stmt.addBatch();
+
+                    salt.setString(1, commonName);
+                    salt.setString(2, "LOGON");
+                    salt.setString(3, Long.toHexString(random.nextLong()));
+                    salt.addBatch();
+
+                    if (x % 500 == 499)
+                    {
+                        stmt.executeBatch();
+                        salt.executeBatch();
+                    }
+                }
+
+                stmt.executeBatch();
+                salt.executeBatch();
+            }
+
+            try (PreparedStatement stmt = sqlConn.prepareStatement("INSERT INTO DATACENTERS (GUID, NAME, STATUS, DESCRIPTION) VALUES (?, ?, 'ACTIVE', ?)"))
+            {
+                for (int x = 0; x < datacenters; x++)
+                {
+                    stmt.setString(1, "datacenter-" + x);
+                    stmt.setString(2, "DC" + x);
+                    stmt.setString(3, "Datacenter " + x);
+                    stmt.addBatch();
+                }
+
+                stmt.executeBatch();
+            }
+
+            try (PreparedStatement stmt = sqlConn.prepareStatement("INSERT INTO SERVICE_ENABLEMENT (REQUEST_URI, NAME, ENABLED) VALUES (?, ?, ?)");
+                PreparedStatement svc = sqlConn.prepareStatement("INSERT INTO SERVICES (GUID, SERVICE_TYPE, NAME, REGION, NWPARTITION, STATUS, DESCRIPTION) " +
+                    "VALUES (?, 'SERVICE', ?, 'PRD', 'DRN', 'ACTIVE', ?)"))
+            {
+                for (int x = 0; x < Math.max(10, users / 50); x++)
+                {
+                    stmt.setString(1, "/esolutions/service" + x);
+                    stmt.setString(2, "Service " + x);
+                    stmt.setBoolean(3, (random.nextInt(10) != 0));
+                    stmt.addBatch();
+
+                    svc.setString(1, "service-" + x);
+                    svc.setString(2, "Service " + x);
+                    svc.setString(3, "Service " + x);
+                    svc.addBatch();
+                }
+
+                stmt.executeBatch();
+                svc.executeBatch();
+            }
+
+            try (PreparedStatement stmt = sqlConn.prepareStatement("INSERT INTO INSTALLED_SYSTEMS (GUID, SYSTEM_OSTYPE, SYSSTATUS, REGION, NETWORK_PARTITION, " +
+                "DATACENTER, SYSTEM_TYPE, DOMAIN_NAME, CPU_TYPE, CPU_COUNT, INSTALLED_MEMORY, OPER_IP, OPER_HOSTNAME, MGMT_IP, MGMT_HOSTNAME) " +
+                "VALUES (?, 'Linux', 'ACTIVE', 'PRD', 'DRN', ?, ?, 'caspersbox.com', 'x86_64', ?, ?, ?, ?, ?, ?)"))
+            {
+                final String[] systemTypes = new String[] { "APPSERVER", "WEBSERVER", "DBSERVER", "DMGRSERVER" };
+
+                for (int x = 0; x < users; x++)
+                {
+                    stmt.setString(1, "server-" + x);
+                    stmt.setString(2, "datacenter-" + (x % datacenters));
+                    stmt.setString(3, systemTypes[random.nextInt(systemTypes.length)]);
+                    stmt.setInt(4, 2 << random.nextInt(5));
+                    stmt.setInt(5, 4096 << random.nextInt(5));
+                    stmt.setString(6, "10." + ((x >> 16) & 0xFF) + "." + ((x >> 8) & 0xFF) + "." + (x & 0xFF));
+                    stmt.setString(7, String.format("host%06d", x));
+                    stmt.setString(8, "172." + ((x >> 16) & 0xFF) + "." + ((x >> 8) & 0xFF) + "." + (x & 0xFF));
+                    stmt.setString(9, String.format("host%06d-mgmt", x));
+                    stmt.addBatch();
+
+                    if (x % 500 == 499)
+                    {
+                        stmt.executeBatch();
+                    }
+                }
+
+                stmt.executeBatch();
+            }
+
+            try (PreparedStatement stmt = sqlConn.prepareStatement("INSERT INTO ARTICLES (ARTICLEID, CREATEDATE, AUTHOR, KEYWORDS, TITLE, SYMPTOMS, CAUSE, " +
+                "RESOLUTION, STATUS) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)"))
+            {
+                for (int x = 0; x < Math.max(10, users / 10); x++)
+                {
+                    stmt.setString(1, "KB" + String.format("%05d", x));
+                    stmt.setTimestamp(2, new Timestamp(now - TimeUnit.DAYS.toMillis(random.nextInt(365))));
+                    stmt.setString(3, "user-" + random.nextInt(Math.max(1, users)));
+                    stmt.setString(4, "keyword" + (x % 25));
+                    stmt.setString(5, "Article " + x);
+                    stmt.setString(6, "Symptoms for article " + x);
+                    stmt.setString(7, "Cause for article " + x);
+                    stmt.setString(8, "Resolution for article " + x);
+                    stmt.setString(9, (random.nextInt(5) == 0) ? "NEW" : "APPROVED");
+                    stmt.addBatch();
+                }
+
+                stmt.executeBatch();
+            }
+
+            try (PreparedStatement stmt = sqlConn.prepareStatement("INSERT INTO AUDIT (SESSID, USERNAME, CN, ROLE, ACTION, AUTHORIZED, APPLID, APPLNAME, " +
+                "SRCADDR, SRCHOST, REQTIMESTAMP) VALUES (?, ?, ?, 'USER', ?, ?, 'applid', 'eSolutions', '127.0.0.1', 'localhost', ?)"))
+            {
+                final String[] actions = new String[] { "LOGON", "LOGOFF", "LISTSERVERS", "SHOWSERVER", "SEARCHARTICLES", "CHANGEPASS" };
+
+                for (int x = 0; x < users * 10; x++)
+                {
+                    final int user = random.nextInt(Math.max(1, users));
+
+                    stmt.setString(1, "session-" + (x / 10));
+                    stmt.setString(2, "uid" + user);
+                    stmt.setString(3, "user-" + user);
+                    stmt.setString(4, actions[random.nextInt(actions.length)]);
+                    stmt.setBoolean(5, (random.nextInt(20) != 0));
+                    stmt.setTimestamp(6, new Timestamp(now - TimeUnit.MINUTES.toMillis(random.nextInt(60 * 24 * 90))));
+                    stmt.addBatch();
+
+                    if (x % 500 == 499)
+                    {
+                        stmt.executeBatch();
+                    }
+                }
+
+                stmt.executeBatch();
+            }
+
+            sqlConn.commit();
+        }
+        catch (final SQLException sqx)
+        {
+            ERROR_RECORDER.error(sqx.getMessage(), sqx);
+
+            throw new UtilityException(sqx.getMessage(), sqx);
+        }
+    }
+
+    /**
+     * Drops the embedded database and releases its pool.
+     */
+    public static final synchronized void stop()
+    {
+        final String methodName = EmbeddedDatabase.CNAME + "#stop()";
+
+        if (DEBUG)
+        {
+            DEBUGGER.debug(methodName);
+        }
+
+        if (Objects.isNull(EmbeddedDatabase.dataSource))
+        {
+            return;
+        }
+
+        try (Connection sqlConn = EmbeddedDatabase.dataSource.getConnection(); Statement stmt = sqlConn.createStatement())
+        {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        catch (final SQLException sqx)
+        {
+            ERROR_RECORDER.error(sqx.getMessage(), sqx);
+        }
+        finally
+        {
+            EmbeddedDatabase.dataSource = null;
+            EmbeddedDatabase.writeProcedures = null;
+
+            DataSourceRegistry.release(EmbeddedDatabase.DS_NAME);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if {@link #start()} has been called and {@link #stop()} has not
+     */
+    public static final synchronized boolean isStarted()
+    {
+        return !(Objects.isNull(EmbeddedDatabase.dataSource));
+    }
+
+    private static boolean isWriteProcedure(final Object sql)
+    {
+        if (!(sql instanceof String))
+        {
+            return false;
+        }
+
+        final Set<String> procedures = EmbeddedDatabase.writeProcedures;
+        final Matcher matcher = EmbeddedDatabase.CALL_PATTERN.matcher((String) sql);
+
+        return (!(Objects.isNull(procedures))) && (matcher.find()) && (procedures.contains(matcher.group(1).toUpperCase()));
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable
+    {
+        try
+        {
+            return method.invoke(target, args);
+        }
+        catch (final InvocationTargetException itx)
+        {
+            throw itx.getCause();
+        }
+    }
+
+    /**
+     * Hands out connections whose calls to write procedures are adapted to MySQL semantics.
+     */
+    private static final class ProcedureDataSource implements DataSource
+    {
+        private final DataSource target;
+
+        private ProcedureDataSource(final DataSource target)
+        {
+            this.target = target;
+        }
+
+        @Override
+        public final Connection getConnection() throws SQLException
+        {
+            return this.wrap(this.target.getConnection());
+        }
+
+        @Override
+        public final Connection getConnection(final String username, final String password) throws SQLException
+        {
+            return this.wrap(this.target.getConnection(username, password));
+        }
+
+        private Connection wrap(final Connection sqlConn)
+        {
+            return (Connection) Proxy.newProxyInstance(EmbeddedDatabase.class.getClassLoader(), new Class<?>[] { Connection.class }, new ConnectionHandler(sqlConn));
+        }
+
+        @Override
+        public final PrintWriter getLogWriter() throws SQLException
+        {
+            return this.target.getLogWriter();
+        }
+
+        @Override
+        public final void setLogWriter(final PrintWriter out) throws SQLException
+        {
+            this.target.setLogWriter(out);
+        }
+
+        @Override
+        public final void setLoginTimeout(final int seconds) throws SQLException
+        {
+            this.target.setLoginTimeout(seconds);
+        }
+
+        @Override
+        public final int getLoginTimeout() throws SQLException
+        {
+            return this.target.getLoginTimeout();
+        }
+
+        @Override
+        public final java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException
+        {
+            return this.target.getParentLogger();
+        }
+
+        @Override
+        public final <T> T unwrap(final Class<T> iface) throws SQLException
+        {
+            return (iface.isInstance(this)) ? iface.cast(this) : this.target.unwrap(iface);
+        }
+
+        @Override
+        public final boolean isWrapperFor(final Class<?> iface) throws SQLException
+        {
+            return (iface.isInstance(this)) || (this.target.isWrapperFor(iface));
+        }
+
+        @Override
+        public final String toString()
+        {
+            return EmbeddedDatabase.DS_NAME + " -> " + this.target;
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler
+    {
+        private final Connection target;
+
+        private ConnectionHandler(final Connection target)
+        {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable
+        {
+            final Object result = EmbeddedDatabase.invoke(this.target, method, args);
+
+            if ((method.getName().startsWith("prepare")) && (result instanceof PreparedStatement) && (EmbeddedDatabase.isWriteProcedure(args[0])))
+            {
+                return Proxy.newProxyInstance(EmbeddedDatabase.class.getClassLoader(), new Class<?>[] { CallableStatement.class },
+                    new WriteCallHandler((PreparedStatement) result));
+            }
+
+            return result;
+        }
+    }
+
+    private static final class WriteCallHandler implements InvocationHandler
+    {
+        private final PreparedStatement target;
+        private final Set<Integer> outParameters = new HashSet<Integer>();
+
+        private int updateCount = -1;
+
+        private WriteCallHandler(final PreparedStatement target)
+        {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable
+        {
+            final String name = method.getName();
+
+            if ((name.equals("registerOutParameter")) && (args[0] instanceof Integer))
+            {
+                this.outParameters.add((Integer) args[0]);
+                this.target.setNull((Integer) args[0], Types.INTEGER);
+
+                return null;
+            }
+            else if ((name.equals("execute")) && (Objects.isNull(args)))
+            {
+                this.call();
+
+                return Boolean.FALSE;
+            }
+            else if ((name.equals("executeUpdate")) && (Objects.isNull(args)))
+            {
+                return Integer.valueOf(this.call());
+            }
+            else if ((name.equals("executeLargeUpdate")) && (Objects.isNull(args)))
+            {
+                return Long.valueOf(this.call());
+            }
+            else if (name.equals("getUpdateCount"))
+            {
+                return Integer.valueOf(this.updateCount);
+            }
+            else if (name.equals("getMoreResults"))
+            {
+                this.updateCount = -1;
+
+                return Boolean.FALSE;
+            }
+            else if ((name.startsWith("get")) && (!(Objects.isNull(args))) && (args.length == 1) && (this.outParameters.contains(args[0])))
+            {
+                if (method.getReturnType() == long.class)
+                {
+                    return Long.valueOf(this.updateCount);
+                }
+                else if (method.getReturnType() == String.class)
+                {
+                    return String.valueOf(this.updateCount);
+                }
+
+                return Integer.valueOf(this.updateCount);
+            }
+
+            return EmbeddedDatabase.invoke(this.target, method, args);
+        }
+
+        private int call() throws SQLException
+        {
+            try (ResultSet resultSet = this.target.executeQuery())
+            {
+                this.updateCount = (resultSet.next()) ? resultSet.getInt(1) : 0;
+            }
+
+            return this.updateCount;
+        }
+    }
+}
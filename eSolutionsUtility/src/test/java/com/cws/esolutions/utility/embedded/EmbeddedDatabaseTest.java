@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.embedded;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.embedded
+ * File: EmbeddedDatabaseTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Set;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.sql.Types;
+import java.util.Arrays;
+import java.sql.Connection;
+import java.util.ArrayList;
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.TestInstance;
+
+import com.cws.esolutions.utility.UtilityBean;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditResponse;
+import com.cws.esolutions.utility.securityutils.processors.impl.AuditProcessorImpl;
+import com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditProcessor;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.dao.audit.impl.AuditDAOImpl;
+import com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO;
+import com.cws.esolutions.utility.securityutils.dao.accesscontrol.dao.impl.AccessControlServiceDAOImpl;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EmbeddedDatabaseTest
+{
+    private static final IAuditDAO auditDAO = new AuditDAOImpl();
+    private static final IAuditProcessor auditProcessor = new AuditProcessorImpl();
+    private static final UtilityBean bean = UtilityBean.getInstance();
+    private static final AccessControlServiceDAOImpl accessDAO = new AccessControlServiceDAOImpl();
+
+    @BeforeAll public void setUp()
+    {
+        try
+        {
+            EmbeddedDatabase.initializeUtility();
+            EmbeddedDatabase.populate(200);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void auditRoundTrip()
+    {
+        try
+        {
+            auditDAO.auditRequestedOperation(new ArrayList<String>(
+                Arrays.asList("session-junit", "junit", "guid-junit", "USER", "JUNIT",
+                    "true", "applid", "applname", "127.0.0.1", "localhost")));
+
+            List<Object> entries = auditDAO.getAuditInterval("guid-junit", 0);
+
+            Assertions.assertThat(entries).hasSize(1);
+            Assertions.assertThat(((Object[]) entries.get(0))[7]).isEqualTo("JUNIT");
+            Assertions.assertThat(auditDAO.getAuditInterval("user-1", 0)).hasSizeLessThanOrEqualTo(EmbeddedProcedures.PAGE_SIZE);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void typedAuditEntries()
+    {
+        try
+        {
+            auditDAO.auditRequestedOperation(new ArrayList<String>(
+                Arrays.asList("session-typed", "typed", "guid-typed", "USER", "LOGON",
+                    "true", "applid", "applname", "127.0.0.1", "localhost")));
+
+            List<AuditEntry> entries = auditDAO.getAuditEntries("guid-typed", 0);
+
+            Assertions.assertThat(entries).hasSize(1);
+            Assertions.assertThat(entries.get(0).getAuditType()).isEqualTo(AuditType.LOGON);
+            Assertions.assertThat(entries.get(0).getHostInfo()).containsExactly("127.0.0.1", "localhost");
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void keysetPagesCoverHistoryOnce()
+    {
+        try
+        {
+            final int records = (EmbeddedProcedures.PAGE_SIZE * 2) + 5;
+
+            for (int x = 0; x < records; x++)
+            {
+                auditDAO.auditRequestedOperation(new ArrayList<String>(
+                    Arrays.asList("session-keyset-" + x, "keyset", "guid-keyset", "USER", "LOGON",
+                        "true", "applid", "applname", "127.0.0.1", "localhost")));
+            }
+
+            Set<String> sessions = new HashSet<String>();
+            Iterator<AuditEntry> entries = auditDAO.iterateAuditEntries("guid-keyset", EmbeddedProcedures.PAGE_SIZE);
+            long previousId = Long.MAX_VALUE;
+
+            while (entries.hasNext())
+            {
+                AuditEntry entry = entries.next();
+
+                Assertions.assertThat(entry.getAuditId()).isLessThan(previousId);
+                Assertions.assertThat(sessions.add(entry.getSessionId())).isTrue();
+
+                previousId = entry.getAuditId();
+            }
+
+            Assertions.assertThat(sessions).hasSize(records);
+            Assertions.assertThat(auditDAO.getAuditCount("guid-keyset")).isEqualTo(records);
+            Assertions.assertThat(auditDAO.getAuditPage("guid-keyset", null, EmbeddedProcedures.PAGE_SIZE)).hasSize(EmbeddedProcedures.PAGE_SIZE);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void laterPagesCarryTheFirstPageTotal()
+    {
+        try
+        {
+            // one full page of 20 and five more
+            final int records = 25;
+
+            for (int x = 0; x < records; x++)
+            {
+                auditDAO.auditRequestedOperation(new ArrayList<String>(
+                    Arrays.asList("session-counted-" + x, "counted", "guid-counted", "USER", "LOGON",
+                        "true", "applid", "applname", "127.0.0.1", "localhost")));
+            }
+
+            AuditEntry auditEntry = new AuditEntry();
+            auditEntry.setUserGuid("guid-counted");
+
+            AuditRequest request = new AuditRequest();
+            request.setAuditEntry(auditEntry);
+
+            AuditResponse firstPage = auditProcessor.getAuditEntries(request);
+
+            Assertions.assertThat(firstPage.getEntryCount()).isEqualTo(records);
+            Assertions.assertThat(firstPage.getNextCursor()).isNotNull();
+
+            Assertions.assertThat(firstPage.getNextCursor().getEntryCount()).isEqualTo(records);
+
+            // a newer entry sorts before the cursor, so it neither shows up nor gets counted
+            auditDAO.auditRequestedOperation(new ArrayList<String>(
+                Arrays.asList("session-counted-late", "counted", "guid-counted", "USER", "LOGON",
+                    "true", "applid", "applname", "127.0.0.1", "localhost")));
+
+            request.setCursor(firstPage.getNextCursor());
+
+            AuditResponse nextPage = auditProcessor.getAuditEntries(request);
+
+            Assertions.assertThat(nextPage.getAuditList()).hasSize(5);
+            Assertions.assertThat(nextPage.getEntryCount()).isEqualTo(records);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void readsSeededGroups()
+    {
+        try
+        {
+            Assertions.assertThat(accessDAO.getUserGroups("user-1")).startsWith("group-");
+            Assertions.assertThat(accessDAO.getAccessGroups()).containsExactlyInAnyOrder("group-0", "group-1");
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void writeProcedureReportsUpdateCount()
+    {
+        try (Connection sqlConn = ((DataSource) bean.getAuthDataSource()).getConnection();
+            CallableStatement stmt = sqlConn.prepareCall("{ CALL updateUserEmail(?, ?, ?) }"))
+        {
+            stmt.setString(1, "user-2");
+            stmt.setString(2, "junit@caspersbox.com");
+            stmt.registerOutParameter(3, Types.INTEGER);
+
+            Assertions.assertThat(stmt.execute()).isFalse();
+            Assertions.assertThat(stmt.getInt(3)).isEqualTo(1);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @AfterAll public void tearDown()
+    {
+        EmbeddedDatabase.stop();
+
+        bean.setAuthDataSource(null);
+        bean.setAuditDataSource(null);
+    }
+}
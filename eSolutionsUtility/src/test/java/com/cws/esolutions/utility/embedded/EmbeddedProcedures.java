@@ -0,0 +1,557 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.embedded;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.embedded
+ * File: EmbeddedProcedures.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.PreparedStatement;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+/**
+ * Java stand-ins for the MySQL stored procedures called by the DAOs, bound to H2 aliases by
+ * <code>eSolutionsUtility/sql/embedded-schema.sql</code>. Procedures that return rows hand back
+ * a detached copy of the result; procedures that write return the number of rows changed, which
+ * {@link EmbeddedDataSource} reports as the OUT <code>updateCount</code> parameter. The trailing
+ * <code>updateCount</code> argument on the write procedures only exists to match the arity of the
+ * MySQL definitions and is ignored.
+ *
+ * @author cws-khuntly
+ * @version 1.0
+ */
+public final class EmbeddedProcedures
+{
+    /**
+     * Rows returned per page by the paging procedures, matching the MySQL definitions.
+     */
+    public static final int PAGE_SIZE = 20;
+
+    private static final String USER_SUMMARY = "SELECT CN, UID, EMAIL FROM USERS ";
+    private static final String AUDIT_PAGE = "SELECT SESSID, USERNAME, CN, ROLE, APPLID, APPLNAME, REQTIMESTAMP, ACTION, SRCADDR, SRCHOST, ID FROM AUDIT ";
+    private static final String AUDIT_RANGE = "SELECT ID, REQTIMESTAMP, SESSID, USERNAME, CN, ROLE, ACTION, AUTHORIZED, APPLID, APPLNAME, SRCADDR, SRCHOST FROM AUDIT ";
+    private static final String ARTICLE_SUMMARY = "SELECT ARTICLEID, TITLE, AUTHOR FROM ARTICLES ";
+    private static final String ARTICLE_DETAIL = "SELECT ARTICLEID, CREATEDATE, AUTHOR, KEYWORDS, TITLE, SYMPTOMS, CAUSE, RESOLUTION, " +
+        "REVIEWEDBY, REVIEWEDATE, MODIFIEDBY, MODIFIEDDATE";
+
+    private EmbeddedProcedures()
+    {
+    }
+
+    // security
+
+    public static int addUserAccount(final Connection conn, final String commonName, final String uid, final String userPassword, final String role,
+            final String surname, final String givenName, final String saltValue, final String saltType, final String email,
+            final String telephone, final String pager) throws SQLException
+    {
+        int count = update(conn, "INSERT INTO USERS (CN, UID, USERPASSWORD, CWSROLE, SN, GIVENNAME, DISPLAYNAME, EMAIL, TELEPHONENUMBER, PAGER, " +
+            "CWSLASTLOGIN, CWSEXPIRYDATE) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, DATEADD('DAY', 90, CURRENT_TIMESTAMP))",
+            commonName, uid, userPassword, role, surname, givenName, givenName + " " + surname, email, telephone, pager);
+
+        return count + addOrUpdateUserSalt(conn, commonName, saltValue, saltType, null);
+    }
+
+    public static int removeUserAccount(final Connection conn, final String value) throws SQLException
+    {
+        update(conn, "DELETE FROM USER_SECURITY WHERE CN IN (SELECT CN FROM USERS WHERE CN = ? OR UID = ?)", value, value);
+
+        return update(conn, "DELETE FROM USERS WHERE CN = ? OR UID = ?", value, value);
+    }
+
+    public static ResultSet getUserByAttribute(final Connection conn, final String value) throws SQLException
+    {
+        final String pattern = "%" + value + "%";
+
+        return query(conn, USER_SUMMARY + "WHERE CN = ? OR UID = ? OR SN LIKE ? OR GIVENNAME LIKE ? OR DISPLAYNAME LIKE ? ORDER BY UID",
+            value, value, pattern, pattern, pattern);
+    }
+
+    public static ResultSet getUserByEmail(final Connection conn, final String email) throws SQLException
+    {
+        return query(conn, USER_SUMMARY + "WHERE EMAIL = ?", email);
+    }
+
+    public static ResultSet showUserAccount(final Connection conn, final String commonName) throws SQLException
+    {
+        return query(conn, "SELECT UID, CN, CWSROLE, CWSFAILEDPWDCOUNT, CWSLASTLOGIN, SN, GIVENNAME, CWSEXPIRYDATE, CWSISSUSPENDED, " +
+            "CWSISOLRSETUP, CWSISOLRLOCKED, DISPLAYNAME, CWSISTCACCEPTED, MEMBEROF, EMAIL, TELEPHONENUMBER, PAGER FROM USERS WHERE CN = ?", commonName);
+    }
+
+    public static ResultSet listUserAccounts(final Connection conn) throws SQLException
+    {
+        return query(conn, "SELECT CN, UID, CWSROLE, CWSLASTLOGIN FROM USERS ORDER BY UID");
+    }
+
+    public static ResultSet getUserGroups(final Connection conn, final String commonName) throws SQLException
+    {
+        return query(conn, "SELECT MEMBEROF FROM USERS WHERE CN = ?", commonName);
+    }
+
+    public static ResultSet getUserGroups(final Connection conn, final String commonName, final String uid) throws SQLException
+    {
+        return query(conn, "SELECT MEMBEROF FROM USERS WHERE CN = ? AND UID = ?", commonName, uid);
+    }
+
+    public static ResultSet getAvailableGroups(final Connection conn) throws SQLException
+    {
+        return query(conn, "SELECT GROUP_GUID, GROUP_NAME FROM USER_GROUPS WHERE ENABLED = TRUE ORDER BY GROUP_NAME");
+    }
+
+    public static ResultSet getAvailableGroups(final Connection conn, final String commonName, final String uid) throws SQLException
+    {
+        return getAvailableGroups(conn);
+    }
+
+    public static int updateUserEmail(final Connection conn, final String commonName, final String email, final Integer updateCount) throws SQLException
+    {
+        return update(conn, "UPDATE USERS SET EMAIL = ? WHERE CN = ?", email, commonName);
+    }
+
+    public static int updateUserContact(final Connection conn, final String commonName, final String telephone, final String pager,
+            final Integer updateCount) throws SQLException
+    {
+        return update(conn, "UPDATE USERS SET TELEPHONENUMBER = ?, PAGER = ? WHERE CN = ?", telephone, pager, commonName);
+    }
+
+    public static int updateUserRole(final Connection conn, final String commonName, final String role, final Integer updateCount) throws SQLException
+    {
+        return update(conn, "UPDATE USERS SET CWSROLE = ? WHERE CN = ?", role, commonName);
+    }
+
+    public static int modifyUserSuspension(final Connection conn, final String commonName, final boolean isSuspended, final Integer updateCount) throws SQLException
+    {
+        return update(conn, "UPDATE USERS SET CWSISSUSPENDED = ? WHERE CN = ?", isSuspended, commonName);
+    }
+
+    public static int modifyOlrLock(final Connection conn, final String commonName, final boolean isLocked, final Integer updateCount) throws SQLException
+    {
+        return update(conn, "UPDATE USERS SET CWSISOLRLOCKED = ? WHERE CN = ?", isLocked, commonName);
+    }
+
+    public static int modifyUserLock(final Connection conn, final String commonName, final boolean isLocked, final int increment,
+            final Integer updateCount) throws SQLException
+    {
+        if (isLocked)
+        {
+            return update(conn, "UPDATE USERS SET CWSFAILEDPWDCOUNT = CWSFAILEDPWDCOUNT + ? WHERE CN = ?", increment, commonName);
+        }
+
+        return update(conn, "UPDATE USERS SET CWSFAILEDPWDCOUNT = 0 WHERE CN = ?", commonName);
+    }
+
+    public static ResultSet getUserPassword(final Connection conn, final String commonName, final String uid) throws SQLException
+    {
+        return query(conn, "SELECT USERPASSWORD FROM USERS WHERE CN = ? AND UID = ?", commonName, uid);
+    }
+
+    public static int modifyUserPassword(final Connection conn, final String commonName, final String password, final boolean isReset,
+            final Integer updateCount) throws SQLException
+    {
+        // a reset password has to be changed on next logon, so it expires immediately
+        return update(conn, "UPDATE USERS SET USERPASSWORD = ?, CWSEXPIRYDATE = " + ((isReset) ? "CURRENT_TIMESTAMP" : "DATEADD('DAY', 90, CURRENT_TIMESTAMP)") +
+            " WHERE CN = ?", password, commonName);
+    }
+
+    public static ResultSet getSecurityData(final Connection conn, final String commonName, final String uid) throws SQLException
+    {
+        return query(conn, "SELECT CWSSECQ1, CWSSECQ2, CWSSECANS1, CWSSECANS2 FROM USERS WHERE CN = ? AND UID = ?", commonName, uid);
+    }
+
+    public static int addOrUpdateSecurityQuestions(final Connection conn, final String commonName, final String questionOne, final String questionTwo,
+            final String answerOne, final String answerTwo, final Integer updateCount) throws SQLException
+    {
+        return update(conn, "UPDATE USERS SET CWSSECQ1 = ?, CWSSECQ2 = ?, CWSSECANS1 = ?, CWSSECANS2 = ?, CWSISOLRSETUP = TRUE WHERE CN = ?",
+            questionOne, questionTwo, answerOne, answerTwo, commonName);
+    }
+
+    public static ResultSet getSecurityQuestions(final Connection conn) throws SQLException
+    {
+        return query(conn, "SELECT QUESTION FROM SECURITY_QUESTIONS ORDER BY QUESTION");
+    }
+
+    public static int addOrUpdateUserSalt(final Connection conn, final String commonName, final String saltValue, final String saltType,
+            final Integer updateCount) throws SQLException
+    {
+        return update(conn, "MERGE INTO USER_SECURITY (CN, SALT_TYPE, SALT_VALUE) KEY (CN, SALT_TYPE) VALUES (?, ?, ?)", commonName, saltType, saltValue);
+    }
+
+    public static ResultSet getUserSalt(final Connection conn, final String commonName, final String saltType) throws SQLException
+    {
+        return query(conn, "SELECT SALT_VALUE FROM USER_SECURITY WHERE CN = ? AND SALT_TYPE = ?", commonName, saltType);
+    }
+
+    public static int insertResetData(final Connection conn, final String commonName, final String resetId, final Integer updateCount) throws SQLException
+    {
+        return update(conn, "INSERT INTO RESET_DATA (CN, RESET_KEY) VALUES (?, ?)", commonName, resetId);
+    }
+
+    public static ResultSet getResetData(final Connection conn, final String resetId) throws SQLException
+    {
+        return query(conn, "SELECT CN, CREATE_DATE FROM RESET_DATA WHERE RESET_KEY = ?", resetId);
+    }
+
+    public static int performSuccessfulLogin(final Connection conn, final String uid, final String commonName, final String authToken,
+            final Integer updateCount) throws SQLException
+    {
+        return update(conn, "UPDATE USERS SET CWSLASTLOGIN = CURRENT_TIMESTAMP, CWSFAILEDPWDCOUNT = 0, CWSAUTHTOKEN = ? WHERE CN = ? AND UID = ?",
+            authToken, commonName, uid);
+    }
+
+    public static ResultSet getAuthToken(final Connection conn, final String commonName, final String uid) throws SQLException
+    {
+        return query(conn, "SELECT CWSAUTHTOKEN FROM USERS WHERE CN = ? AND UID = ?", commonName, uid);
+    }
+
+    public static int removeSessionData(final Connection conn, final String commonName, final String tokenSalt) throws SQLException
+    {
+        update(conn, "DELETE FROM USER_SECURITY WHERE CN = ? AND SALT_VALUE = ?", commonName, tokenSalt);
+
+        return update(conn, "UPDATE USERS SET CWSAUTHTOKEN = NULL WHERE CN = ?", commonName);
+    }
+
+    public static ResultSet getOlrStatus(final Connection conn, final String commonName, final String uid) throws SQLException
+    {
+        return query(conn, "SELECT CWSISOLRSETUP, CWSISOLRLOCKED FROM USERS WHERE CN = ? AND UID = ?", commonName, uid);
+    }
+
+    // audit
+
+    public static int insertAuditEntry(final Connection conn, final String sessionId, final String userName, final String commonName, final String role,
+            final String action, final boolean authorized, final String applicationId, final String applicationName, final String sourceAddress,
+            final String sourceHost) throws SQLException
+    {
+        return insertAuditEntryAt(conn, sessionId, userName, commonName, role, action, authorized, applicationId, applicationName, sourceAddress,
+            sourceHost, new Timestamp(System.currentTimeMillis()));
+    }
+
+    public static int insertAuditEntryAt(final Connection conn, final String sessionId, final String userName, final String commonName, final String role,
+            final String action, final boolean authorized, final String applicationId, final String applicationName, final String sourceAddress,
+            final String sourceHost, final Timestamp requestTime) throws SQLException
+    {
+        return update(conn, "INSERT INTO AUDIT (SESSID, USERNAME, CN, ROLE, ACTION, AUTHORIZED, APPLID, APPLNAME, SRCADDR, SRCHOST, REQTIMESTAMP) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", sessionId, userName, commonName, role, action, authorized, applicationId,
+            applicationName, sourceAddress, sourceHost, requestTime);
+    }
+
+    public static ResultSet getAuditInterval(final Connection conn, final String commonName, final int startRow) throws SQLException
+    {
+        return query(conn, "SELECT SESSID, USERNAME, CN, ROLE, APPLID, APPLNAME, REQTIMESTAMP, ACTION, SRCADDR, SRCHOST FROM AUDIT " +
+            "WHERE CN = ? ORDER BY REQTIMESTAMP DESC, ID DESC LIMIT ? OFFSET ?", commonName, PAGE_SIZE, startRow);
+    }
+
+    public static ResultSet getAuditPage(final Connection conn, final String commonName, final Timestamp beforeTimestamp, final Long beforeId,
+            final int pageSize) throws SQLException
+    {
+        if (beforeTimestamp == null)
+        {
+            return query(conn, AUDIT_PAGE + "WHERE CN = ? ORDER BY REQTIMESTAMP DESC, ID DESC LIMIT ?", commonName, pageSize);
+        }
+
+        return query(conn, AUDIT_PAGE + "WHERE CN = ? AND (REQTIMESTAMP < ? OR (REQTIMESTAMP = ? AND ID < ?)) " +
+            "ORDER BY REQTIMESTAMP DESC, ID DESC LIMIT ?", commonName, beforeTimestamp, beforeTimestamp, beforeId, pageSize);
+    }
+
+    public static ResultSet getAuditCount(final Connection conn, final String commonName) throws SQLException
+    {
+        return query(conn, "SELECT COUNT(*) FROM AUDIT WHERE CN = ?", commonName);
+    }
+
+    public static ResultSet getAuditRange(final Connection conn, final Timestamp startTime, final Timestamp endTime, final Timestamp afterTimestamp,
+            final Long afterId, final int pageSize) throws SQLException
+    {
+        if (afterTimestamp == null)
+        {
+            return query(conn, AUDIT_RANGE + "WHERE REQTIMESTAMP >= ? AND REQTIMESTAMP < ? ORDER BY REQTIMESTAMP, ID LIMIT ?", startTime, endTime, pageSize);
+        }
+
+        return query(conn, AUDIT_RANGE + "WHERE (REQTIMESTAMP > ? OR (REQTIMESTAMP = ? AND ID > ?)) AND REQTIMESTAMP < ? " +
+            "ORDER BY REQTIMESTAMP, ID LIMIT ?", afterTimestamp, afterTimestamp, afterId, endTime, pageSize);
+    }
+
+    // application enablement
+
+    public static ResultSet isServiceEnabled(final Connection conn, final String requestURI) throws SQLException
+    {
+        return query(conn, "SELECT ENABLED FROM SERVICE_ENABLEMENT WHERE REQUEST_URI = ?", requestURI);
+    }
+
+    public static ResultSet retrAvailableServices(final Connection conn) throws SQLException
+    {
+        return query(conn, "SELECT REQUEST_URI, NAME FROM SERVICE_ENABLEMENT WHERE ENABLED = TRUE");
+    }
+
+    // datacenters
+
+    public static int addNewDatacenter(final Connection conn, final String guid, final String name, final String status, final String description) throws SQLException
+    {
+        return update(conn, "INSERT INTO DATACENTERS (GUID, NAME, STATUS, DESCRIPTION) VALUES (?, ?, ?, ?)", guid, name, status, description);
+    }
+
+    public static int updateDatacenter(final Connection conn, final String guid, final String name, final String status, final String description,
+            final Integer updateCount) throws SQLException
+    {
+        return update(conn, "UPDATE DATACENTERS SET NAME = ?, STATUS = ?, DESCRIPTION = ? WHERE GUID = ?", name, status, description, guid);
+    }
+
+    public static int removeDatacenter(final Connection conn, final String guid) throws SQLException
+    {
+        return update(conn, "UPDATE DATACENTERS SET DELETE_DATE = CURRENT_TIMESTAMP WHERE GUID = ?", guid);
+    }
+
+    public static ResultSet listDatacenters(final Connection conn, final int startRow) throws SQLException
+    {
+        return query(conn, "SELECT GUID, NAME, STATUS, DESCRIPTION FROM DATACENTERS WHERE DELETE_DATE IS NULL ORDER BY NAME LIMIT ? OFFSET ?",
+            PAGE_SIZE, startRow);
+    }
+
+    public static ResultSet getDatacenterByAttribute(final Connection conn, final String value, final int startRow) throws SQLException
+    {
+        final String pattern = "%" + value + "%";
+
+        return query(conn, "SELECT GUID, NAME FROM DATACENTERS WHERE DELETE_DATE IS NULL AND (GUID = ? OR NAME LIKE ? OR DESCRIPTION LIKE ?) " +
+            "ORDER BY NAME LIMIT ? OFFSET ?", value, pattern, pattern, PAGE_SIZE, startRow);
+    }
+
+    public static ResultSet getDatacenterData(final Connection conn, final String guid) throws SQLException
+    {
+        return query(conn, "SELECT GUID, NAME, STATUS, DESCRIPTION FROM DATACENTERS WHERE GUID = ? AND DELETE_DATE IS NULL", guid);
+    }
+
+    // services
+
+    public static int addNewService(final Connection conn, final String guid, final String serviceType, final String name, final String region,
+            final String partition, final String status, final String servers, final String description) throws SQLException
+    {
+        return update(conn, "INSERT INTO SERVICES (GUID, SERVICE_TYPE, NAME, REGION, NWPARTITION, STATUS, SERVERS, DESCRIPTION) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", guid, serviceType, name, region, partition, status, servers, description);
+    }
+
+    public static int updateServiceData(final Connection conn, final String guid, final String serviceType, final String name, final String region,
+            final String partition, final String status, final String servers, final String description) throws SQLException
+    {
+        return update(conn, "UPDATE SERVICES SET SERVICE_TYPE = ?, NAME = ?, REGION = ?, NWPARTITION = ?, STATUS = ?, SERVERS = ?, DESCRIPTION = ? " +
+            "WHERE GUID = ?", serviceType, name, region, partition, status, servers, description, guid);
+    }
+
+    public static int removeServiceData(final Connection conn, final String guid) throws SQLException
+    {
+        return update(conn, "UPDATE SERVICES SET DELETE_DATE = CURRENT_TIMESTAMP WHERE GUID = ?", guid);
+    }
+
+    public static ResultSet listServices(final Connection conn, final int startRow) throws SQLException
+    {
+        return query(conn, "SELECT GUID, SERVICE_TYPE, NAME FROM SERVICES WHERE DELETE_DATE IS NULL ORDER BY NAME LIMIT ? OFFSET ?", PAGE_SIZE, startRow);
+    }
+
+    public static ResultSet getServiceByAttribute(final Connection conn, final String value, final int startRow) throws SQLException
+    {
+        final String pattern = "%" + value + "%";
+
+        // the third column stands in for the full-text relevance score
+        return query(conn, "SELECT GUID, SERVICE_TYPE, 1 AS SCORE, NAME FROM SERVICES WHERE DELETE_DATE IS NULL AND " +
+            "(GUID = ? OR NAME LIKE ? OR DESCRIPTION LIKE ?) ORDER BY NAME LIMIT ? OFFSET ?", value, pattern, pattern, PAGE_SIZE, startRow);
+    }
+
+    public static ResultSet getServiceData(final Connection conn, final String guid) throws SQLException
+    {
+        return query(conn, "SELECT SERVICE_TYPE, NAME, REGION, NWPARTITION, STATUS, SERVERS, DESCRIPTION FROM SERVICES WHERE GUID = ? " +
+            "AND DELETE_DATE IS NULL", guid);
+    }
+
+    // servers
+
+    public static int addNewServer(final Connection conn, final String guid, final String osType, final String status, final String region,
+            final String partition, final String datacenter, final String systemType, final String domainName, final String cpuType,
+            final int cpuCount, final String serverModel, final String serialNumber, final int installedMemory, final String operIp,
+            final String operHostname, final String mgmtIp, final String mgmtHostname, final String backupIp, final String backupHostname,
+            final String nasIp, final String nasHostname, final String natAddr, final String comments, final String engineer,
+            final String serverRack, final String rackPosition, final Integer updateCount) throws SQLException
+    {
+        return update(conn, "INSERT INTO INSTALLED_SYSTEMS (GUID, SYSTEM_OSTYPE, SYSSTATUS, REGION, NETWORK_PARTITION, DATACENTER, SYSTEM_TYPE, " +
+            "DOMAIN_NAME, CPU_TYPE, CPU_COUNT, SERVER_MODEL, SERIAL_NUMBER, INSTALLED_MEMORY, OPER_IP, OPER_HOSTNAME, MGMT_IP, MGMT_HOSTNAME, " +
+            "BKUP_IP, BKUP_HOSTNAME, NAS_IP, NAS_HOSTNAME, NAT_ADDR, COMMENTS, ASSIGNED_ENGINEER, SERVER_RACK, RACK_POSITION) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", guid, osType, status, region, partition,
+            datacenter, systemType, domainName, cpuType, cpuCount, serverModel, serialNumber, installedMemory, operIp, operHostname, mgmtIp,
+            mgmtHostname, backupIp, backupHostname, nasIp, nasHostname, natAddr, comments, engineer, serverRack, rackPosition);
+    }
+
+    public static int updateServerData(final Connection conn, final String guid, final String osType, final String status, final String region,
+            final String partition, final String datacenter, final String systemType, final String domainName, final String cpuType,
+            final int cpuCount, final String serverModel, final String serialNumber, final int installedMemory, final String operIp,
+            final String operHostname, final String mgmtIp, final String mgmtHostname, final String backupIp, final String backupHostname,
+            final String nasIp, final String nasHostname, final String natAddr, final String comments, final String engineer,
+            final String serverRack, final String rackPosition, final Integer updateCount) throws SQLException
+    {
+        return update(conn, "UPDATE INSTALLED_SYSTEMS SET SYSTEM_OSTYPE = ?, SYSSTATUS = ?, REGION = ?, NETWORK_PARTITION = ?, DATACENTER = ?, " +
+            "SYSTEM_TYPE = ?, DOMAIN_NAME = ?, CPU_TYPE = ?, CPU_COUNT = ?, SERVER_MODEL = ?, SERIAL_NUMBER = ?, INSTALLED_MEMORY = ?, OPER_IP = ?, " +
+            "OPER_HOSTNAME = ?, MGMT_IP = ?, MGMT_HOSTNAME = ?, BKUP_IP = ?, BKUP_HOSTNAME = ?, NAS_IP = ?, NAS_HOSTNAME = ?, NAT_ADDR = ?, " +
+            "COMMENTS = ?, ASSIGNED_ENGINEER = ?, SERVER_RACK = ?, RACK_POSITION = ? WHERE GUID = ?", osType, status, region, partition,
+            datacenter, systemType, domainName, cpuType, cpuCount, serverModel, serialNumber, installedMemory, operIp, operHostname, mgmtIp,
+            mgmtHostname, backupIp, backupHostname, nasIp, nasHostname, natAddr, comments, engineer, serverRack, rackPosition, guid);
+    }
+
+    public static int removeServerFromAssets(final Connection conn, final String guid) throws SQLException
+    {
+        return update(conn, "UPDATE INSTALLED_SYSTEMS SET DELETE_DATE = CURRENT_TIMESTAMP WHERE GUID = ?", guid);
+    }
+
+    public static ResultSet retrServerList(final Connection conn, final int startRow) throws SQLException
+    {
+        return query(conn, "SELECT GUID, OPER_HOSTNAME FROM INSTALLED_SYSTEMS WHERE DELETE_DATE IS NULL ORDER BY OPER_HOSTNAME LIMIT ? OFFSET ?",
+            PAGE_SIZE, startRow);
+    }
+
+    public static ResultSet getServerByAttribute(final Connection conn, final String value, final int startRow) throws SQLException
+    {
+        final String pattern = "%" + value + "%";
+
+        return query(conn, "SELECT GUID, OPER_HOSTNAME FROM INSTALLED_SYSTEMS WHERE DELETE_DATE IS NULL AND (GUID = ? OR OPER_HOSTNAME LIKE ? " +
+            "OR OPER_IP = ? OR MGMT_HOSTNAME LIKE ? OR SYSTEM_TYPE = ? OR REGION = ?) ORDER BY OPER_HOSTNAME LIMIT ? OFFSET ?",
+            value, pattern, value, pattern, value, value, PAGE_SIZE, startRow);
+    }
+
+    public static ResultSet getServerData(final Connection conn, final String guid) throws SQLException
+    {
+        return query(conn, "SELECT T1.GUID, T1.SYSTEM_OSTYPE, T1.SYSSTATUS, T1.REGION, T1.NETWORK_PARTITION, T1.SYSTEM_TYPE, T1.DOMAIN_NAME, " +
+            "T1.CPU_TYPE, T1.CPU_COUNT, T1.SERVER_RACK, T1.RACK_POSITION, T1.SERVER_MODEL, T1.SERIAL_NUMBER, T1.INSTALLED_MEMORY, T1.OPER_IP, " +
+            "T1.OPER_HOSTNAME, T1.MGMT_IP, T1.MGMT_HOSTNAME, T1.BKUP_IP, T1.BKUP_HOSTNAME, T1.NAS_IP, T1.NAS_HOSTNAME, T1.NAT_ADDR, T1.COMMENTS, " +
+            "T1.ASSIGNED_ENGINEER, T1.ADD_DATE, T1.DELETE_DATE, T2.GUID, T2.NAME FROM INSTALLED_SYSTEMS T1 " +
+            "LEFT JOIN DATACENTERS T2 ON T2.GUID = T1.DATACENTER WHERE T1.GUID = ?", guid);
+    }
+
+    // knowledgebase
+
+    public static int addNewArticle(final Connection conn, final String articleId, final String author, final String keywords, final String title,
+            final String symptoms, final String cause, final String resolution, final Integer updateCount) throws SQLException
+    {
+        return update(conn, "INSERT INTO ARTICLES (ARTICLEID, AUTHOR, KEYWORDS, TITLE, SYMPTOMS, CAUSE, RESOLUTION) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            articleId, author, keywords, title, symptoms, cause, resolution);
+    }
+
+    public static int updateArticle(final Connection conn, final String articleId, final String keywords, final String title, final String symptoms,
+            final String cause, final String resolution, final String modifiedBy, final Integer updateCount) throws SQLException
+    {
+        return update(conn, "UPDATE ARTICLES SET KEYWORDS = ?, TITLE = ?, SYMPTOMS = ?, CAUSE = ?, RESOLUTION = ?, MODIFIEDBY = ?, " +
+            "MODIFIEDDATE = CURRENT_TIMESTAMP, STATUS = 'REVIEW' WHERE ARTICLEID = ?", keywords, title, symptoms, cause, resolution, modifiedBy, articleId);
+    }
+
+    public static int updateArticleStatus(final Connection conn, final String articleId, final String modifiedBy, final String status,
+            final Integer updateCount) throws SQLException
+    {
+        if ("APPROVED".equalsIgnoreCase(status))
+        {
+            return update(conn, "UPDATE ARTICLES SET STATUS = ?, APPROVEDBY = ?, APPROVEDDATE = CURRENT_TIMESTAMP WHERE ARTICLEID = ?",
+                status, modifiedBy, articleId);
+        }
+
+        return update(conn, "UPDATE ARTICLES SET STATUS = ?, REVIEWEDBY = ?, REVIEWEDATE = CURRENT_TIMESTAMP WHERE ARTICLEID = ?",
+            status, modifiedBy, articleId);
+    }
+
+    public static int removeArticle(final Connection conn, final String articleId, final String modifiedBy, final Integer updateCount) throws SQLException
+    {
+        return update(conn, "UPDATE ARTICLES SET STATUS = 'DELETED', MODIFIEDBY = ?, MODIFIEDDATE = CURRENT_TIMESTAMP WHERE ARTICLEID = ?",
+            modifiedBy, articleId);
+    }
+
+    public static ResultSet listArticles(final Connection conn, final int startRow) throws SQLException
+    {
+        return query(conn, ARTICLE_SUMMARY + "WHERE STATUS = 'APPROVED' ORDER BY CREATEDATE DESC LIMIT ? OFFSET ?", PAGE_SIZE, startRow);
+    }
+
+    public static ResultSet getArticlesByAttribute(final Connection conn, final String value, final int startRow) throws SQLException
+    {
+        final String pattern = "%" + value + "%";
+
+        return query(conn, ARTICLE_SUMMARY + "WHERE STATUS = 'APPROVED' AND (ARTICLEID = ? OR KEYWORDS LIKE ? OR TITLE LIKE ? OR SYMPTOMS LIKE ?) " +
+            "ORDER BY CREATEDATE DESC LIMIT ? OFFSET ?", value, pattern, pattern, pattern, PAGE_SIZE, startRow);
+    }
+
+    public static ResultSet getArticleData(final Connection conn, final String articleId) throws SQLException
+    {
+        return query(conn, ARTICLE_DETAIL + ", APPROVEDDATE, APPROVEDBY FROM ARTICLES WHERE ARTICLEID = ? AND STATUS = 'APPROVED'", articleId);
+    }
+
+    public static ResultSet getArticleForApproval(final Connection conn, final String articleId) throws SQLException
+    {
+        return query(conn, ARTICLE_DETAIL + " FROM ARTICLES WHERE ARTICLEID = ? AND STATUS IN ('NEW', 'REVIEW')", articleId);
+    }
+
+    public static ResultSet getArticlesForApproval(final Connection conn, final int startRow) throws SQLException
+    {
+        return query(conn, ARTICLE_SUMMARY + "WHERE STATUS IN ('NEW', 'REVIEW') ORDER BY CREATEDATE LIMIT ? OFFSET ?", PAGE_SIZE, startRow);
+    }
+
+    private static ResultSet query(final Connection conn, final String sql, final Object... params) throws SQLException
+    {
+        PreparedStatement stmt = conn.prepareStatement(sql);
+
+        try
+        {
+            bind(stmt, params);
+
+            CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+            rowSet.populate(stmt.executeQuery());
+
+            return rowSet;
+        }
+        finally
+        {
+            stmt.close();
+        }
+    }
+
+    private static int update(final Connection conn, final String sql, final Object... params) throws SQLException
+    {
+        PreparedStatement stmt = conn.prepareStatement(sql);
+
+        try
+        {
+            bind(stmt, params);
+
+            return stmt.executeUpdate();
+        }
+        finally
+        {
+            stmt.close();
+        }
+    }
+
+    private static void bind(final PreparedStatement stmt, final Object... params) throws SQLException
+    {
+        for (int x = 0; x < params.length; x++)
+        {
+            if (params[x] instanceof Timestamp)
+            {
+                stmt.setTimestamp(x + 1, (Timestamp) params[x]);
+            }
+            else
+            {
+                stmt.setObject(x + 1, params[x]);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils
+ * File: AuditExporterTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.io.File;
+import java.util.Set;
+import java.util.List;
+import java.io.Writer;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Properties;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import org.junit.jupiter.api.Test;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.TestInstance;
+import java.nio.charset.StandardCharsets;
+
+import com.cws.esolutions.utility.embedded.EmbeddedDatabase;
+import com.cws.esolutions.utility.securityutils.dao.audit.impl.AuditDAOImpl;
+import com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AuditExporterTest
+{
+    private static final int RECORDS = 23;
+    private static final IAuditDAO auditDAO = new AuditDAOImpl();
+
+    private Timestamp startTime = null;
+    private Timestamp endTime = null;
+
+    @BeforeAll public void setUp()
+    {
+        try
+        {
+            EmbeddedDatabase.initializeUtility();
+
+            this.startTime = new Timestamp(System.currentTimeMillis() - 1000L);
+
+            for (int x = 0; x < RECORDS; x++)
+            {
+                auditDAO.auditRequestedOperation(new ArrayList<String>(
+                    Arrays.asList("session-export-" + x, "export", "guid-export", "USER", "LOGON",
+                        "true", "applid", "app,name \"quoted\"", "127.0.0.1", "localhost")));
+            }
+
+            this.endTime = new Timestamp(System.currentTimeMillis() + 1000L);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void exportRollsFilesAndWritesEachRowOnce()
+    {
+        try
+        {
+            final Path directory = Files.createTempDirectory("audit-export");
+            final AuditExporter exporter = new AuditExporter(directory.toString(), "audit", AuditExporter.Format.NDJSON, 10L, 4);
+
+            Assertions.assertThat(exporter.export(this.startTime, this.endTime)).isEqualTo(RECORDS);
+
+            List<String> lines = new ArrayList<String>();
+
+            for (int x = 0; x < 3; x++)
+            {
+                List<String> fileLines = readLines(new File(directory.toFile(), String.format("audit-%06d.ndjson.gz", x)));
+
+                Assertions.assertThat(fileLines).hasSize((x == 2) ? RECORDS - 20 : 10);
+
+                lines.addAll(fileLines);
+            }
+
+            Set<String> ids = new HashSet<String>();
+
+            for (String line : lines)
+            {
+                Assertions.assertThat(line).startsWith("{\"id\":").contains("\"applicationName\":\"app,name \\\"quoted\\\"\"").contains("\"authorized\":true");
+
+                ids.add(line.substring(6, line.indexOf(',')));
+            }
+
+            Assertions.assertThat(ids).hasSize(RECORDS);
+            Assertions.assertThat(new File(directory.toFile(), "audit-000003.ndjson.gz")).doesNotExist();
+
+            // a finished range is not exported twice
+            Assertions.assertThat(exporter.export(this.startTime, this.endTime)).isZero();
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void exportResumesFromCheckpoint()
+    {
+        try
+        {
+            final Path directory = Files.createTempDirectory("audit-export");
+            final AuditExporter exporter = new AuditExporter(directory.toString(), "audit", AuditExporter.Format.CSV, 10L, 4);
+
+            Assertions.assertThat(exporter.export(this.startTime, this.endTime)).isEqualTo(RECORDS);
+
+            final List<String> first = readLines(new File(directory.toFile(), "audit-000000.csv.gz"));
+            final String[] last = first.get(first.size() - 1).split(",");
+
+            Assertions.assertThat(first).hasSize(11);
+            Assertions.assertThat(first.get(0)).startsWith("id,timestamp,");
+
+            // wind the checkpoint back to the end of the first file, as if the run had stopped there
+            final File file = new File(directory.toFile(), "audit.checkpoint");
+            final Properties checkpoint = new Properties();
+
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))
+            {
+                checkpoint.load(reader);
+            }
+
+            checkpoint.setProperty("afterId", last[0]);
+            checkpoint.setProperty("afterTimestamp", last[1]);
+            checkpoint.setProperty("nextFile", "1");
+            checkpoint.setProperty("exported", "10");
+            checkpoint.setProperty("complete", "false");
+
+            try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))
+            {
+                checkpoint.store(writer, null);
+            }
+
+            Files.delete(new File(directory.toFile(), "audit-000001.csv.gz").toPath());
+
+            Assertions.assertThat(exporter.export(this.startTime, this.endTime)).isEqualTo(RECORDS - 10);
+            Assertions.assertThat(readLines(new File(directory.toFile(), "audit-000001.csv.gz"))).hasSize(11);
+            Assertions.assertThat(readLines(new File(directory.toFile(), "audit-000002.csv.gz"))).hasSize(RECORDS - 20 + 1);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    private static List<String> readLines(final File file) throws Exception
+    {
+        List<String> lines = new ArrayList<String>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(file.toPath())), StandardCharsets.UTF_8)))
+        {
+            String line = null;
+
+            while ((line = reader.readLine()) != null)
+            {
+                lines.add(line);
+            }
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.dao.audit.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.dao.audit.impl
+ * File: AuditDAOImplTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.List;
+import java.util.Arrays;
+import java.sql.Connection;
+import java.util.ArrayList;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.Callable;
+import org.junit.jupiter.api.AfterAll;
+import java.util.concurrent.CyclicBarrier;
+import org.assertj.core.api.Assertions;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.TestInstance;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cws.esolutions.utility.UtilityBean;
+import com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AuditDAOImplTest
+{
+    private static final int THREADS = 16;
+    private static final long TIMEOUT = 10;
+
+    private static final IAuditDAO dao = new AuditDAOImpl();
+    private static final UtilityBean bean = UtilityBean.getInstance();
+
+    /**
+     * Every caller parks inside <code>execute()</code> until all {@link #THREADS} callers
+     * have arrived. If the DAO serialized its callers behind a monitor only one thread
+     * could ever reach the barrier, it would time out and the calls would fail.
+     */
+    @Test public void auditRequestedOperationRunsInParallel()
+    {
+        final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        bean.setAuditDataSource(stubDataSource(barrier, inFlight, maxInFlight));
+
+        try
+        {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+
+            for (int x = 0; x < THREADS; x++)
+            {
+                final int count = x;
+
+                results.add(executor.submit(new Callable<Boolean>()
+                {
+                    public Boolean call() throws SQLException
+                    {
+                        dao.auditRequestedOperation(new ArrayList<String>(
+                            Arrays.asList("session-" + count, "junit", "guid-" + count, "USER", "JUNIT",
+                                "true", "applid", "applname", "127.0.0.1", "localhost")));
+
+                        return Boolean.TRUE;
+                    }
+                }));
+            }
+
+            for (Future<Boolean> result : results)
+            {
+                Assertions.assertThat(result.get(TIMEOUT * 2, TimeUnit.SECONDS)).isTrue();
+            }
+
+            Assertions.assertThat(maxInFlight.get()).isEqualTo(THREADS);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @AfterAll public void tearDown()
+    {
+        bean.setAuditDataSource(null);
+    }
+
+    private static DataSource stubDataSource(final CyclicBarrier barrier, final AtomicInteger inFlight, final AtomicInteger maxInFlight)
+    {
+        final PreparedStatement stmt = (PreparedStatement) Proxy.newProxyInstance(AuditDAOImplTest.class.getClassLoader(),
+            new Class<?>[] { PreparedStatement.class }, (proxy, method, args) ->
+        {
+            if (method.getName().equals("execute"))
+            {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+                try
+                {
+                    barrier.await(TIMEOUT, TimeUnit.SECONDS);
+                }
+                catch (final Exception ex)
+                {
+                    throw new SQLException("Callers were serialized; barrier was not reached.", ex);
+                }
+                finally
+                {
+                    inFlight.decrementAndGet();
+                }
+
+                return Boolean.FALSE;
+            }
+
+            return defaultValue(method.getReturnType());
+        });
+
+        final Connection sqlConn = (Connection) Proxy.newProxyInstance(AuditDAOImplTest.class.getClassLoader(),
+            new Class<?>[] { Connection.class }, (proxy, method, args) ->
+        {
+            if (method.getName().startsWith("prepare"))
+            {
+                return stmt;
+            }
+
+            return defaultValue(method.getReturnType());
+        });
+
+        return (DataSource) Proxy.newProxyInstance(AuditDAOImplTest.class.getClassLoader(),
+            new Class<?>[] { DataSource.class }, (proxy, method, args) ->
+        {
+            if (method.getName().equals("getConnection"))
+            {
+                return sqlConn;
+            }
+
+            return defaultValue(method.getReturnType());
+        });
+    }
+
+    private static Object defaultValue(final Class<?> type)
+    {
+        if (type == boolean.class)
+        {
+            return Boolean.FALSE;
+        }
+        else if ((type == int.class) || (type == long.class))
+        {
+            return (type == int.class) ? Integer.valueOf(0) : Long.valueOf(0L);
+        }
+
+        return null;
+    }
+}
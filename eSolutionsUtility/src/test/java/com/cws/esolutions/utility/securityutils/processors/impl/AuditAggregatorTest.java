@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditAggregatorTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.io.File;
+import java.util.List;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Test;
+import org.assertj.core.api.Assertions;
+
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditRollup;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditRollupInterval;
+
+public class AuditAggregatorTest
+{
+    @Test public void countsFailedLogonsPerUser()
+    {
+        final long now = System.currentTimeMillis();
+
+        for (int x = 0; x < 5; x++)
+        {
+            AuditAggregator.record(record("guid-rollup-1", false, now));
+        }
+
+        AuditAggregator.record(record("guid-rollup-2", false, now));
+        AuditAggregator.record(record("guid-rollup-2", true, now));
+
+        // out of a one hour window, still inside the day
+        AuditAggregator.record(record("guid-rollup-1", false, now - (2 * AuditRollupInterval.HOUR.getMillis())));
+
+        final List<AuditRollup> failed = AuditAggregator.query(AuditRollupInterval.MINUTE, 60, AuditType.LOGON, null, "applid-rollup", Boolean.FALSE);
+
+        Assertions.assertThat(failed).hasSize(2);
+        Assertions.assertThat(failed.get(0).getUserGuid()).isEqualTo("guid-rollup-1");
+        Assertions.assertThat(failed.get(0).getCount()).isEqualTo(5L);
+        Assertions.assertThat(failed.get(1).getCount()).isEqualTo(1L);
+
+        Assertions.assertThat(AuditAggregator.query(AuditRollupInterval.MINUTE, 60, AuditType.LOGON, "guid-rollup-2", "applid-rollup", null)
+            .stream().mapToLong(AuditRollup::getCount).sum()).isEqualTo(2L);
+    }
+
+    @Test public void snapshotRestoresCounters()
+    {
+        try
+        {
+            final File snapshot = Files.createTempFile("audit", ".rollup").toFile();
+            snapshot.delete();
+
+            AuditAggregator.open(snapshot.getPath(), 60000L);
+            AuditAggregator.record(new AuditRecord("session-snapshot", "snapshot", "guid-snapshot", "USER", AuditType.LOGOFF, true,
+                "applid-snapshot", "applname", "127.0.0.1", "localhost", System.currentTimeMillis()));
+            AuditAggregator.close();
+
+            AuditAggregator.clear();
+
+            Assertions.assertThat(AuditAggregator.query(AuditRollupInterval.HOUR, 1, null, "guid-snapshot", null, null)).isEmpty();
+
+            AuditAggregator.open(snapshot.getPath(), 60000L);
+            AuditAggregator.close();
+
+            Assertions.assertThat(AuditAggregator.query(AuditRollupInterval.HOUR, 1, null, "guid-snapshot", null, null))
+                .singleElement().extracting(AuditRollup::getCount).isEqualTo(1L);
+
+            snapshot.delete();
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    private static AuditRecord record(final String guid, final boolean authorized, final long timestamp)
+    {
+        return new AuditRecord("session-rollup", "rollup", guid, "USER", AuditType.LOGON, authorized, "applid-rollup", "applname",
+            "127.0.0.1", "localhost", timestamp);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditContextTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.TestInstance;
+
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditTier;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditRollupInterval;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AuditContextTest
+{
+    @Test public void recordsOneEventPerOperation()
+    {
+        // aggregated, so the events are counted without reaching the writer
+        AuditPolicy.configure(AuditTier.ALWAYS, 0.0, null, List.of(AuditType.LISTSERVERS, AuditType.GETSERVER), null);
+
+        final AuditContext auditContext = context(true, "guid-context");
+
+        Assertions.assertThat(auditContext.isAudited()).isFalse();
+        Assertions.assertThat(auditContext.audit(AuditType.LISTSERVERS, true)).isTrue();
+
+        // the finally audit after an early return
+        Assertions.assertThat(auditContext.audit(AuditType.GETSERVER, true)).isFalse();
+        Assertions.assertThat(auditContext.isAudited()).isTrue();
+
+        Assertions.assertThat(AuditAggregator.query(AuditRollupInterval.MINUTE, 1, null, "guid-context", "applid-context", null))
+            .singleElement().satisfies(rollup ->
+            {
+                Assertions.assertThat(rollup.getAuditType()).isEqualTo(AuditType.LISTSERVERS);
+                Assertions.assertThat(rollup.getCount()).isEqualTo(1L);
+            });
+    }
+
+    @Test public void disabledContextRecordsNothing()
+    {
+        final AuditContext auditContext = context(false, "guid-context-off");
+
+        Assertions.assertThat(auditContext.audit(AuditType.LISTSERVERS, false)).isFalse();
+        Assertions.assertThat(auditContext.isAudited()).isFalse();
+        Assertions.assertThat(AuditAggregator.query(AuditRollupInterval.MINUTE, 1, null, "guid-context-off", null, null)).isEmpty();
+    }
+
+    @AfterAll public void tearDown()
+    {
+        AuditPolicy.configure(AuditTier.ALWAYS, 1.0, null, null, null);
+    }
+
+    private static AuditContext context(final boolean enabled, final String guid)
+    {
+        return new AuditContext(enabled, "session-context", "context", guid, "USER", "applid-context", "applname",
+            "127.0.0.1", "localhost");
+    }
+}
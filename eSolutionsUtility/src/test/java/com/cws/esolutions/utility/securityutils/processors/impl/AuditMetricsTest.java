@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditMetricsTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import javax.management.ObjectName;
+import javax.management.MBeanServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.TestInstance;
+import java.lang.management.ManagementFactory;
+
+import com.cws.esolutions.utility.UtilityBean;
+import com.cws.esolutions.utility.embedded.EmbeddedDatabase;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.interfaces.IAuditMetrics;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditOverflowPolicy;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AuditMetricsTest
+{
+    private static final int RECORDS = 40;
+
+    private static final UtilityBean bean = UtilityBean.getInstance();
+    private static final IAuditMetrics metrics = AuditMetrics.getInstance();
+
+    @BeforeAll public void setUp()
+    {
+        try
+        {
+            EmbeddedDatabase.initializeUtility();
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void writerReportsEnqueueLatencyAndBatches()
+    {
+        try
+        {
+            AuditWriter.configure(true, 1024, 16, 60000L, AuditOverflowPolicy.SYNCHRONOUS);
+
+            final long enqueued = count(metrics.getEnqueuedByType(), AuditType.SHOWAUDIT);
+            final long writes = metrics.getWriteCount();
+            final long batches = metrics.getBatchCount();
+
+            for (int x = 0; x < RECORDS; x++)
+            {
+                AuditWriter.submit(new AuditRecord("session-metrics-" + x, "metrics", "guid-metrics", "USER", AuditType.SHOWAUDIT,
+                    true, "applid", "applname", "127.0.0.1", "localhost", System.currentTimeMillis()));
+            }
+
+            AuditWriter.shutdown();
+
+            Assertions.assertThat(count(metrics.getEnqueuedByType(), AuditType.SHOWAUDIT) - enqueued).isEqualTo(RECORDS);
+            Assertions.assertThat(count(metrics.getBacklogByType(), AuditType.SHOWAUDIT)).isZero();
+            Assertions.assertThat(metrics.getBatchCount() - batches).isBetween(3L, (long) RECORDS);
+            Assertions.assertThat(metrics.getWriteCount() - writes).isEqualTo(metrics.getBatchCount() - batches);
+            Assertions.assertThat(metrics.getWriteLatencyHistogram().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(metrics.getWriteCount());
+            Assertions.assertThat(metrics.getBatchSizeHistogram()).containsKey("le_16");
+            Assertions.assertThat(metrics.getWriteLatencyPercentiles()).containsKeys("p50", "p99");
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void metricsAreReadableOverJmx()
+    {
+        try
+        {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(AuditMetrics.OBJECT_NAME + ",name=" + ObjectName.quote("metrics-test"));
+
+            AuditMetrics.register("metrics-test");
+            AuditMetrics.register("metrics-test");
+
+            Assertions.assertThat(AuditMetrics.getObjectName()).isEqualTo(objectName);
+
+            Assertions.assertThat(server.isRegistered(objectName)).isTrue();
+            Assertions.assertThat(server.getAttribute(objectName, "EnqueuedCount")).isEqualTo(metrics.getEnqueuedCount());
+            Assertions.assertThat(server.getAttribute(objectName, "WriteLatencyHistogram")).isNotNull();
+
+            AuditMetrics.unregister();
+
+            Assertions.assertThat(server.isRegistered(objectName)).isFalse();
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void nameTakenByAnotherDeploymentIsNotClaimed()
+    {
+        try
+        {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName taken = new ObjectName(AuditMetrics.OBJECT_NAME + ",name=" + ObjectName.quote("taken"));
+
+            // another deployment's copy of the metrics already holds the name
+            server.registerMBean(AuditMetrics.getInstance(), taken);
+
+            try
+            {
+                AuditMetrics.register("taken");
+
+                Assertions.assertThat(AuditMetrics.getObjectName()).isNull();
+
+                AuditMetrics.unregister();
+
+                Assertions.assertThat(server.isRegistered(taken)).isTrue();
+            }
+            finally
+            {
+                server.unregisterMBean(taken);
+            }
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @AfterAll public void tearDown()
+    {
+        AuditWriter.configure(true, 8192, 256, 250L, AuditOverflowPolicy.SYNCHRONOUS);
+        EmbeddedDatabase.stop();
+
+        bean.setAuthDataSource(null);
+        bean.setAuditDataSource(null);
+    }
+
+    private static long count(final Map<String, Long> byType, final AuditType auditType)
+    {
+        final Long count = byType.get(auditType.name());
+
+        return (count == null) ? 0L : count.longValue();
+    }
+}
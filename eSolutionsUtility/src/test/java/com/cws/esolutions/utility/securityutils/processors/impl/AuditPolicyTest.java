@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditPolicyTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.List;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.TestInstance;
+
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditRequest;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditTier;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditRollupInterval;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AuditPolicyTest
+{
+    @Test public void securityEventsKeepFullFidelity()
+    {
+        AuditPolicy.configure(AuditTier.OFF, 0.1, List.of(AuditType.LISTSERVERS), List.of(AuditType.LISTARTICLES), List.of(AuditType.LOGON));
+
+        Assertions.assertThat(AuditPolicy.getTier(AuditType.LOGON, true)).isEqualTo(AuditTier.ALWAYS);
+        Assertions.assertThat(AuditPolicy.getTier(AuditType.CHANGEPASS, true)).isEqualTo(AuditTier.ALWAYS);
+        Assertions.assertThat(AuditPolicy.getTier(AuditType.LISTSERVERS, true)).isEqualTo(AuditTier.SAMPLED);
+        Assertions.assertThat(AuditPolicy.getTier(AuditType.LISTARTICLES, true)).isEqualTo(AuditTier.AGGREGATED);
+        Assertions.assertThat(AuditPolicy.getTier(AuditType.LISTARTICLES, false)).isEqualTo(AuditTier.ALWAYS);
+        Assertions.assertThat(AuditPolicy.isAudited(AuditType.VIEWARTICLE, true)).isFalse();
+        Assertions.assertThat(AuditPolicy.isAudited(AuditType.VIEWARTICLE, false)).isTrue();
+    }
+
+    @Test public void aggregatedEventsAreOnlyCounted()
+    {
+        try
+        {
+            AuditPolicy.configure(AuditTier.ALWAYS, 0.0, List.of(AuditType.LISTSERVERS), List.of(AuditType.LISTARTICLES), null);
+
+            final long written = AuditWriter.getWrittenCount();
+            final long suppressed = AuditPolicy.getSuppressedCount();
+
+            for (AuditType auditType : Arrays.asList(AuditType.LISTARTICLES, AuditType.LISTSERVERS))
+            {
+                AuditEntry auditEntry = new AuditEntry();
+                auditEntry.setAuditType(auditType);
+                auditEntry.setAuthorized(Boolean.TRUE);
+                auditEntry.setUserGuid("guid-policy");
+                auditEntry.setApplicationId("applid-policy");
+
+                AuditRequest auditRequest = new AuditRequest();
+                auditRequest.setAuditEntry(auditEntry);
+                auditRequest.setHostInfo(Arrays.asList("127.0.0.1", "localhost"));
+
+                new AuditProcessorImpl().auditRequest(auditRequest);
+            }
+
+            Assertions.assertThat(AuditPolicy.getSuppressedCount() - suppressed).isEqualTo(2L);
+            Assertions.assertThat(AuditWriter.getWrittenCount()).isEqualTo(written);
+            Assertions.assertThat(AuditWriter.getQueueDepth()).isZero();
+            Assertions.assertThat(AuditAggregator.query(AuditRollupInterval.MINUTE, 1, null, "guid-policy", "applid-policy", Boolean.TRUE)).hasSize(2);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @AfterAll public void tearDown()
+    {
+        AuditPolicy.configure(AuditTier.ALWAYS, 1.0, null, null, null);
+    }
+}
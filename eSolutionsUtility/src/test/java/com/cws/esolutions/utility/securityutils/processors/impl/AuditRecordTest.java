@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditRecordTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.assertj.core.api.Assertions;
+
+import com.cws.esolutions.utility.securityutils.processors.dto.AuditEntry;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+
+public class AuditRecordTest
+{
+    @Test public void exportsToAuditEntry()
+    {
+        final AuditRecord auditRecord = new AuditRecord("session-record", "record", "guid-record", "USER", AuditType.LOGON,
+            true, "applid", "applname", "127.0.0.1", "localhost", 1000L);
+
+        Assertions.assertThat(auditRecord.toRow()).containsExactly("session-record", "record", "guid-record", "USER", "LOGON",
+            "true", "applid", "applname", "127.0.0.1", "localhost", "1000");
+
+        final AuditEntry auditEntry = auditRecord.toAuditEntry();
+
+        Assertions.assertThat(auditEntry.getAuditDate().getTime()).isEqualTo(1000L);
+        Assertions.assertThat(auditEntry.getUserRole()).isEqualTo("USER");
+        Assertions.assertThat(auditEntry.getAuditType()).isEqualTo(AuditType.LOGON);
+        Assertions.assertThat(auditEntry.getAuthorized()).isTrue();
+        Assertions.assertThat(auditEntry.getApplicationName()).isEqualTo("applname");
+        Assertions.assertThat(auditEntry.getHostInfo()).isEqualTo(Arrays.asList("127.0.0.1", "localhost"));
+    }
+
+    @Test public void repeatedValuesShareDictionaryCodes()
+    {
+        final int size = AuditDictionary.size();
+
+        for (int x = 0; x < 100; x++)
+        {
+            new AuditRecord("session-" + x, "dictionary", "guid-dictionary", "DICTROLE", null,
+                false, "dictapplid", "dictapplname", "10.0.0." + x, "dicthost", 0L);
+        }
+
+        // role, application id, application name and host - once each
+        Assertions.assertThat(AuditDictionary.size() - size).isEqualTo(4);
+    }
+
+    @Test public void nullFieldsSurvive()
+    {
+        final AuditRecord auditRecord = new AuditRecord(null, null, null, null, null, false, null, null, null, null, 0L);
+
+        Assertions.assertThat(auditRecord.toRow()).containsExactly(null, null, null, null, "NONE", "false", null, null, null, null, "0");
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditSpoolTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.io.File;
+import java.util.List;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.sql.Timestamp;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.TestInstance;
+
+import com.cws.esolutions.utility.UtilityBean;
+import com.cws.esolutions.utility.embedded.EmbeddedDatabase;
+import com.cws.esolutions.utility.securityutils.dao.audit.impl.AuditDAOImpl;
+import com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditOverflowPolicy;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AuditSpoolTest
+{
+    private static final int RECORDS = 25;
+    private static final long TIMEOUT = 15000L;
+
+    private File spoolFile = null;
+
+    private static final IAuditDAO auditDAO = new AuditDAOImpl();
+    private static final UtilityBean bean = UtilityBean.getInstance();
+
+    @BeforeAll public void setUp()
+    {
+        try
+        {
+            this.spoolFile = Files.createTempFile("audit", ".spool").toFile();
+            this.spoolFile.delete();
+
+            EmbeddedDatabase.start();
+            EmbeddedDatabase.populate(10);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void spoolSurvivesOutageAndRestart()
+    {
+        try
+        {
+            // audit datastore down
+            bean.setAuditDataSource(null);
+
+            AuditSpool.open(this.spoolFile.getPath(), 1024 * 1024);
+            AuditWriter.configure(true, 1024, 16, 100L, AuditOverflowPolicy.SPOOL);
+
+            final long failed = AuditWriter.getFailedCount();
+            final long replayed = AuditSpool.getReplayedCount();
+
+            for (int x = 0; x < RECORDS; x++)
+            {
+                AuditWriter.submit(new AuditRecord("session-spool-" + x, "spool", "guid-spool", "USER", AuditType.LOGON,
+                    true, "applid", "applname", "127.0.0.1", "localhost", System.currentTimeMillis()));
+            }
+
+            AuditWriter.shutdown();
+            AuditSpool.close();
+
+            Assertions.assertThat(AuditWriter.getFailedCount()).isEqualTo(failed);
+
+            // datastore back, service restarted
+            bean.setAuditDataSource(EmbeddedDatabase.start());
+
+            AuditSpool.open(this.spoolFile.getPath(), 1024 * 1024);
+
+            Assertions.assertThat(AuditSpool.getPendingBytes()).isPositive();
+
+            final long deadline = System.currentTimeMillis() + TIMEOUT;
+
+            while ((AuditSpool.getPendingBytes() != 0) && (System.currentTimeMillis() < deadline))
+            {
+                Thread.sleep(100L);
+            }
+
+            Assertions.assertThat(AuditSpool.getPendingBytes()).isZero();
+
+            Assertions.assertThat(AuditSpool.getReplayedCount() - replayed).isEqualTo(RECORDS);
+            Assertions.assertThat(auditDAO.getAuditInterval("guid-spool", 0)).isNotEmpty();
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+        finally
+        {
+            AuditSpool.close();
+        }
+    }
+
+    @Test public void nullFieldsRoundTrip()
+    {
+        try
+        {
+            bean.setAuditDataSource(null);
+
+            AuditSpool.open(this.spoolFile.getPath(), 1024 * 1024);
+
+            List<String> auditRecord = record("session-null", "guid-null");
+            auditRecord.set(9, null);
+
+            Assertions.assertThat(AuditSpool.append(List.of(auditRecord))).isTrue();
+
+            AuditSpool.close();
+
+            bean.setAuditDataSource(EmbeddedDatabase.start());
+
+            AuditSpool.open(this.spoolFile.getPath(), 1024 * 1024);
+
+            final long deadline = System.currentTimeMillis() + TIMEOUT;
+
+            while ((AuditSpool.getPendingBytes() != 0) && (System.currentTimeMillis() < deadline))
+            {
+                Thread.sleep(100L);
+            }
+
+            Assertions.assertThat(((Object[]) auditDAO.getAuditInterval("guid-null", 0).get(0))[9]).isNull();
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+        finally
+        {
+            AuditSpool.close();
+        }
+    }
+
+    @Test public void replayKeepsCaptureTime()
+    {
+        try
+        {
+            bean.setAuditDataSource(null);
+
+            AuditSpool.open(this.spoolFile.getPath(), 1024 * 1024);
+
+            final long captured = System.currentTimeMillis() - 3600000L;
+            final AuditRecord auditRecord = new AuditRecord("session-captured", "spool", "guid-captured", "USER", AuditType.LOGON,
+                true, "applid", "applname", "127.0.0.1", "localhost", captured);
+
+            Assertions.assertThat(AuditSpool.append(List.of(auditRecord.toRow()))).isTrue();
+
+            AuditSpool.close();
+
+            bean.setAuditDataSource(EmbeddedDatabase.start());
+
+            AuditSpool.open(this.spoolFile.getPath(), 1024 * 1024);
+
+            final long deadline = System.currentTimeMillis() + TIMEOUT;
+
+            while ((AuditSpool.getPendingBytes() != 0) && (System.currentTimeMillis() < deadline))
+            {
+                Thread.sleep(100L);
+            }
+
+            Assertions.assertThat(((Timestamp) ((Object[]) auditDAO.getAuditInterval("guid-captured", 0).get(0))[6]).getTime()).isEqualTo(captured);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+        finally
+        {
+            AuditSpool.close();
+        }
+    }
+
+    @Test public void rejectedRecordIsSkipped()
+    {
+        try
+        {
+            bean.setAuditDataSource(null);
+
+            AuditSpool.open(this.spoolFile.getPath(), 1024 * 1024);
+
+            final long replayed = AuditSpool.getReplayedCount();
+            final long rejected = AuditSpool.getRejectedCount();
+
+            List<String> badRecord = record("session-poison-1", "guid-poison");
+            badRecord.set(1, "rejected".repeat(10)); // longer than the USERNAME column
+
+            Assertions.assertThat(AuditSpool.append(List.of(record("session-poison-0", "guid-poison"), badRecord,
+                record("session-poison-2", "guid-poison")))).isTrue();
+
+            AuditSpool.close();
+
+            bean.setAuditDataSource(EmbeddedDatabase.start());
+
+            AuditSpool.open(this.spoolFile.getPath(), 1024 * 1024);
+
+            final long deadline = System.currentTimeMillis() + TIMEOUT;
+
+            while ((AuditSpool.getPendingBytes() != 0) && (System.currentTimeMillis() < deadline))
+            {
+                Thread.sleep(100L);
+            }
+
+            Assertions.assertThat(AuditSpool.getPendingBytes()).isZero();
+            Assertions.assertThat(AuditSpool.getReplayedCount() - replayed).isEqualTo(2L);
+            Assertions.assertThat(AuditSpool.getRejectedCount() - rejected).isEqualTo(1L);
+            Assertions.assertThat(auditDAO.getAuditCount("guid-poison")).isEqualTo(2);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+        finally
+        {
+            AuditSpool.close();
+        }
+    }
+
+    @AfterAll public void tearDown()
+    {
+        AuditWriter.configure(true, 8192, 256, 250L, AuditOverflowPolicy.SYNCHRONOUS);
+        EmbeddedDatabase.stop();
+
+        bean.setAuditDataSource(null);
+
+        this.spoolFile.delete();
+    }
+
+    private static List<String> record(final String sessionId, final String guid)
+    {
+        return new ArrayList<String>(Arrays.asList(sessionId, "spool", guid, "USER", "LOGON",
+            "true", "applid", "applname", "127.0.0.1", "localhost"));
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.securityutils.processors.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.securityutils.processors.impl
+ * File: AuditWriterTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.TestInstance;
+
+import com.cws.esolutions.utility.UtilityBean;
+import com.cws.esolutions.utility.embedded.EmbeddedDatabase;
+import com.cws.esolutions.utility.securityutils.dao.audit.impl.AuditDAOImpl;
+import com.cws.esolutions.utility.securityutils.dao.audit.interfaces.IAuditDAO;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditType;
+import com.cws.esolutions.utility.securityutils.processors.enums.AuditOverflowPolicy;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AuditWriterTest
+{
+    private static final int RECORDS = 40;
+
+    private static final IAuditDAO auditDAO = new AuditDAOImpl();
+    private static final UtilityBean bean = UtilityBean.getInstance();
+
+    @BeforeAll public void setUp()
+    {
+        try
+        {
+            EmbeddedDatabase.initializeUtility();
+            EmbeddedDatabase.populate(10);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void shutdownWritesQueuedRecords()
+    {
+        try
+        {
+            AuditWriter.configure(true, 1024, 16, 60000L, AuditOverflowPolicy.SYNCHRONOUS);
+
+            final long written = AuditWriter.getWrittenCount();
+
+            for (int x = 0; x < RECORDS; x++)
+            {
+                AuditWriter.submit(new AuditRecord("session-writer-" + x, "writer", "guid-writer", "USER", AuditType.LOGON,
+                    true, "applid", "applname", "127.0.0.1", "localhost", System.currentTimeMillis()));
+            }
+
+            AuditWriter.shutdown();
+
+            Assertions.assertThat(AuditWriter.getQueueDepth()).isZero();
+            Assertions.assertThat(AuditWriter.getWrittenCount() - written).isEqualTo(RECORDS);
+            Assertions.assertThat(auditDAO.getAuditEntries("guid-writer", 0)).isNotEmpty();
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void recordOfferedAfterShutdownIsWritten()
+    {
+        try
+        {
+            AuditWriter.configure(true, 1024, 16, 50L, AuditOverflowPolicy.SYNCHRONOUS);
+
+            final long written = AuditWriter.getWrittenCount();
+
+            // a submit that read the queue just before shutdown() detached and drained it
+            final BlockingQueue<AuditRecord> detached = new ArrayBlockingQueue<AuditRecord>(1);
+            final AuditRecord auditRecord = new AuditRecord("session-detached", "detached", "guid-detached", "USER", AuditType.LOGON,
+                true, "applid", "applname", "127.0.0.1", "localhost", System.currentTimeMillis());
+
+            detached.offer(auditRecord);
+
+            AuditWriter.reclaim(detached, auditRecord);
+
+            Assertions.assertThat(detached).isEmpty();
+            Assertions.assertThat(AuditWriter.getWrittenCount() - written).isEqualTo(1L);
+            Assertions.assertThat(auditDAO.getAuditEntries("guid-detached", 0)).isNotEmpty();
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void rejectedRecordDoesNotSinkItsBatch()
+    {
+        try
+        {
+            AuditWriter.configure(true, 1024, 16, 60000L, AuditOverflowPolicy.SYNCHRONOUS);
+
+            final long written = AuditWriter.getWrittenCount();
+            final long failed = AuditWriter.getFailedCount();
+
+            for (int x = 0; x < 8; x++)
+            {
+                // longer than the USERNAME column, so the datastore rejects it
+                final String userName = (x == 3) ? "rejected".repeat(10) : "batch";
+
+                AuditWriter.submit(new AuditRecord("session-batch-" + x, userName, "guid-batch", "USER", AuditType.LOGON,
+                    true, "applid", "applname", "127.0.0.1", "localhost", System.currentTimeMillis()));
+            }
+
+            AuditWriter.shutdown();
+
+            Assertions.assertThat(AuditWriter.getWrittenCount() - written).isEqualTo(7L);
+            Assertions.assertThat(AuditWriter.getFailedCount() - failed).isEqualTo(1L);
+            Assertions.assertThat(auditDAO.getAuditCount("guid-batch")).isEqualTo(7);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void dropPolicyDiscardsOverflow()
+    {
+        try
+        {
+            // a single-slot queue with a long interval keeps the worker from emptying it in time
+            AuditWriter.configure(true, 1, 1000, 60000L, AuditOverflowPolicy.DROP);
+
+            final long dropped = AuditWriter.getDroppedCount();
+
+            for (int x = 0; x < RECORDS; x++)
+            {
+                AuditWriter.submit(new AuditRecord("session-drop-" + x, "drop", "guid-drop", "USER", AuditType.LOGON,
+                    true, "applid", "applname", "127.0.0.1", "localhost", System.currentTimeMillis()));
+            }
+
+            AuditWriter.shutdown();
+
+            Assertions.assertThat(AuditWriter.getDroppedCount() - dropped).isPositive();
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @AfterAll public void tearDown()
+    {
+        AuditWriter.configure(true, 8192, 256, 250L, AuditOverflowPolicy.SYNCHRONOUS);
+        EmbeddedDatabase.stop();
+
+        bean.setAuthDataSource(null);
+        bean.setAuditDataSource(null);
+    }
+}
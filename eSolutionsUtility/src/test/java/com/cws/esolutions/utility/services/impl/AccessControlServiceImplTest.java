@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.services.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.services.impl
+ * File: AccessControlServiceImplTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.List;
+import java.util.BitSet;
+import java.util.Arrays;
+import java.sql.Statement;
+import java.sql.Connection;
+import java.util.ArrayList;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.TestInstance;
+
+import com.cws.esolutions.utility.UtilityBean;
+import com.cws.esolutions.utility.embedded.EmbeddedDatabase;
+import com.cws.esolutions.utility.services.dto.ServiceMembership;
+import com.cws.esolutions.utility.services.dto.AccessControlServiceRequest;
+import com.cws.esolutions.utility.services.dto.AccessControlServiceResponse;
+import com.cws.esolutions.utility.services.interfaces.IAccessControlService;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AccessControlServiceImplTest
+{
+    private static final List<String> SERVICES = List.of("acs-group-a", "acs-group-b", "acs-group-c");
+    private static final IAccessControlService accessControl = new AccessControlServiceImpl();
+
+    @BeforeAll public void setUp()
+    {
+        try
+        {
+            EmbeddedDatabase.initializeUtility();
+
+            try (Connection sqlConn = ((DataSource) UtilityBean.getInstance().getAuthDataSource()).getConnection();
+                Statement stmt = sqlConn.createStatement())
+            {
+                stmt.executeUpdate("MERGE INTO USER_GROUPS (GROUP_GUID, GROUP_NAME) KEY (GROUP_GUID) VALUES ('acs-group-a', 'A'), ('acs-group-b', 'B')");
+                stmt.executeUpdate("MERGE INTO USERS (CN, UID, MEMBEROF) KEY (CN) VALUES ('acs-user', 'acs-uid', 'acs-group-a, acs-group-c')");
+                stmt.executeUpdate("MERGE INTO USERS (CN, UID, MEMBEROF) KEY (CN) VALUES ('acs-revoked', 'acs-revoked-uid', 'acs-group-a')");
+            }
+
+            // the groups were added after the startup snapshot
+            Assertions.assertThat(ServiceIndex.refresh()).isTrue();
+            Assertions.assertThat(ServiceIndex.getEnabledServices()).contains("acs-group-a", "acs-group-b");
+
+            AuthorizationCache.configure(60000L, 100);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void resolvesEveryServiceInOneCall()
+    {
+        try
+        {
+            final AccessControlServiceResponse response = accessControl.getUserAuthorizations(request("USER", null));
+
+            // a member of c, but c is not an enabled group
+            Assertions.assertThat(response.getAuthorizations()).containsExactly(
+                Assertions.entry("acs-group-a", Boolean.TRUE),
+                Assertions.entry("acs-group-b", Boolean.FALSE),
+                Assertions.entry("acs-group-c", Boolean.FALSE));
+
+            // the repeat is answered from the decisions the batch cached
+            final long hits = AuthorizationCache.getHitCount();
+
+            Assertions.assertThat(accessControl.getUserAuthorizations(request("USER", null)).getAuthorizations())
+                .isEqualTo(response.getAuthorizations());
+            Assertions.assertThat(AuthorizationCache.getHitCount() - hits).isEqualTo(SERVICES.size());
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void siteAdminIsAuthorizedForEverything()
+    {
+        try
+        {
+            Assertions.assertThat(accessControl.getUserAuthorizations(request("SITE_ADMIN", null)).getAuthorizations())
+                .hasSize(SERVICES.size()).containsOnlyKeys(SERVICES).doesNotContainValue(Boolean.FALSE);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void bitsetOnlyGrantsEnabledServices()
+    {
+        try
+        {
+            ServiceIndex.load(List.of("acs-group-a", "acs-group-b"));
+
+            Assertions.assertThat(accessControl.getUserAuthorizations(request("USER", ServiceIndex.toMembership(List.of("acs-group-a", "acs-group-c"))))
+                .getAuthorizations()).containsExactly(
+                    Assertions.entry("acs-group-a", Boolean.TRUE),
+                    Assertions.entry("acs-group-b", Boolean.FALSE),
+                    Assertions.entry("acs-group-c", Boolean.FALSE));
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void revocationOnlyDistrustsOlderMemberships()
+    {
+        try
+        {
+            ServiceIndex.load(List.of("acs-group-a", "acs-group-b"));
+
+            // interned at logon, before b was taken away
+            final AccessControlServiceRequest request = memberRequest(ServiceIndex.toMembership(List.of("acs-group-a", "acs-group-b")));
+
+            Assertions.assertThat(accessControl.isUserAuthorized(request).getIsUserAuthorized()).isTrue();
+
+            Thread.sleep(2L);
+
+            AuthorizationCache.invalidateUser("acs-revoked");
+
+            Assertions.assertThat(accessControl.isUserAuthorized(request).getIsUserAuthorized()).isNotEqualTo(Boolean.TRUE);
+            Assertions.assertThat(accessControl.getUserAuthorizations(request).getAuthorizations()).containsExactly(
+                Assertions.entry("acs-group-a", Boolean.TRUE),
+                Assertions.entry("acs-group-b", Boolean.FALSE),
+                Assertions.entry("acs-group-c", Boolean.FALSE));
+
+            Thread.sleep(2L);
+
+            // a membership built after the revocation is trusted again
+            Assertions.assertThat(accessControl.isUserAuthorized(memberRequest(ServiceIndex.toMembership(List.of("acs-group-a", "acs-group-b"))))
+                .getIsUserAuthorized()).isTrue();
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void foreignOrExpiredMembershipGoesToDatastore()
+    {
+        try
+        {
+            ServiceIndex.load(List.of("acs-group-a", "acs-group-b"));
+
+            final ServiceMembership local = ServiceIndex.toMembership(List.of("acs-group-a", "acs-group-b"));
+            final BitSet services = ServiceIndex.toBitSet(List.of("acs-group-a", "acs-group-b"));
+
+            // numbered by another node, or restored after a restart
+            final ServiceMembership foreign = new ServiceMembership(services, "another-index", System.currentTimeMillis());
+            final ServiceMembership expired = new ServiceMembership(services, local.getIndexId(),
+                System.currentTimeMillis() - AuthorizationCache.getTimeToLive() - 1L);
+
+            Assertions.assertThat(ServiceIndex.isCurrent(local, "acs-revoked")).isTrue();
+            Assertions.assertThat(ServiceIndex.isCurrent(foreign, "acs-revoked")).isFalse();
+            Assertions.assertThat(ServiceIndex.isCurrent(expired, "acs-revoked")).isFalse();
+
+            // the datastore only has the user in a
+            Assertions.assertThat(accessControl.isUserAuthorized(memberRequest(foreign)).getIsUserAuthorized()).isNotEqualTo(Boolean.TRUE);
+            Assertions.assertThat(accessControl.isUserAuthorized(memberRequest(expired)).getIsUserAuthorized()).isNotEqualTo(Boolean.TRUE);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @AfterAll public void tearDown()
+    {
+        AuthorizationCache.configure(300000L, 10000);
+        ServiceIndex.stop();
+        EmbeddedDatabase.stop();
+
+        UtilityBean.getInstance().setAuthDataSource(null);
+        UtilityBean.getInstance().setAuditDataSource(null);
+    }
+
+    private static AccessControlServiceRequest request(final String userRole, final Object authorizations)
+    {
+        AccessControlServiceRequest request = new AccessControlServiceRequest();
+        request.setServiceGuids(SERVICES);
+        request.setUserAccount(new ArrayList<Object>(Arrays.asList("acs-user", userRole, null, authorizations)));
+
+        return request;
+    }
+
+    private static AccessControlServiceRequest memberRequest(final ServiceMembership membership)
+    {
+        AccessControlServiceRequest request = new AccessControlServiceRequest();
+        request.setServiceGuid("acs-group-b");
+        request.setServiceGuids(SERVICES);
+        request.setUserAccount(new ArrayList<Object>(Arrays.asList("acs-revoked", "USER", null, membership)));
+
+        return request;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.services.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.services.impl
+ * File: AuthorizationCacheTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.List;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.AfterAll;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.TestInstance;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AuthorizationCacheTest
+{
+    @Test public void invalidationDropsHeldAndInFlightDecisions()
+    {
+        AuthorizationCache.configure(60000L, 100);
+
+        AuthorizationCache.put("user-a", "service-1", true, AuthorizationCache.getGeneration());
+        AuthorizationCache.put("user-b", "service-1", false, AuthorizationCache.getGeneration());
+
+        Assertions.assertThat(AuthorizationCache.get("user-a", "service-1")).isTrue();
+        Assertions.assertThat(AuthorizationCache.get("user-b", "service-1")).isFalse();
+        Assertions.assertThat(AuthorizationCache.get("user-a", "service-2")).isNull();
+
+        // a decision computed before the role change must not be stored after it
+        final long generation = AuthorizationCache.getGeneration();
+
+        AuthorizationCache.invalidateUser("user-a");
+        AuthorizationCache.put("user-a", "service-1", true, generation);
+
+        Assertions.assertThat(AuthorizationCache.get("user-a", "service-1")).isNull();
+        Assertions.assertThat(AuthorizationCache.get("user-b", "service-1")).isFalse();
+        Assertions.assertThat(AuthorizationCache.getSize()).isEqualTo(1);
+    }
+
+    @Test public void staysWithinBoundAndHonoursTimeToLive()
+    {
+        AuthorizationCache.configure(60000L, 50);
+
+        for (int x = 0; x < 200; x++)
+        {
+            AuthorizationCache.put("user-" + x, "service-1", true, AuthorizationCache.getGeneration());
+        }
+
+        Assertions.assertThat(AuthorizationCache.getSize()).isBetween(1, 50);
+
+        // zero disables the cache
+        AuthorizationCache.configure(0L, 50);
+        AuthorizationCache.put("user-a", "service-1", true, AuthorizationCache.getGeneration());
+
+        Assertions.assertThat(AuthorizationCache.get("user-a", "service-1")).isNull();
+        Assertions.assertThat(AuthorizationCache.getSize()).isZero();
+    }
+
+    @Test public void concurrentInvalidationKeepsSizeExact()
+    {
+        try
+        {
+            AuthorizationCache.configure(60000L, 1000);
+
+            final ExecutorService executor = Executors.newFixedThreadPool(6);
+            final List<Future<?>> workers = new ArrayList<Future<?>>();
+
+            for (int t = 0; t < 4; t++)
+            {
+                workers.add(executor.submit(() ->
+                {
+                    for (int x = 0; x < 20000; x++)
+                    {
+                        AuthorizationCache.put("user-" + (x % 10), "service-" + (x % 50), true, AuthorizationCache.getGeneration());
+                    }
+                }));
+            }
+
+            for (int t = 0; t < 2; t++)
+            {
+                workers.add(executor.submit(() ->
+                {
+                    for (int x = 0; x < 20000; x++)
+                    {
+                        AuthorizationCache.invalidateUser("user-" + (x % 10));
+                    }
+                }));
+            }
+
+            for (Future<?> worker : workers)
+            {
+                worker.get();
+            }
+
+            executor.shutdown();
+
+            Assertions.assertThat(AuthorizationCache.getSize()).isBetween(0, 500);
+
+            for (int x = 0; x < 10; x++)
+            {
+                AuthorizationCache.invalidateUser("user-" + x);
+            }
+
+            // nothing is held, so nothing may be counted
+            Assertions.assertThat(AuthorizationCache.getSize()).isZero();
+
+            AuthorizationCache.put("user-a", "service-1", true, AuthorizationCache.getGeneration());
+
+            Assertions.assertThat(AuthorizationCache.getSize()).isEqualTo(1);
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @AfterAll public void tearDown()
+    {
+        AuthorizationCache.configure(300000L, 10000);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.services.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.services.impl
+ * File: AuthorizationMetricsTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.Map;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import javax.management.ObjectName;
+import javax.management.MBeanServer;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.assertj.core.api.Assertions;
+import java.lang.management.ManagementFactory;
+
+import com.cws.esolutions.utility.services.dto.AccessControlServiceRequest;
+import com.cws.esolutions.utility.services.interfaces.IAuthorizationMetrics;
+
+public class AuthorizationMetricsTest
+{
+    private static final IAuthorizationMetrics metrics = AuthorizationMetrics.getInstance();
+
+    @Test public void decisionsAreCountedBySourceAndService()
+    {
+        try
+        {
+            final long granted = metrics.getGrantedCount();
+            final long denied = metrics.getDeniedCount();
+            final long calls = metrics.getCallCount();
+            final long admin = count(metrics.getDecisionsBySource(), "ADMIN");
+            final long serviceGranted = count(metrics.getGrantedByService(), "metrics-service-a");
+
+            AccessControlServiceRequest request = new AccessControlServiceRequest();
+            request.setServiceGuid("metrics-service-a");
+            request.setUserAccount(new ArrayList<Object>(Arrays.asList("metrics-user", "SITE_ADMIN", null, null)));
+
+            Assertions.assertThat(new AccessControlServiceImpl().isUserAuthorized(request).getIsUserAuthorized()).isTrue();
+
+            final Map<String, Boolean> batch = new LinkedHashMap<String, Boolean>();
+            batch.put("metrics-service-a", Boolean.TRUE);
+            batch.put("metrics-service-b", Boolean.FALSE);
+
+            AuthorizationMetrics.decided("metrics-user", batch, AuthorizationMetrics.CACHE, false, TimeUnit.MICROSECONDS.toNanos(5L));
+
+            Assertions.assertThat(metrics.getGrantedCount() - granted).isEqualTo(2L);
+            Assertions.assertThat(metrics.getDeniedCount() - denied).isEqualTo(1L);
+            Assertions.assertThat(metrics.getCallCount() - calls).isEqualTo(2L);
+            Assertions.assertThat(count(metrics.getDecisionsBySource(), "ADMIN") - admin).isEqualTo(1L);
+            Assertions.assertThat(count(metrics.getGrantedByService(), "metrics-service-a") - serviceGranted).isEqualTo(2L);
+            Assertions.assertThat(metrics.getDeniedByService()).containsKey("metrics-service-b");
+            Assertions.assertThat(metrics.getCallLatencyHistogram().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(metrics.getCallCount());
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void slowCallsAreTraced()
+    {
+        try
+        {
+            final long slow = metrics.getSlowCallCount();
+            final long daoCalls = metrics.getDaoCallCount();
+
+            AuthorizationMetrics.setTraceThreshold(10L);
+
+            AuthorizationMetrics.decided("metrics-user", "metrics-service-a", AuthorizationMetrics.DATASTORE, true, false, TimeUnit.MILLISECONDS.toNanos(1L));
+            AuthorizationMetrics.decided("metrics-user", "metrics-service-a", AuthorizationMetrics.DATASTORE, false, true, TimeUnit.MILLISECONDS.toNanos(25L));
+            AuthorizationMetrics.daoCall(TimeUnit.MILLISECONDS.toNanos(20L));
+
+            Assertions.assertThat(metrics.getTraceThresholdMillis()).isEqualTo(10L);
+            Assertions.assertThat(metrics.getSlowCallCount() - slow).isEqualTo(1L);
+            Assertions.assertThat(metrics.getDaoCallCount() - daoCalls).isEqualTo(1L);
+            Assertions.assertThat(metrics.getDaoLatencyMaxMicros()).isGreaterThanOrEqualTo(20000L);
+            Assertions.assertThat(metrics.getErrorCount()).isPositive();
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+        finally
+        {
+            AuthorizationMetrics.setTraceThreshold(0L);
+        }
+    }
+
+    @Test public void metricsAreReadableOverJmx()
+    {
+        try
+        {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(AuthorizationMetrics.OBJECT_NAME + ",name=" + ObjectName.quote("metrics-test"));
+
+            AuthorizationMetrics.register("metrics-test");
+            AuthorizationMetrics.register("metrics-test");
+
+            Assertions.assertThat(AuthorizationMetrics.getObjectName()).isEqualTo(objectName);
+
+            Assertions.assertThat(server.isRegistered(objectName)).isTrue();
+            Assertions.assertThat(server.getAttribute(objectName, "DecisionCount")).isEqualTo(metrics.getDecisionCount());
+            Assertions.assertThat(server.getAttribute(objectName, "CacheHitRatio")).isNotNull();
+            Assertions.assertThat(server.getAttribute(objectName, "DaoLatencyHistogram")).isNotNull();
+
+            AuthorizationMetrics.unregister();
+
+            Assertions.assertThat(server.isRegistered(objectName)).isFalse();
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    @Test public void nameTakenByAnotherDeploymentIsNotClaimed()
+    {
+        try
+        {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName taken = new ObjectName(AuthorizationMetrics.OBJECT_NAME + ",name=" + ObjectName.quote("taken"));
+
+            // another deployment's copy of the metrics already holds the name
+            server.registerMBean(AuthorizationMetrics.getInstance(), taken);
+
+            try
+            {
+                AuthorizationMetrics.register("taken");
+
+                Assertions.assertThat(AuthorizationMetrics.getObjectName()).isNull();
+
+                AuthorizationMetrics.unregister();
+
+                Assertions.assertThat(server.isRegistered(taken)).isTrue();
+            }
+            finally
+            {
+                server.unregisterMBean(taken);
+            }
+        }
+        catch (final Exception ex)
+        {
+            Assertions.fail(ex.getMessage());
+        }
+    }
+
+    private static long count(final Map<String, Long> counts, final String key)
+    {
+        final Long count = counts.get(key);
+
+        return (count == null) ? 0L : count.longValue();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2009 - 2020 CaspersBox Web Services
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.cws.esolutions.utility.services.impl;
+/*
+ * Project: eSolutionsUtility
+ * Package: com.cws.esolutions.utility.services.impl
+ * File: ServiceIndexTest.java
+ *
+ * History
+ *
+ * Author               Date                            Comments
+ * ----------------------------------------------------------------------------
+ * cws-khuntly          11/23/2008 22:39:20             Created.
+ */
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.assertj.core.api.Assertions;
+
+import com.cws.esolutions.utility.services.dto.ServiceMembership;
+
+public class ServiceIndexTest
+{
+    @Test public void membershipBecomesABitTest()
+    {
+        ServiceIndex.load(List.of("index-service-a", "index-service-b"));
+
+        // whitespace as it comes back from the memberof column
+        final ServiceMembership authorizations = ServiceIndex.toMembership(List.of("index-service-a", " index-service-c"));
+
+        Assertions.assertThat(ServiceIndex.toBitSet(List.of("index-service-a", " index-service-c")).cardinality()).isEqualTo(2);
+        Assertions.assertThat(ServiceIndex.getId(" index-service-a ")).isEqualTo(ServiceIndex.getId("index-service-a")).isNotNegative();
+
+        Assertions.assertThat(ServiceIndex.isAuthorized(authorizations, "index-service-a")).isTrue();
+        Assertions.assertThat(ServiceIndex.isAuthorized(authorizations, "index-service-b")).isFalse();
+
+        // a member, but not enabled
+        Assertions.assertThat(ServiceIndex.isAuthorized(authorizations, "index-service-c")).isFalse();
+        Assertions.assertThat(ServiceIndex.isAuthorized(authorizations, "index-service-unknown")).isFalse();
+        Assertions.assertThat(ServiceIndex.isAuthorized(null, "index-service-a")).isFalse();
+    }
+
+    @Test public void idsSurviveAReload()
+    {
+        ServiceIndex.load(List.of("reload-service-a"));
+
+        final int id = ServiceIndex.getId("reload-service-a");
+        final ServiceMembership authorizations = ServiceIndex.toMembership(List.of("reload-service-a"));
+
+        ServiceIndex.load(List.of("reload-service-b", "reload-service-a"));
+
+        Assertions.assertThat(ServiceIndex.getId("reload-service-a")).isEqualTo(id);
+        Assertions.assertThat(ServiceIndex.isAuthorized(authorizations, "reload-service-a")).isTrue();
+    }
+
+    @Test public void changedSnapshotDropsCachedDecisions()
+    {
+        AuthorizationCache.configure(60000L, 100);
+        ServiceIndex.load(List.of("snapshot-service-a"));
+        AuthorizationCache.put("snapshot-user", "snapshot-service-a", true, AuthorizationCache.getGeneration());
+
+        // an unchanged snapshot keeps them
+        ServiceIndex.load(List.of("snapshot-service-a"));
+
+        Assertions.assertThat(AuthorizationCache.get("snapshot-user", "snapshot-service-a")).isTrue();
+
+        ServiceIndex.load(List.of("snapshot-service-b"));
+
+        Assertions.assertThat(AuthorizationCache.get("snapshot-user", "snapshot-service-a")).isNull();
+        Assertions.assertThat(ServiceIndex.getEnabledServices()).containsExactly("snapshot-service-b");
+        Assertions.assertThat(ServiceIndex.isEnabled(" snapshot-service-b")).isTrue();
+        Assertions.assertThat(ServiceIndex.isEnabled("snapshot-service-a")).isFalse();
+
+        AuthorizationCache.configure(300000L, 10000);
+    }
+}
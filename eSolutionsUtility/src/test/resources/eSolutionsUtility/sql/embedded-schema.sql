@@ -0,0 +1,246 @@
+--
+-- Copyright (c) 2009 - 2020 CaspersBox Web Services
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+-- H2 (MODE=MySQL) stand-in for the esolutions, esolutionssvc and audit schemas. Each
+-- stored procedure the DAOs call is bound to a Java method in EmbeddedProcedures.
+--
+
+-- security
+CREATE TABLE IF NOT EXISTS USERS
+(
+    CN VARCHAR(128) NOT NULL PRIMARY KEY,
+    UID VARCHAR(45) NOT NULL UNIQUE,
+    USERPASSWORD VARCHAR(255),
+    CWSROLE VARCHAR(45) NOT NULL DEFAULT 'USER',
+    CWSFAILEDPWDCOUNT INT NOT NULL DEFAULT 0,
+    CWSLASTLOGIN TIMESTAMP,
+    SN VARCHAR(100),
+    GIVENNAME VARCHAR(100),
+    CWSEXPIRYDATE TIMESTAMP,
+    CWSISSUSPENDED BOOLEAN NOT NULL DEFAULT FALSE,
+    CWSISOLRSETUP BOOLEAN NOT NULL DEFAULT FALSE,
+    CWSISOLRLOCKED BOOLEAN NOT NULL DEFAULT FALSE,
+    DISPLAYNAME VARCHAR(255),
+    CWSISTCACCEPTED BOOLEAN NOT NULL DEFAULT FALSE,
+    MEMBEROF VARCHAR(1024),
+    EMAIL VARCHAR(255),
+    TELEPHONENUMBER VARCHAR(20),
+    PAGER VARCHAR(20),
+    CWSSECQ1 VARCHAR(255),
+    CWSSECQ2 VARCHAR(255),
+    CWSSECANS1 VARCHAR(255),
+    CWSSECANS2 VARCHAR(255),
+    CWSAUTHTOKEN VARCHAR(512)
+);
+
+CREATE INDEX IF NOT EXISTS IDX_USERS_EMAIL ON USERS (EMAIL);
+
+CREATE TABLE IF NOT EXISTS USER_SECURITY
+(
+    CN VARCHAR(128) NOT NULL,
+    SALT_TYPE VARCHAR(45) NOT NULL,
+    SALT_VALUE VARCHAR(512),
+    PRIMARY KEY (CN, SALT_TYPE)
+);
+
+CREATE TABLE IF NOT EXISTS RESET_DATA
+(
+    CN VARCHAR(128) NOT NULL,
+    RESET_KEY VARCHAR(255) NOT NULL PRIMARY KEY,
+    CREATE_DATE TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS SECURITY_QUESTIONS
+(
+    QUESTION VARCHAR(255) NOT NULL PRIMARY KEY
+);
+
+CREATE TABLE IF NOT EXISTS USER_GROUPS
+(
+    GROUP_GUID VARCHAR(128) NOT NULL PRIMARY KEY,
+    GROUP_NAME VARCHAR(128) NOT NULL,
+    ENABLED BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+-- audit
+CREATE TABLE IF NOT EXISTS AUDIT
+(
+    ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    SESSID VARCHAR(255),
+    USERNAME VARCHAR(45),
+    CN VARCHAR(128),
+    ROLE VARCHAR(45),
+    ACTION VARCHAR(45),
+    AUTHORIZED BOOLEAN,
+    APPLID VARCHAR(128),
+    APPLNAME VARCHAR(128),
+    SRCADDR VARCHAR(50),
+    SRCHOST VARCHAR(255),
+    REQTIMESTAMP TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS IDX_AUDIT_CN ON AUDIT (CN, REQTIMESTAMP, ID);
+CREATE INDEX IF NOT EXISTS IDX_AUDIT_TIME ON AUDIT (REQTIMESTAMP, ID);
+
+-- application
+CREATE TABLE IF NOT EXISTS SERVICE_ENABLEMENT
+(
+    REQUEST_URI VARCHAR(255) NOT NULL PRIMARY KEY,
+    NAME VARCHAR(128) NOT NULL,
+    ENABLED BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE TABLE IF NOT EXISTS DATACENTERS
+(
+    GUID VARCHAR(128) NOT NULL PRIMARY KEY,
+    NAME VARCHAR(128) NOT NULL,
+    STATUS VARCHAR(45),
+    DESCRIPTION VARCHAR(1024),
+    DELETE_DATE TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS SERVICES
+(
+    GUID VARCHAR(128) NOT NULL PRIMARY KEY,
+    SERVICE_TYPE VARCHAR(45),
+    NAME VARCHAR(128) NOT NULL,
+    REGION VARCHAR(45),
+    NWPARTITION VARCHAR(45),
+    STATUS VARCHAR(45),
+    SERVERS VARCHAR(1024),
+    DESCRIPTION VARCHAR(1024),
+    DELETE_DATE TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS INSTALLED_SYSTEMS
+(
+    GUID VARCHAR(128) NOT NULL PRIMARY KEY,
+    SYSTEM_OSTYPE VARCHAR(45),
+    SYSSTATUS VARCHAR(45),
+    REGION VARCHAR(45),
+    NETWORK_PARTITION VARCHAR(45),
+    DATACENTER VARCHAR(128),
+    SYSTEM_TYPE VARCHAR(45),
+    DOMAIN_NAME VARCHAR(255),
+    CPU_TYPE VARCHAR(255),
+    CPU_COUNT INT,
+    SERVER_RACK VARCHAR(255),
+    RACK_POSITION VARCHAR(255),
+    SERVER_MODEL VARCHAR(255),
+    SERIAL_NUMBER VARCHAR(255),
+    INSTALLED_MEMORY INT,
+    OPER_IP VARCHAR(50),
+    OPER_HOSTNAME VARCHAR(100) NOT NULL,
+    MGMT_IP VARCHAR(50),
+    MGMT_HOSTNAME VARCHAR(100),
+    BKUP_IP VARCHAR(50),
+    BKUP_HOSTNAME VARCHAR(100),
+    NAS_IP VARCHAR(50),
+    NAS_HOSTNAME VARCHAR(100),
+    NAT_ADDR VARCHAR(50),
+    COMMENTS VARCHAR(4096),
+    ASSIGNED_ENGINEER VARCHAR(100),
+    ADD_DATE TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DELETE_DATE TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS IDX_SYSTEMS_HOSTNAME ON INSTALLED_SYSTEMS (OPER_HOSTNAME);
+
+CREATE TABLE IF NOT EXISTS ARTICLES
+(
+    ARTICLEID VARCHAR(128) NOT NULL PRIMARY KEY,
+    CREATEDATE TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    AUTHOR VARCHAR(128),
+    KEYWORDS VARCHAR(1024),
+    TITLE VARCHAR(255),
+    SYMPTOMS VARCHAR(4096),
+    CAUSE VARCHAR(4096),
+    RESOLUTION VARCHAR(4096),
+    STATUS VARCHAR(45) NOT NULL DEFAULT 'NEW',
+    REVIEWEDBY VARCHAR(128),
+    REVIEWEDATE TIMESTAMP,
+    MODIFIEDBY VARCHAR(128),
+    MODIFIEDDATE TIMESTAMP,
+    APPROVEDDATE TIMESTAMP,
+    APPROVEDBY VARCHAR(128)
+);
+
+-- security procedures
+CREATE ALIAS IF NOT EXISTS addUserAccount FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.addUserAccount";
+CREATE ALIAS IF NOT EXISTS removeUserAccount FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.removeUserAccount";
+CREATE ALIAS IF NOT EXISTS getUserByAttribute FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getUserByAttribute";
+CREATE ALIAS IF NOT EXISTS getUserByEmail FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getUserByEmail";
+CREATE ALIAS IF NOT EXISTS showUserAccount FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.showUserAccount";
+CREATE ALIAS IF NOT EXISTS listUserAccounts FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.listUserAccounts";
+CREATE ALIAS IF NOT EXISTS getUserGroups FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getUserGroups";
+CREATE ALIAS IF NOT EXISTS getAvailableGroups FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getAvailableGroups";
+CREATE ALIAS IF NOT EXISTS updateUserEmail FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.updateUserEmail";
+CREATE ALIAS IF NOT EXISTS updateUserContact FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.updateUserContact";
+CREATE ALIAS IF NOT EXISTS updateUserRole FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.updateUserRole";
+CREATE ALIAS IF NOT EXISTS modifyUserSuspension FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.modifyUserSuspension";
+CREATE ALIAS IF NOT EXISTS modifyOlrLock FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.modifyOlrLock";
+CREATE ALIAS IF NOT EXISTS modifyUserLock FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.modifyUserLock";
+CREATE ALIAS IF NOT EXISTS getUserPassword FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getUserPassword";
+CREATE ALIAS IF NOT EXISTS modifyUserPassword FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.modifyUserPassword";
+CREATE ALIAS IF NOT EXISTS getSecurityData FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getSecurityData";
+CREATE ALIAS IF NOT EXISTS addOrUpdateSecurityQuestions FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.addOrUpdateSecurityQuestions";
+CREATE ALIAS IF NOT EXISTS getSecurityQuestions FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getSecurityQuestions";
+CREATE ALIAS IF NOT EXISTS addOrUpdateUserSalt FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.addOrUpdateUserSalt";
+CREATE ALIAS IF NOT EXISTS getUserSalt FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getUserSalt";
+CREATE ALIAS IF NOT EXISTS insertResetData FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.insertResetData";
+CREATE ALIAS IF NOT EXISTS getResetData FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getResetData";
+CREATE ALIAS IF NOT EXISTS performSuccessfulLogin FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.performSuccessfulLogin";
+CREATE ALIAS IF NOT EXISTS getAuthToken FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getAuthToken";
+CREATE ALIAS IF NOT EXISTS removeSessionData FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.removeSessionData";
+CREATE ALIAS IF NOT EXISTS getOlrStatus FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getOlrStatus";
+
+-- audit procedures
+CREATE ALIAS IF NOT EXISTS insertAuditEntry FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.insertAuditEntry";
+CREATE ALIAS IF NOT EXISTS insertAuditEntryAt FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.insertAuditEntryAt";
+CREATE ALIAS IF NOT EXISTS getAuditInterval FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getAuditInterval";
+CREATE ALIAS IF NOT EXISTS getAuditPage FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getAuditPage";
+CREATE ALIAS IF NOT EXISTS getAuditCount FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getAuditCount";
+CREATE ALIAS IF NOT EXISTS getAuditRange FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getAuditRange";
+
+-- application procedures
+CREATE ALIAS IF NOT EXISTS isServiceEnabled FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.isServiceEnabled";
+CREATE ALIAS IF NOT EXISTS retrAvailableServices FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.retrAvailableServices";
+CREATE ALIAS IF NOT EXISTS addNewDatacenter FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.addNewDatacenter";
+CREATE ALIAS IF NOT EXISTS updateDatacenter FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.updateDatacenter";
+CREATE ALIAS IF NOT EXISTS removeDatacenter FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.removeDatacenter";
+CREATE ALIAS IF NOT EXISTS listDatacenters FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.listDatacenters";
+CREATE ALIAS IF NOT EXISTS getDatacenterByAttribute FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getDatacenterByAttribute";
+CREATE ALIAS IF NOT EXISTS getDatacenterData FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getDatacenterData";
+CREATE ALIAS IF NOT EXISTS addNewService FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.addNewService";
+CREATE ALIAS IF NOT EXISTS updateServiceData FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.updateServiceData";
+CREATE ALIAS IF NOT EXISTS removeServiceData FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.removeServiceData";
+CREATE ALIAS IF NOT EXISTS listServices FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.listServices";
+CREATE ALIAS IF NOT EXISTS getServiceByAttribute FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getServiceByAttribute";
+CREATE ALIAS IF NOT EXISTS getServiceData FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getServiceData";
+CREATE ALIAS IF NOT EXISTS addNewServer FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.addNewServer";
+CREATE ALIAS IF NOT EXISTS updateaServerData FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.updateServerData";
+CREATE ALIAS IF NOT EXISTS removeServerFromAssets FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.removeServerFromAssets";
+CREATE ALIAS IF NOT EXISTS retrServerList FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.retrServerList";
+CREATE ALIAS IF NOT EXISTS getServerByAttribute FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getServerByAttribute";
+CREATE ALIAS IF NOT EXISTS getServerData FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getServerData";
+CREATE ALIAS IF NOT EXISTS addNewArticle FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.addNewArticle";
+CREATE ALIAS IF NOT EXISTS updateArticle FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.updateArticle";
+CREATE ALIAS IF NOT EXISTS updateArticleStatus FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.updateArticleStatus";
+CREATE ALIAS IF NOT EXISTS removeArticle FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.removeArticle";
+CREATE ALIAS IF NOT EXISTS listArticles FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.listArticles";
+CREATE ALIAS IF NOT EXISTS getArticlesByAttribute FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getArticlesByAttribute";
+CREATE ALIAS IF NOT EXISTS getArticleData FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getArticleData";
+CREATE ALIAS IF NOT EXISTS getArticleForApproval FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getArticleForApproval";
+CREATE ALIAS IF NOT EXISTS getArticlesForApproval FOR "com.cws.esolutions.utility.embedded.EmbeddedProcedures.getArticlesForApproval";